@@ -0,0 +1,36 @@
+package gov.cdc.usds.simplereport.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Authorization decisions already made in this request, keyed by the check and the resource it was
+ * made for, so that checking the same patient or facility for every row of a list costs one
+ * lookup.
+ */
+@Repository
+@Scope(scopeName = WebApplicationContext.SCOPE_REQUEST, proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class AuthorizationDecisionContextHolder {
+  private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+  public boolean decide(String check, Object resource, BooleanSupplier decision) {
+    String key = check + ":" + resource;
+    Boolean cached = decisions.get(key);
+    if (cached == null) {
+      // not computeIfAbsent: a decision may itself depend on other cached decisions
+      cached = decision.getAsBoolean();
+      decisions.put(key, cached);
+    }
+    return cached;
+  }
+
+  // the current user's roles can change mid-request when tenant data access is cancelled
+  public void reset() {
+    decisions.clear();
+  }
+}
@@ -0,0 +1,125 @@
+package gov.cdc.usds.simplereport.api;
+
+import gov.cdc.usds.simplereport.db.model.ApiUser;
+import gov.cdc.usds.simplereport.db.model.DeviceType;
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.model.IdentifiedEntity;
+import gov.cdc.usds.simplereport.db.model.Result;
+import gov.cdc.usds.simplereport.db.model.SpecimenType;
+import gov.cdc.usds.simplereport.db.repository.ApiUserRepository;
+import gov.cdc.usds.simplereport.db.repository.DeviceTypeRepository;
+import gov.cdc.usds.simplereport.db.repository.FacilityRepository;
+import gov.cdc.usds.simplereport.db.repository.ResultRepository;
+import gov.cdc.usds.simplereport.db.repository.SpecimenTypeRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Batch loaders for associations that more than one GraphQL type exposes. Resolvers take them by
+ * parameter name, e.g. {@code DataLoader<UUID, Facility> facilityLoader}.
+ *
+ * <p>Soft-deleted rows are loaded like any other, since a result still shows the facility or
+ * device it was recorded with after that facility or device is deleted.
+ */
+@Component
+public class EntityDataLoaders {
+
+  public EntityDataLoaders(
+      BatchLoaderRegistry registry,
+      FacilityRepository facilityRepository,
+      DeviceTypeRepository deviceTypeRepository,
+      SpecimenTypeRepository specimenTypeRepository,
+      ApiUserRepository apiUserRepository,
+      ResultRepository resultRepository) {
+
+    registry
+        .forTypePair(UUID.class, Facility.class)
+        .withName("facilityLoader")
+        .registerMappedBatchLoader(
+            (ids, batchLoaderEnvironment) -> Mono.just(byId(facilityRepository.findAllById(ids))));
+
+    registry
+        .forTypePair(UUID.class, DeviceType.class)
+        .withName("deviceTypeLoader")
+        .registerMappedBatchLoader(
+            (ids, batchLoaderEnvironment) ->
+                Mono.just(byId(deviceTypeRepository.findAllByInternalIdIn(ids))));
+
+    registry
+        .forTypePair(UUID.class, SpecimenType.class)
+        .withName("specimenTypeLoader")
+        .registerMappedBatchLoader(
+            (ids, batchLoaderEnvironment) ->
+                Mono.just(
+                    byId(specimenTypeRepository.findAllByInternalIdIn(new ArrayList<>(ids)))));
+
+    registry
+        .forTypePair(UUID.class, ApiUser.class)
+        .withName("apiUserLoader")
+        .registerMappedBatchLoader(
+            (ids, batchLoaderEnvironment) -> Mono.just(byId(apiUserRepository.findAllById(ids))));
+
+    Class<List<Result>> resultListClazz = (Class) List.class;
+    registry
+        .forTypePair(UUID.class, resultListClazz)
+        .withName("testEventResultsLoader")
+        .registerMappedBatchLoader(
+            (testEventIds, batchLoaderEnvironment) -> {
+              Map<UUID, List<Result>> found =
+                  resultRepository.findAllByTestEventIdIn(testEventIds).stream()
+                      .collect(
+                          Collectors.groupingBy(result -> result.getTestEvent().getInternalId()));
+              return Mono.just(found);
+            });
+
+    registry
+        .forTypePair(UUID.class, resultListClazz)
+        .withName("testOrderResultsLoader")
+        .registerMappedBatchLoader(
+            (testOrderIds, batchLoaderEnvironment) -> {
+              Map<UUID, List<Result>> found =
+                  resultRepository.findAllByTestOrderIdIn(testOrderIds).stream()
+                      .collect(
+                          Collectors.groupingBy(result -> result.getTestOrder().getInternalId()));
+              return Mono.just(found);
+            });
+  }
+
+  /**
+   * The association if it has already been loaded, for instance from a cache snapshot or an
+   * earlier batch, and otherwise the loader's value for its id. A null association stays null.
+   */
+  public static <T extends IdentifiedEntity> CompletableFuture<T> load(
+      T association, DataLoader<UUID, T> loader) {
+    if (association == null || Hibernate.isInitialized(association)) {
+      return CompletableFuture.completedFuture(association);
+    }
+    return loader.load(association.getInternalId());
+  }
+
+  /** The same as {@link #load(IdentifiedEntity, DataLoader)} for a to-many association. */
+  public static <T> CompletableFuture<List<T>> loadAll(
+      Collection<T> association, UUID ownerId, DataLoader<UUID, List<T>> loader) {
+    if (Hibernate.isInitialized(association)) {
+      return CompletableFuture.completedFuture(List.copyOf(association));
+    }
+    return loader.load(ownerId).thenApply(found -> found == null ? List.of() : found);
+  }
+
+  private static <T extends IdentifiedEntity> Map<UUID, T> byId(Iterable<T> entities) {
+    Map<UUID, T> found = new HashMap<>();
+    entities.forEach(entity -> found.put(entity.getInternalId(), entity));
+    return found;
+  }
+}
@@ -0,0 +1,137 @@
+package gov.cdc.usds.simplereport.api;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microsoft.applicationinsights.TelemetryClient;
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps parsed and validated documents for the operations we have already seen, so that the
+ * frontend's handful of operations are only parsed and validated once per server.
+ *
+ * <p>Also implements Apollo's automatic persisted queries: a client may send just the SHA-256 hash
+ * of a query in the {@code persistedQuery} extension, and sends the full query only when we answer
+ * {@code PersistedQueryNotFound}. Both the hash registry and the document cache are bounded by
+ * size. Only queries that parse and validate are kept in either, so that bad requests can't push
+ * out the operations we actually use.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+  static final int MAX_PERSISTED_QUERIES = 500;
+  static final int MAX_DOCUMENTS = 500;
+
+  static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+  static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+  static final String PERSISTED_QUERY_ID_INVALID = "PersistedQueryIdInvalid";
+
+  private final Cache<String, String> persistedQueries =
+      Caffeine.newBuilder().maximumSize(MAX_PERSISTED_QUERIES).build();
+  private final Cache<String, PreparsedDocumentEntry> documents =
+      Caffeine.newBuilder().maximumSize(MAX_DOCUMENTS).build();
+
+  private final LongAdder documentHits = new LongAdder();
+  private final LongAdder documentMisses = new LongAdder();
+  private final LongAdder persistedQueryHits = new LongAdder();
+  private final LongAdder persistedQueryMisses = new LongAdder();
+
+  private final TelemetryClient telemetryClient;
+
+  @Override
+  public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+      ExecutionInput executionInput,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    ExecutionInput input = executionInput;
+    String hash = persistedQueryHash(executionInput);
+    if (hash != null) {
+      if (StringUtils.isBlank(executionInput.getQuery())) {
+        String query = persistedQueries.getIfPresent(hash);
+        if (query == null) {
+          persistedQueryMisses.increment();
+          return error(PERSISTED_QUERY_NOT_FOUND, "PERSISTED_QUERY_NOT_FOUND");
+        }
+        persistedQueryHits.increment();
+        input = executionInput.transform(builder -> builder.query(query));
+      } else if (!hash.equalsIgnoreCase(sha256(executionInput.getQuery()))) {
+        return error(PERSISTED_QUERY_ID_INVALID, "PERSISTED_QUERY_ID_INVALID");
+      }
+    }
+
+    PreparsedDocumentEntry entry = documents.getIfPresent(input.getQuery());
+    if (entry != null) {
+      documentHits.increment();
+    } else {
+      documentMisses.increment();
+      entry = parseAndValidateFunction.apply(input);
+      if (!entry.hasErrors()) {
+        documents.put(input.getQuery(), entry);
+      }
+    }
+    if (hash != null && !entry.hasErrors()) {
+      persistedQueries.put(hash, input.getQuery());
+    }
+    return CompletableFuture.completedFuture(entry);
+  }
+
+  @Scheduled(fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+  public void reportCacheMetrics() {
+    reportHitRate("GraphQL document cache", documentHits, documentMisses);
+    reportHitRate("GraphQL persisted queries", persistedQueryHits, persistedQueryMisses);
+  }
+
+  private void reportHitRate(String name, LongAdder hits, LongAdder misses) {
+    long hitCount = hits.sumThenReset();
+    long missCount = misses.sumThenReset();
+    if (hitCount + missCount == 0) {
+      return;
+    }
+    double hitRate = (double) hitCount / (hitCount + missCount);
+    log.debug("{}: {} hits, {} misses", name, hitCount, missCount);
+    telemetryClient.trackMetric(name + " hits", hitCount);
+    telemetryClient.trackMetric(name + " misses", missCount);
+    telemetryClient.trackMetric(name + " hit rate", hitRate);
+  }
+
+  private static String persistedQueryHash(ExecutionInput executionInput) {
+    Object persistedQuery = executionInput.getExtensions().get(PERSISTED_QUERY_EXTENSION);
+    if (persistedQuery instanceof Map<?, ?> extension
+        && extension.get("sha256Hash") instanceof String hash) {
+      return hash;
+    }
+    return null;
+  }
+
+  private static CompletableFuture<PreparsedDocumentEntry> error(String message, String code) {
+    GraphQLError error =
+        GraphqlErrorBuilder.newError().message(message).extensions(Map.of("code", code)).build();
+    return CompletableFuture.completedFuture(new PreparsedDocumentEntry(error));
+  }
+
+  static String sha256(String query) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is required of every JVM", e);
+    }
+  }
+}
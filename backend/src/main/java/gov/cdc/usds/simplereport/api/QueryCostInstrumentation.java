@@ -0,0 +1,103 @@
+package gov.cdc.usds.simplereport.api;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Estimates what an operation will cost before it runs, and rejects it if it is nested too deeply
+ * or would read too many rows.
+ *
+ * <p>Every selected field costs one plus the cost of its own selections. A field with a {@code
+ * pageSize} or {@code first} argument (including its default) multiplies that by the argument,
+ * since everything below it is resolved once per row. The cost is put in the {@link
+ * graphql.GraphQLContext} under {@link #QUERY_COST_KEY} so it can be logged with the request.
+ */
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+  public static final String QUERY_COST_KEY = "simpleReportQueryCost";
+  // offset pages take pageSize, connections take first
+  static final List<String> LIST_SIZE_ARGUMENTS = List.of("pageSize", "first");
+
+  private final int maxDepth;
+  private final long maxCost;
+
+  public QueryCostInstrumentation(int maxDepth, long maxCost) {
+    this.maxDepth = maxDepth;
+    this.maxCost = maxCost;
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+      InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+    ExecutionContext context = parameters.getExecutionContext();
+    QueryTraverser traverser =
+        QueryTraverser.newQueryTraverser()
+            .schema(context.getGraphQLSchema())
+            .document(context.getDocument())
+            .operationName(context.getExecutionInput().getOperationName())
+            .coercedVariables(context.getCoercedVariables())
+            .build();
+
+    Map<QueryVisitorFieldEnvironment, Long> costByParent = new HashMap<>();
+    int[] depth = {0};
+    traverser.visitPostOrder(
+        new QueryVisitorStub() {
+          @Override
+          public void visitField(QueryVisitorFieldEnvironment env) {
+            long cost = fieldCost(env, costByParent.getOrDefault(env, 0L));
+            costByParent.merge(env.getParentEnvironment(), cost, QueryCostInstrumentation::add);
+            depth[0] = Math.max(depth[0], depth(env));
+          }
+        });
+    long cost = costByParent.getOrDefault(null, 0L);
+    context.getGraphQLContext().put(QUERY_COST_KEY, cost);
+
+    if (depth[0] > maxDepth) {
+      log.warn("Rejected GraphQL operation with depth {} > {}", depth[0], maxDepth);
+      throw new AbortExecutionException(
+          String.format(
+              "header: Query is nested too deeply; body: Maximum depth is %d, got %d",
+              maxDepth, depth[0]));
+    }
+    if (cost > maxCost) {
+      log.warn("Rejected GraphQL operation with cost {} > {}", cost, maxCost);
+      throw new AbortExecutionException(
+          "header: Query is too large; body: Please request fewer results at once");
+    }
+    return super.beginExecuteOperation(parameters, state);
+  }
+
+  static long fieldCost(QueryVisitorFieldEnvironment env, long selectionsCost) {
+    long cost = add(1, selectionsCost);
+    for (String argument : LIST_SIZE_ARGUMENTS) {
+      if (env.getArguments().get(argument) instanceof Integer size && size > 1) {
+        cost = cost > Long.MAX_VALUE / size ? Long.MAX_VALUE : cost * size;
+      }
+    }
+    return cost;
+  }
+
+  private static int depth(QueryVisitorFieldEnvironment env) {
+    int depth = 0;
+    for (QueryVisitorFieldEnvironment e = env; e != null; e = e.getParentEnvironment()) {
+      depth++;
+    }
+    return depth;
+  }
+
+  private static long add(long a, long b) {
+    return b > Long.MAX_VALUE - a ? Long.MAX_VALUE : a + b;
+  }
+}
@@ -14,6 +14,7 @@ import gov.cdc.usds.simplereport.api.model.useraccountcreation.SetPasswordReques
 import gov.cdc.usds.simplereport.api.model.useraccountcreation.SetRecoveryQuestionRequest;
 import gov.cdc.usds.simplereport.api.model.useraccountcreation.UserAccountStatus;
 import gov.cdc.usds.simplereport.idp.authentication.OktaAuthentication;
+import gov.cdc.usds.simplereport.service.OktaUserStatusService;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
@@ -53,6 +54,7 @@ public class UserAccountCreationController {
   private static final String FACTOR_ID_KEY = "factorId";
 
   @Autowired private OktaAuthentication _oktaAuth;
+  @Autowired private OktaUserStatusService _userStatusService;
 
   @PostConstruct
   private void init() {
@@ -110,6 +112,7 @@ public class UserAccountCreationController {
       throw new OktaAuthenticationFailureException("Returned user id is empty.");
     }
     request.getSession().setAttribute(USER_ID_KEY, userId);
+    refreshUserStatus(userId);
   }
 
   /**
@@ -127,6 +130,7 @@ public class UserAccountCreationController {
       HttpServletRequest request)
       throws OktaAuthenticationFailureException, BadRequestException {
     _oktaAuth.setPassword(userId, requestBody.getPassword().toCharArray());
+    refreshUserStatus(userId);
   }
 
   /**
@@ -301,4 +305,14 @@ public class UserAccountCreationController {
     }
     return userInput.replaceAll("[^\\d.]", "");
   }
+
+  /** Updates the manage-users copy of the user's status after a step that changed it in Okta. */
+  private void refreshUserStatus(String userId) {
+    try {
+      _userStatusService.refreshUser(_oktaAuth.getUserLogin(userId));
+    } catch (RuntimeException e) {
+      // the scheduled sync will catch up with the change
+      log.warn("Failed to refresh Okta status for Okta user with id={}", userId, e);
+    }
+  }
 }
@@ -28,11 +28,14 @@ import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.security.auth.Subject;
+import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -43,6 +46,8 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class RequiredPermissionsDirectiveWiring implements SchemaDirectiveWiring {
+  private static final String PERMISSION_DECISIONS_KEY = "requiredPermissionsDecisions";
+
   @Override
   public GraphQLArgument onArgument(SchemaDirectiveWiringEnvironment<GraphQLArgument> environment) {
     GraphQLArgument argument = environment.getElement();
@@ -119,14 +124,27 @@ public class RequiredPermissionsDirectiveWiring implements SchemaDirectiveWiring
         || Objects.equals(argValue, GraphQLArgument.getArgumentDefaultValue(argument));
   }
 
+  /**
+   * The subject is fixed for the whole operation, so each distinct set of required permissions is
+   * only evaluated once per operation no matter how many rows the field appears in.
+   */
   private static boolean requesterHasRequisitePermissions(
       DataFetchingEnvironment dfe, RequiredPermissions requiredPermissions) {
-    return getSubjectFrom(dfe)
-        .map(
-            subject ->
-                satisfiesRequiredPermissions(
-                    requiredPermissions, subject, dfe.getExecutionStepInfo().getPath()))
-        .orElse(false);
+    Map<RequiredPermissions, Boolean> decisions =
+        dfe.getGraphQlContext()
+            .computeIfAbsent(PERMISSION_DECISIONS_KEY, key -> new ConcurrentHashMap<>());
+    Boolean decision = decisions.get(requiredPermissions);
+    if (decision == null) {
+      decision =
+          getSubjectFrom(dfe)
+              .map(
+                  subject ->
+                      satisfiesRequiredPermissions(
+                          requiredPermissions, subject, dfe.getExecutionStepInfo().getPath()))
+              .orElse(false);
+      decisions.put(requiredPermissions, decision);
+    }
+    return decision;
   }
 
   private static Optional<Subject> getSubjectFrom(DataFetchingEnvironment dfe) {
@@ -194,6 +212,7 @@ public class RequiredPermissionsDirectiveWiring implements SchemaDirectiveWiring
                     .collect(Collectors.toCollection(() -> EnumSet.noneOf(UserPermission.class))));
   }
 
+  @EqualsAndHashCode
   private static class RequiredPermissions {
     private final Set<UserPermission> allOf;
     private final Set<Set<UserPermission>> anyOfClauses;
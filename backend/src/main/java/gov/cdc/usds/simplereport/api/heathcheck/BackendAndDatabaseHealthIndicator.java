@@ -1,21 +1,28 @@
 package gov.cdc.usds.simplereport.api.heathcheck;
 
 import gov.cdc.usds.simplereport.db.repository.FeatureFlagRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
-import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
 @Component("backend-and-db-smoke-test")
 @Slf4j
-@RequiredArgsConstructor
-public class BackendAndDatabaseHealthIndicator implements HealthIndicator {
+public class BackendAndDatabaseHealthIndicator extends CachedHealthIndicator {
   private final FeatureFlagRepository _ffRepo;
 
+  public BackendAndDatabaseHealthIndicator(
+      FeatureFlagRepository ffRepo,
+      @Value("${simple-report.health-check.refresh-interval-seconds:30}")
+          long refreshIntervalSeconds,
+      @Value("${simple-report.health-check.timeout-seconds:10}") long timeoutSeconds) {
+    super(refreshIntervalSeconds, timeoutSeconds);
+    _ffRepo = ffRepo;
+  }
+
   @Override
-  public Health health() {
+  protected Health check() {
     try {
       _ffRepo.findAll();
       return Health.up().build();
@@ -0,0 +1,100 @@
+package gov.cdc.usds.simplereport.api.heathcheck;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * A health indicator that runs its check on a schedule instead of on every probe, so that probes
+ * from every instance do not turn into a steady stream of database and Okta calls, and a slow
+ * dependency cannot make the probe itself time out.
+ *
+ * <p>{@link #health()} never runs the check. It returns the last result with when it was checked
+ * and its age in seconds, or UNKNOWN if there is no result yet or the last one is older than three
+ * refresh intervals (the scheduler has fallen behind).
+ *
+ * <p>Only one check runs at a time. A check that takes longer than the timeout is reported as DOWN
+ * and left to finish; later refreshes wait on it rather than starting another.
+ */
+@Slf4j
+public abstract class CachedHealthIndicator implements HealthIndicator {
+  private record Snapshot(Health health, Instant checkedAt) {}
+
+  private final Duration maxAge;
+  private final Duration timeout;
+  private final ExecutorService checkExecutor;
+  private Future<Health> inFlight;
+  private volatile Snapshot last;
+
+  protected CachedHealthIndicator(long refreshIntervalSeconds, long timeoutSeconds) {
+    this.maxAge = Duration.ofSeconds(refreshIntervalSeconds * 3);
+    this.timeout = Duration.ofSeconds(timeoutSeconds);
+    String threadName = getClass().getSimpleName() + "-check";
+    this.checkExecutor =
+        Executors.newSingleThreadExecutor(
+            r -> {
+              Thread thread = new Thread(r, threadName);
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Checks the dependency; only called from {@link #refresh()}, on the check thread. */
+  protected abstract Health check();
+
+  @Scheduled(
+      fixedDelayString = "${simple-report.health-check.refresh-interval-seconds:30}",
+      timeUnit = TimeUnit.SECONDS)
+  public synchronized void refresh() {
+    if (inFlight == null || inFlight.isDone()) {
+      inFlight = checkExecutor.submit(this::check);
+    }
+    Health health;
+    try {
+      health = inFlight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.warn("Health check {} did not finish within {}", getClass().getSimpleName(), timeout);
+      health = Health.down().withDetail("error", "check timed out").build();
+    } catch (ExecutionException e) {
+      log.warn("Health check {} failed", getClass().getSimpleName(), e.getCause());
+      health = Health.down().build();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    last = new Snapshot(health, Instant.now());
+  }
+
+  @Override
+  public Health health() {
+    Snapshot snapshot = last;
+    if (snapshot == null) {
+      return Health.unknown().withDetail("error", "not checked yet").build();
+    }
+    Duration age = Duration.between(snapshot.checkedAt(), Instant.now());
+    Health.Builder builder =
+        age.compareTo(maxAge) < 0
+            ? Health.status(snapshot.health().getStatus())
+            : Health.unknown().withDetail("staleStatus", snapshot.health().getStatus().getCode());
+    return builder
+        .withDetails(snapshot.health().getDetails())
+        .withDetail("checkedAt", snapshot.checkedAt().toString())
+        .withDetail("ageSeconds", age.toSeconds())
+        .build();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    checkExecutor.shutdownNow();
+  }
+}
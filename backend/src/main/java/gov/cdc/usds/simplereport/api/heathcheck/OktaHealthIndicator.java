@@ -2,21 +2,28 @@ package gov.cdc.usds.simplereport.api.heathcheck;
 
 import com.okta.sdk.resource.client.ApiException;
 import gov.cdc.usds.simplereport.idp.repository.OktaRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
-import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
 @Component
 @Slf4j
-@RequiredArgsConstructor
-public class OktaHealthIndicator implements HealthIndicator {
+public class OktaHealthIndicator extends CachedHealthIndicator {
   private final OktaRepository _oktaRepo;
   public static final String ACTIVE_LITERAL = "ACTIVE";
 
+  public OktaHealthIndicator(
+      OktaRepository oktaRepo,
+      @Value("${simple-report.health-check.refresh-interval-seconds:30}")
+          long refreshIntervalSeconds,
+      @Value("${simple-report.health-check.timeout-seconds:10}") long timeoutSeconds) {
+    super(refreshIntervalSeconds, timeoutSeconds);
+    _oktaRepo = oktaRepo;
+  }
+
   @Override
-  public Health health() {
+  protected Health check() {
     Health.Builder oktaDegradedWarning = Health.status("OKTA_DEGRADED");
     try {
       String oktaStatus = _oktaRepo.getApplicationStatusForHealthCheck();
@@ -1,37 +1,67 @@
 package gov.cdc.usds.simplereport.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import gov.cdc.usds.simplereport.db.model.TestOrder;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.service.model.FacilityQueueItem;
 import gov.cdc.usds.simplereport.service.model.WrappedEntity;
 import java.util.Date;
+import java.util.UUID;
 
+/**
+ * A test order for the API, backed either by the order entity or, for the queue, by an immutable
+ * {@link FacilityQueueItem} from the cached queue snapshot.
+ */
 public class ApiTestOrder extends WrappedEntity<TestOrder> {
 
+  private final FacilityQueueItem queueItem;
+
   public ApiTestOrder(TestOrder order) {
     super(order);
+    this.queueItem = null;
+  }
+
+  public ApiTestOrder(FacilityQueueItem queueItem) {
+    super(null);
+    this.queueItem = queueItem;
+  }
+
+  /** The queue item this order was built from, or null if it was built from the entity. */
+  @JsonIgnore
+  public FacilityQueueItem getQueueItem() {
+    return queueItem;
+  }
+
+  @Override
+  public UUID getInternalId() {
+    return queueItem != null ? queueItem.internalId() : wrapped.getInternalId();
+  }
+
+  public UUID getPatientId() {
+    return queueItem != null ? queueItem.patientId() : wrapped.getPatient().getInternalId();
   }
 
   public Date getDateAdded() {
-    return wrapped.getCreatedAt();
+    return queueItem != null ? queueItem.dateAdded() : wrapped.getCreatedAt();
   }
 
   public Date getDateTested() {
-    return wrapped.getDateTestedBackdate();
+    return queueItem != null ? queueItem.dateTested() : wrapped.getDateTestedBackdate();
   }
 
   public Date getDateUpdated() {
-    return wrapped.getUpdatedAt();
+    return queueItem != null ? queueItem.dateUpdated() : wrapped.getUpdatedAt();
   }
 
   public TestCorrectionStatus getCorrectionStatus() {
-    return wrapped.getCorrectionStatus();
+    return queueItem != null ? queueItem.correctionStatus() : wrapped.getCorrectionStatus();
   }
 
   public String getReasonForCorrection() {
-    return wrapped.getReasonForCorrection();
+    return queueItem != null ? queueItem.reasonForCorrection() : wrapped.getReasonForCorrection();
   }
 
   public String getTimerStartedAt() {
-    return wrapped.getTimerStartedAt();
+    return queueItem != null ? queueItem.timerStartedAt() : wrapped.getTimerStartedAt();
   }
 }
@@ -47,6 +47,9 @@ public class TestEventExport {
   public static final int FALLBACK_DEFAULT_TEST_MINUTES = 15;
   public static final String USA = "USA";
   public static final String UNKNOWN_ADDRESS_INDICATOR = "** Unknown / Not Given **";
+  private static final DateTimeFormatter HEALTHCARE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+  private static final DateTimeFormatter HEALTHCARE_DATE_TIME =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
   private String processingModeCode = "P";
   private final TestEvent testEvent;
   private final Optional<Person> patient;
@@ -74,7 +77,7 @@ public class TestEventExport {
     this.processingModeCode = processingModeCode;
   }
 
-  private String genderUnknown = "U";
+  private static final String genderUnknown = "U";
   public static final String DEFAULT_LOCATION_CODE = "87100004"; // http://snomed.info/id/87100004
   // Topography unknown (body structure)
   // https://github.com/CDCgov/prime-data-hub/blob/master/prime-router/metadata/valuesets/common.valuesets
@@ -82,7 +85,7 @@ public class TestEventExport {
   public static final String DEFAULT_LOCATION_NAME =
       "Topography unknown (body structure)"; // http://snomed.info/id/87100004
 
-  private final Map<String, String> genderMap =
+  private static final Map<String, String> genderMap =
       Map.of(
           "male", "M",
           "female", "F",
@@ -93,19 +96,19 @@ public class TestEventExport {
           "refused", genderUnknown,
           "notapplicable", "N");
 
-  private final Map<String, String> ethnicityMap =
+  private static final Map<String, String> ethnicityMap =
       Map.of(
           "hispanic", "H",
           "not_hispanic", "N",
           "refused", "U");
 
-  private final Map<TestResult, String> testResultMap =
+  private static final Map<TestResult, String> testResultMap =
       Map.of(
           TestResult.POSITIVE, "260373001",
           TestResult.NEGATIVE, "260415000",
           TestResult.UNDETERMINED, "419984006");
 
-  private Map<String, String> preferredLanguageMap =
+  private static final Map<String, String> preferredLanguageMap =
       ImmutableMap.<String, String>builder()
           .put("English", "eng")
           .put("Spanish", "spa")
@@ -228,14 +231,14 @@ public class TestEventExport {
     if (value == null) {
       return "";
     }
-    return value.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+    return value.format(HEALTHCARE_DATE);
   }
 
   private String dateToHealthCareString(LocalDateTime value) {
     if (value == null) {
       return "";
     }
-    return value.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+    return value.format(HEALTHCARE_DATE_TIME);
   }
 
   private LocalDateTime convertToLocalDateTime(Date dateToConvert) {
@@ -0,0 +1,143 @@
+package gov.cdc.usds.simplereport.api.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a {@link TestEventExport} straight to a {@link JsonGenerator}, producing the same document
+ * as serializing it with an {@code ObjectMapper} but without bean introspection. Unicode line and
+ * paragraph separators (U+2028, U+2029) are dropped from values as they are written, since some
+ * downstream JSON consumers treat them as line breaks.
+ *
+ * <p>Fields must be kept in step with the {@code @JsonProperty} getters on {@link TestEventExport};
+ * {@code TestEventExportIntegrationTest} compares the two.
+ */
+public final class TestEventExportWriter {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private TestEventExportWriter() {}
+
+  public static String toJson(TestEventExport export) {
+    StringWriter out = new StringWriter(4096);
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+      write(export, generator);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
+  }
+
+  public static void write(TestEventExport export, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    field(generator, "Patient_last_name", export.getPatientLastName());
+    field(generator, "Patient_first_name", export.getPatientFirstName());
+    field(generator, "Patient_middle_name", export.getPatientMiddleName());
+    field(generator, "Patient_suffix", export.getPatientSuffix());
+    field(generator, "Patient_race", export.getPatientRace());
+    field(generator, "Patient_DOB", export.getPatientBirthDate());
+    field(generator, "Patient_gender", export.getPatientGender());
+    field(generator, "Patient_ethnicity", export.getPatientEthnicity());
+    field(generator, "Patient_street", export.getPatientStreet());
+    field(generator, "Patient_street_2", export.getPatientStreetTwo());
+    field(generator, "Patient_city", export.getPatientCity());
+    field(generator, "Patient_county", export.getPatientCounty());
+    field(generator, "Patient_state", export.getPatientState());
+    field(generator, "Patient_zip_code", export.getPatientZipCode());
+    field(generator, "Patient_country", export.getPatientCountry());
+    field(generator, "Patient_phone_number", export.getPatientPhoneNumber());
+    field(generator, "Patient_email", export.getPatientEmail());
+    field(generator, "Patient_ID", export.getPatientId());
+    field(generator, "Patient_role", export.getPatientRole());
+    field(generator, "Patient_tribal_affiliation", export.getPatientTribalAffiliation());
+    field(generator, "Patient_preferred_language", export.getPatientPreferredLanguage());
+    field(generator, "Employed_in_healthcare", export.getPatientEmployedInHealthcare());
+    field(generator, "Resident_congregate_setting", export.getPatientResidentCongregateSetting());
+    field(generator, "Result_ID", export.getResultID());
+    field(generator, "Corrected_result_ID", export.getCorrectedResultId());
+    field(generator, "Test_correction_reason", export.getCorrectionReason());
+    field(generator, "Test_result_status", export.getTestResultStatus());
+    field(generator, "Order_result_status", export.getOrderResultStatus());
+    field(generator, "Observation_result_status", export.getObservationResultStatus());
+    field(generator, "Test_result_code", export.getTestResult());
+    field(generator, "Specimen_collection_date_time", export.getSpecimenCollectionDateTime());
+    field(generator, "Ordering_provider_ID", export.getOrderingProviderID());
+    field(generator, "First_test", export.getFirstTest());
+    field(generator, "Symptomatic_for_disease", export.getSymptomaticForDisease());
+    field(generator, "Illness_onset_date", export.getSymptomOnsetDate());
+    field(generator, "Testing_lab_name", export.getTestingLabName());
+    field(generator, "Testing_lab_CLIA", export.getTestingLabID());
+    field(generator, "Testing_lab_state", export.getTestingLabState());
+    field(generator, "Testing_lab_street", export.getTestingLabStreet());
+    field(generator, "Testing_lab_street_2", export.getTestingLabStreetTwo());
+    field(generator, "Testing_lab_zip_code", export.getTestingLabZipCode());
+    field(generator, "Testing_lab_county", export.getTestingLabCounty());
+    field(generator, "Testing_lab_phone_number", export.getTestingLabPhoneNumber());
+    field(generator, "Testing_lab_city", export.getTestingLabCity());
+    field(generator, "Processing_mode_code", export.getFacilityProcessingModeCode());
+    field(generator, "Ordering_facility_city", export.getOrderingFacilityCity());
+    field(generator, "Ordering_facility_county", export.getOrderingFacilityCounty());
+    field(generator, "Ordering_facility_name", export.getOrderingFacilityName());
+    field(generator, "Organization_name", export.getOrganizationName());
+    field(generator, "Ordering_facility_phone_number", export.getOrderingFacilityPhoneNumber());
+    field(generator, "Ordering_facility_email", export.getOrderingFacilityEmail());
+    field(generator, "Ordering_facility_state", export.getOrderingFacilityState());
+    field(generator, "Ordering_facility_street", export.getOrderingFacilityStreet());
+    field(generator, "Ordering_facility_street_2", export.getOrderingFacilityStreetTwo());
+    field(generator, "Ordering_facility_zip_code", export.getOrderingFacilityZipCode());
+    field(generator, "Ordering_provider_last_name", export.getOrderingProviderLastName());
+    field(generator, "Ordering_provider_first_name", export.getOrderingProviderFirstName());
+    field(generator, "Ordering_provider_street", export.getOrderingProviderStreet());
+    field(generator, "Ordering_provider_street_2", export.getOrderingProviderStreetTwo());
+    field(generator, "Ordering_provider_city", export.getOrderingProviderCity());
+    field(generator, "Ordering_provider_state", export.getOrderingProviderState());
+    field(generator, "Ordering_provider_zip_code", export.getOrderingProviderZipCode());
+    field(generator, "Ordering_provider_county", export.getOrderingProviderCounty());
+    field(generator, "Ordering_provider_phone_number", export.getOrderingProviderPhoneNumber());
+    field(generator, "Ordered_test_code", export.getOrderedTestCode());
+    field(generator, "Specimen_source_site_code", export.getSpecimenSourceSiteCode());
+    field(generator, "Specimen_type_code", export.getSpecimenTypeCode());
+    field(generator, "Instrument_ID", export.getInstrumentID());
+    field(generator, "Device_ID", export.getDeviceID());
+    field(generator, "Test_Kit_Name_ID", export.getTestKitNameId());
+    field(generator, "Equipment_Model_ID", export.getEquipmentModelId());
+    field(generator, "Test_date", export.getTestDate());
+    field(generator, "Date_result_released", export.getDateResultReleased());
+    field(generator, "Order_test_date", export.getOrderTestDate());
+    field(generator, "Site_of_care", export.getSiteOfCare());
+    generator.writeEndObject();
+  }
+
+  private static void field(JsonGenerator generator, String name, String value) throws IOException {
+    generator.writeFieldName(name);
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeString(stripSeparators(value));
+    }
+  }
+
+  static String stripSeparators(String value) {
+    int i = 0;
+    while (i < value.length() && !isSeparator(value.charAt(i))) {
+      i++;
+    }
+    if (i == value.length()) {
+      return value;
+    }
+    StringBuilder stripped = new StringBuilder(value.length()).append(value, 0, i);
+    for (; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (!isSeparator(c)) {
+        stripped.append(c);
+      }
+    }
+    return stripped.toString();
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == '\u2028' || c == '\u2029';
+  }
+}
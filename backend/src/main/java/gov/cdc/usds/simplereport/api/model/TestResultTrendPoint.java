@@ -0,0 +1,15 @@
+package gov.cdc.usds.simplereport.api.model;
+
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class TestResultTrendPoint {
+  private LocalDate bucketStart;
+  private String disease;
+  private TestResult result;
+  private long count;
+}
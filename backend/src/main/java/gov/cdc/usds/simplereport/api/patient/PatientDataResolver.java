@@ -1,5 +1,7 @@
 package gov.cdc.usds.simplereport.api.patient;
 
+import static gov.cdc.usds.simplereport.api.EntityDataLoaders.load;
+
 import gov.cdc.usds.simplereport.api.InternalIdResolver;
 import gov.cdc.usds.simplereport.api.PersonNameResolver;
 import gov.cdc.usds.simplereport.api.model.ApiFacility;
@@ -8,8 +10,8 @@ import gov.cdc.usds.simplereport.db.model.Person;
 import gov.cdc.usds.simplereport.db.model.PhoneNumber;
 import gov.cdc.usds.simplereport.db.model.TestEvent;
 import gov.cdc.usds.simplereport.db.model.auxiliary.PersonName;
+import gov.cdc.usds.simplereport.db.repository.PatientTestSummaryRepository;
 import gov.cdc.usds.simplereport.db.repository.PhoneNumberRepository;
-import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -27,7 +29,7 @@ public class PatientDataResolver implements PersonNameResolver<Person>, Internal
 
   public PatientDataResolver(
       BatchLoaderRegistry registry,
-      TestEventRepository testEventRepository,
+      PatientTestSummaryRepository patientTestSummaryRepository,
       PhoneNumberRepository phoneNumberRepository) {
     registry
         .forTypePair(UUID.class, TestEvent.class)
@@ -35,7 +37,7 @@ public class PatientDataResolver implements PersonNameResolver<Person>, Internal
         .registerMappedBatchLoader(
             (patientIds, batchLoaderEnvironment) -> {
               Map<UUID, TestEvent> found =
-                  testEventRepository.findLastTestsByPatient(patientIds).stream()
+                  patientTestSummaryRepository.findLastTestsByPatient(patientIds).stream()
                       .collect(Collectors.toMap(TestEvent::getPatientInternalID, s -> s));
               return Mono.just(found);
             });
@@ -98,9 +100,10 @@ public class PatientDataResolver implements PersonNameResolver<Person>, Internal
   }
 
   @SchemaMapping(typeName = "Patient", field = "facility")
-  public ApiFacility facility(Person patient) {
-    Facility f = patient.getFacility();
-    return f == null ? null : new ApiFacility(f);
+  public CompletableFuture<ApiFacility> facility(
+      Person patient, DataLoader<UUID, Facility> facilityLoader) {
+    return load(patient.getFacility(), facilityLoader)
+        .thenApply(f -> f == null ? null : new ApiFacility(f));
   }
 
   @Override
@@ -7,6 +7,8 @@ import gov.cdc.usds.simplereport.db.model.Person;
 import gov.cdc.usds.simplereport.db.model.auxiliary.ArchivedStatus;
 import gov.cdc.usds.simplereport.service.OrganizationService;
 import gov.cdc.usds.simplereport.service.PersonService;
+import gov.cdc.usds.simplereport.service.model.Connection;
+import gov.cdc.usds.simplereport.service.model.RecordCount;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +48,26 @@ public class PatientResolver {
         orgExternalId);
   }
 
+  // authorization happens in calls to PersonService
+  @QueryMapping
+  public Connection<Person> patientsConnection(
+      @Argument UUID facilityId,
+      @Argument int first,
+      @Argument String after,
+      @Argument ArchivedStatus archivedStatus,
+      @Argument String namePrefixMatch,
+      @Argument boolean includeArchivedFacilities,
+      @Argument String orgExternalId) {
+    return _ps.getPatientsConnection(
+        facilityId,
+        first,
+        after,
+        archivedStatus,
+        namePrefixMatch,
+        includeArchivedFacilities,
+        orgExternalId);
+  }
+
   // authorization happens in calls to PersonService
   @QueryMapping
   public long patientsCount(
@@ -56,6 +78,17 @@ public class PatientResolver {
     return _ps.getPatientsCount(facilityId, archivedStatus, namePrefixMatch, false, orgExternalId);
   }
 
+  // authorization happens in calls to PersonService
+  @QueryMapping
+  public RecordCount patientsRecordCount(
+      @Argument UUID facilityId,
+      @Argument ArchivedStatus archivedStatus,
+      @Argument String namePrefixMatch,
+      @Argument String orgExternalId) {
+    return _ps.getPatientsRecordCount(
+        facilityId, archivedStatus, namePrefixMatch, false, orgExternalId);
+  }
+
   @QueryMapping
   public boolean patientExists(
       @Argument String firstName,
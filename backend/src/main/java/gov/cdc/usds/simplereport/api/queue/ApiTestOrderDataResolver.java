@@ -1,5 +1,8 @@
 package gov.cdc.usds.simplereport.api.queue;
 
+import static gov.cdc.usds.simplereport.api.EntityDataLoaders.load;
+import static gov.cdc.usds.simplereport.api.EntityDataLoaders.loadAll;
+
 import gov.cdc.usds.simplereport.api.model.ApiTestOrder;
 import gov.cdc.usds.simplereport.db.model.DeviceType;
 import gov.cdc.usds.simplereport.db.model.PatientAnswers;
@@ -8,10 +11,11 @@ import gov.cdc.usds.simplereport.db.model.Result;
 import gov.cdc.usds.simplereport.db.model.SpecimenType;
 import gov.cdc.usds.simplereport.db.repository.PatientAnswersRepository;
 import gov.cdc.usds.simplereport.db.repository.PersonRepository;
+import gov.cdc.usds.simplereport.service.model.FacilityQueueItem.DiseaseResult;
+import gov.cdc.usds.simplereport.service.model.FacilityQueueItem.Survey;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -54,69 +58,86 @@ public class ApiTestOrderDataResolver {
   @SchemaMapping(typeName = "TestOrder", field = "patient")
   public CompletableFuture<Person> patient(
       ApiTestOrder apiTestOrder, DataLoader<UUID, Person> loader) {
-    return loader.load(apiTestOrder.getWrapped().getPatient().getInternalId());
+    return loader.load(apiTestOrder.getPatientId());
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "pregnancy")
   public CompletableFuture<String> pregnancy(
       ApiTestOrder apiTestOrder, DataLoader<UUID, PatientAnswers> loader) {
-    return loader
-        .load(apiTestOrder.getWrapped().getPatientAnswersId())
-        .thenApply(patientAnswers -> patientAnswers.getSurvey().getPregnancy());
+    return survey(apiTestOrder, loader).thenApply(Survey::pregnancy);
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "syphilisHistory")
   public CompletableFuture<String> syphilisHistory(
       ApiTestOrder apiTestOrder, DataLoader<UUID, PatientAnswers> loader) {
-    return loader
-        .load(apiTestOrder.getWrapped().getPatientAnswersId())
-        .thenApply(patientAnswers -> patientAnswers.getSurvey().getSyphilisHistory());
+    return survey(apiTestOrder, loader).thenApply(Survey::syphilisHistory);
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "noSymptoms")
   public CompletableFuture<Boolean> noSymptoms(
       ApiTestOrder apiTestOrder, DataLoader<UUID, PatientAnswers> loader) {
-    return loader
-        .load(apiTestOrder.getWrapped().getPatientAnswersId())
-        .thenApply(patientAnswers -> patientAnswers.getSurvey().getNoSymptoms());
+    return survey(apiTestOrder, loader).thenApply(Survey::noSymptoms);
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "symptoms")
   public CompletableFuture<String> symptoms(
       ApiTestOrder apiTestOrder, DataLoader<UUID, PatientAnswers> loader) {
-    return loader
-        .load(apiTestOrder.getWrapped().getPatientAnswersId())
-        .thenApply(patientAnswers -> patientAnswers.getSurvey().getSymptomsJSON());
+    return survey(apiTestOrder, loader).thenApply(Survey::symptoms);
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "symptomOnset")
   public CompletableFuture<LocalDate> symptomOnset(
       ApiTestOrder apiTestOrder, DataLoader<UUID, PatientAnswers> loader) {
-    return loader
-        .load(apiTestOrder.getWrapped().getPatientAnswersId())
-        .thenApply(patientAnswers -> patientAnswers.getSurvey().getSymptomOnsetDate());
+    return survey(apiTestOrder, loader).thenApply(Survey::symptomOnset);
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "genderOfSexualPartners")
   public CompletableFuture<List<String>> genderOfSexualPartners(
       ApiTestOrder apiTestOrder, DataLoader<UUID, PatientAnswers> loader) {
-    return loader
-        .load(apiTestOrder.getWrapped().getPatientAnswersId())
-        .thenApply(patientAnswers -> patientAnswers.getSurvey().getGenderOfSexualPartners());
+    return survey(apiTestOrder, loader).thenApply(Survey::genderOfSexualPartners);
+  }
+
+  /** Queue items carry their answers; orders load them in one batch per request. */
+  private static CompletableFuture<Survey> survey(
+      ApiTestOrder apiTestOrder, DataLoader<UUID, PatientAnswers> loader) {
+    if (apiTestOrder.getQueueItem() != null) {
+      return CompletableFuture.completedFuture(apiTestOrder.getQueueItem().survey());
+    }
+    return loader.load(apiTestOrder.getWrapped().getPatientAnswersId()).thenApply(Survey::of);
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "deviceType")
-  public DeviceType deviceType(ApiTestOrder apiTestOrder) {
-    return apiTestOrder.getWrapped().getDeviceType();
+  public CompletableFuture<DeviceType> deviceType(
+      ApiTestOrder apiTestOrder, DataLoader<UUID, DeviceType> deviceTypeLoader) {
+    if (apiTestOrder.getQueueItem() != null) {
+      return loadById(apiTestOrder.getQueueItem().deviceTypeId(), deviceTypeLoader);
+    }
+    return load(apiTestOrder.getWrapped().getDeviceType(), deviceTypeLoader);
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "specimenType")
-  public SpecimenType specimenType(ApiTestOrder apiTestOrder) {
-    return apiTestOrder.getWrapped().getSpecimenType();
+  public CompletableFuture<SpecimenType> specimenType(
+      ApiTestOrder apiTestOrder, DataLoader<UUID, SpecimenType> specimenTypeLoader) {
+    if (apiTestOrder.getQueueItem() != null) {
+      return loadById(apiTestOrder.getQueueItem().specimenTypeId(), specimenTypeLoader);
+    }
+    return load(apiTestOrder.getWrapped().getSpecimenType(), specimenTypeLoader);
   }
 
   @SchemaMapping(typeName = "TestOrder", field = "results")
-  public Set<Result> results(ApiTestOrder apiTestOrder) {
-    return apiTestOrder.getWrapped().getResults();
+  public CompletableFuture<List<DiseaseResult>> results(
+      ApiTestOrder apiTestOrder, DataLoader<UUID, List<Result>> testOrderResultsLoader) {
+    if (apiTestOrder.getQueueItem() != null) {
+      return CompletableFuture.completedFuture(apiTestOrder.getQueueItem().results());
+    }
+    return loadAll(
+            apiTestOrder.getWrapped().getResults(),
+            apiTestOrder.getInternalId(),
+            testOrderResultsLoader)
+        .thenApply(results -> results.stream().map(DiseaseResult::of).toList());
+  }
+
+  private static <T> CompletableFuture<T> loadById(UUID id, DataLoader<UUID, T> loader) {
+    return id == null ? CompletableFuture.completedFuture(null) : loader.load(id);
   }
 }
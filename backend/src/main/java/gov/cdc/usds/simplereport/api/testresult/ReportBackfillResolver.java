@@ -0,0 +1,50 @@
+package gov.cdc.usds.simplereport.api.testresult;
+
+import gov.cdc.usds.simplereport.config.AuthorizationConfiguration;
+import gov.cdc.usds.simplereport.db.model.ReportBackfillJob;
+import gov.cdc.usds.simplereport.service.ReportBackfillService;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@RequiredArgsConstructor
+public class ReportBackfillResolver {
+  private final ReportBackfillService reportBackfillService;
+
+  @QueryMapping
+  @AuthorizationConfiguration.RequireGlobalAdminUser
+  public List<ReportBackfillJob> reportBackfillJobs() {
+    return reportBackfillService.getJobs();
+  }
+
+  @MutationMapping
+  @AuthorizationConfiguration.RequireGlobalAdminUser
+  public ReportBackfillJob startReportBackfill(
+      @Argument UUID organizationId,
+      @Argument UUID facilityId,
+      @Argument Date startDate,
+      @Argument Date endDate,
+      @Argument boolean fhirOnly,
+      @Argument Integer maxPerSecond) {
+    return reportBackfillService.startBackfill(
+        organizationId, facilityId, startDate, endDate, fhirOnly, maxPerSecond);
+  }
+
+  @MutationMapping
+  @AuthorizationConfiguration.RequireGlobalAdminUser
+  public ReportBackfillJob resumeReportBackfill(@Argument UUID id) {
+    return reportBackfillService.resumeBackfill(id);
+  }
+
+  @MutationMapping
+  @AuthorizationConfiguration.RequireGlobalAdminUser
+  public ReportBackfillJob cancelReportBackfill(@Argument UUID id) {
+    return reportBackfillService.cancelBackfill(id);
+  }
+}
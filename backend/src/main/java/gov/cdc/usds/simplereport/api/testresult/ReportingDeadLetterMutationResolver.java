@@ -0,0 +1,20 @@
+package gov.cdc.usds.simplereport.api.testresult;
+
+import gov.cdc.usds.simplereport.config.AuthorizationConfiguration;
+import gov.cdc.usds.simplereport.service.ReportingDeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@RequiredArgsConstructor
+public class ReportingDeadLetterMutationResolver {
+  private final ReportingDeadLetterReplayService replayService;
+
+  @MutationMapping
+  @AuthorizationConfiguration.RequireGlobalAdminUser
+  public int replayReportingDeadLetters(@Argument int limit, @Argument int concurrency) {
+    return replayService.replay(limit, concurrency);
+  }
+}
@@ -1,7 +1,13 @@
 package gov.cdc.usds.simplereport.api.testresult;
 
+import static gov.cdc.usds.simplereport.api.EntityDataLoaders.load;
+
 import gov.cdc.usds.simplereport.api.model.ApiFacility;
+import gov.cdc.usds.simplereport.db.model.ApiUser;
+import gov.cdc.usds.simplereport.db.model.DeviceType;
+import gov.cdc.usds.simplereport.db.model.Facility;
 import gov.cdc.usds.simplereport.db.model.PatientLink;
+import gov.cdc.usds.simplereport.db.model.Person;
 import gov.cdc.usds.simplereport.db.model.auxiliary.ResolvedSurveyData;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultsListItem;
 import java.util.UUID;
@@ -14,8 +20,27 @@ import org.springframework.stereotype.Controller;
 public class ResultDataResolver {
 
   @SchemaMapping(typeName = "Result", field = "facility")
-  public ApiFacility getFacility(TestResultsListItem result) {
-    return new ApiFacility(result.getFacility());
+  public CompletableFuture<ApiFacility> getFacility(
+      TestResultsListItem result, DataLoader<UUID, Facility> facilityLoader) {
+    return load(result.getFacility(), facilityLoader).thenApply(ApiFacility::new);
+  }
+
+  @SchemaMapping(typeName = "Result", field = "patient")
+  public CompletableFuture<Person> getPatient(
+      TestResultsListItem result, DataLoader<UUID, Person> loader) {
+    return load(result.getPatient(), loader);
+  }
+
+  @SchemaMapping(typeName = "Result", field = "deviceType")
+  public CompletableFuture<DeviceType> getDeviceType(
+      TestResultsListItem result, DataLoader<UUID, DeviceType> deviceTypeLoader) {
+    return load(result.getDeviceType(), deviceTypeLoader);
+  }
+
+  @SchemaMapping(typeName = "Result", field = "createdBy")
+  public CompletableFuture<ApiUser> getCreatedBy(
+      TestResultsListItem result, DataLoader<UUID, ApiUser> apiUserLoader) {
+    return load(result.getCreatedBy(), apiUserLoader);
   }
 
   @SchemaMapping(typeName = "Result", field = "surveyData")
@@ -0,0 +1,192 @@
+package gov.cdc.usds.simplereport.api.testresult;
+
+import static gov.cdc.usds.simplereport.api.uploads.FileUploadController.TEXT_CSV_CONTENT_TYPE;
+import static gov.cdc.usds.simplereport.config.WebConfiguration.RESULT_EXPORT;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import gov.cdc.usds.simplereport.api.Translators;
+import gov.cdc.usds.simplereport.api.model.errors.BadRequestException;
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
+import gov.cdc.usds.simplereport.db.model.SupportedDisease;
+import gov.cdc.usds.simplereport.db.model.auxiliary.PersonRole;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultExportRow;
+import gov.cdc.usds.simplereport.logging.RestAuditLogManager;
+import gov.cdc.usds.simplereport.service.DiseaseService;
+import gov.cdc.usds.simplereport.service.OrganizationService;
+import gov.cdc.usds.simplereport.service.ResultService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Downloads the results list as CSV, with the same filters as the {@code resultsPage} query.
+ * Rows are written to the response as they are read from the database, and gzipped when the
+ * client accepts it, so an export of any size is served in constant memory.
+ *
+ * <p>The download is audited before any rows are written. Cells that a spreadsheet would run as a
+ * formula are prefixed with a single quote, since names and correction reasons are free text.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class ResultExportController {
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+  // spreadsheets treat a cell starting with any of these as a formula
+  private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+  private static final Map<String, Function<TestResultExportRow, Object>> COLUMNS = columns();
+
+  private static final ObjectWriter CSV_WRITER =
+      new CsvMapper()
+          .enable(CsvGenerator.Feature.ALWAYS_QUOTE_STRINGS)
+          .writerFor(Map.class)
+          .with(
+              CsvSchema.builder()
+                  .setUseHeader(true)
+                  .addColumns(COLUMNS.keySet(), CsvSchema.ColumnType.STRING)
+                  .build());
+
+  private final ResultService resultService;
+  private final DiseaseService diseaseService;
+  private final OrganizationService organizationService;
+  private final RestAuditLogManager restAuditLogManager;
+
+  @GetMapping(RESULT_EXPORT)
+  public void exportResults(
+      @RequestParam(required = false) UUID facilityId,
+      @RequestParam(required = false) UUID patientId,
+      @RequestParam(required = false) String result,
+      @RequestParam(required = false) String role,
+      @RequestParam(required = false) String disease,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Date startDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Date endDate,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      HttpServletRequest request,
+      HttpServletResponse response)
+      throws IOException {
+    TestResult testResult;
+    PersonRole personRole;
+    try {
+      testResult = Translators.parseTestResult(result);
+      personRole = Translators.parsePersonRole(role, true);
+    } catch (IllegalGraphqlArgumentException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+    SupportedDisease supportedDisease = null;
+    if (disease != null) {
+      supportedDisease = diseaseService.getDiseaseByName(disease);
+      if (supportedDisease == null) {
+        throw new BadRequestException("Unknown disease: " + disease);
+      }
+    }
+
+    restAuditLogManager.logRestRequest(request, organizationService.getCurrentOrganization());
+
+    boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+    response.setContentType(TEXT_CSV_CONTENT_TYPE);
+    response.setCharacterEncoding("UTF-8");
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"test-results.csv\"");
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    OutputStream body =
+        gzip
+            ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)
+            : response.getOutputStream();
+    try (SequenceWriter rows = CSV_WRITER.writeValues(body)) {
+      if (facilityId == null) {
+        resultService.exportOrganizationResults(
+            patientId,
+            testResult,
+            personRole,
+            supportedDisease,
+            startDate,
+            endDate,
+            row -> write(rows, row));
+      } else {
+        resultService.exportFacilityResults(
+            facilityId,
+            patientId,
+            testResult,
+            personRole,
+            supportedDisease,
+            startDate,
+            endDate,
+            row -> write(rows, row));
+      }
+    } catch (UncheckedIOException e) {
+      // most likely the client went away mid-download; the cursor is closed on the way out
+      log.warn("Test result export was not completed", e);
+    }
+  }
+
+  static Map<String, String> toCsvRow(TestResultExportRow row) {
+    Map<String, String> values = new LinkedHashMap<>();
+    COLUMNS.forEach(
+        (header, value) ->
+            values.put(header, escapeFormula(Objects.toString(value.apply(row), ""))));
+    return values;
+  }
+
+  static String escapeFormula(String value) {
+    if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+      return "'" + value;
+    }
+    return value;
+  }
+
+  private static void write(SequenceWriter rows, TestResultExportRow row) {
+    try {
+      rows.write(toCsvRow(row));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Map<String, Function<TestResultExportRow, Object>> columns() {
+    Map<String, Function<TestResultExportRow, Object>> columns = new LinkedHashMap<>();
+    columns.put("Test ID", TestResultExportRow::getTestEventId);
+    columns.put("Date tested", row -> row.getDateTested().toInstant());
+    columns.put("Facility", TestResultExportRow::getFacilityName);
+    columns.put("Patient last name", TestResultExportRow::getLastName);
+    columns.put("Patient first name", TestResultExportRow::getFirstName);
+    columns.put("Patient middle name", TestResultExportRow::getMiddleName);
+    columns.put("Patient suffix", TestResultExportRow::getSuffix);
+    columns.put("Patient date of birth", TestResultExportRow::getBirthDate);
+    columns.put("Patient role", TestResultExportRow::getRole);
+    columns.put("Condition", TestResultExportRow::getDisease);
+    columns.put("Result", TestResultExportRow::getTestResult);
+    columns.put("Device", TestResultExportRow::getDeviceName);
+    columns.put("Correction status", TestResultExportRow::getCorrectionStatus);
+    columns.put("Reason for correction", TestResultExportRow::getReasonForCorrection);
+    return Collections.unmodifiableMap(columns);
+  }
+}
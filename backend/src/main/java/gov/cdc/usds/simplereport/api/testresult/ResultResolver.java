@@ -5,15 +5,22 @@ import gov.cdc.usds.simplereport.db.model.SupportedDisease;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultsListItem;
 import gov.cdc.usds.simplereport.service.DiseaseService;
 import gov.cdc.usds.simplereport.service.ResultService;
+import gov.cdc.usds.simplereport.service.ResultService.ListProjection;
 import gov.cdc.usds.simplereport.service.TestOrderService;
+import gov.cdc.usds.simplereport.service.model.Connection;
+import gov.cdc.usds.simplereport.service.model.CountedPage;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import java.util.Date;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
+/**
+ * Result lists are read as plain columns unless the query selects {@code surveyData}, the only
+ * field that needs the test event's JSON snapshots.
+ */
 @Controller
 @RequiredArgsConstructor
 public class ResultResolver {
@@ -22,7 +29,7 @@ public class ResultResolver {
   private final DiseaseService diseaseService;
 
   @QueryMapping
-  public Page<TestResultsListItem> resultsPage(
+  public CountedPage<TestResultsListItem> resultsPage(
       @Argument UUID facilityId,
       @Argument UUID patientId,
       @Argument String result,
@@ -31,7 +38,8 @@ public class ResultResolver {
       @Argument Date startDate,
       @Argument Date endDate,
       @Argument int pageNumber,
-      @Argument int pageSize) {
+      @Argument int pageSize,
+      DataFetchingFieldSelectionSet selectionSet) {
 
     if (pageNumber < 0) {
       pageNumber = TestOrderService.DEFAULT_PAGINATION_PAGEOFFSET;
@@ -43,32 +51,80 @@ public class ResultResolver {
 
     SupportedDisease supportedDisease =
         disease != null ? diseaseService.getDiseaseByName(disease) : null;
+    ListProjection projection = projectionFor(selectionSet, "content/surveyData");
 
     if (facilityId == null) {
-      return service
-          .getOrganizationResults(
-              patientId,
-              Translators.parseTestResult(result),
-              Translators.parsePersonRole(role, true),
-              supportedDisease,
-              startDate,
-              endDate,
-              pageNumber,
-              pageSize)
-          .map(TestResultsListItem::new);
+      return service.getOrganizationResults(
+          projection,
+          patientId,
+          Translators.parseTestResult(result),
+          Translators.parsePersonRole(role, true),
+          supportedDisease,
+          startDate,
+          endDate,
+          pageNumber,
+          pageSize);
     }
 
-    return service
-        .getFacilityResults(
-            facilityId,
-            patientId,
-            Translators.parseTestResult(result),
-            Translators.parsePersonRole(role, true),
-            supportedDisease,
-            startDate,
-            endDate,
-            pageNumber,
-            pageSize)
-        .map(TestResultsListItem::new);
+    return service.getFacilityResults(
+        projection,
+        facilityId,
+        patientId,
+        Translators.parseTestResult(result),
+        Translators.parsePersonRole(role, true),
+        supportedDisease,
+        startDate,
+        endDate,
+        pageNumber,
+        pageSize);
+  }
+
+  @QueryMapping
+  public Connection<TestResultsListItem> resultsConnection(
+      @Argument UUID facilityId,
+      @Argument UUID patientId,
+      @Argument String result,
+      @Argument String role,
+      @Argument String disease,
+      @Argument Date startDate,
+      @Argument Date endDate,
+      @Argument int first,
+      @Argument String after,
+      DataFetchingFieldSelectionSet selectionSet) {
+    SupportedDisease supportedDisease =
+        disease != null ? diseaseService.getDiseaseByName(disease) : null;
+    ListProjection projection = projectionFor(selectionSet, "nodes/surveyData");
+
+    if (facilityId == null) {
+      return service.getOrganizationResultsConnection(
+          projection,
+          patientId,
+          Translators.parseTestResult(result),
+          Translators.parsePersonRole(role, true),
+          supportedDisease,
+          startDate,
+          endDate,
+          first,
+          after);
+    }
+
+    return service.getFacilityResultsConnection(
+        projection,
+        facilityId,
+        patientId,
+        Translators.parseTestResult(result),
+        Translators.parsePersonRole(role, true),
+        supportedDisease,
+        startDate,
+        endDate,
+        first,
+        after);
+  }
+
+  private static ListProjection projectionFor(
+      DataFetchingFieldSelectionSet selectionSet, String surveyDataField) {
+    return selectionSet.contains(surveyDataField)
+        ? ListProjection.ENTITIES
+        : ListProjection.LIST_COLUMNS;
   }
 }
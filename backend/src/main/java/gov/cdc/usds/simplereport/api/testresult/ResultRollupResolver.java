@@ -0,0 +1,21 @@
+package gov.cdc.usds.simplereport.api.testresult;
+
+import gov.cdc.usds.simplereport.config.AuthorizationConfiguration;
+import gov.cdc.usds.simplereport.service.ResultRollupService;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@RequiredArgsConstructor
+public class ResultRollupResolver {
+  private final ResultRollupService resultRollupService;
+
+  @MutationMapping
+  @AuthorizationConfiguration.RequireGlobalAdminUser
+  public int rebuildResultRollups(@Argument LocalDate startDate, @Argument LocalDate endDate) {
+    return resultRollupService.rebuild(startDate, endDate);
+  }
+}
@@ -1,7 +1,13 @@
 package gov.cdc.usds.simplereport.api.testresult;
 
+import static gov.cdc.usds.simplereport.api.EntityDataLoaders.load;
+import static gov.cdc.usds.simplereport.api.EntityDataLoaders.loadAll;
+
 import gov.cdc.usds.simplereport.api.InternalIdResolver;
 import gov.cdc.usds.simplereport.api.model.ApiFacility;
+import gov.cdc.usds.simplereport.db.model.ApiUser;
+import gov.cdc.usds.simplereport.db.model.DeviceType;
+import gov.cdc.usds.simplereport.db.model.Facility;
 import gov.cdc.usds.simplereport.db.model.PatientLink;
 import gov.cdc.usds.simplereport.db.model.Person;
 import gov.cdc.usds.simplereport.db.model.Result;
@@ -13,7 +19,6 @@ import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -92,8 +97,21 @@ public class TestResultDataResolver implements InternalIdResolver<TestEvent> {
   }
 
   @SchemaMapping(typeName = "TestResult", field = "facility")
-  public ApiFacility getFacility(TestEvent testEvent) {
-    return new ApiFacility(testEvent.getFacility());
+  public CompletableFuture<ApiFacility> getFacility(
+      TestEvent testEvent, DataLoader<UUID, Facility> facilityLoader) {
+    return load(testEvent.getFacility(), facilityLoader).thenApply(ApiFacility::new);
+  }
+
+  @SchemaMapping(typeName = "TestResult", field = "deviceType")
+  public CompletableFuture<DeviceType> getDeviceType(
+      TestEvent testEvent, DataLoader<UUID, DeviceType> deviceTypeLoader) {
+    return load(testEvent.getDeviceType(), deviceTypeLoader);
+  }
+
+  @SchemaMapping(typeName = "TestResult", field = "createdBy")
+  public CompletableFuture<ApiUser> getCreatedBy(
+      TestEvent testEvent, DataLoader<UUID, ApiUser> apiUserLoader) {
+    return load(testEvent.getCreatedBy(), apiUserLoader);
   }
 
   @SchemaMapping(typeName = "TestResult", field = "patientLink")
@@ -103,8 +121,9 @@ public class TestResultDataResolver implements InternalIdResolver<TestEvent> {
   }
 
   @SchemaMapping(typeName = "TestResult", field = "results")
-  public Set<Result> getResults(TestEvent testEvent) {
-    return testEvent.getResults();
+  public CompletableFuture<List<Result>> getResults(
+      TestEvent testEvent, DataLoader<UUID, List<Result>> testEventResultsLoader) {
+    return loadAll(testEvent.getResults(), testEvent.getInternalId(), testEventResultsLoader);
   }
 
   @SchemaMapping(typeName = "TestResult", field = "surveyData")
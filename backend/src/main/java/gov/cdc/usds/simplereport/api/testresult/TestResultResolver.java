@@ -2,16 +2,21 @@ package gov.cdc.usds.simplereport.api.testresult;
 
 import gov.cdc.usds.simplereport.api.Translators;
 import gov.cdc.usds.simplereport.api.model.OrganizationLevelDashboardMetrics;
+import gov.cdc.usds.simplereport.api.model.TestResultTrendPoint;
 import gov.cdc.usds.simplereport.api.model.TopLevelDashboardMetrics;
 import gov.cdc.usds.simplereport.db.model.TestEvent;
 import gov.cdc.usds.simplereport.db.model.TestResultUpload;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TrendInterval;
 import gov.cdc.usds.simplereport.service.DiseaseService;
+import gov.cdc.usds.simplereport.service.ResultTrendService;
 import gov.cdc.usds.simplereport.service.TestOrderService;
 import gov.cdc.usds.simplereport.service.TestResultUploadService;
 import gov.cdc.usds.simplereport.service.errors.InvalidBulkTestResultUploadException;
 import gov.cdc.usds.simplereport.service.errors.InvalidRSAPrivateKeyException;
 import gov.cdc.usds.simplereport.service.model.reportstream.UploadResponse;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -27,6 +32,7 @@ public class TestResultResolver {
   private final TestOrderService tos;
   private final TestResultUploadService testResultUploadService;
   private final DiseaseService diseaseService;
+  private final ResultTrendService resultTrendService;
 
   @QueryMapping
   public Page<TestEvent> testResultsPage(
@@ -120,6 +126,17 @@ public class TestResultResolver {
     return tos.getTopLevelDashboardMetrics(facilityId, startDate, endDate, disease);
   }
 
+  @QueryMapping
+  public List<TestResultTrendPoint> testResultTrends(
+      @Argument UUID facilityId,
+      @Argument LocalDate startDate,
+      @Argument LocalDate endDate,
+      @Argument TrendInterval interval,
+      @Argument String disease) {
+    return resultTrendService.getTestResultTrends(
+        facilityId, startDate, endDate, interval, disease);
+  }
+
   @QueryMapping
   public UploadResponse uploadSubmission(@Argument UUID id)
       throws InvalidBulkTestResultUploadException, InvalidRSAPrivateKeyException {
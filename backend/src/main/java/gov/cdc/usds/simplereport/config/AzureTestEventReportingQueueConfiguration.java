@@ -5,20 +5,21 @@ import static gov.cdc.usds.simplereport.config.BeanProfiles.PROD;
 import ca.uhn.fhir.context.FhirContext;
 import com.azure.storage.queue.QueueAsyncClient;
 import com.azure.storage.queue.QueueClientBuilder;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import gov.cdc.usds.simplereport.api.converter.FhirConverter;
 import gov.cdc.usds.simplereport.api.model.TestEventExport;
+import gov.cdc.usds.simplereport.api.model.TestEventExportWriter;
 import gov.cdc.usds.simplereport.api.model.errors.TestEventSerializationFailureException;
 import gov.cdc.usds.simplereport.db.model.TestEvent;
 import gov.cdc.usds.simplereport.properties.AzureStorageQueueReportingProperties;
 import gov.cdc.usds.simplereport.service.AzureStorageQueueFhirReportingService;
 import gov.cdc.usds.simplereport.service.AzureStorageQueueTestEventReportingService;
 import gov.cdc.usds.simplereport.service.TestEventReportingService;
+import gov.cdc.usds.simplereport.utils.QueueMessageCodec;
 import java.util.concurrent.CompletableFuture;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.info.GitProperties;
@@ -35,9 +36,9 @@ class AzureTestEventReportingQueueConfiguration {
       value = "simple-report.azure-reporting-queue.enabled",
       havingValue = "true")
   TestEventReportingService storageQueueReportingService(
-      ObjectMapper mapper, @Qualifier("csvQueue") QueueAsyncClient queueClient) {
+      @Qualifier("csvQueue") QueueAsyncClient queueClient, QueueMessageCodec messageCodec) {
     log.info("Configured for queue={}", queueClient.getQueueName());
-    return new AzureStorageQueueTestEventReportingService(mapper, queueClient);
+    return new AzureStorageQueueTestEventReportingService(queueClient, messageCodec);
   }
 
   @Bean("fhirQueueReportingService")
@@ -48,10 +49,11 @@ class AzureTestEventReportingQueueConfiguration {
       FhirContext context,
       @Qualifier("fhirQueueClient") QueueAsyncClient queueClient,
       GitProperties gitProperties,
-      FhirConverter fhirConverter) {
+      FhirConverter fhirConverter,
+      QueueMessageCodec messageCodec) {
     log.info("Configured for queue={}", queueClient.getQueueName());
     return new AzureStorageQueueFhirReportingService(
-        context, queueClient, gitProperties, fhirConverter);
+        context, queueClient, gitProperties, fhirConverter, messageCodec);
   }
 
   @Bean
@@ -59,6 +61,18 @@ class AzureTestEventReportingQueueConfiguration {
     return FhirContext.forR4();
   }
 
+  /**
+   * Compact encoding is off by default: only turn it on once the queue consumers decode with {@link
+   * QueueMessageCodec}.
+   */
+  @Bean
+  QueueMessageCodec queueMessageCodec(
+      @Value("${simple-report.azure-reporting-queue.compact-encoding:false}") boolean compact,
+      @Value("${simple-report.azure-reporting-queue.max-message-length:65536}")
+          int maxMessageLength) {
+    return new QueueMessageCodec(compact, maxMessageLength);
+  }
+
   @Profile(PROD)
   @Primary
   @Bean(name = "csvQueueReportingService")
@@ -141,10 +155,9 @@ class AzureTestEventReportingQueueConfiguration {
 
     private String toBuffer(TestEvent testEvent) {
       try {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.writeValueAsString(new TestEventExport(testEvent));
-      } catch (JsonProcessingException e) {
-        throw new TestEventSerializationFailureException(testEvent.getInternalId(), e.getMessage());
+        return TestEventExportWriter.toJson(new TestEventExport(testEvent));
+      } catch (RuntimeException e) {
+        throw new TestEventSerializationFailureException(testEvent.getInternalId(), e.toString());
       }
     }
   }
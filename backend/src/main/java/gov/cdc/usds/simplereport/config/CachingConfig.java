@@ -1,8 +1,10 @@
 package gov.cdc.usds.simplereport.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,20 +32,46 @@ public class CachingConfig {
   public static final String SNOMED_TO_SPECIMEN_NAME_MAP = "SNOMEDToSpecimenTypeNameMap";
   public static final String ADDRESS_TIMEZONE_LOOKUP_MAP = "addressTimezoneLookupMap";
   public static final String SUPPORTED_DISEASE_ID_MAP = "supportedDiseaseIDMap";
+  public static final String FACILITY_QUEUE_SNAPSHOT = "facilityQueueSnapshot";
+  public static final String RECORD_COUNTS = "recordCounts";
+  public static final String RESULT_TRENDS = "resultTrends";
+  public static final String ORGANIZATION_ROLES = "organizationRoles";
+  public static final String TENANT_DATA_ACCESS_GRANTS = "tenantDataAccessGrants";
 
   @Bean
   public CacheManager cacheManager() {
-    return new ConcurrentMapCacheManager(
-        COVID_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
-        HEPATITIS_C_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
-        GONORRHEA_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
-        HIV_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
-        SYPHILIS_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
-        CHLAMYDIA_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
-        DEVICE_MODEL_AND_TEST_PERFORMED_CODE_MAP,
-        SPECIMEN_NAME_TO_SNOMED_MAP,
-        SNOMED_TO_SPECIMEN_NAME_MAP,
-        ADDRESS_TIMEZONE_LOOKUP_MAP,
-        SUPPORTED_DISEASE_ID_MAP);
+    CaffeineCacheManager cacheManager =
+        new CaffeineCacheManager(
+            COVID_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
+            HEPATITIS_C_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
+            GONORRHEA_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
+            HIV_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
+            SYPHILIS_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
+            CHLAMYDIA_EQUIPMENT_MODEL_AND_TEST_PERFORMED_CODE_SET,
+            DEVICE_MODEL_AND_TEST_PERFORMED_CODE_MAP,
+            SPECIMEN_NAME_TO_SNOMED_MAP,
+            SNOMED_TO_SPECIMEN_NAME_MAP,
+            ADDRESS_TIMEZONE_LOOKUP_MAP,
+            SUPPORTED_DISEASE_ID_MAP);
+    // the lookups above hold a handful of entries each; the bound only guards against mistakes
+    cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(1_000));
+    // per-facility, per-organization and per-user caches are bounded by size, and expire so that
+    // changes made on another instance are picked up
+    cacheManager.registerCustomCache(
+        FACILITY_QUEUE_SNAPSHOT,
+        Caffeine.newBuilder().maximumSize(500).expireAfterWrite(Duration.ofSeconds(30)).build());
+    cacheManager.registerCustomCache(
+        RECORD_COUNTS,
+        Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(1)).build());
+    cacheManager.registerCustomCache(
+        RESULT_TRENDS,
+        Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofHours(1)).build());
+    cacheManager.registerCustomCache(
+        ORGANIZATION_ROLES,
+        Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(1)).build());
+    cacheManager.registerCustomCache(
+        TENANT_DATA_ACCESS_GRANTS,
+        Caffeine.newBuilder().maximumSize(1_000).expireAfterWrite(Duration.ofMinutes(1)).build());
+    return cacheManager;
   }
 }
@@ -2,7 +2,9 @@ package gov.cdc.usds.simplereport.config;
 
 import static java.util.Collections.singletonList;
 
+import gov.cdc.usds.simplereport.api.PersistedQueryDocumentProvider;
 import gov.cdc.usds.simplereport.api.DefaultArgumentValidation;
+import gov.cdc.usds.simplereport.api.QueryCostInstrumentation;
 import gov.cdc.usds.simplereport.api.directives.RequiredPermissionsDirectiveWiring;
 import gov.cdc.usds.simplereport.api.model.errors.ConflictingUserException;
 import gov.cdc.usds.simplereport.api.model.errors.GenericGraphqlException;
@@ -22,6 +24,7 @@ import graphql.validation.rules.OnValidationErrorStrategy;
 import graphql.validation.rules.ValidationRules;
 import graphql.validation.schemawiring.ValidationSchemaWiring;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.graphql.execution.DataFetcherExceptionResolver;
@@ -39,6 +42,10 @@ import reactor.core.publisher.Mono;
 public class GraphQlConfig {
   public static final String REQUIRED_PERMISSIONS_DIRECTIVE_NAME = "requiredPermissions";
   public static final int MAXIMUM_SIZE = 256;
+  // the deepest query the frontend sends is about 6 levels; introspection goes to about 13
+  public static final int MAXIMUM_QUERY_DEPTH = 15;
+  // room for the frontend's largest request, a 20,000 row results CSV download
+  public static final long MAXIMUM_QUERY_COST = 2_000_000;
 
   private static final String defaultErrorBody = "body: Please check for errors and try again";
 
@@ -131,6 +138,18 @@ public class GraphQlConfig {
     };
   }
 
+  @Bean
+  public QueryCostInstrumentation queryCostInstrumentation() {
+    return new QueryCostInstrumentation(MAXIMUM_QUERY_DEPTH, MAXIMUM_QUERY_COST);
+  }
+
+  @Bean
+  public GraphQlSourceBuilderCustomizer preparsedDocumentCustomizer(
+      PersistedQueryDocumentProvider documentProvider) {
+    return builder ->
+        builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+  }
+
   @Bean
   public RuntimeWiringConfigurer runtimeWiringConfigurer() {
     // this adds the graphql-java-extended-validation and a max argument size of MAXIMUM_SIZE
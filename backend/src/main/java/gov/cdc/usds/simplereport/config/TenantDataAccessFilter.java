@@ -5,12 +5,14 @@ import gov.cdc.usds.simplereport.api.model.errors.NonexistentUserException;
 import gov.cdc.usds.simplereport.config.authorization.TenantDataAuthenticationProvider;
 import gov.cdc.usds.simplereport.service.ApiUserService;
 import gov.cdc.usds.simplereport.service.AuthorizationService;
+import gov.cdc.usds.simplereport.service.model.TenantDataAccessGrant;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,14 +38,15 @@ public class TenantDataAccessFilter implements Filter {
 
     try {
       if (currentAuth != null && _authService.isSiteAdmin()) {
-        Set<String> authorities = _apiUserService.getTenantDataAccessAuthoritiesForCurrentUser();
+        Optional<TenantDataAccessGrant> grant =
+            _apiUserService.getTenantDataAccessForCurrentUser();
 
-        if (authorities.size() > 0) {
+        if (grant.isPresent()) {
+          Set<String> authorities = grant.get().authorities();
           Set<GrantedAuthority> grantedAuthorities =
               authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toSet());
 
-          String username =
-              _apiUserService.getCurrentApiUserInContainedTransaction().getLoginEmail();
+          String username = grant.get().username();
           _currentTenantDataAccessContextHolder.setTenantDataAccessAuthorities(
               username, authorities);
 
@@ -1,5 +1,7 @@
 package gov.cdc.usds.simplereport.config.authorization;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import gov.cdc.usds.simplereport.config.AuthorizationProperties;
 import java.util.Arrays;
 import java.util.Collection;
@@ -25,8 +27,14 @@ public class OrganizationExtractor
 
   public static final String FACILITY_ACCESS_MARKER = "FACILITY_ACCESS";
   private static final String CLAIM_SEPARATOR = ":";
+  private static final int PARSED_CLAIMS_CACHE_SIZE = 1000;
   private AuthorizationProperties properties;
 
+  // Parsing depends only on the set of claims, and every request from the same user carries the
+  // same set, so results are kept per set of raw claim strings. The cached lists are immutable.
+  private final Cache<Set<String>, List<OrganizationRoleClaims>> parsedClaims =
+      Caffeine.newBuilder().maximumSize(PARSED_CLAIMS_CACHE_SIZE).build();
+
   public OrganizationExtractor(AuthorizationProperties properties) {
     this.properties = properties;
   }
@@ -35,8 +43,15 @@ public class OrganizationExtractor
    * There are two kinds of claims we care about - role claims and facility claims. Role claims take
    * the format SR-<ENV>-TENANT:<ORG_EXTERNAL_ID>:<ROLE> Facility claims take the format
    * SR-<ENV>-TENANT:<ORG_EXTERNAL_ID>:FACILITY_ACCESS:<FACILITY_UUID>
+   *
+   * <p>The returned list is shared with other callers presenting the same claims, and cannot be
+   * modified.
    */
   public List<OrganizationRoleClaims> convertClaims(Collection<String> claims) {
+    return parsedClaims.get(Set.copyOf(claims), this::parseClaims);
+  }
+
+  private List<OrganizationRoleClaims> parseClaims(Collection<String> claims) {
     // Map of orgs to facilities the user can access therein
     Map<String, Set<UUID>> facilitiesFound = new HashMap<>();
 
@@ -74,7 +89,7 @@ public class OrganizationExtractor
                     o,
                     facilitiesFound.getOrDefault(o, Set.of()),
                     rolesFound.getOrDefault(o, EnumSet.noneOf(OrganizationRole.class))))
-        .collect(Collectors.toList());
+        .toList();
   }
 
   @Override
@@ -5,7 +5,9 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.UUID;
+import lombok.EqualsAndHashCode;
 
+@EqualsAndHashCode
 public class OrganizationRoleClaims implements PermissionHolder {
 
   private String organizationExternalId;
@@ -1,5 +1,6 @@
 package gov.cdc.usds.simplereport.config.authorization;
 
+import gov.cdc.usds.simplereport.api.AuthorizationDecisionContextHolder;
 import gov.cdc.usds.simplereport.api.CurrentAccountRequestContextHolder;
 import gov.cdc.usds.simplereport.api.model.errors.NonexistentQueueItemException;
 import gov.cdc.usds.simplereport.api.model.errors.NonexistentUserException;
@@ -30,11 +31,14 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.support.ScopeNotActiveException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -59,40 +63,54 @@ public class UserAuthorizationVerifier {
   private final AuthorizationService _authService;
   private final CurrentAccountRequestContextHolder _contextHolder;
   private final FeatureFlagsConfig _featureFlagsConfig;
+  private final AuthorizationDecisionContextHolder _decisionContext;
 
   public boolean userHasSiteAdminRole() {
     return _authService.isSiteAdmin();
   }
 
   public boolean userHasPermissions(Set<UserPermission> permissions) {
-    Optional<OrganizationRoles> orgRoles = _orgService.getCurrentOrganizationRoles();
-    // more troubleshooting help here.
-    // Note: if your not reaching this code, then grep for
-    // 'AbstractAccessDecisionManager.accessDenied' in
-    // spring library AffirmativeBased.java and set a breakpoint there.
-    if (orgRoles.isEmpty()) {
-      log.warn("Permission request for {} failed. No roles for org defined.", permissions);
-      return false;
-    }
-    // check that all the granted permissions contain this permission.
-    Set<UserPermission> failedChecks =
-        permissions.stream()
-            .filter(permission -> !orgRoles.get().getGrantedPermissions().contains(permission))
-            .collect(Collectors.toSet());
+    return decide(
+        "userHasPermissions",
+        new TreeSet<>(permissions),
+        () -> {
+          Optional<OrganizationRoles> orgRoles = _orgService.getCurrentOrganizationRoles();
+          // more troubleshooting help here.
+          // Note: if your not reaching this code, then grep for
+          // 'AbstractAccessDecisionManager.accessDenied' in
+          // spring library AffirmativeBased.java and set a breakpoint there.
+          if (orgRoles.isEmpty()) {
+            log.warn("Permission request for {} failed. No roles for org defined.", permissions);
+            return false;
+          }
+          // check that all the granted permissions contain this permission.
+          Set<UserPermission> failedChecks =
+              permissions.stream()
+                  .filter(
+                      permission -> !orgRoles.get().getGrantedPermissions().contains(permission))
+                  .collect(Collectors.toSet());
 
-    if (!failedChecks.isEmpty()) {
-      // if failed checks are empty, then user has permission
-      log.warn(
-          "Permissions request for {} failed. Failed permission: {}", permissions, failedChecks);
-      return false;
-    }
+          if (!failedChecks.isEmpty()) {
+            // if failed checks are empty, then user has permission
+            log.warn(
+                "Permissions request for {} failed. Failed permission: {}",
+                permissions,
+                failedChecks);
+            return false;
+          }
 
-    return true;
+          return true;
+        });
   }
 
   public boolean userIsNotSelf(UUID userId) {
-    IdentityAttributes id = _supplier.get();
-    return !getUser(userId).getLoginEmail().equals(id.getUsername());
+    return decide(
+        "userIsNotSelf",
+        userId,
+        () -> {
+          IdentityAttributes id = _supplier.get();
+          return !getUser(userId).getLoginEmail().equals(id.getUsername());
+        });
   }
 
   public boolean userHasPermission(UserPermission permission) {
@@ -100,44 +118,59 @@ public class UserAuthorizationVerifier {
   }
 
   public boolean userIsInSameOrg(UUID userId) {
-    Optional<OrganizationRoles> currentOrgRoles = _orgService.getCurrentOrganizationRoles();
-    ApiUser otherUser = getUser(userId);
-    String otherUserEmail = otherUser.getLoginEmail();
-    Optional<Organization> otherOrg =
-        _oktaRepo
-            .getOrganizationRoleClaimsForUser(otherUserEmail)
-            .map(r -> _orgService.getOrganization(r.getOrganizationExternalId()));
-    if (_featureFlagsConfig.isOktaMigrationEnabled()) {
-      otherOrg = otherUser.getOrganizations().stream().findFirst();
-    }
+    return decide(
+        "userIsInSameOrg",
+        userId,
+        () -> {
+          Optional<OrganizationRoles> currentOrgRoles = _orgService.getCurrentOrganizationRoles();
+          ApiUser otherUser = getUser(userId);
+          String otherUserEmail = otherUser.getLoginEmail();
+          Optional<Organization> otherOrg =
+              _oktaRepo
+                  .getOrganizationRoleClaimsForUser(otherUserEmail)
+                  .map(r -> _orgService.getOrganization(r.getOrganizationExternalId()));
+          if (_featureFlagsConfig.isOktaMigrationEnabled()) {
+            otherOrg = otherUser.getOrganizations().stream().findFirst();
+          }
 
-    return currentOrgRoles.isPresent()
-        && otherOrg.isPresent()
-        && currentOrgRoles
-            .get()
-            .getOrganization()
-            .getExternalId()
-            .equals(otherOrg.get().getExternalId());
+          return currentOrgRoles.isPresent()
+              && otherOrg.isPresent()
+              && currentOrgRoles
+                  .get()
+                  .getOrganization()
+                  .getExternalId()
+                  .equals(otherOrg.get().getExternalId());
+        });
   }
 
   public boolean userCanViewTestEvent(UUID testEventId) {
     if (testEventId == null) {
       return true;
     }
-    Optional<TestEvent> testEvent = _testEventRepo.findById(testEventId);
-    return testEvent.isPresent()
-        && userCanAccessFacility(testEvent.get().getFacility().getInternalId());
+    return decide(
+        "userCanViewTestEvent",
+        testEventId,
+        () -> {
+          Optional<TestEvent> testEvent = _testEventRepo.findById(testEventId);
+          return testEvent.isPresent()
+              && userCanAccessFacility(testEvent.get().getFacility().getInternalId());
+        });
   }
 
   public boolean userCanViewQueueItem(UUID testOrderId) {
     if (testOrderId == null) {
       return true;
     }
-    Optional<TestOrder> testOrder = _testOrderRepo.fetchQueueItemById(testOrderId);
-    if (testOrder.isEmpty()) {
-      throw new NonexistentQueueItemException();
-    }
-    return userCanViewQueueItem(testOrder.get());
+    return decide(
+        "userCanViewQueueItem",
+        testOrderId,
+        () -> {
+          Optional<TestOrder> testOrder = _testOrderRepo.fetchQueueItemById(testOrderId);
+          if (testOrder.isEmpty()) {
+            throw new NonexistentQueueItemException();
+          }
+          return userCanViewQueueItem(testOrder.get());
+        });
   }
 
   public boolean userCanViewQueueItem(TestOrder testOrder) {
@@ -152,19 +185,25 @@ public class UserAuthorizationVerifier {
   public boolean userCanViewQueueItemForPatient(UUID patientId) {
     if (patientId == null) {
       return true;
-    } else if (!userCanViewPatient(patientId)) {
-      return false;
-    }
-    Optional<Person> patient = _personRepo.findById(patientId);
-    if (patient.isEmpty()) {
-      return false;
-    }
-    Organization org = patient.get().getOrganization();
-    Optional<TestOrder> order = _testOrderRepo.fetchQueueItem(org, patient.get());
-    if (order.isEmpty()) {
-      throw new NonexistentQueueItemException();
     }
-    return userCanViewQueueItem(order.get());
+    return decide(
+        "userCanViewQueueItemForPatient",
+        patientId,
+        () -> {
+          if (!userCanViewPatient(patientId)) {
+            return false;
+          }
+          Optional<Person> patient = _personRepo.findById(patientId);
+          if (patient.isEmpty()) {
+            return false;
+          }
+          Organization org = patient.get().getOrganization();
+          Optional<TestOrder> order = _testOrderRepo.fetchQueueItem(org, patient.get());
+          if (order.isEmpty()) {
+            throw new NonexistentQueueItemException();
+          }
+          return userCanViewQueueItem(order.get());
+        });
   }
 
   public boolean userCanAccessFacility(UUID facilityId) {
@@ -172,20 +211,25 @@ public class UserAuthorizationVerifier {
       return true;
     }
 
-    Optional<OrganizationRoles> currentOrgRoles = _orgService.getCurrentOrganizationRoles();
-    if (currentOrgRoles.isPresent()) {
-      OrganizationRoles orgRoles = currentOrgRoles.get();
-      if (orgRoles.containsFacility(facilityId)) {
-        return true;
-      }
-      if (orgRoles.grantsArchivedFacilityAccess()) {
-        Optional<Facility> fac =
-            _facilityRepo.findByOrganizationAndInternalIdAllowDeleted(
-                orgRoles.getOrganization(), facilityId);
-        return fac.isPresent() && fac.get().getIsDeleted();
-      }
-    }
-    return false;
+    return decide(
+        "userCanAccessFacility",
+        facilityId,
+        () -> {
+          Optional<OrganizationRoles> currentOrgRoles = _orgService.getCurrentOrganizationRoles();
+          if (currentOrgRoles.isPresent()) {
+            OrganizationRoles orgRoles = currentOrgRoles.get();
+            if (orgRoles.containsFacility(facilityId)) {
+              return true;
+            }
+            if (orgRoles.grantsArchivedFacilityAccess()) {
+              Optional<Facility> fac =
+                  _facilityRepo.findByOrganizationAndInternalIdAllowDeleted(
+                      orgRoles.getOrganization(), facilityId);
+              return fac.isPresent() && fac.get().getIsDeleted();
+            }
+          }
+          return false;
+        });
   }
 
   public boolean userCanViewPatient(Person patient) {
@@ -212,22 +256,34 @@ public class UserAuthorizationVerifier {
     if (patientId == null) {
       return true;
     }
-    Optional<Person> patient = _personRepo.findById(patientId);
-    return patient.isPresent() && userCanViewPatient(patient.get());
+    return decide(
+        "userCanViewPatient",
+        patientId,
+        () -> {
+          Optional<Person> patient = _personRepo.findById(patientId);
+          return patient.isPresent() && userCanViewPatient(patient.get());
+        });
   }
 
   public boolean userCanAccessPatientLink(UUID patientLinkId) {
     if (patientLinkId == null) {
       return true;
     }
-    Optional<OrganizationRoles> currentOrgRoles = _orgService.getCurrentOrganizationRoles();
-    if (currentOrgRoles.isEmpty()) {
-      return false;
-    } else {
-      Optional<PatientLink> patientLink = _patientLinkRepo.findById(patientLinkId);
-      return patientLink.isPresent()
-          && currentOrgRoles.get().containsFacility(patientLink.get().getTestOrder().getFacility());
-    }
+    return decide(
+        "userCanAccessPatientLink",
+        patientLinkId,
+        () -> {
+          Optional<OrganizationRoles> currentOrgRoles = _orgService.getCurrentOrganizationRoles();
+          if (currentOrgRoles.isEmpty()) {
+            return false;
+          } else {
+            Optional<PatientLink> patientLink = _patientLinkRepo.findById(patientLinkId);
+            return patientLink.isPresent()
+                && currentOrgRoles
+                    .get()
+                    .containsFacility(patientLink.get().getTestOrder().getFacility());
+          }
+        });
   }
 
   public boolean userHasSpecificPatientSearchPermission(
@@ -267,16 +323,21 @@ public class UserAuthorizationVerifier {
   }
 
   public boolean userIsValid() {
-    IdentityAttributes id = _supplier.get();
-    if (id == null) {
-      throw new UnidentifiedUserException();
-    }
-    Optional<ApiUser> found = _userRepo.findByLoginEmail(id.getUsername());
-    if (found.isEmpty()) {
-      throw new NonexistentUserException();
-    }
+    return decide(
+        "userIsValid",
+        null,
+        () -> {
+          IdentityAttributes id = _supplier.get();
+          if (id == null) {
+            throw new UnidentifiedUserException();
+          }
+          Optional<ApiUser> found = _userRepo.findByLoginEmail(id.getUsername());
+          if (found.isEmpty()) {
+            throw new NonexistentUserException();
+          }
 
-    return true;
+          return true;
+        });
   }
 
   // This replicates getUser() in ApiUserService.java, but we cannot call that logic directly or
@@ -290,6 +351,18 @@ public class UserAuthorizationVerifier {
     return found.orElseThrow(NonexistentUserException::new);
   }
 
+  /**
+   * Makes the decision at most once per request for the given check and resource. Outside a
+   * request (for instance in a scheduled job) every decision is made afresh.
+   */
+  private boolean decide(String check, Object resource, BooleanSupplier decision) {
+    try {
+      return _decisionContext.decide(check, resource, decision);
+    } catch (ScopeNotActiveException e) {
+      return decision.getAsBoolean();
+    }
+  }
+
   public boolean permitAllAccountRequests() {
     _contextHolder.setIsAccountRequest(true);
     return true;
@@ -0,0 +1,88 @@
+package gov.cdc.usds.simplereport.db.migration;
+
+import gov.cdc.usds.simplereport.utils.NameSearchUtils;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Liquibase change that fills {@code person.name_search} for existing patients using {@link
+ * NameSearchUtils#toSearchKey}, the same folding the application applies on write. Doing this in
+ * SQL would need its own accent table, which cannot match Java's Unicode normalization for every
+ * script, and search terms would then miss rows that were only ever backfilled.
+ *
+ * <p>Patients are processed in batches ordered by id, so the whole table is never held in memory.
+ */
+public class BackfillPersonNameSearch implements CustomTaskChange {
+  private static final int BATCH_SIZE = 1000;
+
+  private int updatedCount;
+
+  @Override
+  public void execute(Database database) throws CustomChangeException {
+    String table = database.escapeTableName(null, database.getDefaultSchemaName(), "person");
+    Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+    try (PreparedStatement select =
+            connection.prepareStatement(
+                "SELECT internal_id, first_name, middle_name, last_name FROM "
+                    + table
+                    + " WHERE internal_id > ? ORDER BY internal_id LIMIT "
+                    + BATCH_SIZE);
+        PreparedStatement update =
+            connection.prepareStatement(
+                "UPDATE " + table + " SET name_search = ? WHERE internal_id = ?")) {
+      UUID after = new UUID(0L, 0L);
+      int batchCount;
+      do {
+        batchCount = 0;
+        select.setObject(1, after);
+        try (ResultSet rows = select.executeQuery()) {
+          while (rows.next()) {
+            after = rows.getObject("internal_id", UUID.class);
+            update.setString(
+                1,
+                NameSearchUtils.toSearchKey(
+                    rows.getString("first_name"),
+                    rows.getString("middle_name"),
+                    rows.getString("last_name")));
+            update.setObject(2, after);
+            update.addBatch();
+            batchCount++;
+          }
+        }
+        update.executeBatch();
+        updatedCount += batchCount;
+      } while (batchCount == BATCH_SIZE);
+    } catch (SQLException e) {
+      throw new CustomChangeException("Unable to backfill person.name_search", e);
+    }
+  }
+
+  @Override
+  public String getConfirmationMessage() {
+    return "Backfilled name_search for " + updatedCount + " patients";
+  }
+
+  @Override
+  public void setUp() {
+    // no parameters
+  }
+
+  @Override
+  public void setFileOpener(ResourceAccessor resourceAccessor) {
+    // no files to read
+  }
+
+  @Override
+  public ValidationErrors validate(Database database) {
+    return new ValidationErrors();
+  }
+}
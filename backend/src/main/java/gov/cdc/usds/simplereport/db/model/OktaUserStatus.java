@@ -0,0 +1,37 @@
+package gov.cdc.usds.simplereport.db.model;
+
+import com.okta.sdk.resource.model.UserStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import java.util.Date;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Okta status of a user, as last read from Okta, and the organization Okta puts them in. An
+ * organization has rows once its users have been listed; Okta remains the source of truth. Rows are
+ * only written through {@link gov.cdc.usds.simplereport.db.repository.OktaUserStatusRepository}.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class OktaUserStatus {
+
+  @Id
+  @Column(nullable = false)
+  private UUID apiUserId;
+
+  @Column(nullable = false)
+  private UUID organizationId;
+
+  @Column(nullable = false)
+  @Enumerated(EnumType.STRING)
+  private UserStatus status;
+
+  @Column(nullable = false)
+  private Date syncedAt;
+}
@@ -1,12 +1,15 @@
 package gov.cdc.usds.simplereport.db.model;
 
+import gov.cdc.usds.simplereport.service.OrganizationRolesEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import java.util.Objects;
 import org.hibernate.annotations.NaturalId;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
 
 @Entity
+@EntityListeners(OrganizationRolesEntityListener.class)
 public class Organization extends EternalAuditedEntity {
 
   @Column(nullable = false, unique = true)
@@ -0,0 +1,31 @@
+package gov.cdc.usds.simplereport.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.util.Date;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A patient's most recent test event: the one with the latest backdated test time, or creation time
+ * if it wasn't backdated, whatever its correction status. A patient has a row once they have any
+ * test event. Rows are only written through {@link
+ * gov.cdc.usds.simplereport.db.repository.PatientTestSummaryRepository}.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class PatientTestSummary {
+
+  @Id
+  @Column(nullable = false)
+  private UUID personId;
+
+  @Column(nullable = false)
+  private UUID lastTestEventId;
+
+  @Column(nullable = false)
+  private Date lastTestedAt;
+}
@@ -8,11 +8,14 @@ import gov.cdc.usds.simplereport.db.model.auxiliary.PersonRole;
 import gov.cdc.usds.simplereport.db.model.auxiliary.RaceArrayConverter;
 import gov.cdc.usds.simplereport.db.model.auxiliary.StreetAddress;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultDeliveryPreference;
+import gov.cdc.usds.simplereport.service.RecordCountEntityListener;
+import gov.cdc.usds.simplereport.utils.NameSearchUtils;
 import io.hypersistence.utils.hibernate.type.array.ListArrayType;
 import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -20,6 +23,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,6 +47,7 @@ import org.hibernate.type.SqlTypes;
  * this object, you will likely break many things, so do not do that.
  */
 @Entity
+@EntityListeners(RecordCountEntityListener.class)
 public class Person extends OrganizationScopedEternalEntity implements PersonEntity, LocatedEntity {
 
   // NOTE: facility==NULL means this person appears in ALL facilities for a given Organization.
@@ -116,6 +122,9 @@ public class Person extends OrganizationScopedEternalEntity implements PersonEnt
   @Column(columnDefinition = "TEST_RESULT_DELIVERY")
   private TestResultDeliveryPreference testResultDeliveryPreference;
 
+  // see NameSearchUtils; kept in step with nameInfo whenever the row is written
+  @Column @JsonIgnore private String nameSearch;
+
   protected Person() {
     /* for hibernate */
   }
@@ -369,6 +378,14 @@ public class Person extends OrganizationScopedEternalEntity implements PersonEnt
     return nameInfo;
   }
 
+  @PrePersist
+  @PreUpdate
+  void updateNameSearch() {
+    nameSearch =
+        NameSearchUtils.toSearchKey(
+            nameInfo.getFirstName(), nameInfo.getMiddleName(), nameInfo.getLastName());
+  }
+
   public String getFirstName() {
     return nameInfo.getFirstName();
   }
@@ -478,6 +495,7 @@ public class Person extends OrganizationScopedEternalEntity implements PersonEnt
     public static final String FIRST_NAME = "firstName";
     public static final String MIDDLE_NAME = "middleName";
     public static final String LAST_NAME = "lastName";
+    public static final String NAME_SEARCH = "nameSearch";
     public static final String BIRTH_DATE = "birthDate";
     public static final String POSTAL_CODE = "postalCode";
 
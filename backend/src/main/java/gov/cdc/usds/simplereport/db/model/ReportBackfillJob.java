@@ -0,0 +1,87 @@
+package gov.cdc.usds.simplereport.db.model;
+
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportBackfillStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.util.Date;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * A request to re-send every test event created in a date range (optionally limited to one
+ * organization or facility) to the reporting queues. Progress is checkpointed after each page of
+ * events so that an interrupted job can pick up where it left off.
+ */
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@NoArgsConstructor
+public class ReportBackfillJob extends IdentifiedEntity {
+  @Column(updatable = false)
+  private UUID organizationId;
+
+  @Column(updatable = false)
+  private UUID facilityId;
+
+  @Column(nullable = false, updatable = false)
+  private Date startDate;
+
+  @Column(nullable = false, updatable = false)
+  private Date endDate;
+
+  @Column(nullable = false, updatable = false)
+  private boolean fhirOnly;
+
+  @Column(nullable = false, updatable = false)
+  private int maxPerSecond;
+
+  @Column(nullable = false)
+  @Enumerated(EnumType.STRING)
+  private ReportBackfillStatus status;
+
+  @Column(nullable = false, updatable = false)
+  private long totalEvents;
+
+  @Column(nullable = false)
+  private long sentEvents;
+
+  @Column(nullable = false)
+  private long failedEvents;
+
+  private Date cursorCreatedAt;
+
+  private UUID cursorTestEventId;
+
+  private String lastError;
+
+  @Column(updatable = false)
+  @CreatedDate
+  private Date createdAt;
+
+  @LastModifiedDate private Date updatedAt;
+
+  public ReportBackfillJob(
+      UUID organizationId,
+      UUID facilityId,
+      Date startDate,
+      Date endDate,
+      boolean fhirOnly,
+      int maxPerSecond,
+      long totalEvents) {
+    this.organizationId = organizationId;
+    this.facilityId = facilityId;
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.fhirOnly = fhirOnly;
+    this.maxPerSecond = maxPerSecond;
+    this.totalEvents = totalEvents;
+    this.status = ReportBackfillStatus.RUNNING;
+  }
+}
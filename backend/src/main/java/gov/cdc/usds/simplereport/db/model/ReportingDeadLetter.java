@@ -0,0 +1,46 @@
+package gov.cdc.usds.simplereport.db.model;
+
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportingQueue;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.util.Date;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A test event that could not be delivered to a reporting queue. Rows are written by {@link
+ * gov.cdc.usds.simplereport.db.repository.ReportingDeadLetterRepository#recordFailure}, retried
+ * automatically until {@code nextAttemptAt} is cleared, and removed once a replay succeeds. A
+ * replay claims the row first (see {@code claimedUntil}), so that only one replay sends it at a
+ * time.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class ReportingDeadLetter extends IdentifiedEntity {
+  /** This is foreign-keyed to TestEvent.internal_id */
+  @Column(nullable = false, updatable = false)
+  private UUID testEventInternalId;
+
+  @Column(nullable = false, updatable = false)
+  @Enumerated(EnumType.STRING)
+  private ReportingQueue queue;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  private String lastError;
+
+  private Date nextAttemptAt;
+
+  private Date claimedUntil;
+
+  @Column(nullable = false, updatable = false)
+  private Date createdAt;
+
+  @Column(nullable = false)
+  private Date updatedAt;
+}
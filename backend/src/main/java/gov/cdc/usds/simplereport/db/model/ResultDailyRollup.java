@@ -0,0 +1,59 @@
+package gov.cdc.usds.simplereport.db.model;
+
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * The number of results for one facility, day, disease, result and correction status. Only the
+ * latest version of each test event is counted, and removed test events are not counted at all.
+ * Rows are only written through {@link
+ * gov.cdc.usds.simplereport.db.repository.ResultDailyRollupRepository}.
+ */
+@Entity
+@IdClass(ResultDailyRollupId.class)
+@Getter
+@NoArgsConstructor
+public class ResultDailyRollup {
+
+  @Id
+  @Column(nullable = false)
+  private UUID facilityId;
+
+  @Id
+  @Column(nullable = false)
+  private LocalDate testDay;
+
+  @Id
+  @Column(nullable = false)
+  private UUID diseaseId;
+
+  @Id
+  @Column(nullable = false, columnDefinition = "TEST_RESULT")
+  @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+  @Enumerated(EnumType.STRING)
+  private TestResult testResult;
+
+  @Id
+  @Column(nullable = false, columnDefinition = "TEST_CORRECTION_STATUS")
+  @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+  @Enumerated(EnumType.STRING)
+  private TestCorrectionStatus correctionStatus;
+
+  @Column(nullable = false)
+  private UUID organizationId;
+
+  @Column(nullable = false)
+  private long resultCount;
+}
@@ -0,0 +1,21 @@
+package gov.cdc.usds.simplereport.db.model;
+
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class ResultDailyRollupId implements Serializable {
+  private UUID facilityId;
+  private LocalDate testDay;
+  private UUID diseaseId;
+  private TestResult testResult;
+  private TestCorrectionStatus correctionStatus;
+}
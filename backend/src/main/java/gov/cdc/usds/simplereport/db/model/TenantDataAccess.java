@@ -68,6 +68,10 @@ public class TenantDataAccess extends EternalAuditedEntity {
     return justification;
   }
 
+  public Date getExpiresAt() {
+    return expiresAt;
+  }
+
   public boolean isExpired() {
     return expiresAt.before(new Date());
   }
@@ -0,0 +1,7 @@
+package gov.cdc.usds.simplereport.db.model.auxiliary;
+
+import java.util.Date;
+import java.util.UUID;
+
+/** Where a test event falls in a report backfill's (createdAt, internalId) walk. */
+public record BackfillPosition(Date createdAt, UUID internalId) {}
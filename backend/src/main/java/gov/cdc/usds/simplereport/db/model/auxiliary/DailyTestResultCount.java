@@ -0,0 +1,15 @@
+package gov.cdc.usds.simplereport.db.model.auxiliary;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** The results from a group by day, disease and result when getting result trends */
+@AllArgsConstructor
+@Getter
+public class DailyTestResultCount {
+  private LocalDate testDay;
+  private String diseaseName;
+  private TestResult result;
+  private Long count;
+}
@@ -0,0 +1,7 @@
+package gov.cdc.usds.simplereport.db.model.auxiliary;
+
+/** The storage queues that test events are sent to on their way to ReportStream. */
+public enum ReportingQueue {
+  CSV,
+  FHIR;
+}
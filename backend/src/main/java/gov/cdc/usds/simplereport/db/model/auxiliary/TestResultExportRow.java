@@ -0,0 +1,37 @@
+package gov.cdc.usds.simplereport.db.model.auxiliary;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One row of a result export, read as plain columns together with the names the export shows, so
+ * that streaming it never loads an entity.
+ */
+@AllArgsConstructor
+@Getter
+public class TestResultExportRow {
+  private UUID resultId;
+  private Date resultCreatedAt;
+  private UUID testEventId;
+  private Date dateTestedBackdate;
+  private Date testEventCreatedAt;
+  private String facilityName;
+  private String firstName;
+  private String middleName;
+  private String lastName;
+  private String suffix;
+  private LocalDate birthDate;
+  private PersonRole role;
+  private String disease;
+  private TestResult testResult;
+  private String deviceName;
+  private TestCorrectionStatus correctionStatus;
+  private String reasonForCorrection;
+
+  public Date getDateTested() {
+    return dateTestedBackdate != null ? dateTestedBackdate : testEventCreatedAt;
+  }
+}
@@ -42,4 +42,27 @@ public class TestResultsListItem {
     this.surveyData = result.getTestEvent().getSurveyData();
     this.testOrderId = result.getTestEvent().getTestOrderId();
   }
+
+  /** A list item without survey data, built from a row and its related entities. */
+  public TestResultsListItem(
+      TestResultsListRow row,
+      Facility facility,
+      Person patient,
+      DeviceType deviceType,
+      ApiUser createdBy) {
+    this.id = row.getTestEventId();
+    this.facility = facility;
+    this.patient = patient;
+    this.dateAdded = row.getDateTested();
+    this.dateUpdated = row.getResultUpdatedAt();
+    this.deviceType = deviceType;
+    this.disease = row.getDisease();
+    this.testResult = row.getTestResult();
+    this.dateTested = row.getDateTested();
+    this.correctionStatus = row.getCorrectionStatus();
+    this.reasonForCorrection = row.getReasonForCorrection();
+    this.createdBy = createdBy;
+    this.surveyData = null;
+    this.testOrderId = row.getTestOrderId();
+  }
 }
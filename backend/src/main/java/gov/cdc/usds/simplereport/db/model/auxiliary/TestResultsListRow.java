@@ -0,0 +1,34 @@
+package gov.cdc.usds.simplereport.db.model.auxiliary;
+
+import java.util.Date;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One row of a result list, read as plain columns so that the test event and its JSON snapshots
+ * are never loaded. Related entities are referred to by id.
+ */
+@AllArgsConstructor
+@Getter
+public class TestResultsListRow {
+  private UUID resultId;
+  private Date resultCreatedAt;
+  private Date resultUpdatedAt;
+  private String disease;
+  private TestResult testResult;
+  private UUID testEventId;
+  private UUID facilityId;
+  private UUID patientId;
+  private UUID deviceTypeId;
+  private UUID createdById;
+  private UUID testOrderId;
+  private Date dateTestedBackdate;
+  private Date testEventCreatedAt;
+  private TestCorrectionStatus correctionStatus;
+  private String reasonForCorrection;
+
+  public Date getDateTested() {
+    return dateTestedBackdate != null ? dateTestedBackdate : testEventCreatedAt;
+  }
+}
@@ -0,0 +1,30 @@
+package gov.cdc.usds.simplereport.db.model.auxiliary;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/** The width of one bucket in a result trend. Weeks start on Sunday, as MMWR weeks do. */
+public enum TrendInterval {
+  DAY,
+  WEEK,
+  MONTH;
+
+  /** The first day of the bucket that contains {@code day}. */
+  public LocalDate bucketStart(LocalDate day) {
+    return switch (this) {
+      case DAY -> day;
+      case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+      case MONTH -> day.withDayOfMonth(1);
+    };
+  }
+
+  /** The first day of the bucket after the one starting on {@code bucketStart}. */
+  public LocalDate nextBucketStart(LocalDate bucketStart) {
+    return switch (this) {
+      case DAY -> bucketStart.plusDays(1);
+      case WEEK -> bucketStart.plusWeeks(1);
+      case MONTH -> bucketStart.plusMonths(1);
+    };
+  }
+}
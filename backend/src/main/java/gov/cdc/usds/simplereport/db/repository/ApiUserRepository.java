@@ -5,10 +5,16 @@ import gov.cdc.usds.simplereport.db.model.ApiUser;
 import gov.cdc.usds.simplereport.db.model.Facility;
 import gov.cdc.usds.simplereport.db.model.Organization;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Interface specification for fetching and manipulating {@link ApiUser} entities */
 public interface ApiUserRepository extends EternalSystemManagedEntityRepository<ApiUser> {
@@ -36,6 +42,12 @@ public interface ApiUserRepository extends EternalSystemManagedEntityRepository<
   @Query(BASE_QUERY + " and loginEmail IN :emails" + NAME_ORDER)
   List<ApiUser> findAllByLoginEmailInOrderByName(Collection<String> emails);
 
+  List<ApiUser> findAll(Specification<ApiUser> searchSpec, Pageable p);
+
+  List<ApiUser> findAll(Specification<ApiUser> searchSpec, Sort sort);
+
+  long count(Specification<ApiUser> searchSpec);
+
   @Query(
       value =
           "from #{#entityName} e"
@@ -63,4 +75,13 @@ public interface ApiUserRepository extends EternalSystemManagedEntityRepository<
               + " AND aur.role IN :roles"
               + " GROUP BY e")
   List<ApiUser> findAllByFacilityAndRoles(Facility facility, Collection<OrganizationRole> roles);
+
+  /**
+   * Sets the last-seen time of several users at once. A bulk update rather than saving each
+   * entity, so that recording activity does not touch {@code updated_at}.
+   */
+  @Modifying
+  @Transactional
+  @Query("update #{#entityName} e set e.lastSeen = :lastSeen where e.internalId in :ids")
+  int updateLastSeen(Collection<UUID> ids, Date lastSeen);
 }
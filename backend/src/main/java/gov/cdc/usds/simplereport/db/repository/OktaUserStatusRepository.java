@@ -0,0 +1,53 @@
+package gov.cdc.usds.simplereport.db.repository;
+
+import gov.cdc.usds.simplereport.db.model.OktaUserStatus;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface OktaUserStatusRepository extends CrudRepository<OktaUserStatus, UUID> {
+
+  /**
+   * Records the user's current Okta status and organization, replacing any earlier row. Pending
+   * changes are flushed first, as the user may have just been saved.
+   */
+  @Modifying(flushAutomatically = true)
+  @Transactional
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO {h-schema}okta_user_status"
+              + " (api_user_id, organization_id, status, synced_at)"
+              + " VALUES (:apiUserId, :organizationId, :status, now())"
+              + " ON CONFLICT (api_user_id) DO UPDATE"
+              + " SET organization_id = EXCLUDED.organization_id,"
+              + " status = EXCLUDED.status,"
+              + " synced_at = EXCLUDED.synced_at")
+  void upsert(UUID apiUserId, UUID organizationId, String status);
+
+  boolean existsByOrganizationId(UUID organizationId);
+
+  @Query("SELECT DISTINCT s.organizationId FROM OktaUserStatus s")
+  List<UUID> findMirroredOrganizationIds();
+
+  @Query("SELECT s.organizationId FROM OktaUserStatus s WHERE s.apiUserId = :apiUserId")
+  Optional<UUID> findOrganizationIdByApiUserId(UUID apiUserId);
+
+  /** Removes the organization's rows for users Okta no longer lists in it. */
+  @Modifying
+  @Transactional
+  @Query(
+      "DELETE FROM OktaUserStatus s"
+          + " WHERE s.organizationId = :organizationId AND s.apiUserId NOT IN :apiUserIds")
+  int deleteByOrganizationIdAndApiUserIdNotIn(UUID organizationId, Collection<UUID> apiUserIds);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM OktaUserStatus s WHERE s.organizationId = :organizationId")
+  int deleteByOrganizationId(UUID organizationId);
+}
@@ -0,0 +1,37 @@
+package gov.cdc.usds.simplereport.db.repository;
+
+import gov.cdc.usds.simplereport.db.model.PatientTestSummary;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+public interface PatientTestSummaryRepository extends CrudRepository<PatientTestSummary, UUID> {
+
+  /**
+   * Makes the test event its patient's last test, unless the patient already has one tested later.
+   * The event must already be saved; pending changes are flushed first.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO {h-schema}patient_test_summary"
+              + " (person_id, last_test_event_id, last_tested_at)"
+              + " SELECT te.patient_id, te.internal_id,"
+              + " COALESCE(te.date_tested_backdate, te.created_at)"
+              + " FROM {h-schema}test_event te WHERE te.internal_id = :testEventId"
+              + " ON CONFLICT (person_id) DO UPDATE"
+              + " SET last_test_event_id = EXCLUDED.last_test_event_id,"
+              + " last_tested_at = EXCLUDED.last_tested_at"
+              + " WHERE EXCLUDED.last_tested_at >= patient_test_summary.last_tested_at")
+  void recordTestEvent(UUID testEventId);
+
+  @Query(
+      "SELECT te FROM TestEvent te, PatientTestSummary s "
+          + "WHERE te.internalId = s.lastTestEventId AND s.personId IN :patientIds")
+  List<TestEvent> findLastTestsByPatient(Collection<UUID> patientIds);
+}
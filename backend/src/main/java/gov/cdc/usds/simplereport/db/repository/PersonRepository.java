@@ -7,15 +7,21 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
 /** Interface specification for fetching and manipulating {@link Person} entities */
 public interface PersonRepository extends EternalAuditedEntityRepository<Person> {
 
   List<Person> findAll(Specification<Person> searchSpec, Pageable p);
 
+  /** Lets keyset pages fetch a limited list without the count query a {@link Pageable} runs. */
+  <S extends Person, R> R findBy(
+      Specification<Person> searchSpec, Function<FetchableFluentQuery<S>, R> queryFunction);
+
   List<Person> findAllByInternalIdIn(Collection<UUID> ids);
 
   int count(Specification<Person> searchSpec);
@@ -0,0 +1,58 @@
+package gov.cdc.usds.simplereport.db.repository;
+
+import gov.cdc.usds.simplereport.db.model.ReportBackfillJob;
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportBackfillStatus;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Jobs are updated both by the thread running them and by admins, so progress and status changes
+ * are made with conditional updates rather than by saving a loaded entity.
+ */
+public interface ReportBackfillJobRepository extends CrudRepository<ReportBackfillJob, UUID> {
+
+  List<ReportBackfillJob> findAllByOrderByCreatedAtDesc();
+
+  /**
+   * Records a finished page of the job. Returns 0 if the job is no longer running, in which case
+   * the caller should stop.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE ReportBackfillJob j SET j.cursorCreatedAt = :cursorCreatedAt,"
+          + " j.cursorTestEventId = :cursorTestEventId, j.sentEvents = j.sentEvents + :sent,"
+          + " j.failedEvents = j.failedEvents + :failed, j.updatedAt = CURRENT_TIMESTAMP"
+          + " WHERE j.internalId = :jobId AND j.status = :running")
+  int checkpoint(
+      UUID jobId,
+      Date cursorCreatedAt,
+      UUID cursorTestEventId,
+      long sent,
+      long failed,
+      ReportBackfillStatus running);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE ReportBackfillJob j SET j.status = :to, j.lastError = :lastError,"
+          + " j.updatedAt = CURRENT_TIMESTAMP"
+          + " WHERE j.internalId = :jobId AND j.status = :from")
+  int transition(UUID jobId, ReportBackfillStatus from, ReportBackfillStatus to, String lastError);
+
+  /**
+   * Takes over a running job that hasn't checkpointed since {@code staleBefore}, by bumping its
+   * updated time. Returns 0 if the job has made progress since, or someone else took it over first.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE ReportBackfillJob j SET j.updatedAt = CURRENT_TIMESTAMP"
+          + " WHERE j.internalId = :jobId AND j.status = :running AND j.updatedAt < :staleBefore")
+  int takeOverStale(UUID jobId, ReportBackfillStatus running, Date staleBefore);
+}
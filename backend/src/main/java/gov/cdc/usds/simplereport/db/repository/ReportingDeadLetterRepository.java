@@ -0,0 +1,62 @@
+package gov.cdc.usds.simplereport.db.repository;
+
+import gov.cdc.usds.simplereport.db.model.ReportingDeadLetter;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ReportingDeadLetterRepository extends CrudRepository<ReportingDeadLetter, UUID> {
+
+  /**
+   * Records a failed delivery, adding to the attempt count if the event is already dead-lettered
+   * for this queue, and releases any replay's claim on it. Runs in its own transaction, since
+   * failures are usually recorded after the transaction that saved the test event has committed.
+   *
+   * @param nextAttemptAt when to retry automatically, or null to leave it for a manual replay
+   */
+  @Modifying
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO {h-schema}reporting_dead_letter"
+              + " (internal_id, test_event_internal_id, queue, attempts, last_error,"
+              + " next_attempt_at, created_at, updated_at)"
+              + " VALUES (gen_random_uuid(), :testEventId, :queue, :attempts, :lastError,"
+              + " :nextAttemptAt, now(), now())"
+              + " ON CONFLICT (test_event_internal_id, queue) DO UPDATE SET"
+              + " attempts = reporting_dead_letter.attempts + EXCLUDED.attempts,"
+              + " last_error = EXCLUDED.last_error, next_attempt_at = EXCLUDED.next_attempt_at,"
+              + " claimed_until = NULL, updated_at = now()")
+  void recordFailure(
+      UUID testEventId, String queue, int attempts, String lastError, Date nextAttemptAt);
+
+  /**
+   * Claims the dead letter for one replay, unless another replay holds an unexpired claim on it.
+   * Runs and commits in its own transaction, so the claim is seen by every other thread and
+   * instance before the claimant sends anything. Concurrent claims wait on the row lock, and only
+   * the first one finds the row unclaimed.
+   *
+   * @return 1 if the claim was taken; 0 if the dead letter is gone or already claimed
+   */
+  @Modifying
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Query(
+      nativeQuery = true,
+      value =
+          "UPDATE {h-schema}reporting_dead_letter SET claimed_until = :claimedUntil"
+              + " WHERE internal_id = :id AND (claimed_until IS NULL OR claimed_until < now())")
+  int claim(UUID id, Date claimedUntil);
+
+  List<ReportingDeadLetter> findAllByOrderByCreatedAtAsc(Pageable pageable);
+
+  /** Dead letters whose automatic retry is due, soonest first. */
+  List<ReportingDeadLetter> findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+      Date now, Pageable pageable);
+}
@@ -0,0 +1,108 @@
+package gov.cdc.usds.simplereport.db.repository;
+
+import gov.cdc.usds.simplereport.db.model.ResultDailyRollup;
+import gov.cdc.usds.simplereport.db.model.ResultDailyRollupId;
+import gov.cdc.usds.simplereport.db.model.auxiliary.DailyTestResultCount;
+import gov.cdc.usds.simplereport.db.model.auxiliary.FacilityTestResultWithCount;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ResultDailyRollupRepository
+    extends CrudRepository<ResultDailyRollup, ResultDailyRollupId> {
+
+  String EVENT_DAY = "CAST(COALESCE(te.date_tested_backdate, te.created_at) AS date)";
+
+  String ROLLUP_INSERT =
+      "INSERT INTO {h-schema}result_daily_rollup (facility_id, organization_id, test_day,"
+          + " disease_id, test_result, correction_status, result_count)";
+
+  /**
+   * Adds {@code direction} (1 or -1) times the results of one test event to the rollup. The event
+   * and its results must already be saved; pending changes are flushed first.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      nativeQuery = true,
+      value =
+          ROLLUP_INSERT
+              + " SELECT te.facility_id, te.organization_id, "
+              + EVENT_DAY
+              + ", r.disease_id, r.test_result, te.correction_status, :direction * COUNT(*)"
+              + " FROM {h-schema}test_event te"
+              + " JOIN {h-schema}result r ON r.test_event_id = te.internal_id"
+              + " WHERE te.internal_id = :testEventId"
+              + " GROUP BY 1, 2, 3, 4, 5, 6"
+              + " ON CONFLICT (facility_id, test_day, disease_id, test_result, correction_status)"
+              + " DO UPDATE SET result_count = result_daily_rollup.result_count"
+              + " + EXCLUDED.result_count")
+  void addTestEvent(UUID testEventId, int direction);
+
+  @Query(
+      "SELECT new gov.cdc.usds.simplereport.db.model.auxiliary.FacilityTestResultWithCount("
+          + "r.facilityId, r.testResult, SUM(r.resultCount)) "
+          + "FROM ResultDailyRollup r, SupportedDisease disease "
+          + "WHERE r.diseaseId = disease.internalId AND disease.loinc = :diseaseLoinc "
+          + "AND r.facilityId IN :facilityIds AND r.testDay BETWEEN :firstDay AND :lastDay "
+          + "AND r.correctionStatus IN :correctionStatuses "
+          + "GROUP BY r.facilityId, r.testResult")
+  List<FacilityTestResultWithCount> sumByFacilityAndResult(
+      Collection<UUID> facilityIds,
+      LocalDate firstDay,
+      LocalDate lastDay,
+      String diseaseLoinc,
+      Collection<TestCorrectionStatus> correctionStatuses);
+
+  @Query(
+      "SELECT new gov.cdc.usds.simplereport.db.model.auxiliary.DailyTestResultCount("
+          + "r.testDay, disease.name, r.testResult, SUM(r.resultCount)) "
+          + "FROM ResultDailyRollup r, SupportedDisease disease "
+          + "WHERE r.diseaseId = disease.internalId "
+          + "AND r.facilityId IN :facilityIds AND r.testDay BETWEEN :firstDay AND :lastDay "
+          + "AND r.correctionStatus IN :correctionStatuses "
+          + "GROUP BY r.testDay, disease.name, r.testResult")
+  List<DailyTestResultCount> sumByDayDiseaseAndResult(
+      Collection<UUID> facilityIds,
+      LocalDate firstDay,
+      LocalDate lastDay,
+      Collection<TestCorrectionStatus> correctionStatuses);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "DELETE FROM {h-schema}result_daily_rollup"
+              + " WHERE test_day BETWEEN :firstDay AND :lastDay")
+  void deleteDays(LocalDate firstDay, LocalDate lastDay);
+
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          ROLLUP_INSERT
+              + " SELECT te.facility_id, te.organization_id, "
+              + EVENT_DAY
+              + ", r.disease_id, r.test_result, te.correction_status, COUNT(*)"
+              + " FROM {h-schema}test_event te"
+              + " JOIN {h-schema}result r ON r.test_event_id = te.internal_id"
+              + " WHERE "
+              + EVENT_DAY
+              + " BETWEEN :firstDay AND :lastDay AND te.correction_status <> 'REMOVED'"
+              + " AND NOT EXISTS (SELECT 1 FROM {h-schema}test_event c"
+              + " WHERE c.prior_corrected_test_event_id = te.internal_id)"
+              + " GROUP BY 1, 2, 3, 4, 5, 6")
+  int insertDays(LocalDate firstDay, LocalDate lastDay);
+
+  /** Recounts a range of days from the test events, returning the number of rows written. */
+  @Transactional
+  default int rebuildDays(LocalDate firstDay, LocalDate lastDay) {
+    deleteDays(firstDay, lastDay);
+    return insertDays(firstDay, lastDay);
+  }
+}
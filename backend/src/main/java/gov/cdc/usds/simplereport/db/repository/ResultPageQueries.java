@@ -0,0 +1,30 @@
+package gov.cdc.usds.simplereport.db.repository;
+
+import gov.cdc.usds.simplereport.db.model.Result;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultExportRow;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultsListRow;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ResultPageQueries {
+
+  /**
+   * The rows of one page, without the {@code COUNT(*)} that {@link
+   * ResultRepository#findAll(Specification, Pageable)} runs for the total.
+   */
+  List<Result> findPageContent(Specification<Result> searchSpec, Pageable pageable);
+
+  /**
+   * The same rows as {@link #findPageContent}, read as columns rather than entities. The search
+   * spec's join to the test event, if it has one, is reused.
+   */
+  List<TestResultsListRow> findPageRows(Specification<Result> searchSpec, Pageable pageable);
+
+  /**
+   * Every row matching the search spec, in the spec's order, read through a forward-only cursor
+   * {@code fetchSize} rows at a time. Must be read inside a transaction and closed when done.
+   */
+  Stream<TestResultExportRow> streamExportRows(Specification<Result> searchSpec, int fetchSize);
+}
@@ -0,0 +1,160 @@
+package gov.cdc.usds.simplereport.db.repository;
+
+import gov.cdc.usds.simplereport.db.model.AuditedEntity_;
+import gov.cdc.usds.simplereport.db.model.BaseTestInfo_;
+import gov.cdc.usds.simplereport.db.model.DeviceType;
+import gov.cdc.usds.simplereport.db.model.DeviceType_;
+import gov.cdc.usds.simplereport.db.model.Facility_;
+import gov.cdc.usds.simplereport.db.model.IdentifiedEntity_;
+import gov.cdc.usds.simplereport.db.model.Person;
+import gov.cdc.usds.simplereport.db.model.Person_;
+import gov.cdc.usds.simplereport.db.model.Result;
+import gov.cdc.usds.simplereport.db.model.Result_;
+import gov.cdc.usds.simplereport.db.model.SupportedDisease_;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.db.model.TestEvent_;
+import gov.cdc.usds.simplereport.db.model.auxiliary.PersonName;
+import gov.cdc.usds.simplereport.db.model.auxiliary.PersonName_;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultExportRow;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultsListRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+class ResultPageQueriesImpl implements ResultPageQueries {
+
+  private final EntityManager entityManager;
+
+  @Override
+  public List<Result> findPageContent(Specification<Result> searchSpec, Pageable pageable) {
+    return findPage(Result.class, searchSpec, pageable, (root, cb) -> root);
+  }
+
+  @Override
+  public List<TestResultsListRow> findPageRows(
+      Specification<Result> searchSpec, Pageable pageable) {
+    return findPage(
+        TestResultsListRow.class,
+        searchSpec,
+        pageable,
+        (root, cb) -> {
+          Join<Result, TestEvent> testEvent = testEventJoin(root);
+          return cb.construct(
+              TestResultsListRow.class,
+              root.get(IdentifiedEntity_.internalId),
+              root.get(AuditedEntity_.createdAt),
+              root.get(AuditedEntity_.updatedAt),
+              root.join(Result_.disease).get(SupportedDisease_.name),
+              root.get(Result_.testResult),
+              testEvent.get(IdentifiedEntity_.internalId),
+              testEvent.get(BaseTestInfo_.facility).get(IdentifiedEntity_.internalId),
+              testEvent.get(BaseTestInfo_.patient).get(IdentifiedEntity_.internalId),
+              testEvent.get(BaseTestInfo_.deviceType).get(IdentifiedEntity_.internalId),
+              testEvent.get(AuditedEntity_.createdBy).get(IdentifiedEntity_.internalId),
+              testEvent.get(TestEvent_.order).get(IdentifiedEntity_.internalId),
+              testEvent.get(BaseTestInfo_.dateTestedBackdate),
+              testEvent.get(AuditedEntity_.createdAt),
+              testEvent.get(BaseTestInfo_.correctionStatus),
+              testEvent.get(BaseTestInfo_.reasonForCorrection));
+        });
+  }
+
+  @Override
+  public Stream<TestResultExportRow> streamExportRows(
+      Specification<Result> searchSpec, int fetchSize) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<TestResultExportRow> query = cb.createQuery(TestResultExportRow.class);
+    Root<Result> root = query.from(Result.class);
+    Predicate predicate = searchSpec.toPredicate(root, query, cb);
+    Join<Result, TestEvent> testEvent = join(root, Result_.testEvent, JoinType.INNER);
+    Join<TestEvent, Person> patient = join(testEvent, BaseTestInfo_.patient, JoinType.INNER);
+    Join<TestEvent, DeviceType> deviceType =
+        join(testEvent, BaseTestInfo_.deviceType, JoinType.LEFT);
+    Path<PersonName> name = patient.get(Person_.nameInfo);
+    query.select(
+        cb.construct(
+            TestResultExportRow.class,
+            root.get(IdentifiedEntity_.internalId),
+            root.get(AuditedEntity_.createdAt),
+            testEvent.get(IdentifiedEntity_.internalId),
+            testEvent.get(BaseTestInfo_.dateTestedBackdate),
+            testEvent.get(AuditedEntity_.createdAt),
+            testEvent.join(BaseTestInfo_.facility).get(Facility_.facilityName),
+            name.get(PersonName_.firstName),
+            name.get(PersonName_.middleName),
+            name.get(PersonName_.lastName),
+            name.get(PersonName_.suffix),
+            patient.get(Person_.birthDate),
+            patient.get(Person_.role),
+            root.join(Result_.disease).get(SupportedDisease_.name),
+            root.get(Result_.testResult),
+            deviceType.get(DeviceType_.name),
+            testEvent.get(BaseTestInfo_.correctionStatus),
+            testEvent.get(BaseTestInfo_.reasonForCorrection)));
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    // rows are constructed rather than managed, so nothing builds up in the persistence context
+    // however far the stream is read
+    return entityManager
+        .createQuery(query)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream();
+  }
+
+  private <T> List<T> findPage(
+      Class<T> resultClass,
+      Specification<Result> searchSpec,
+      Pageable pageable,
+      BiFunction<Root<Result>, CriteriaBuilder, Selection<? extends T>> selection) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> query = cb.createQuery(resultClass);
+    Root<Result> root = query.from(Result.class);
+    Predicate predicate = searchSpec.toPredicate(root, query, cb);
+    query.select(selection.apply(root, cb));
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    if (pageable.getSort().isSorted()) {
+      query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+    }
+    return entityManager
+        .createQuery(query)
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(pageable.getPageSize())
+        .getResultList();
+  }
+
+  private static Join<Result, TestEvent> testEventJoin(Root<Result> root) {
+    return join(root, Result_.testEvent, JoinType.INNER);
+  }
+
+  /** The search spec's join for the attribute if it made one, or a new join otherwise. */
+  @SuppressWarnings("unchecked")
+  private static <X, Y> Join<X, Y> join(
+      From<?, X> from, SingularAttribute<? super X, Y> attribute, JoinType joinType) {
+    return from.getJoins().stream()
+        .filter(join -> join.getAttribute().getName().equals(attribute.getName()))
+        .map(join -> (Join<X, Y>) join)
+        .findFirst()
+        .orElseGet(() -> from.join(attribute, joinType));
+  }
+}
@@ -4,20 +4,41 @@ import gov.cdc.usds.simplereport.db.model.Result;
 import gov.cdc.usds.simplereport.db.model.SupportedDisease;
 import gov.cdc.usds.simplereport.db.model.TestEvent;
 import gov.cdc.usds.simplereport.db.model.TestOrder;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
-public interface ResultRepository extends EternalAuditedEntityRepository<Result> {
+public interface ResultRepository
+    extends EternalAuditedEntityRepository<Result>, ResultPageQueries {
 
   Page<Result> findAll(Specification<Result> searchSpec, Pageable p);
 
+  <S extends Result, R> R findBy(
+      Specification<Result> searchSpec, Function<FetchableFluentQuery<S>, R> queryFunction);
+
+  long count(Specification<Result> searchSpec);
+
   List<Result> findAllByTestEvent(TestEvent testEvent);
 
   List<Result> findAllByTestOrder(TestOrder testOrder);
 
+  @Query(
+      "SELECT r FROM Result r JOIN FETCH r.disease JOIN FETCH r.testEvent te"
+          + " LEFT JOIN FETCH r.testOrder WHERE te.internalId IN :testEventIds")
+  List<Result> findAllByTestEventIdIn(Collection<UUID> testEventIds);
+
+  @Query(
+      "SELECT r FROM Result r JOIN FETCH r.disease JOIN FETCH r.testOrder o"
+          + " LEFT JOIN FETCH r.testEvent WHERE o.internalId IN :testOrderIds")
+  List<Result> findAllByTestOrderIdIn(Collection<UUID> testOrderIds);
+
   List<Result> findAllByDisease(SupportedDisease disease);
 
   Optional<Result> findResultByTestEventAndDisease(TestEvent testEvent, SupportedDisease disease);
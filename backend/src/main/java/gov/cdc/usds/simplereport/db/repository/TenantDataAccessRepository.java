@@ -11,4 +11,12 @@ public interface TenantDataAccessRepository
   @Query(
       BASE_QUERY + " and grantedToApiUser.internalId = :uuid and e.expiresAt > current_timestamp()")
   List<TenantDataAccess> findValidByApiUserId(UUID uuid);
+
+  /** The ids of the valid grants held by the user with this login email, unless it is deleted. */
+  @Query(
+      "select e.internalId "
+          + BASE_QUERY
+          + " and grantedToApiUser.loginEmail = :loginEmail"
+          + " and grantedToApiUser.isDeleted = false and e.expiresAt > current_timestamp()")
+  List<UUID> findValidIdsByLoginEmail(String loginEmail);
 }
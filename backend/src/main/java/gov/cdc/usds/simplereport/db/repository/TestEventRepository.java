@@ -4,7 +4,9 @@ import gov.cdc.usds.simplereport.db.model.Facility;
 import gov.cdc.usds.simplereport.db.model.Organization;
 import gov.cdc.usds.simplereport.db.model.Person;
 import gov.cdc.usds.simplereport.db.model.TestEvent;
-import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultWithCount;
+import gov.cdc.usds.simplereport.db.model.auxiliary.BackfillPosition;
+import gov.cdc.usds.simplereport.db.model.auxiliary.FacilityTestResultWithCount;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -27,14 +29,6 @@ public interface TestEventRepository
 
   TestEvent findFirst1ByPatientOrderByCreatedAtDesc(Person p);
 
-  @Query(
-      value =
-          " SELECT DISTINCT ON (patient_id) *, COALESCE(date_tested_backdate, created_at) AS coalesced_last_test_date FROM {h-schema}test_event"
-              + " WHERE patient_id IN :patientIds"
-              + " ORDER BY patient_id, coalesced_last_test_date DESC",
-      nativeQuery = true)
-  List<TestEvent> findLastTestsByPatient(Collection<UUID> patientIds);
-
   @EntityGraph(attributePaths = {"patient", "order"})
   TestEvent findByOrganizationAndInternalId(Organization o, UUID id);
 
@@ -55,35 +49,53 @@ public interface TestEventRepository
 
   List<TestEvent> findAllByInternalIdIn(Collection<UUID> ids);
 
+  String BACKFILL_RANGE =
+      " WHERE e.createdAt >= :start AND e.createdAt < :end"
+          + " AND (:organizationId IS NULL OR e.organization.internalId = :organizationId)"
+          + " AND (:facilityId IS NULL OR e.facility.internalId = :facilityId)";
+
+  /**
+   * Keyset page of the positions of the test events in a backfill range, in creation order,
+   * starting after the given (createdAt, internalId) position. Only the keys are read; each event
+   * is loaded by the worker that sends it.
+   */
+  @Query(
+      "SELECT new gov.cdc.usds.simplereport.db.model.auxiliary.BackfillPosition("
+          + "e.createdAt, e.internalId) FROM #{#entityName} e"
+          + BACKFILL_RANGE
+          + " AND (e.createdAt > :afterCreatedAt"
+          + " OR (e.createdAt = :afterCreatedAt AND e.internalId > :afterId))"
+          + " ORDER BY e.createdAt, e.internalId")
+  List<BackfillPosition> findBackfillPage(
+      UUID organizationId,
+      UUID facilityId,
+      Date start,
+      Date end,
+      Date afterCreatedAt,
+      UUID afterId,
+      Pageable p);
+
+  @Query("SELECT COUNT(e) FROM #{#entityName} e" + BACKFILL_RANGE)
+  long countBackfill(UUID organizationId, UUID facilityId, Date start, Date end);
+
   Page<TestEvent> findAll(Specification<TestEvent> searchSpec, Pageable p);
 
   long count(Specification<TestEvent> searchSpec);
 
   @Query(
       value =
-          "SELECT new gov.cdc.usds.simplereport.db.model.auxiliary.TestResultWithCount(res.testResult, COUNT(res)) "
+          "SELECT new gov.cdc.usds.simplereport.db.model.auxiliary.FacilityTestResultWithCount(te.facility.internalId, res.testResult, COUNT(res)) "
               + "FROM TestEvent te "
               + "         LEFT JOIN TestEvent corrected_te ON corrected_te.priorCorrectedTestEventId = te.internalId "
               + "         LEFT JOIN Result res ON res.testEvent = te "
               + "         LEFT JOIN SupportedDisease disease ON res.disease = disease "
               + "WHERE te.facility.internalId IN :facilityIds AND COALESCE(te.dateTestedBackdate, te.createdAt) BETWEEN :startDate AND :endDate AND "
-              + "    te.correctionStatus <> 'REMOVED' AND corrected_te.priorCorrectedTestEventId IS NULL AND disease.loinc = :diseaseLoinc "
-              + "GROUP BY res.testResult")
-  List<TestResultWithCount> countByResultByFacility(
-      Collection<UUID> facilityIds, Date startDate, Date endDate, String diseaseLoinc);
-
-  @Query(
-      value =
-          "SELECT new gov.cdc.usds.simplereport.db.model.auxiliary.TestResultWithCount(res.testResult, COUNT(res)) "
-              + "FROM TestEvent te "
-              + "         LEFT JOIN TestEvent corrected_te ON corrected_te.priorCorrectedTestEventId = te.internalId "
-              + "         LEFT JOIN Result res ON res.testEvent = te "
-              + "         LEFT JOIN SupportedDisease disease ON res.disease = disease "
-              + "WHERE te.facility.internalId = :facilityId AND COALESCE(te.dateTestedBackdate, te.createdAt) BETWEEN :startDate AND :endDate AND "
-              + "    te.correctionStatus = 'ORIGINAL' AND corrected_te.priorCorrectedTestEventId IS NULL AND disease.loinc = :diseaseLoinc "
-              + "GROUP BY res.testResult")
-  List<TestResultWithCount> countByResultForFacility(
-      UUID facilityId, Date startDate, Date endDate, String diseaseLoinc);
-
-  boolean existsByPatient(Person person);
+              + "    te.correctionStatus IN :correctionStatuses AND corrected_te.priorCorrectedTestEventId IS NULL AND disease.loinc = :diseaseLoinc "
+              + "GROUP BY te.facility.internalId, res.testResult")
+  List<FacilityTestResultWithCount> countByFacilityAndResult(
+      Collection<UUID> facilityIds,
+      Date startDate,
+      Date endDate,
+      String diseaseLoinc,
+      Collection<TestCorrectionStatus> correctionStatuses);
 }
@@ -10,6 +10,8 @@ import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface TestOrderRepository
     extends AuditedEntityRepository<TestOrder>, AdvisoryLockManager {
@@ -29,6 +31,16 @@ public interface TestOrderRepository
   @EntityGraph(attributePaths = {"patient", "deviceType", "specimenType", "results"})
   List<TestOrder> fetchQueue(Organization org, Facility facility);
 
+  /**
+   * Loads a facility queue for the in-memory queue snapshot, including everything the snapshot
+   * copies. Runs in its own read-only transaction so that the snapshot only ever holds committed
+   * orders, whatever the transaction of the request that happened to load it.
+   */
+  @Query(FACILITY_QUERY + IS_PENDING + ORDER_CREATION_ORDER)
+  @EntityGraph(attributePaths = {"results", "askOnEntrySurvey"})
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  List<TestOrder> fetchQueueSnapshot(Organization org, Facility facility);
+
   @Query(BASE_ORG_QUERY + IS_PENDING + " and q.patient = :patient")
   @EntityGraph(attributePaths = "patient")
   Optional<TestOrder> fetchQueueItem(Organization org, Person patient);
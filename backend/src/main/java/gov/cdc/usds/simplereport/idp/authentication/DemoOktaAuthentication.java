@@ -88,6 +88,12 @@ public class DemoOktaAuthentication implements OktaAuthentication {
     return activateUser(activationToken, "", "");
   }
 
+  // demo users have no profile, so their id stands in for their login
+  public String getUserLogin(String userId) throws OktaAuthenticationFailureException {
+    validateUser(userId);
+    return userId;
+  }
+
   public void setPassword(String userId, char[] password)
       throws BadRequestException, OktaAuthenticationFailureException {
     validateUser(userId);
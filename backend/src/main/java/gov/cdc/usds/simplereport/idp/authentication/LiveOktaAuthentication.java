@@ -165,6 +165,16 @@ public class LiveOktaAuthentication implements OktaAuthentication {
     }
   }
 
+  /** Using the Okta Management SDK, fetches a user's login. */
+  @Override
+  public String getUserLogin(String userId) throws OktaAuthenticationFailureException {
+    try {
+      return userApi.getUser(userId).getProfile().getLogin();
+    } catch (ApiException e) {
+      throw new OktaAuthenticationFailureException("Error fetching user's login", e);
+    }
+  }
+
   /** Using the Okta Management SDK, sets a user's password for the first time. */
   @Override
   public void setPassword(String userId, char[] password)
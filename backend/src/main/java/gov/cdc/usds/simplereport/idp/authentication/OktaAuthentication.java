@@ -41,6 +41,16 @@ public interface OktaAuthentication {
   String activateUser(String activationToken, String crossForwardedHeader, String userAgent)
       throws InvalidActivationLinkException;
 
+  /**
+   * Looks up the user's login (their email address.)
+   *
+   * @param userId the user's Okta id.
+   * @return the user's Okta login.
+   * @throws OktaAuthenticationFailureException if Okta fails to find the user (i.e., if the user id
+   *     is invalid.)
+   */
+  String getUserLogin(String userId) throws OktaAuthenticationFailureException;
+
   /**
    * Sets the user's password.
    *
@@ -32,6 +32,8 @@ import gov.cdc.usds.simplereport.config.exceptions.MisconfiguredApplicationExcep
 import gov.cdc.usds.simplereport.db.model.Facility;
 import gov.cdc.usds.simplereport.db.model.Organization;
 import gov.cdc.usds.simplereport.service.model.IdentityAttributes;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -43,7 +45,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
@@ -72,6 +77,8 @@ public class LiveOktaRepository implements OktaRepository {
   private final UserApi userApi;
   private final ApplicationGroupsApi applicationGroupsApi;
   private final String adminGroupName;
+  private final OktaGroupIndex groupIndex;
+  private final ExecutorService membershipExecutor;
 
   private static final String OKTA_ORG_PROFILE_MATCHER = "profile.name sw \"";
   private static final int OKTA_PAGE_SIZE = 500;
@@ -84,7 +91,10 @@ public class LiveOktaRepository implements OktaRepository {
       GroupApi groupApi,
       ApplicationApi applicationApi,
       UserApi userApi,
-      ApplicationGroupsApi applicationGroupsApi) {
+      ApplicationGroupsApi applicationGroupsApi,
+      @Value("${simple-report.okta-group-cache.ttl-seconds:300}") long groupCacheTtlSeconds,
+      @Value("${simple-report.okta-group-membership.max-concurrency:4}")
+          int membershipConcurrency) {
     this.rolePrefix = authorizationProperties.getRolePrefix();
     this.adminGroupName = authorizationProperties.getAdminGroupName();
 
@@ -101,6 +111,22 @@ public class LiveOktaRepository implements OktaRepository {
 
     this.extractor = organizationExtractor;
     this.tenantDataContextHolder = tenantDataContextHolder;
+
+    this.groupIndex =
+        new OktaGroupIndex(this::listOrganizationGroups, Duration.ofSeconds(groupCacheTtlSeconds));
+    this.membershipExecutor =
+        Executors.newFixedThreadPool(
+            membershipConcurrency,
+            r -> {
+              Thread t = new Thread(r, "okta-group-membership");
+              t.setDaemon(true);
+              return t;
+            });
+  }
+
+  @PreDestroy
+  void shutdownMembershipExecutor() {
+    membershipExecutor.shutdown();
   }
 
   @Override
@@ -128,52 +154,16 @@ public class LiveOktaRepository implements OktaRepository {
             .map(f -> generateFacilityGroupName(organizationExternalId, f.getInternalId()))
             .collect(Collectors.toSet()));
 
-    // Search and q results need to be combined because search results have a delay of the newest
-    // added groups.
-    // https://github.com/okta/okta-sdk-java/issues/750
-    var searchResults =
-        groupApi
-            .listGroups(
-                null,
-                null,
-                null,
-                null,
-                null,
-                OKTA_ORG_PROFILE_MATCHER + generateGroupOrgPrefix(organizationExternalId) + "\"",
-                null,
-                null)
-            .stream();
-    var qResults =
-        groupApi
-            .listGroups(
-                generateGroupOrgPrefix(organizationExternalId),
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null)
-            .stream();
-    var orgGroups = Stream.concat(searchResults, qResults).distinct().toList();
-    throwErrorIfEmpty(
-        orgGroups.stream(),
-        String.format(
-            "Cannot add Okta user to nonexistent organization=%s", organizationExternalId));
-    Set<String> orgGroupNames =
-        orgGroups.stream().map(g -> g.getProfile().getName()).collect(Collectors.toSet());
+    Map<String, Group> orgGroups = getOrganizationGroups(organizationExternalId, groupNamesToAdd);
     groupNamesToAdd.stream()
-        .filter(n -> !orgGroupNames.contains(n))
+        .filter(n -> !orgGroups.containsKey(n))
         .forEach(
             n -> {
               throw new IllegalGraphqlArgumentException(
                   String.format("Cannot add Okta user to nonexistent group=%s", n));
             });
     Set<String> groupIdsToAdd =
-        orgGroups.stream()
-            .filter(g -> groupNamesToAdd.contains(g.getProfile().getName()))
-            .map(Group::getId)
-            .collect(Collectors.toSet());
+        groupNamesToAdd.stream().map(n -> orgGroups.get(n).getId()).collect(Collectors.toSet());
     validateRequiredFields(userIdentity);
     try {
       var user =
@@ -186,7 +176,10 @@ public class LiveOktaRepository implements OktaRepository {
               .setLogin(userIdentity.getUsername())
               .setActive(active)
               .buildAndCreate(userApi);
-      groupIdsToAdd.forEach(groupId -> groupApi.assignUserToGroup(groupId, user.getId()));
+      runMembershipChanges(
+          groupIdsToAdd.stream()
+              .<Runnable>map(groupId -> () -> groupApi.assignUserToGroup(groupId, user.getId()))
+              .toList());
     } catch (ApiException e) {
       if (e.getMessage()
           .contains("An object with this field already exists in the current organization")) {
@@ -349,10 +342,13 @@ public class LiveOktaRepository implements OktaRepository {
     User oktaUserToMove = getUserOrThrowError(username, "Couldn't find user");
     List<Group> groupsToUnassign = userApi.listUserGroups(oktaUserToMove.getId());
 
-    groupsToUnassign.stream()
-        // only match on the org-related group ids and not the Okta-wide orgs like "Everyone"
-        .filter(g -> g.getProfile().getName().contains("TENANT"))
-        .forEach(g -> groupApi.unassignUserFromGroup(g.getId(), oktaUserToMove.getId()));
+    runMembershipChanges(
+        groupsToUnassign.stream()
+            // only match on the org-related group ids and not the Okta-wide orgs like "Everyone"
+            .filter(g -> g.getProfile().getName().contains("TENANT"))
+            .<Runnable>map(
+                g -> () -> groupApi.unassignUserFromGroup(g.getId(), oktaUserToMove.getId()))
+            .toList());
 
     // add them to the new groups
     String organizationExternalId = org.getExternalId();
@@ -372,25 +368,15 @@ public class LiveOktaRepository implements OktaRepository {
             .map(f -> generateFacilityGroupName(organizationExternalId, f.getInternalId()))
             .collect(Collectors.toSet()));
 
-    String groupOrgPrefix = generateGroupOrgPrefix(org.getExternalId());
-    Map<String, Group> orgsToAddUserToMap =
-        groupApi
-            .listGroups(
-                null,
-                null,
-                null,
-                null,
-                null,
-                OKTA_ORG_PROFILE_MATCHER + groupOrgPrefix + "\"",
-                null,
-                null)
-            .stream()
-            .filter(g -> groupNamesToAdd.contains(g.getProfile().getName()))
-            .collect(Collectors.toMap(g -> g.getProfile().getName(), Function.identity()));
+    Map<String, Group> orgGroups = getOrganizationGroups(organizationExternalId, groupNamesToAdd);
+    List<Group> groupsToAssign =
+        groupNamesToAdd.stream().filter(orgGroups::containsKey).map(orgGroups::get).toList();
 
-    orgsToAddUserToMap.forEach(
-        (name, group) -> groupApi.assignUserToGroup(group.getId(), oktaUserToMove.getId()));
-    return orgsToAddUserToMap.keySet().stream().toList();
+    runMembershipChanges(
+        groupsToAssign.stream()
+            .<Runnable>map(g -> () -> groupApi.assignUserToGroup(g.getId(), oktaUserToMove.getId()))
+            .toList());
+    return groupsToAssign.stream().map(g -> g.getProfile().getName()).toList();
   }
 
   @Override
@@ -443,43 +429,33 @@ public class LiveOktaRepository implements OktaRepository {
     Set<String> groupNamesToAdd = new HashSet<>(expectedOrgGroupNamesForUser);
     groupNamesToAdd.removeIf(currentOrgGroupMapForUser::containsKey);
 
-    if (!groupNamesToRemove.isEmpty() || !groupNamesToAdd.isEmpty()) {
-      Map<String, Group> fullOrgGroupMap =
-          groupApi
-              .listGroups(
-                  null,
-                  null,
-                  null,
-                  null,
-                  null,
-                  OKTA_ORG_PROFILE_MATCHER + groupOrgPrefix + "\"",
-                  null,
-                  null)
-              .stream()
-              .filter(g -> GroupType.OKTA_GROUP == g.getType())
-              .collect(Collectors.toMap(g -> g.getProfile().getName(), Function.identity()));
-      if (fullOrgGroupMap.size() == 0) {
-        throw new IllegalGraphqlArgumentException(
-            String.format("Cannot add Okta user to nonexistent organization=%s", orgId));
-      }
-
-      for (String groupName : groupNamesToRemove) {
-        Group group = fullOrgGroupMap.get(groupName);
-        log.info("Removing {} from Okta group: {}", username, group.getProfile().getName());
-        groupApi.unassignUserFromGroup(group.getId(), user.getId());
-      }
-
+    // the groups to add are checked before any membership changes, and the groups to remove are
+    // already known from the user's memberships
+    List<Group> groupsToAdd = new ArrayList<>();
+    if (!groupNamesToAdd.isEmpty()) {
+      Map<String, Group> orgGroups = getOrganizationGroups(orgId, groupNamesToAdd);
       for (String groupName : groupNamesToAdd) {
-        if (!fullOrgGroupMap.containsKey(groupName)) {
+        Group group = orgGroups.get(groupName);
+        if (group == null || GroupType.OKTA_GROUP != group.getType()) {
           throw new IllegalGraphqlArgumentException(
               String.format("Cannot add Okta user to nonexistent group=%s", groupName));
         }
-        Group group = fullOrgGroupMap.get(groupName);
-        log.info("Adding {} to Okta group: {}", username, group.getProfile().getName());
-        groupApi.assignUserToGroup(group.getId(), user.getId());
+        groupsToAdd.add(group);
       }
     }
 
+    List<Runnable> membershipChanges = new ArrayList<>();
+    for (String groupName : groupNamesToRemove) {
+      Group group = currentOrgGroupMapForUser.get(groupName);
+      log.info("Removing {} from Okta group: {}", username, groupName);
+      membershipChanges.add(() -> groupApi.unassignUserFromGroup(group.getId(), user.getId()));
+    }
+    for (Group group : groupsToAdd) {
+      log.info("Adding {} to Okta group: {}", username, group.getProfile().getName());
+      membershipChanges.add(() -> groupApi.assignUserToGroup(group.getId(), user.getId()));
+    }
+    runMembershipChanges(membershipChanges);
+
     return getOrganizationRoleClaimsForUser(user);
   }
 
@@ -565,6 +541,7 @@ public class LiveOktaRepository implements OktaRepository {
 
       log.info("Created Okta group={}", roleGroupName);
     }
+    groupIndex.invalidate(externalId);
   }
 
   private List<User> getOrgAdminUsers(Organization org) {
@@ -624,11 +601,8 @@ public class LiveOktaRepository implements OktaRepository {
   public void createFacility(Facility facility) {
     // Only create the facility group if the facility's organization has already been created
     String orgExternalId = facility.getOrganization().getExternalId();
-    var orgGroups =
-        groupApi.listGroups(
-            generateGroupOrgPrefix(orgExternalId), null, null, null, null, null, null, null);
     throwErrorIfEmpty(
-        orgGroups.stream(),
+        groupIndex.getGroups(orgExternalId, Set.of()).values().stream(),
         String.format(
             "Cannot create Okta group for facility=%s: facility's org=%s, has not yet been created in Okta",
             facility.getFacilityName(), facility.getOrganization().getExternalId()));
@@ -641,6 +615,7 @@ public class LiveOktaRepository implements OktaRepository {
             .setDescription(generateFacilityGroupDescription(orgName, facility.getFacilityName()))
             .buildAndCreate(groupApi);
     applicationGroupsApi.assignGroupToApplication(app.getId(), g.getId(), null);
+    groupIndex.invalidate(orgExternalId);
 
     log.info("Created Okta group={}", facilityGroupName);
   }
@@ -654,6 +629,7 @@ public class LiveOktaRepository implements OktaRepository {
     for (Group group : orgGroups) {
       groupApi.deleteGroup(group.getId());
     }
+    groupIndex.invalidate(externalId);
   }
 
   // returns the external ID of the organization the specified user belongs to
@@ -792,6 +768,70 @@ public class LiveOktaRepository implements OktaRepository {
     return ":" + OrganizationExtractor.FACILITY_ACCESS_MARKER + ":" + facilityId;
   }
 
+  /**
+   * The organization's Okta groups by name, throwing if the organization has none. The index is
+   * refreshed if any of {@code requiredNames} is missing, but callers must still check for them.
+   */
+  private Map<String, Group> getOrganizationGroups(
+      String orgExternalId, Collection<String> requiredNames) {
+    Map<String, Group> orgGroups = groupIndex.getGroups(orgExternalId, requiredNames);
+    if (orgGroups.isEmpty()) {
+      throw new IllegalGraphqlArgumentException(
+          String.format("Cannot add Okta user to nonexistent organization=%s", orgExternalId));
+    }
+    return orgGroups;
+  }
+
+  private List<Group> listOrganizationGroups(String orgExternalId) {
+    String groupOrgPrefix = generateGroupOrgPrefix(orgExternalId);
+    // Search and q results need to be combined because search results have a delay of the newest
+    // added groups.
+    // https://github.com/okta/okta-sdk-java/issues/750
+    var searchResults =
+        groupApi
+            .listGroups(
+                null,
+                null,
+                null,
+                null,
+                null,
+                OKTA_ORG_PROFILE_MATCHER + groupOrgPrefix + "\"",
+                null,
+                null)
+            .stream();
+    var qResults =
+        groupApi.listGroups(groupOrgPrefix, null, null, null, null, null, null, null).stream();
+    return Stream.concat(searchResults, qResults).distinct().toList();
+  }
+
+  /**
+   * Runs group membership changes concurrently and waits for all of them to finish; {@link
+   * OktaRateLimiter} paces the calls themselves, at the caller's priority. The first failure is
+   * rethrown once the others have completed.
+   */
+  private void runMembershipChanges(List<Runnable> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    if (changes.size() == 1) {
+      changes.get(0).run();
+      return;
+    }
+    var futures =
+        changes.stream()
+            .map(OktaRateLimiter::withCurrentPriority)
+            .map(change -> CompletableFuture.runAsync(change, membershipExecutor))
+            .toArray(CompletableFuture[]::new);
+    try {
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
   private User getUserOrThrowError(String email, String errorMessage) {
     try {
       return userApi.getUser(email);
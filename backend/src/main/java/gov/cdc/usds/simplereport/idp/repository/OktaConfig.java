@@ -7,6 +7,7 @@ import com.okta.sdk.resource.api.ApplicationGroupsApi;
 import com.okta.sdk.resource.api.GroupApi;
 import com.okta.sdk.resource.api.UserApi;
 import com.okta.sdk.resource.client.ApiClient;
+import gov.cdc.usds.simplereport.idp.repository.OktaRateLimiter.Category;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,23 +24,25 @@ public class OktaConfig {
         .build();
   }
 
+  // every API object goes through the shared rate limiter, so no caller can bypass it
   @Bean
-  public GroupApi groupApi(ApiClient apiClient) {
-    return new GroupApi(apiClient);
+  public GroupApi groupApi(ApiClient apiClient, OktaRateLimiter rateLimiter) {
+    return rateLimiter.throttle(new GroupApi(apiClient), Category.GROUPS);
   }
 
   @Bean
-  public UserApi userApi(ApiClient apiClient) {
-    return new UserApi(apiClient);
+  public UserApi userApi(ApiClient apiClient, OktaRateLimiter rateLimiter) {
+    return rateLimiter.throttle(new UserApi(apiClient), Category.USERS);
   }
 
   @Bean
-  public ApplicationApi applicationApi(ApiClient apiClient) {
-    return new ApplicationApi(apiClient);
+  public ApplicationApi applicationApi(ApiClient apiClient, OktaRateLimiter rateLimiter) {
+    return rateLimiter.throttle(new ApplicationApi(apiClient), Category.APPS);
   }
 
   @Bean
-  public ApplicationGroupsApi applicationGroupsApi(ApiClient apiClient) {
-    return new ApplicationGroupsApi(apiClient);
+  public ApplicationGroupsApi applicationGroupsApi(
+      ApiClient apiClient, OktaRateLimiter rateLimiter) {
+    return rateLimiter.throttle(new ApplicationGroupsApi(apiClient), Category.APPS);
   }
 }
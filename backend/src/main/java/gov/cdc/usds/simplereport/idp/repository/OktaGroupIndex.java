@@ -0,0 +1,62 @@
+package gov.cdc.usds.simplereport.idp.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.okta.sdk.resource.model.Group;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Each organization's Okta groups by group name, so that resolving group names to ids does not
+ * list the organization's groups on every user change.
+ *
+ * <p>An organization's groups are listed again once they are older than the TTL, or when a caller
+ * asks for a group that is not in the index (it may have been created by another instance).
+ * Organizations without any groups are never cached.
+ */
+class OktaGroupIndex {
+  private static final int MAX_ORGANIZATIONS = 1000;
+
+  private final Function<String, List<Group>> loader;
+  private final Cache<String, Map<String, Group>> entries;
+
+  /**
+   * @param loader lists all Okta groups of the organization with the given external id
+   */
+  OktaGroupIndex(Function<String, List<Group>> loader, Duration ttl) {
+    this.loader = loader;
+    this.entries =
+        Caffeine.newBuilder().maximumSize(MAX_ORGANIZATIONS).expireAfterWrite(ttl).build();
+  }
+
+  /**
+   * The organization's groups by name, listing them again if the index is stale or is missing any
+   * of {@code requiredNames}. Returns an empty map if the organization has no groups; callers
+   * still need to check that the required names are present.
+   */
+  Map<String, Group> getGroups(String orgExternalId, Collection<String> requiredNames) {
+    Map<String, Group> cached = entries.getIfPresent(orgExternalId);
+    if (cached != null && cached.keySet().containsAll(requiredNames)) {
+      return cached;
+    }
+    Map<String, Group> groupsByName =
+        loader.apply(orgExternalId).stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    g -> g.getProfile().getName(), Function.identity(), (first, second) -> first));
+    if (groupsByName.isEmpty()) {
+      entries.invalidate(orgExternalId);
+    } else {
+      entries.put(orgExternalId, groupsByName);
+    }
+    return groupsByName;
+  }
+
+  void invalidate(String orgExternalId) {
+    entries.invalidate(orgExternalId);
+  }
+}
@@ -0,0 +1,308 @@
+package gov.cdc.usds.simplereport.idp.repository;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.telemetry.MetricTelemetry;
+import com.okta.sdk.resource.client.ApiException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Process-wide token buckets for Okta management API calls, one per endpoint category, so that a
+ * burst of user management work does not run into Okta's rate limits (which are shared by every
+ * instance and every other client of the org).
+ *
+ * <p>Each bucket refills at its configured rate and also follows the {@code X-Rate-Limit-Remaining}
+ * and {@code X-Rate-Limit-Reset} headers Okta returns: it never holds more tokens than Okta says
+ * remain, and it stops handing out tokens until the reset time once the limit has been reached.
+ * The SDK only hands response headers back with an {@link ApiException}, so the headers are read
+ * from failed calls only.
+ *
+ * <p>Work marked with {@link #runAsBatch} waits behind interactive requests, but is still given
+ * one token in every four while both are waiting.
+ */
+@Component
+@Slf4j
+public class OktaRateLimiter {
+  public enum Category {
+    USERS,
+    GROUPS,
+    APPS
+  }
+
+  public enum Priority {
+    INTERACTIVE,
+    BATCH
+  }
+
+  private static final int INTERACTIVE_TURNS_PER_BATCH_TURN = 3;
+  // how long a bucket may be paused for, in case of a bad or far-off reset time
+  private static final long MAX_PAUSE_SECONDS = 60;
+  private static final String REMAINING_HEADER = "X-Rate-Limit-Remaining";
+  private static final String RESET_HEADER = "X-Rate-Limit-Reset";
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final Set<String> UNTHROTTLED_METHODS = Set.of("getApiClient", "setApiClient");
+
+  private static final ThreadLocal<Priority> currentPriority = new ThreadLocal<>();
+
+  private final TelemetryClient telemetryClient;
+  private final Map<Category, TokenBucket> buckets = new EnumMap<>(Category.class);
+  private final Map<Category, Map<Priority, WaitStats>> waitStats = new EnumMap<>(Category.class);
+  private final Map<Category, LongAdder> rateLimitedResponses = new EnumMap<>(Category.class);
+
+  public OktaRateLimiter(
+      TelemetryClient telemetryClient,
+      @Value("${simple-report.okta-rate-limit.users-per-minute:300}") int usersPerMinute,
+      @Value("${simple-report.okta-rate-limit.groups-per-minute:250}") int groupsPerMinute,
+      @Value("${simple-report.okta-rate-limit.apps-per-minute:50}") int appsPerMinute) {
+    this.telemetryClient = telemetryClient;
+    buckets.put(Category.USERS, new TokenBucket(usersPerMinute));
+    buckets.put(Category.GROUPS, new TokenBucket(groupsPerMinute));
+    buckets.put(Category.APPS, new TokenBucket(appsPerMinute));
+    for (Category category : Category.values()) {
+      Map<Priority, WaitStats> byPriority = new EnumMap<>(Priority.class);
+      for (Priority priority : Priority.values()) {
+        byPriority.put(priority, new WaitStats());
+      }
+      waitStats.put(category, byPriority);
+      rateLimitedResponses.put(category, new LongAdder());
+    }
+  }
+
+  /**
+   * Runs {@code work} with batch priority: any Okta calls it makes on this thread wait behind
+   * interactive requests.
+   */
+  public static <T> T runAsBatch(Supplier<T> work) {
+    Priority previous = currentPriority.get();
+    currentPriority.set(Priority.BATCH);
+    try {
+      return work.get();
+    } finally {
+      if (previous == null) {
+        currentPriority.remove();
+      } else {
+        currentPriority.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Wraps {@code work} so that it keeps the calling thread's priority when it runs on another
+   * thread, e.g. once handed to an executor from inside {@link #runAsBatch}.
+   */
+  public static Runnable withCurrentPriority(Runnable work) {
+    if (currentPriority() != Priority.BATCH) {
+      return work;
+    }
+    return () ->
+        runAsBatch(
+            () -> {
+              work.run();
+              return null;
+            });
+  }
+
+  /** The priority of Okta calls made on this thread. */
+  static Priority currentPriority() {
+    Priority priority = currentPriority.get();
+    return priority == null ? Priority.INTERACTIVE : priority;
+  }
+
+  /** Wraps an Okta SDK API object so that each of its calls takes a token from the bucket. */
+  @SuppressWarnings("unchecked")
+  public <T> T throttle(T api, Category category) {
+    ProxyFactory factory = new ProxyFactory(api);
+    factory.setProxyTargetClass(true);
+    factory.addAdvice(
+        (MethodInterceptor)
+            invocation -> {
+              if (invocation.getMethod().getDeclaringClass() == Object.class
+                  || UNTHROTTLED_METHODS.contains(invocation.getMethod().getName())) {
+                return invocation.proceed();
+              }
+              acquire(category);
+              try {
+                return invocation.proceed();
+              } catch (ApiException e) {
+                observe(category, e);
+                throw e;
+              }
+            });
+    return (T) factory.getProxy();
+  }
+
+  void acquire(Category category) {
+    Priority priority = currentPriority();
+    long start = System.nanoTime();
+    try {
+      buckets.get(category).acquire(priority);
+    } catch (InterruptedException e) {
+      // go ahead without a token rather than failing the call
+      Thread.currentThread().interrupt();
+    }
+    waitStats.get(category).get(priority).record(System.nanoTime() - start);
+  }
+
+  void observe(Category category, ApiException e) {
+    Map<String, List<String>> headers = e.getResponseHeaders();
+    boolean rateLimited = e.getCode() == TOO_MANY_REQUESTS;
+    if (rateLimited) {
+      rateLimitedResponses.get(category).increment();
+      log.warn("Okta rate limit reached for {} endpoints", category);
+    }
+    if (headers == null) {
+      return;
+    }
+    Long remaining = headerValue(headers, REMAINING_HEADER);
+    Long resetEpochSeconds = headerValue(headers, RESET_HEADER);
+    buckets.get(category).observe(rateLimited, remaining, resetEpochSeconds);
+  }
+
+  @Scheduled(fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+  public void reportThrottleMetrics() {
+    waitStats.forEach(
+        (category, byPriority) ->
+            byPriority.forEach(
+                (priority, stats) -> {
+                  long count = stats.count.sumThenReset();
+                  long totalNanos = stats.totalNanos.sumThenReset();
+                  long maxNanos = stats.maxNanos.getAndSet(0);
+                  if (count == 0) {
+                    return;
+                  }
+                  MetricTelemetry wait = new MetricTelemetry("Okta throttle wait", 0);
+                  wait.setValue(TimeUnit.NANOSECONDS.toMillis(totalNanos));
+                  wait.setCount((int) Math.min(count, Integer.MAX_VALUE));
+                  wait.setMax(TimeUnit.NANOSECONDS.toMillis(maxNanos));
+                  wait.getProperties().put("category", category.name());
+                  wait.getProperties().put("priority", priority.name());
+                  telemetryClient.trackMetric(wait);
+                }));
+    rateLimitedResponses.forEach(
+        (category, responses) -> {
+          long count = responses.sumThenReset();
+          if (count == 0) {
+            return;
+          }
+          MetricTelemetry metric = new MetricTelemetry("Okta rate limited responses", count);
+          metric.getProperties().put("category", category.name());
+          telemetryClient.trackMetric(metric);
+        });
+  }
+
+  private static Long headerValue(Map<String, List<String>> headers, String name) {
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey())
+          && header.getValue() != null
+          && !header.getValue().isEmpty()) {
+        try {
+          return Long.parseLong(header.getValue().get(0).trim());
+        } catch (NumberFormatException e) {
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static class WaitStats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+  }
+
+  /** A token bucket holding up to ten seconds' worth of requests. */
+  static class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int[] waiting = new int[Priority.values().length];
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private int interactiveTurns;
+
+    TokenBucket(int requestsPerMinute) {
+      this.capacity = Math.max(1, requestsPerMinute / 6.0);
+      this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+      this.tokens = capacity;
+      this.lastRefillNanos = System.nanoTime();
+      this.pausedUntilNanos = lastRefillNanos;
+    }
+
+    synchronized void acquire(Priority priority) throws InterruptedException {
+      waiting[priority.ordinal()]++;
+      try {
+        while (true) {
+          long now = System.nanoTime();
+          refill(now);
+          long waitNanos = pausedUntilNanos - now;
+          if (tokens < 1) {
+            waitNanos = Math.max(waitNanos, (long) Math.ceil((1 - tokens) / tokensPerNano));
+          }
+          if (waitNanos <= 0) {
+            if (isTurnOf(priority)) {
+              tokens -= 1;
+              interactiveTurns = priority == Priority.INTERACTIVE ? interactiveTurns + 1 : 0;
+              notifyAll();
+              return;
+            }
+            // a token is free but belongs to the other priority: wait to be notified
+            waitNanos = TimeUnit.MILLISECONDS.toNanos(10);
+          }
+          TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+        }
+      } finally {
+        waiting[priority.ordinal()]--;
+        notifyAll();
+      }
+    }
+
+    synchronized void observe(boolean rateLimited, Long remaining, Long resetEpochSeconds) {
+      long now = System.nanoTime();
+      refill(now);
+      if (remaining != null) {
+        tokens = Math.min(tokens, remaining);
+      }
+      if ((rateLimited || (remaining != null && remaining <= 0)) && resetEpochSeconds != null) {
+        long pauseSeconds = resetEpochSeconds - Instant.now().getEpochSecond();
+        pauseSeconds = Math.min(Math.max(pauseSeconds, 1), MAX_PAUSE_SECONDS);
+        pausedUntilNanos = Math.max(pausedUntilNanos, now + TimeUnit.SECONDS.toNanos(pauseSeconds));
+        tokens = 0;
+      }
+      notifyAll();
+    }
+
+    private boolean isTurnOf(Priority priority) {
+      if (priority == Priority.INTERACTIVE) {
+        return waiting[Priority.BATCH.ordinal()] == 0
+            || interactiveTurns < INTERACTIVE_TURNS_PER_BATCH_TURN;
+      }
+      return waiting[Priority.INTERACTIVE.ordinal()] == 0
+          || interactiveTurns >= INTERACTIVE_TURNS_PER_BATCH_TURN;
+    }
+
+    private void refill(long now) {
+      tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+      lastRefillNanos = now;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package gov.cdc.usds.simplereport.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram for one field coordinate. Recording is lock-free; {@link
+ * #snapshotAndReset()} is only approximately atomic, which is fine for once-a-minute reporting.
+ */
+class FieldLatencyHistogram {
+  static final long[] BUCKET_UPPER_BOUNDS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_UPPER_BOUNDS_MS.length + 1];
+  private final LongAdder totalNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  FieldLatencyHistogram() {
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  void record(long nanos) {
+    long millis = nanos / 1_000_000;
+    int bucket = 0;
+    while (bucket < BUCKET_UPPER_BOUNDS_MS.length && millis >= BUCKET_UPPER_BOUNDS_MS[bucket]) {
+      bucket++;
+    }
+    buckets[bucket].increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  Snapshot snapshotAndReset() {
+    long[] counts = new long[buckets.length];
+    long count = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      counts[i] = buckets[i].sumThenReset();
+      count += counts[i];
+    }
+    return new Snapshot(
+        counts, count, totalNanos.sumThenReset() / 1_000_000.0, maxNanos.getAndSet(0) / 1e6);
+  }
+
+  record Snapshot(long[] bucketCounts, long count, double totalMillis, double maxMillis) {
+
+    /**
+     * The upper bound of the bucket holding the given percentile, or the maximum for the overflow
+     * bucket.
+     */
+    double percentileMillis(double percentile) {
+      long rank = (long) Math.ceil(percentile * count);
+      long seen = 0;
+      for (int i = 0; i < BUCKET_UPPER_BOUNDS_MS.length; i++) {
+        seen += bucketCounts[i];
+        if (seen >= rank) {
+          return Math.min(BUCKET_UPPER_BOUNDS_MS[i], maxMillis);
+        }
+      }
+      return maxMillis;
+    }
+  }
+}
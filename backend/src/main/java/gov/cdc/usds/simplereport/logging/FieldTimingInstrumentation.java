@@ -0,0 +1,152 @@
+package gov.cdc.usds.simplereport.logging;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.telemetry.MetricTelemetry;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the data fetchers of a sample of operations, per field coordinate (e.g. {@code
+ * TestResult.facility}). A field resolved through a DataLoader is timed until its batch returns, so
+ * a slow batch loader shows up on the fields it serves.
+ *
+ * <p>Latencies go into one histogram per coordinate, reported to Application Insights once a
+ * minute. When a sampled operation takes longer than the slow-operation threshold, its slowest
+ * fields are put in the {@link graphql.GraphQLContext} under {@link #SLOW_FIELDS_KEY}, for {@link
+ * QueryLoggingInstrumentation} to log with the request.
+ *
+ * <p>Property fetchers are never timed, and unsampled operations only pay for one random number.
+ */
+@Component
+@Slf4j
+public class FieldTimingInstrumentation extends SimplePerformantInstrumentation {
+  public static final String SLOW_FIELDS_KEY = "simpleReportSlowFields";
+  private static final int SLOW_FIELDS_LOGGED = 10;
+
+  private final TelemetryClient telemetryClient;
+  private final double sampleRate;
+  private final long slowOperationThresholdNanos;
+  private final Map<String, FieldLatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+  public FieldTimingInstrumentation(
+      TelemetryClient telemetryClient,
+      @Value("${simple-report.graphql-field-timing.sample-rate:0.05}") double sampleRate,
+      @Value("${simple-report.graphql-field-timing.slow-operation-threshold-ms:1000}")
+          long slowOperationThresholdMs) {
+    this.telemetryClient = telemetryClient;
+    this.sampleRate = sampleRate;
+    this.slowOperationThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowOperationThresholdMs);
+  }
+
+  @Override
+  public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+    return ThreadLocalRandom.current().nextDouble() < sampleRate ? new OperationTimings() : null;
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+      InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+    if (!(state instanceof OperationTimings timings)) {
+      return super.beginExecuteOperation(parameters, state);
+    }
+    long start = System.nanoTime();
+    return SimpleInstrumentationContext.whenCompleted(
+        (result, t) -> {
+          long elapsed = System.nanoTime() - start;
+          if (elapsed > slowOperationThresholdNanos) {
+            parameters
+                .getExecutionContext()
+                .getGraphQLContext()
+                .put(SLOW_FIELDS_KEY, timings.slowestFields(SLOW_FIELDS_LOGGED));
+          }
+        });
+  }
+
+  @Override
+  public InstrumentationContext<Object> beginFieldFetch(
+      InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+    if (!(state instanceof OperationTimings timings) || parameters.isTrivialDataFetcher()) {
+      return super.beginFieldFetch(parameters, state);
+    }
+    String coordinate =
+        parameters.getExecutionStepInfo().getObjectType().getName()
+            + "."
+            + parameters.getField().getName();
+    long start = System.nanoTime();
+    return SimpleInstrumentationContext.whenCompleted(
+        (result, t) -> {
+          long elapsed = System.nanoTime() - start;
+          histograms.computeIfAbsent(coordinate, c -> new FieldLatencyHistogram()).record(elapsed);
+          timings.record(coordinate, elapsed);
+        });
+  }
+
+  @Scheduled(fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+  public void reportFieldLatencies() {
+    histograms.forEach(
+        (coordinate, histogram) -> {
+          FieldLatencyHistogram.Snapshot snapshot = histogram.snapshotAndReset();
+          if (snapshot.count() == 0) {
+            return;
+          }
+          MetricTelemetry latency = new MetricTelemetry("GraphQL field latency", 0);
+          latency.setValue(snapshot.totalMillis());
+          latency.setCount((int) Math.min(snapshot.count(), Integer.MAX_VALUE));
+          latency.setMax(snapshot.maxMillis());
+          latency.getProperties().put("field", coordinate);
+          telemetryClient.trackMetric(latency);
+          trackPercentile(coordinate, "p50", snapshot.percentileMillis(0.5));
+          trackPercentile(coordinate, "p95", snapshot.percentileMillis(0.95));
+          trackPercentile(coordinate, "p99", snapshot.percentileMillis(0.99));
+        });
+  }
+
+  private void trackPercentile(String coordinate, String percentile, double millis) {
+    MetricTelemetry metric = new MetricTelemetry("GraphQL field latency " + percentile, millis);
+    metric.getProperties().put("field", coordinate);
+    telemetryClient.trackMetric(metric);
+  }
+
+  /** Total time and number of fetches per field, for one sampled operation. */
+  private static class OperationTimings implements InstrumentationState {
+    private final Map<String, LongAdder> nanosByField = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> fetchesByField = new ConcurrentHashMap<>();
+
+    void record(String coordinate, long nanos) {
+      nanosByField.computeIfAbsent(coordinate, c -> new LongAdder()).add(nanos);
+      fetchesByField.computeIfAbsent(coordinate, c -> new AtomicLong()).incrementAndGet();
+    }
+
+    String slowestFields(int limit) {
+      return nanosByField.entrySet().stream()
+          .sorted(Comparator.comparingLong(e -> -e.getValue().sum()))
+          .limit(limit)
+          .map(
+              e ->
+                  String.format(
+                      "%s %dms (x%d)",
+                      e.getKey(),
+                      TimeUnit.NANOSECONDS.toMillis(e.getValue().sum()),
+                      fetchesByField.get(e.getKey()).get()))
+          .collect(Collectors.joining(", "));
+    }
+  }
+}
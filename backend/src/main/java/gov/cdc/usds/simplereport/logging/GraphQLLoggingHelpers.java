@@ -3,7 +3,9 @@ package gov.cdc.usds.simplereport.logging;
 import com.microsoft.applicationinsights.TelemetryClient;
 import com.microsoft.applicationinsights.telemetry.Duration;
 import com.microsoft.applicationinsights.telemetry.RequestTelemetry;
+import gov.cdc.usds.simplereport.api.QueryCostInstrumentation;
 import graphql.ExecutionResult;
+import graphql.GraphQLContext;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.SimpleInstrumentationContext;
 import graphql.language.Field;
@@ -65,7 +67,7 @@ public class GraphQLLoggingHelpers {
    * @return - {@link InstrumentationContext} to handle query completion
    */
   public static InstrumentationContext<ExecutionResult> createInstrumentationContext(
-      long queryStart, TelemetryClient client, RequestTelemetry request) {
+      long queryStart, TelemetryClient client, RequestTelemetry request, GraphQLContext context) {
     return SimpleInstrumentationContext.whenCompleted(
         (ExecutionResult result, Throwable t) -> {
           log.trace("Entered logging instrumentation callback.");
@@ -73,6 +75,19 @@ public class GraphQLLoggingHelpers {
           final Duration queryDuration = new Duration(queryEnd - queryStart);
           request.setDuration(queryDuration);
 
+          // set by QueryCostInstrumentation, unless the query never got as far as execution
+          final Long queryCost = context.get(QueryCostInstrumentation.QUERY_COST_KEY);
+          if (queryCost != null) {
+            log.info("GraphQL operation cost: {}", queryCost);
+            request.getProperties().put("queryCost", queryCost.toString());
+          }
+          // set by FieldTimingInstrumentation, for sampled operations over its threshold
+          final String slowFields = context.get(FieldTimingInstrumentation.SLOW_FIELDS_KEY);
+          if (slowFields != null) {
+            log.warn("Slow GraphQL operation, slowest fields: {}", slowFields);
+            request.getProperties().put("slowFields", slowFields);
+          }
+
           if (t != null) {
             log.error("GraphQL execution failed: {}", t.getMessage(), t);
             log.info("GraphQL execution FAILED in {}ms", queryDuration.getMilliseconds());
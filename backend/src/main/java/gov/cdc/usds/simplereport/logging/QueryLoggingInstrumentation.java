@@ -90,6 +90,7 @@ public class QueryLoggingInstrumentation extends SimplePerformantInstrumentation
       requestTelemetry.setName(name);
     }
     log.trace("Done initializing graphql query logging.");
-    return GraphQLLoggingHelpers.createInstrumentationContext(queryStart, client, requestTelemetry);
+    return GraphQLLoggingHelpers.createInstrumentationContext(
+        queryStart, client, requestTelemetry, parameters.getGraphQLContext());
   }
 }
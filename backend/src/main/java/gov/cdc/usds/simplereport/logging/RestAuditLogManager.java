@@ -64,6 +64,22 @@ public class RestAuditLogManager {
     return true;
   }
 
+  /**
+   * Saves the audit log for a request from a signed-in user, before its response is streamed. If
+   * it cannot be saved, throws an exception so that nothing is sent.
+   *
+   * @param request the {@link HttpServletRequest} that is being handled.
+   * @param org the organization whose data the response holds.
+   */
+  public void logRestRequest(HttpServletRequest request, Organization org) {
+    try {
+      String requestId = MDC.get(LoggingConstants.REQUEST_ID_MDC_KEY);
+      _auditService.logRestEvent(requestId, request, DEFAULT_SUCCESS, org, null);
+    } catch (Exception e) {
+      throw new RestAuditFailureException(e);
+    }
+  }
+
   public boolean logWebhookSuccess(HttpServletRequest request) {
     if (!_webhookContextHolder.isWebhook()) {
       log.error("Somehow reached success handler without webhook context being true");
@@ -0,0 +1,95 @@
+package gov.cdc.usds.simplereport.service;
+
+import gov.cdc.usds.simplereport.db.model.ApiUser;
+import gov.cdc.usds.simplereport.db.repository.ApiUserRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Records when users were last seen without writing to {@code api_user} on every request. A user
+ * is queued at most once per {@code simple-report.api-user-last-seen.min-interval-seconds}, and
+ * queued users are written in batches every {@code
+ * simple-report.api-user-last-seen.flush-interval-seconds}, so {@code last_seen} may lag by up to
+ * the flush interval.
+ *
+ * <p>The last-seen time already loaded with the user is checked first, so a user recently recorded
+ * by another instance is not written again either.
+ */
+@Service
+@Slf4j
+public class ApiUserLastSeenService {
+  private static final int BATCH_SIZE = 500;
+
+  private final ApiUserRepository _apiUserRepo;
+  private final Duration _minInterval;
+  // when each user was last queued, so that they are not queued again within the interval
+  private final Map<UUID, Instant> _lastQueued = new ConcurrentHashMap<>();
+  private final Set<UUID> _pending = ConcurrentHashMap.newKeySet();
+
+  public ApiUserLastSeenService(
+      ApiUserRepository apiUserRepo,
+      @Value("${simple-report.api-user-last-seen.min-interval-seconds:300}")
+          long minIntervalSeconds) {
+    _apiUserRepo = apiUserRepo;
+    _minInterval = Duration.ofSeconds(minIntervalSeconds);
+  }
+
+  public void recordSeen(ApiUser user) {
+    Instant now = Instant.now();
+    Instant cutoff = now.minus(_minInterval);
+    Date lastSeen = user.getLastSeen();
+    if (lastSeen != null && lastSeen.toInstant().isAfter(cutoff)) {
+      return;
+    }
+    UUID userId = user.getInternalId();
+    Instant previous = _lastQueued.get(userId);
+    if (previous != null && previous.isAfter(cutoff)) {
+      return;
+    }
+    boolean queued =
+        previous == null
+            ? _lastQueued.putIfAbsent(userId, now) == null
+            : _lastQueued.replace(userId, previous, now);
+    if (queued) {
+      _pending.add(userId);
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${simple-report.api-user-last-seen.flush-interval-seconds:30}",
+      timeUnit = TimeUnit.SECONDS)
+  @PreDestroy
+  public void flushLastSeen() {
+    List<UUID> userIds = new ArrayList<>(_pending);
+    if (userIds.isEmpty()) {
+      return;
+    }
+    _pending.removeAll(userIds);
+    Date lastSeen = new Date();
+    try {
+      ListUtils.partition(userIds, BATCH_SIZE)
+          .forEach(batch -> _apiUserRepo.updateLastSeen(batch, lastSeen));
+      log.debug("Recorded last-seen time for {} users", userIds.size());
+    } catch (RuntimeException e) {
+      // not worth retrying: these users will be queued again on their next request
+      log.warn("Could not record last-seen time for {} users", userIds.size(), e);
+      userIds.forEach(_lastQueued::remove);
+    }
+    Instant cutoff = Instant.now().minus(_minInterval);
+    _lastQueued.values().removeIf(queuedAt -> !queuedAt.isAfter(cutoff));
+  }
+}
@@ -34,6 +34,7 @@ import gov.cdc.usds.simplereport.idp.repository.PartialOktaUser;
 import gov.cdc.usds.simplereport.service.model.IdentityAttributes;
 import gov.cdc.usds.simplereport.service.model.IdentitySupplier;
 import gov.cdc.usds.simplereport.service.model.OrganizationRoles;
+import gov.cdc.usds.simplereport.service.model.TenantDataAccessGrant;
 import gov.cdc.usds.simplereport.service.model.UserInfo;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -87,6 +88,10 @@ public class ApiUserService {
 
   @Autowired private FeatureFlagsConfig _featureFlagsConfig;
 
+  @Autowired private ApiUserLastSeenService _lastSeenService;
+
+  @Autowired private OktaUserStatusService _userStatusService;
+
   private void createUserUpdatedAuditLog(Object authorId, Object updatedUserId) {
     log.info("User with id={} updated by user with id={}", authorId, updatedUserId);
   }
@@ -175,11 +180,14 @@ public class ApiUserService {
     Optional<OrganizationRoleClaims> oktaClaims =
         _oktaRepo.updateUserPrivileges(apiUser.getLoginEmail(), org, facilitiesFound, roles);
     updatedOrgRoles = oktaClaims.map(c -> _orgService.getOrganizationRoles(c));
+    _orgService.invalidateOrganizationRolesCache();
 
     if (_featureFlagsConfig.isOktaMigrationEnabled()) {
       updatedOrgRoles = Optional.ofNullable(getOrgRolesFromDB(apiUser));
     }
 
+    _userStatusService.refreshUser(apiUser, org);
+
     UserInfo user = new UserInfo(apiUser, updatedOrgRoles, false);
 
     log.info(
@@ -215,6 +223,8 @@ public class ApiUserService {
       orgRoles = Optional.ofNullable(getOrgRolesFromDB(apiUser));
     }
 
+    _userStatusService.refreshUser(apiUser, org);
+
     UserInfo user = new UserInfo(apiUser, orgRoles, false);
 
     log.info(
@@ -267,6 +277,7 @@ public class ApiUserService {
 
     apiUser.setFacilities(facilitiesFound);
     apiUser.setRoles(roles, org);
+    _orgService.invalidateOrganizationRolesCache();
 
     createUserUpdatedAuditLog(apiUser.getInternalId(), getCurrentApiUser().getInternalId());
 
@@ -302,6 +313,7 @@ public class ApiUserService {
     ApiUser apiUser = getApiUser(userId);
     String username = apiUser.getLoginEmail();
     _oktaRepo.resetUserPassword(username);
+    _userStatusService.refreshUser(apiUser);
     OrganizationRoleClaims oktaClaims =
         _oktaRepo
             .getOrganizationRoleClaimsForUser(username)
@@ -315,6 +327,7 @@ public class ApiUserService {
     ApiUser apiUser = getApiUser(userId);
     String username = apiUser.getLoginEmail();
     _oktaRepo.resetUserMfa(username);
+    _userStatusService.refreshUser(apiUser);
     OrganizationRoleClaims oktaClaims =
         _oktaRepo
             .getOrganizationRoleClaimsForUser(username)
@@ -328,6 +341,8 @@ public class ApiUserService {
     apiUser.setIsDeleted(deleted);
     apiUser = _apiUserRepo.save(apiUser);
     _oktaRepo.setUserIsActive(apiUser.getLoginEmail(), !deleted);
+    _orgService.invalidateOrganizationRolesCache();
+    _userStatusService.refreshUser(apiUser);
     return new UserInfo(apiUser, Optional.empty(), false);
   }
 
@@ -343,6 +358,7 @@ public class ApiUserService {
     ApiUser apiUser = getApiUser(userId);
     String username = apiUser.getLoginEmail();
     _oktaRepo.reactivateUser(username);
+    _userStatusService.refreshUser(apiUser);
     OrganizationRoleClaims oktaClaims =
         _oktaRepo
             .getOrganizationRoleClaimsForUser(username)
@@ -356,6 +372,7 @@ public class ApiUserService {
     ApiUser apiUser = getApiUser(userId);
     String username = apiUser.getLoginEmail();
     _oktaRepo.resendActivationEmail(username);
+    _userStatusService.refreshUser(apiUser);
     OrganizationRoleClaims oktaClaims =
         _oktaRepo
             .getOrganizationRoleClaimsForUser(username)
@@ -375,6 +392,7 @@ public class ApiUserService {
     ApiUser foundUser =
         _apiUserRepo.findByLoginEmail(username).orElseThrow(NonexistentUserException::new);
     foundUser.clearRolesAndFacilities();
+    _orgService.invalidateOrganizationRolesCache();
     return foundUser;
   }
 
@@ -421,8 +439,7 @@ public class ApiUserService {
     if (found.isPresent()) {
       log.debug("Patient has logged in before: retrieving user record.");
       ApiUser user = found.get();
-      user.updateLastSeen();
-      user = _apiUserRepo.save(user);
+      _lastSeenService.recordSeen(user);
       return user;
     } else {
       log.info("Initial login for patient: creating user record.");
@@ -540,8 +557,7 @@ public class ApiUserService {
     if (found.isPresent()) {
       log.debug("User has logged in before: retrieving user record.");
       ApiUser user = found.get();
-      user.updateLastSeen();
-      user = _apiUserRepo.save(user);
+      _lastSeenService.recordSeen(user);
       return user;
     } else {
       // Assumes user already has a corresponding Okta entity; otherwise, they couldn't log in :)
@@ -623,6 +639,10 @@ public class ApiUserService {
   @AuthorizationConfiguration.RequirePermissionManageUsers
   public ManageUsersPageWrapper getPagedUsersAndStatusInCurrentOrg(
       int pageNumber, int pageSize, String searchQuery) {
+    if (_userStatusService.isEnabled()) {
+      return _userStatusService.getUsersPage(
+          _orgService.getCurrentOrganization(), pageNumber, pageSize, searchQuery);
+    }
     List<ApiUserWithStatus> allUsers = getUsersAndStatusInCurrentOrg();
 
     List<ApiUserWithStatus> filteredUsers = allUsers;
@@ -673,6 +693,9 @@ public class ApiUserService {
   @AuthorizationConfiguration.RequirePermissionManageUsers
   public List<ApiUserWithStatus> getUsersAndStatusInCurrentOrg() {
     Organization org = _orgService.getCurrentOrganization();
+    if (_userStatusService.isEnabled()) {
+      return _userStatusService.getUsers(org);
+    }
     final Map<String, UserStatus> emailsToStatus =
         _oktaRepo.getAllUsersWithStatusForOrganization(org);
     List<ApiUser> users = _apiUserRepo.findAllByLoginEmailInOrderByName(emailsToStatus.keySet());
@@ -735,6 +758,29 @@ public class ApiUserService {
     return _tenantService.getTenantDataAccessAuthorities(apiUser);
   }
 
+  /**
+   * The current site admin's active tenant data access, if any. Answered from the username in the
+   * request's identity when the grant is cached and is still the user's valid grant, so that
+   * requests made while browsing an organization do not load the user and the grant again.
+   */
+  @AuthorizationConfiguration.RequireGlobalAdminUser
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public Optional<TenantDataAccessGrant> getTenantDataAccessForCurrentUser() {
+    IdentityAttributes userIdentity = _supplier.get();
+    if (userIdentity != null) {
+      String username = userIdentity.getUsername();
+      Optional<Set<String>> cached = _tenantService.getCachedTenantDataAccessAuthorities(username);
+      if (cached.isPresent()) {
+        return Optional.of(new TenantDataAccessGrant(username, cached.get()));
+      }
+    }
+    ApiUser apiUser = getCurrentApiUser();
+    Set<String> authorities = _tenantService.getTenantDataAccessAuthorities(apiUser);
+    return authorities.isEmpty()
+        ? Optional.empty()
+        : Optional.of(new TenantDataAccessGrant(apiUser.getLoginEmail(), authorities));
+  }
+
   @AuthorizationConfiguration.RequireGlobalAdminUser
   public UserInfo getUserByLoginEmail(String loginEmail) {
     Optional<ApiUser> foundUser = _apiUserRepo.findByLoginEmailIncludeArchived(loginEmail);
@@ -828,6 +874,8 @@ public class ApiUserService {
 
     _oktaRepo.updateUserPrivilegesAndGroupAccess(
         username, newOrg, facilitiesToGiveAccessTo, role.toOrganizationRole(), allFacilitiesAccess);
+    _orgService.invalidateOrganizationRolesCache();
+    _userStatusService.refreshUser(apiUser, newOrg);
   }
 
   /*
@@ -3,7 +3,9 @@ package gov.cdc.usds.simplereport.service;
 import ca.uhn.fhir.context.FhirContext;
 import com.azure.storage.queue.QueueAsyncClient;
 import gov.cdc.usds.simplereport.api.converter.FhirConverter;
+import gov.cdc.usds.simplereport.api.model.errors.TestEventSerializationFailureException;
 import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.utils.QueueMessageCodec;
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +21,7 @@ public final class AzureStorageQueueFhirReportingService implements TestEventRep
   private final QueueAsyncClient queueClient;
   private final GitProperties gitProperties;
   private final FhirConverter fhirConverter;
+  private final QueueMessageCodec messageCodec;
 
   @Value("${simple-report.processing-mode-code:P}")
   private String processingModeCode = "P";
@@ -27,11 +30,15 @@ public final class AzureStorageQueueFhirReportingService implements TestEventRep
   public CompletableFuture<Void> reportAsync(TestEvent testEvent) {
     log.trace("Dispatching TestEvent [{}] to Azure storage queue", testEvent.getInternalId());
     var parser = context.newJsonParser();
-    return queueClient
-        .sendMessage(
-            parser.encodeResourceToString(
-                fhirConverter.createFhirBundle(testEvent, gitProperties, processingModeCode)))
-        .toFuture()
-        .thenApply(result -> null);
+    String bundle =
+        parser.encodeResourceToString(
+            fhirConverter.createFhirBundle(testEvent, gitProperties, processingModeCode));
+    String message;
+    try {
+      message = messageCodec.encode(bundle);
+    } catch (IllegalArgumentException e) {
+      throw new TestEventSerializationFailureException(testEvent.getInternalId(), e.getMessage());
+    }
+    return queueClient.sendMessage(message).toFuture().thenApply(result -> null);
   }
 }
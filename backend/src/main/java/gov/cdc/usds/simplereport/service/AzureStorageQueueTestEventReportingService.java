@@ -1,11 +1,12 @@
 package gov.cdc.usds.simplereport.service;
 
 import com.azure.storage.queue.QueueAsyncClient;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import gov.cdc.usds.simplereport.api.model.TestEventExport;
+import gov.cdc.usds.simplereport.api.model.TestEventExportWriter;
 import gov.cdc.usds.simplereport.api.model.errors.TestEventSerializationFailureException;
 import gov.cdc.usds.simplereport.db.model.TestEvent;
-import java.io.IOException;
+import gov.cdc.usds.simplereport.utils.QueueMessageCodec;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,8 +16,8 @@ import org.springframework.beans.factory.annotation.Value;
 @RequiredArgsConstructor
 public final class AzureStorageQueueTestEventReportingService implements TestEventReportingService {
 
-  private final ObjectMapper mapper;
   private final QueueAsyncClient queueClient;
+  private final QueueMessageCodec messageCodec;
 
   @Value("${simple-report.processing-mode-code:P}")
   private String processingModeCode;
@@ -24,17 +25,25 @@ public final class AzureStorageQueueTestEventReportingService implements TestEve
   @Override
   public CompletableFuture<Void> reportAsync(TestEvent testEvent) {
     log.trace("Dispatching TestEvent [{}] to Azure storage queue", testEvent.getInternalId());
-    return queueClient.sendMessage(toBuffer(testEvent)).toFuture().thenApply(result -> null);
+    return queueClient
+        .sendMessage(toMessage(testEvent.getInternalId(), toBuffer(testEvent)))
+        .toFuture()
+        .thenApply(result -> null);
+  }
+
+  private String toMessage(UUID testEventId, String payload) {
+    try {
+      return messageCodec.encode(payload);
+    } catch (IllegalArgumentException e) {
+      throw new TestEventSerializationFailureException(testEventId, e.getMessage());
+    }
   }
 
   private String toBuffer(TestEvent testEvent) {
     try {
-      return mapper
-          .writeValueAsString(new TestEventExport(testEvent, processingModeCode))
-          .replaceAll("[\u2028\u2029]", "");
-    } catch (IOException e) {
-      throw new TestEventSerializationFailureException(
-          testEvent.getInternalId(), e.getCause().getMessage());
+      return TestEventExportWriter.toJson(new TestEventExport(testEvent, processingModeCode));
+    } catch (RuntimeException e) {
+      throw new TestEventSerializationFailureException(testEvent.getInternalId(), e.toString());
     }
   }
 }
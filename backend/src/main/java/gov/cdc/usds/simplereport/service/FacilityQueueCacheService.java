@@ -0,0 +1,62 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.FACILITY_QUEUE_SNAPSHOT;
+
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.repository.TestOrderRepository;
+import gov.cdc.usds.simplereport.service.model.FacilityQueueItem;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** Published by each {@link TestOrderService} change to a facility's queue. */
+record FacilityQueueChangedEvent(UUID facilityId) {}
+
+/**
+ * Per-facility snapshots of the test queue. Everyone looking at the same facility sees the same
+ * queue, so rather than loading the whole queue graph on every poll, the queue is loaded once into
+ * immutable {@link FacilityQueueItem}s and served from memory until it changes.
+ *
+ * <p>A facility's snapshot is dropped once a {@link TestOrderService} change to its queue commits.
+ * Changes made on another instance are seen when the snapshot expires (see {@link
+ * gov.cdc.usds.simplereport.config.CachingConfig}).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class FacilityQueueCacheService {
+
+  private final TestOrderRepository _testOrderRepo;
+
+  /**
+   * Returns the pending queue for the facility, oldest first. Callers are responsible for checking
+   * that the current user may see this facility.
+   *
+   * <p>The load holds the facility's cache entry, so an eviction that arrives while a snapshot is
+   * loading waits for the load and then drops it, rather than being overwritten by it.
+   */
+  @Cacheable(value = FACILITY_QUEUE_SNAPSHOT, key = "#facility.internalId", sync = true)
+  public List<FacilityQueueItem> getQueue(Facility facility) {
+    List<FacilityQueueItem> queue =
+        _testOrderRepo.fetchQueueSnapshot(facility.getOrganization(), facility).stream()
+            .map(FacilityQueueItem::of)
+            .toList();
+    log.debug(
+        "Loaded queue snapshot for facility={} ({} orders)",
+        facility.getInternalId(),
+        queue.size());
+    return queue;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @CacheEvict(value = FACILITY_QUEUE_SNAPSHOT, key = "#event.facilityId()")
+  public void handleQueueChanged(FacilityQueueChangedEvent event) {
+    log.debug("Queue changed for facility={}", event.facilityId());
+  }
+}
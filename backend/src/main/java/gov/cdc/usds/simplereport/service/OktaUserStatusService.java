@@ -0,0 +1,268 @@
+package gov.cdc.usds.simplereport.service;
+
+import com.okta.sdk.resource.model.UserStatus;
+import gov.cdc.usds.simplereport.api.apiuser.ManageUsersPageWrapper;
+import gov.cdc.usds.simplereport.api.model.ApiUserWithStatus;
+import gov.cdc.usds.simplereport.db.model.ApiUser;
+import gov.cdc.usds.simplereport.db.model.OktaUserStatus;
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.PersonName;
+import gov.cdc.usds.simplereport.db.repository.ApiUserRepository;
+import gov.cdc.usds.simplereport.db.repository.OktaUserStatusRepository;
+import gov.cdc.usds.simplereport.db.repository.OrganizationRepository;
+import gov.cdc.usds.simplereport.idp.repository.OktaRateLimiter;
+import gov.cdc.usds.simplereport.idp.repository.OktaRepository;
+import gov.cdc.usds.simplereport.utils.NameSearchUtils;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a copy of each organization user's Okta status in the database, so that the manage-users
+ * page can be searched and paged in Postgres instead of listing every user in Okta on each request.
+ *
+ * <p>An organization is copied in full the first time its users are listed. After that, user
+ * management changes re-read the affected user's status, and a scheduled job reconciles every
+ * copied organization with Okta, which remains the source of truth.
+ */
+@Service
+@Slf4j
+public class OktaUserStatusService {
+  private static final Sort NAME_ORDER =
+      Sort.by("nameInfo.lastName", "nameInfo.firstName", "nameInfo.middleName", "internalId");
+
+  private final OktaUserStatusRepository _statusRepo;
+  private final ApiUserRepository _apiUserRepo;
+  private final OrganizationRepository _orgRepo;
+  private final OktaRepository _oktaRepo;
+  private final boolean enabled;
+
+  public OktaUserStatusService(
+      OktaUserStatusRepository statusRepo,
+      ApiUserRepository apiUserRepo,
+      OrganizationRepository orgRepo,
+      OktaRepository oktaRepo,
+      @Value("${simple-report.okta-user-status-mirror.enabled:true}") boolean enabled) {
+    _statusRepo = statusRepo;
+    _apiUserRepo = apiUserRepo;
+    _orgRepo = orgRepo;
+    _oktaRepo = oktaRepo;
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** A page of the organization's users whose names contain every term of the search query. */
+  public ManageUsersPageWrapper getUsersPage(
+      Organization org, int pageNumber, int pageSize, String searchQuery) {
+    ensureMirrored(org);
+    Specification<ApiUser> inOrg = mirroredInOrganization(org.getInternalId());
+    Specification<ApiUser> search = inOrg;
+    for (String term : toSearchTerms(searchQuery)) {
+      search = search.and(nameContains(term));
+    }
+
+    long totalSearchResults = _apiUserRepo.count(search);
+    long startIndex = (long) pageNumber * pageSize;
+    boolean onlyOnePageOfResults = totalSearchResults <= pageSize;
+    boolean requestedPageOutOfBounds = startIndex > totalSearchResults;
+    int servedPage = onlyOnePageOfResults || requestedPageOutOfBounds ? 0 : pageNumber;
+
+    List<ApiUser> users =
+        _apiUserRepo.findAll(search, PageRequest.of(servedPage, pageSize, NAME_ORDER));
+    return new ManageUsersPageWrapper(
+        new PageImpl<>(
+            withStatuses(users), PageRequest.of(pageNumber, pageSize), totalSearchResults),
+        (int) _apiUserRepo.count(inOrg));
+  }
+
+  /** All of the organization's users, ordered by name. */
+  public List<ApiUserWithStatus> getUsers(Organization org) {
+    ensureMirrored(org);
+    return withStatuses(
+        _apiUserRepo.findAll(mirroredInOrganization(org.getInternalId()), NAME_ORDER));
+  }
+
+  /** Copies the organization's users from Okta if it has not been copied yet. */
+  public void ensureMirrored(Organization org) {
+    if (!_statusRepo.existsByOrganizationId(org.getInternalId())) {
+      syncOrganization(org);
+    }
+  }
+
+  /** Replaces the organization's copy with the users and statuses Okta lists for it now. */
+  public void syncOrganization(Organization org) {
+    Map<String, UserStatus> emailsToStatus = _oktaRepo.getAllUsersWithStatusForOrganization(org);
+    List<ApiUser> users = _apiUserRepo.findAllByLoginEmailInOrderByName(emailsToStatus.keySet());
+    users.forEach(
+        u ->
+            _statusRepo.upsert(
+                u.getInternalId(),
+                org.getInternalId(),
+                emailsToStatus.get(u.getLoginEmail()).name()));
+    Set<UUID> userIds = users.stream().map(ApiUser::getInternalId).collect(Collectors.toSet());
+    if (userIds.isEmpty()) {
+      _statusRepo.deleteByOrganizationId(org.getInternalId());
+    } else {
+      _statusRepo.deleteByOrganizationIdAndApiUserIdNotIn(org.getInternalId(), userIds);
+    }
+  }
+
+  /**
+   * Re-reads the user's status from Okta after a change that put them in {@code org}. Does nothing
+   * if the organization has not been copied yet, other than dropping any row for an organization
+   * the user has left.
+   */
+  public void refreshUser(ApiUser user, Organization org) {
+    if (!enabled) {
+      return;
+    }
+    if (_statusRepo.existsByOrganizationId(org.getInternalId())) {
+      refreshStatus(user, org.getInternalId());
+    } else {
+      _statusRepo.deleteById(user.getInternalId());
+    }
+  }
+
+  /** Re-reads the user's status from Okta after a change that kept them in their organization. */
+  public void refreshUser(ApiUser user) {
+    if (!enabled) {
+      return;
+    }
+    _statusRepo
+        .findOrganizationIdByApiUserId(user.getInternalId())
+        .ifPresent(orgId -> refreshStatus(user, orgId));
+  }
+
+  /** Re-reads the status of the user with this login, e.g. after they activated their account. */
+  public void refreshUser(String loginEmail) {
+    if (!enabled) {
+      return;
+    }
+    _apiUserRepo.findByLoginEmail(loginEmail).ifPresent(this::refreshUser);
+  }
+
+  /**
+   * Wrapper method for reconciling the copied organizations with Okta so automation can call the
+   * inner method without hitting the lock or conditions.
+   */
+  @Scheduled(
+      fixedDelayString = "${simple-report.okta-user-status-mirror.sync-interval-minutes:30}",
+      initialDelayString = "${simple-report.okta-user-status-mirror.sync-interval-minutes:30}",
+      timeUnit = TimeUnit.MINUTES)
+  @SchedulerLock(
+      name = "OktaUserStatusService_syncMirroredOrganizations",
+      lockAtLeastFor = "PT30S",
+      lockAtMostFor = "PT30M")
+  public void scheduledSyncMirroredOrganizations() {
+    if (enabled) {
+      syncMirroredOrganizations();
+    }
+  }
+
+  /** Reconciles every copied organization with Okta, at batch priority. */
+  public void syncMirroredOrganizations() {
+    List<UUID> orgIds = _statusRepo.findMirroredOrganizationIds();
+    Map<UUID, Organization> orgs =
+        StreamSupport.stream(_orgRepo.findAllById(orgIds).spliterator(), false)
+            .collect(Collectors.toMap(Organization::getInternalId, Function.identity()));
+    log.info("Syncing Okta user statuses for {} organizations", orgIds.size());
+    for (UUID orgId : orgIds) {
+      Organization org = orgs.get(orgId);
+      try {
+        if (org == null || org.getIsDeleted()) {
+          _statusRepo.deleteByOrganizationId(orgId);
+        } else {
+          OktaRateLimiter.runAsBatch(
+              () -> {
+                syncOrganization(org);
+                return null;
+              });
+        }
+      } catch (RuntimeException e) {
+        log.warn("Failed to sync Okta user statuses for organization with id={}", orgId, e);
+      }
+    }
+  }
+
+  private void refreshStatus(ApiUser user, UUID orgId) {
+    try {
+      UserStatus status = _oktaRepo.getUserStatus(user.getLoginEmail());
+      if (status == null) {
+        _statusRepo.deleteById(user.getInternalId());
+      } else {
+        _statusRepo.upsert(user.getInternalId(), orgId, status.name());
+      }
+    } catch (RuntimeException e) {
+      // the scheduled sync will catch up with the change
+      log.warn("Failed to refresh Okta status for user with id={}", user.getInternalId(), e);
+    }
+  }
+
+  private List<ApiUserWithStatus> withStatuses(List<ApiUser> users) {
+    Map<UUID, UserStatus> statuses =
+        StreamSupport.stream(
+                _statusRepo
+                    .findAllById(users.stream().map(ApiUser::getInternalId).toList())
+                    .spliterator(),
+                false)
+            .collect(Collectors.toMap(OktaUserStatus::getApiUserId, OktaUserStatus::getStatus));
+    return users.stream()
+        .map(u -> new ApiUserWithStatus(u, statuses.get(u.getInternalId())))
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> toSearchTerms(String searchQuery) {
+    if (searchQuery == null) {
+      return List.of();
+    }
+    return Arrays.stream(searchQuery.toLowerCase(Locale.ROOT).split("[\\s,]+"))
+        .filter(term -> !term.isEmpty())
+        .toList();
+  }
+
+  private static Specification<ApiUser> mirroredInOrganization(UUID orgId) {
+    return (root, query, cb) -> {
+      Subquery<UUID> members = query.subquery(UUID.class);
+      Root<OktaUserStatus> status = members.from(OktaUserStatus.class);
+      members.select(status.get("apiUserId")).where(cb.equal(status.get("organizationId"), orgId));
+      return cb.and(cb.isFalse(root.get("isDeleted")), root.get("internalId").in(members));
+    };
+  }
+
+  private static Specification<ApiUser> nameContains(String term) {
+    String pattern = NameSearchUtils.toContainsPattern(term);
+    return (root, query, cb) -> {
+      Path<PersonName> name = root.get("nameInfo");
+      Expression<String> fullName =
+          cb.concat(
+              cb.concat(
+                  cb.concat(cb.coalesce(name.<String>get("firstName"), ""), " "),
+                  cb.concat(cb.coalesce(name.<String>get("middleName"), ""), " ")),
+              cb.coalesce(name.<String>get("lastName"), ""));
+      return cb.like(cb.lower(fullName), pattern, '\\');
+    };
+  }
+}
@@ -0,0 +1,113 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.ORGANIZATION_ROLES;
+
+import gov.cdc.usds.simplereport.config.CachingConfig;
+import gov.cdc.usds.simplereport.config.authorization.OrganizationRoleClaims;
+import gov.cdc.usds.simplereport.service.model.OrganizationRoles;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Published when a facility or organization is written, so that cached roles are dropped. */
+record OrganizationRolesChangedEvent() {}
+
+/**
+ * Remembers which organization and facilities a set of role claims resolved to, so that a user's
+ * later requests can skip the organization and facility lookups. Only IDs are kept: entities are
+ * reloaded (or loaded lazily) in each request, so that no request sees another's detached
+ * entities.
+ *
+ * <p>Entries are kept in the {@link CachingConfig#ORGANIZATION_ROLES} cache. They are all dropped
+ * when this instance writes a facility or organization ({@link OrganizationRolesEntityListener}) or
+ * changes user privileges, and expire a minute after they were cached so that changes made on
+ * another instance are picked up.
+ */
+@Service
+@Slf4j
+public class OrganizationRolesCacheService {
+
+  /** The IDs a set of claims resolved to. */
+  public record ResolvedRoles(UUID organizationId, Set<UUID> facilityIds) {}
+
+  private final Cache _roles;
+  // bumped on every invalidation, so that roles resolved concurrently with a change are not stored
+  // over the top of it
+  private final AtomicLong _changeCount = new AtomicLong();
+
+  public OrganizationRolesCacheService(CacheManager cacheManager) {
+    _roles = cacheManager.getCache(ORGANIZATION_ROLES);
+  }
+
+  /**
+   * Resolves the given claims, from the cache if an entry exists.
+   *
+   * @param fromCache Rebuilds roles from cached IDs, or returns empty if they no longer fit (e.g.
+   *     the organization is gone), in which case the claims are resolved again
+   * @param resolver Resolves the claims from scratch. Empty results are not cached.
+   */
+  public Optional<OrganizationRoles> resolve(
+      List<OrganizationRoleClaims> claims,
+      Function<ResolvedRoles, Optional<OrganizationRoles>> fromCache,
+      Supplier<Optional<OrganizationRoles>> resolver) {
+    ResolvedRoles cached = _roles.get(claims, ResolvedRoles.class);
+    if (cached != null) {
+      Optional<OrganizationRoles> roles = fromCache.apply(cached);
+      if (roles.isPresent()) {
+        return roles;
+      }
+      log.info("Cached organization roles no longer apply; resolving claims again");
+    }
+    long changesBefore = _changeCount.get();
+    Optional<OrganizationRoles> roles = resolver.get();
+    if (roles.isPresent() && changesBefore == _changeCount.get()) {
+      OrganizationRoles found = roles.get();
+      ResolvedRoles resolved =
+          new ResolvedRoles(
+              found.getOrganization().getInternalId(), Set.copyOf(found.getFacilityIds()));
+      _roles.put(List.copyOf(claims), resolved);
+    } else {
+      _roles.evict(claims);
+    }
+    return roles;
+  }
+
+  /**
+   * Drops every cached entry; called whenever facilities, organizations or privileges change. In a
+   * transaction, entries are dropped again after it commits, since another request may have
+   * cached the old state in between.
+   */
+  public void invalidateAll() {
+    clear();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              clear();
+            }
+          });
+    }
+  }
+
+  @EventListener
+  public void handleOrganizationRolesChanged(OrganizationRolesChangedEvent event) {
+    invalidateAll();
+  }
+
+  private void clear() {
+    _changeCount.incrementAndGet();
+    _roles.clear();
+  }
+}
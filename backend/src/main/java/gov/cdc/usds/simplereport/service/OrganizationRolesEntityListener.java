@@ -0,0 +1,26 @@
+package gov.cdc.usds.simplereport.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener that tells {@link OrganizationRolesCacheService} about every facility and
+ * organization written through JPA, since cached roles hold the facilities a user can see.
+ */
+public class OrganizationRolesEntityListener {
+
+  private final ApplicationEventPublisher _eventPublisher;
+
+  public OrganizationRolesEntityListener(ApplicationEventPublisher eventPublisher) {
+    _eventPublisher = eventPublisher;
+  }
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void organizationChanged(Object entity) {
+    _eventPublisher.publishEvent(new OrganizationRolesChangedEvent());
+  }
+}
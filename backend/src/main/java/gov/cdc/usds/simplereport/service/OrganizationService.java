@@ -1,5 +1,6 @@
 package gov.cdc.usds.simplereport.service;
 
+import gov.cdc.usds.simplereport.api.AuthorizationDecisionContextHolder;
 import gov.cdc.usds.simplereport.api.CurrentOrganizationRolesContextHolder;
 import gov.cdc.usds.simplereport.api.model.FacilityStats;
 import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
@@ -22,6 +23,7 @@ import gov.cdc.usds.simplereport.db.repository.FacilityRepository;
 import gov.cdc.usds.simplereport.db.repository.OrganizationRepository;
 import gov.cdc.usds.simplereport.db.repository.PersonRepository;
 import gov.cdc.usds.simplereport.db.repository.ProviderRepository;
+import gov.cdc.usds.simplereport.idp.repository.OktaRateLimiter;
 import gov.cdc.usds.simplereport.idp.repository.OktaRepository;
 import gov.cdc.usds.simplereport.service.email.EmailService;
 import gov.cdc.usds.simplereport.service.model.OrganizationRoles;
@@ -37,7 +39,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.support.ScopeNotActiveException;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.scheduling.annotation.Async;
@@ -57,6 +58,8 @@ public class OrganizationService {
   private final PersonRepository personRepository;
   private final OktaRepository oktaRepository;
   private final CurrentOrganizationRolesContextHolder organizationRolesContext;
+  private final AuthorizationDecisionContextHolder authorizationDecisionContext;
+  private final OrganizationRolesCacheService organizationRolesCache;
   private final OrderingProviderRequiredValidator orderingProviderValidator;
   private final AuthorizationService authorizationService;
   private final DbAuthorizationService dbAuthorizationService;
@@ -67,6 +70,11 @@ public class OrganizationService {
 
   public void resetOrganizationRolesContext() {
     organizationRolesContext.reset();
+    try {
+      authorizationDecisionContext.reset();
+    } catch (ScopeNotActiveException e) {
+      // nothing has been cached outside a request
+    }
   }
 
   public Optional<OrganizationRoles> getCurrentOrganizationRoles() {
@@ -82,8 +90,44 @@ public class OrganizationService {
     }
   }
 
+  /**
+   * Drops the cached resolution of role claims to organizations and facilities. Call this whenever
+   * facilities, organizations or user privileges change.
+   */
+  public void invalidateOrganizationRolesCache() {
+    organizationRolesCache.invalidateAll();
+  }
+
   private Optional<OrganizationRoles> fetchCurrentOrganizationRoles() {
     List<OrganizationRoleClaims> orgRoles = authorizationService.findAllOrganizationRoles();
+    return organizationRolesCache.resolve(
+        orgRoles,
+        cached -> getCachedOrganizationRoles(orgRoles, cached),
+        () -> resolveOrganizationRoles(orgRoles));
+  }
+
+  private Optional<OrganizationRoles> getCachedOrganizationRoles(
+      List<OrganizationRoleClaims> orgRoles, OrganizationRolesCacheService.ResolvedRoles cached) {
+    Optional<Organization> foundOrg =
+        organizationRepository.findById(cached.organizationId()).filter(o -> !o.getIsDeleted());
+    if (foundOrg.isEmpty()) {
+      return Optional.empty();
+    }
+    Organization org = foundOrg.get();
+    return orgRoles.stream()
+        .filter(r -> r.getOrganizationExternalId().equals(org.getExternalId()))
+        .findFirst()
+        .map(
+            r ->
+                new OrganizationRoles(
+                    org,
+                    cached.facilityIds(),
+                    () -> getAccessibleFacilities(org, r),
+                    r.getGrantedRoles()));
+  }
+
+  private Optional<OrganizationRoles> resolveOrganizationRoles(
+      List<OrganizationRoleClaims> orgRoles) {
     List<String> candidateExternalIds =
         orgRoles.stream()
             .map(OrganizationRoleClaims::getOrganizationExternalId)
@@ -559,25 +603,17 @@ public class OrganizationService {
   @AuthorizationConfiguration.RequireGlobalAdminUser
   public CompletableFuture<List<String>> sendOrgAdminEmailCSVAsync(
       List<UUID> orgInternalIds, String type, String state) {
-    List<List<UUID>> partitionedOrgIds =
-        ListUtils.partition(orgInternalIds, oktaRepository.getOktaOrgsLimit());
-    ArrayList<String> allAdminEmails = new ArrayList<>();
     return CompletableFuture.supplyAsync(
         () -> {
-          for (List<UUID> orgIds : partitionedOrgIds) {
-            List<String> adminEmails =
-                orgIds.stream()
-                    .map(this::getOrgAdminUserEmails)
-                    .flatMap(List::stream)
-                    .collect(Collectors.toList());
-            allAdminEmails.addAll(adminEmails);
-            try {
-              Thread.sleep(oktaRepository.getOktaRateLimitSleepMs());
-            } catch (InterruptedException e) {
-              Thread.currentThread().interrupt();
-            }
-          }
-          List<String> sortedEmails = allAdminEmails.stream().sorted().collect(Collectors.toList());
+          // the Okta lookups yield to interactive requests rather than pausing between batches
+          List<String> sortedEmails =
+              OktaRateLimiter.runAsBatch(
+                  () ->
+                      orgInternalIds.stream()
+                          .map(this::getOrgAdminUserEmails)
+                          .flatMap(List::stream)
+                          .sorted()
+                          .collect(Collectors.toList()));
           emailService.sendWithCSVAttachment(sortedEmails, state, type);
           return sortedEmails;
         });
@@ -10,17 +10,28 @@ import gov.cdc.usds.simplereport.db.model.Person;
 import gov.cdc.usds.simplereport.db.model.Person.SpecField;
 import gov.cdc.usds.simplereport.db.model.PhoneNumber;
 import gov.cdc.usds.simplereport.db.model.auxiliary.ArchivedStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.PersonName;
 import gov.cdc.usds.simplereport.db.model.auxiliary.PersonRole;
 import gov.cdc.usds.simplereport.db.model.auxiliary.StreetAddress;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultDeliveryPreference;
 import gov.cdc.usds.simplereport.db.repository.PersonRepository;
 import gov.cdc.usds.simplereport.db.repository.PhoneNumberRepository;
-import jakarta.validation.constraints.Size;
+import gov.cdc.usds.simplereport.service.model.Connection;
+import gov.cdc.usds.simplereport.service.model.PageCursor;
+import gov.cdc.usds.simplereport.service.model.RecordCount;
+import gov.cdc.usds.simplereport.utils.NameSearchUtils;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -41,9 +52,12 @@ public class PersonService {
   private final OrganizationService _os;
   private final PersonRepository _repo;
   private final PhoneNumberRepository _phoneRepo;
+  private final RecordCountService _recordCounts;
 
   public static final int DEFAULT_PAGINATION_PAGEOFFSET = 0;
   public static final int DEFAULT_PAGINATION_PAGESIZE = 5000; // this is high because the searchBar
+  public static final int DEFAULT_CONNECTION_PAGESIZE = 100;
+  public static final int MAX_CONNECTION_PAGESIZE = 1000;
   static final int MINIMUM_CHAR_FOR_SEARCH = 2;
 
   private static final Sort NAME_SORT =
@@ -53,11 +67,13 @@ public class PersonService {
       OrganizationService os,
       PersonRepository repo,
       CurrentPatientContextHolder patientContext,
-      PhoneNumberRepository phoneRepo) {
+      PhoneNumberRepository phoneRepo,
+      RecordCountService recordCounts) {
     _patientContext = patientContext;
     _os = os;
     _repo = repo;
     _phoneRepo = phoneRepo;
+    _recordCounts = recordCounts;
   }
 
   private void updatePersonFacility(Person person, UUID facilityId) {
@@ -80,8 +96,7 @@ public class PersonService {
         cb.equal(root.get(SpecField.ORGANIZATION), _os.getCurrentOrganization());
   }
 
-  private Specification<Person> inAccessibleFacilitiesFilter(
-      boolean includeArchived, Organization org) {
+  private Set<UUID> accessibleFacilityIds(boolean includeArchived, Organization org) {
     Set<Facility> facilities;
     if (org != null) {
       facilities = _os.getFacilities(org).stream().collect(Collectors.toSet());
@@ -94,9 +109,10 @@ public class PersonService {
         facilities.addAll(_os.getArchivedFacilities());
       }
     }
-    Set<UUID> facilityUUIDs =
-        facilities.stream().map(Facility::getInternalId).collect(Collectors.toSet());
+    return facilities.stream().map(Facility::getInternalId).collect(Collectors.toSet());
+  }
 
+  private Specification<Person> inAccessibleFacilitiesFilter(Set<UUID> facilityUUIDs) {
     return (root, query, cb) ->
         cb.or(
             cb.isNull(root.get(SpecField.FACILITY)),
@@ -117,17 +133,83 @@ public class PersonService {
                 cb.equal(root.get(SpecField.FACILITY).get(SpecField.INTERNAL_ID), facilityId)));
   }
 
-  private Specification<Person> nameMatchesFilter(
-      @Size(min = MINIMUM_CHAR_FOR_SEARCH) String namePrefixMatch) {
-    String likeString = namePrefixMatch.trim().toLowerCase() + "%";
-    return (root, query, cb) ->
-        cb.or(
-            cb.like(
-                cb.lower(root.get(SpecField.PERSON_NAME).get(SpecField.FIRST_NAME)), likeString),
-            cb.like(
-                cb.lower(root.get(SpecField.PERSON_NAME).get(SpecField.MIDDLE_NAME)), likeString),
-            cb.like(
-                cb.lower(root.get(SpecField.PERSON_NAME).get(SpecField.LAST_NAME)), likeString));
+  // expects a term already folded by NameSearchUtils; served by ix__person__name_search
+  private Specification<Person> nameMatchesFilter(String searchTerm) {
+    String likeString = NameSearchUtils.toPrefixPattern(searchTerm);
+    return (root, query, cb) -> cb.like(root.get(SpecField.NAME_SEARCH), likeString, '\\');
+  }
+
+  // lists people matching more of the terms as whole words first, e.g. "maria cruz" puts Maria
+  // Cruz ahead of Mariana Cruzado, then falls back to name order. Count queries are left alone.
+  private Specification<Person> nameRelevanceOrder(List<String> searchTerms) {
+    return (root, query, cb) -> {
+      if (!Long.class.equals(query.getResultType())) {
+        Expression<String> paddedKey = cb.concat(root.get(SpecField.NAME_SEARCH), " ");
+        Expression<Integer> wholeWordMatches = cb.literal(0);
+        for (String term : searchTerms) {
+          String wholeWord = NameSearchUtils.toWholeWordPattern(term);
+          wholeWordMatches =
+              cb.sum(
+                  wholeWordMatches,
+                  cb.<Integer>selectCase()
+                      .when(cb.like(paddedKey, wholeWord, '\\'), 1)
+                      .otherwise(0));
+        }
+        Path<PersonName> name = root.get(SpecField.PERSON_NAME);
+        query.orderBy(
+            cb.desc(wholeWordMatches),
+            cb.asc(name.get(SpecField.LAST_NAME)),
+            cb.asc(name.get(SpecField.FIRST_NAME)),
+            cb.asc(name.get(SpecField.MIDDLE_NAME)),
+            cb.asc(name.get("suffix")));
+      }
+      return null;
+    };
+  }
+
+  // (last, first, middle, suffix, internal_id) in ascending order, with missing names sorting as
+  // empty strings so every row has a comparable key; rows after the cursor only, if there is one.
+  // The '' is an inline literal so the keys match the ix__person__organization_id-name_keyset
+  // expressions; a bound parameter would keep the planner from using the index.
+  private Specification<Person> nameKeysetFilter(PageCursor after) {
+    return (root, query, cb) -> {
+      Path<PersonName> name = root.get(SpecField.PERSON_NAME);
+      Expression<String> empty = cb.literal("");
+      List<Expression<String>> keys =
+          List.of(
+              cb.coalesce(name.<String>get(SpecField.LAST_NAME), empty),
+              cb.coalesce(name.<String>get(SpecField.FIRST_NAME), empty),
+              cb.coalesce(name.<String>get(SpecField.MIDDLE_NAME), empty),
+              cb.coalesce(name.<String>get("suffix"), empty));
+      Path<UUID> id = root.get(SpecField.INTERNAL_ID);
+      if (!Long.class.equals(query.getResultType())) {
+        List<Order> order = new ArrayList<>();
+        keys.forEach(key -> order.add(cb.asc(key)));
+        order.add(cb.asc(id));
+        query.orderBy(order);
+      }
+      if (after == null) {
+        return null;
+      }
+      Predicate afterCursor = cb.greaterThan(id, after.getId());
+      for (int i = keys.size() - 1; i >= 0; i--) {
+        afterCursor =
+            cb.or(
+                cb.greaterThan(keys.get(i), after.key(i)),
+                cb.and(cb.equal(keys.get(i), after.key(i)), afterCursor));
+      }
+      return afterCursor;
+    };
+  }
+
+  private static PageCursor nameCursor(Person person) {
+    PersonName name = person.getNameInfo();
+    return PageCursor.of(
+        person.getInternalId(),
+        Objects.toString(name.getLastName(), ""),
+        Objects.toString(name.getFirstName(), ""),
+        Objects.toString(name.getMiddleName(), ""),
+        Objects.toString(name.getSuffix(), ""));
   }
 
   private Specification<Person> patientExistsFilter(
@@ -155,11 +237,20 @@ public class PersonService {
       String namePrefixMatch,
       boolean includeArchivedFacilities,
       Organization organization) {
+    return buildPersonSearchFilter(
+        facilityId,
+        archivedStatus,
+        namePrefixMatch,
+        organization,
+        facilityId == null ? accessibleFacilityIds(includeArchivedFacilities, organization) : null);
+  }
 
-    List<String> namePrefixMatchList =
-        StringUtils.isEmpty(namePrefixMatch)
-            ? Collections.emptyList()
-            : Arrays.stream(namePrefixMatch.split("[ ,]")).collect(Collectors.toList());
+  private Specification<Person> buildPersonSearchFilter(
+      UUID facilityId,
+      ArchivedStatus archivedStatus,
+      String namePrefixMatch,
+      Organization organization,
+      Set<UUID> accessibleFacilityIds) {
 
     Specification<Person> filter;
     // build up filter based on params
@@ -176,13 +267,13 @@ public class PersonService {
     }
 
     if (facilityId == null) {
-      filter = filter.and(inAccessibleFacilitiesFilter(includeArchivedFacilities, organization));
+      filter = filter.and(inAccessibleFacilitiesFilter(accessibleFacilityIds));
     } else {
       filter = filter.and(inFacilityFilter(facilityId));
     }
 
-    for (var prefixMatch : namePrefixMatchList) {
-      filter = filter.and(nameMatchesFilter(prefixMatch));
+    for (var searchTerm : NameSearchUtils.toSearchTerms(namePrefixMatch)) {
+      filter = filter.and(nameMatchesFilter(searchTerm));
     }
 
     return filter;
@@ -208,7 +299,8 @@ public class PersonService {
    * @param archivedStatus Default is UNARCHIVED. ARCHIVED will return only archived users. ALL will
    *     return both archived _and_ active users.
    * @param namePrefixMatch Null returns all users, any string will filter by first,middle,last
-   *     names that start with these characters. Case-insensitive. If fewer than
+   *     names that start with these characters. Case- and accent-insensitive; searches of more
+   *     than one word list people matching more of them as whole words first. If fewer than
    * @param includeArchivedFacilities setting to true will include patients in archived facilities,
    *     ignored if facilityId is not null
    * @param orgExternalId allows search for patients outside of current org context, can only be
@@ -243,10 +335,52 @@ public class PersonService {
       return List.of(); // empty list
     }
 
-    return _repo.findAll(
+    Specification<Person> filter =
         buildPersonSearchFilter(
-            facilityId, archivedStatus, namePrefixMatch, includeArchivedFacilities, orgToSearch),
-        PageRequest.of(pageOffset, pageSize, NAME_SORT));
+            facilityId, archivedStatus, namePrefixMatch, includeArchivedFacilities, orgToSearch);
+    List<String> searchTerms = NameSearchUtils.toSearchTerms(namePrefixMatch);
+    if (searchTerms.size() > 1) {
+      return _repo.findAll(
+          filter.and(nameRelevanceOrder(searchTerms)), PageRequest.of(pageOffset, pageSize));
+    }
+    return _repo.findAll(filter, PageRequest.of(pageOffset, pageSize, NAME_SORT));
+  }
+
+  /**
+   * Keyset-paginated version of {@link #getPatients}, in name order. Each page costs one query
+   * however deep it is, and patients are only counted if the caller asks the connection for its
+   * total.
+   *
+   * @param first How many patients to return, capped at {@value #MAX_CONNECTION_PAGESIZE}
+   * @param after The end cursor of the previous page, or null for the first page
+   */
+  @AuthorizationConfiguration.RequireSpecificPatientSearchPermission
+  public Connection<Person> getPatientsConnection(
+      UUID facilityId,
+      int first,
+      String after,
+      ArchivedStatus archivedStatus,
+      String namePrefixMatch,
+      boolean includeArchivedFacilities,
+      String orgExternalId) {
+    int limit = first < 1 ? DEFAULT_CONNECTION_PAGESIZE : Math.min(first, MAX_CONNECTION_PAGESIZE);
+    PageCursor cursor = PageCursor.decode(after, 4);
+
+    if (namePrefixMatch != null && namePrefixMatch.trim().length() < MINIMUM_CHAR_FOR_SEARCH) {
+      return Connection.empty();
+    }
+
+    Organization orgToSearch =
+        StringUtils.isNotEmpty(orgExternalId)
+            ? _os.getOrganizationWithExternalIdAsSiteAdmin(orgExternalId)
+            : null;
+    Specification<Person> filter =
+        buildPersonSearchFilter(
+            facilityId, archivedStatus, namePrefixMatch, includeArchivedFacilities, orgToSearch);
+
+    List<Person> rows =
+        _repo.findBy(filter.and(nameKeysetFilter(cursor)), q -> q.limit(limit + 1).all());
+    return Connection.of(rows, limit, PersonService::nameCursor, () -> (long) _repo.count(filter));
   }
 
   public boolean isDuplicatePatient(
@@ -263,6 +397,7 @@ public class PersonService {
     return !patients.isEmpty();
   }
 
+  /** The exact number of patients {@link #getPatients} would list; may be cached briefly. */
   @AuthorizationConfiguration.RequireSpecificPatientSearchPermission
   public long getPatientsCount(
       UUID facilityId,
@@ -270,8 +405,45 @@ public class PersonService {
       String namePrefixMatch,
       boolean includeArchivedFacilities,
       String orgExternalId) {
+    return countPatients(
+            facilityId,
+            archivedStatus,
+            namePrefixMatch,
+            includeArchivedFacilities,
+            orgExternalId,
+            false)
+        .count();
+  }
+
+  /**
+   * Like {@link #getPatientsCount}, but large organizations may get the planner's estimate instead
+   * of an exact count when no name search is applied.
+   */
+  @AuthorizationConfiguration.RequireSpecificPatientSearchPermission
+  public RecordCount getPatientsRecordCount(
+      UUID facilityId,
+      ArchivedStatus archivedStatus,
+      String namePrefixMatch,
+      boolean includeArchivedFacilities,
+      String orgExternalId) {
+    return countPatients(
+        facilityId,
+        archivedStatus,
+        namePrefixMatch,
+        includeArchivedFacilities,
+        orgExternalId,
+        true);
+  }
+
+  private RecordCount countPatients(
+      UUID facilityId,
+      ArchivedStatus archivedStatus,
+      String namePrefixMatch,
+      boolean includeArchivedFacilities,
+      String orgExternalId,
+      boolean allowEstimate) {
     if (namePrefixMatch != null && namePrefixMatch.trim().length() < MINIMUM_CHAR_FOR_SEARCH) {
-      return 0;
+      return RecordCount.exact(0);
     }
 
     Organization orgToSearch;
@@ -280,10 +452,53 @@ public class PersonService {
     } else {
       orgToSearch = null;
     }
+    UUID orgId = (orgToSearch != null ? orgToSearch : _os.getCurrentOrganization()).getInternalId();
+    Set<UUID> accessibleFacilityIds =
+        facilityId == null ? accessibleFacilityIds(includeArchivedFacilities, orgToSearch) : null;
+    List<String> searchTerms = NameSearchUtils.toSearchTerms(namePrefixMatch);
 
-    return _repo.count(
+    Specification<Person> filter =
         buildPersonSearchFilter(
-            facilityId, archivedStatus, namePrefixMatch, includeArchivedFacilities, orgToSearch));
+            facilityId, archivedStatus, namePrefixMatch, orgToSearch, accessibleFacilityIds);
+    var key =
+        new RecordCountService.CountKey(
+            RecordCountService.Scope.PATIENTS,
+            orgId,
+            facilityId,
+            Arrays.asList(archivedStatus, searchTerms, accessibleFacilityIds));
+    if (!allowEstimate) {
+      return RecordCount.exact(_recordCounts.countExact(key, () -> _repo.count(filter)));
+    }
+    RecordCountService.RowEstimate estimate =
+        searchTerms.isEmpty()
+            ? patientRowEstimate(orgId, facilityId, accessibleFacilityIds, archivedStatus)
+            : null;
+    return _recordCounts.count(key, () -> _repo.count(filter), estimate);
+  }
+
+  // the same rows as buildPersonSearchFilter when there is no name search; PersonServiceTest
+  // checks that the two agree
+  static RecordCountService.RowEstimate patientRowEstimate(
+      UUID orgId, UUID facilityId, Set<UUID> accessibleFacilityIds, ArchivedStatus archivedStatus) {
+    Map<String, Object> parameters = new HashMap<>();
+    StringBuilder sql =
+        new StringBuilder("SELECT 1 FROM {h-schema}person p WHERE p.organization_id = :orgId");
+    parameters.put("orgId", orgId);
+    if (archivedStatus == ArchivedStatus.UNARCHIVED) {
+      sql.append(" AND p.is_deleted = false");
+    } else if (archivedStatus == ArchivedStatus.ARCHIVED) {
+      sql.append(" AND p.is_deleted = true");
+    }
+    if (facilityId != null) {
+      sql.append(" AND (p.facility_id IS NULL OR p.facility_id = :facilityId)");
+      parameters.put("facilityId", facilityId);
+    } else if (accessibleFacilityIds.isEmpty()) {
+      sql.append(" AND p.facility_id IS NULL");
+    } else {
+      sql.append(" AND (p.facility_id IS NULL OR p.facility_id IN (:facilityIds))");
+      parameters.put("facilityIds", accessibleFacilityIds);
+    }
+    return new RecordCountService.RowEstimate(sql.toString(), parameters);
   }
 
   // NO PERMISSION CHECK (make sure the caller has one!) getPatient()
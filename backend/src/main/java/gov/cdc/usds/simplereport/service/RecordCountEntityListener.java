@@ -0,0 +1,41 @@
+package gov.cdc.usds.simplereport.service;
+
+import gov.cdc.usds.simplereport.db.model.Person;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener that tells {@link RecordCountService} about every patient and test event written
+ * through JPA, whichever service or repository wrote it. Hibernate creates it through Spring, so it
+ * can have the event publisher injected.
+ */
+public class RecordCountEntityListener {
+
+  private final ApplicationEventPublisher _eventPublisher;
+
+  public RecordCountEntityListener(ApplicationEventPublisher eventPublisher) {
+    _eventPublisher = eventPublisher;
+  }
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void recordChanged(Object entity) {
+    if (entity instanceof Person person) {
+      // the patient's facility or name may have changed, so any count in the organization may be
+      // stale
+      _eventPublisher.publishEvent(
+          new RecordCountsChangedEvent(
+              RecordCountService.Scope.PATIENTS, person.getOrganization().getInternalId(), null));
+    } else if (entity instanceof TestEvent testEvent) {
+      _eventPublisher.publishEvent(
+          new RecordCountsChangedEvent(
+              RecordCountService.Scope.RESULTS,
+              testEvent.getOrganization().getInternalId(),
+              testEvent.getFacility().getInternalId()));
+    }
+  }
+}
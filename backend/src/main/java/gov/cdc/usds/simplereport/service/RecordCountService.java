@@ -0,0 +1,160 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.RECORD_COUNTS;
+
+import gov.cdc.usds.simplereport.config.CachingConfig;
+import gov.cdc.usds.simplereport.service.model.RecordCount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Published when records are added, removed or moved within an organization. A null {@code
+ * facilityId} means that counts for every facility in the organization may have changed.
+ */
+record RecordCountsChangedEvent(RecordCountService.Scope scope, UUID orgId, UUID facilityId) {}
+
+/**
+ * Counts for the paged patient and result lists. Counting a large organization costs more than
+ * fetching the page itself, so exact counts are kept in the {@link CachingConfig#RECORD_COUNTS}
+ * cache per filter, and callers that can describe their filter as plain SQL may get the planner's
+ * row estimate instead once it passes {@code simple-report.record-counts.estimate-threshold}.
+ *
+ * <p>{@link RecordCountEntityListener} drops the cached counts for an organization whenever one of
+ * its patients or test events is written. Changes committed on another instance are picked up when
+ * the cached count expires, a minute after it was loaded.
+ */
+@Service
+@Slf4j
+public class RecordCountService {
+
+  // the first line of the plan is the top node, e.g. "Hash Join  (cost=1.00..2.00 rows=42 ..."
+  private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+  public enum Scope {
+    PATIENTS,
+    RESULTS
+  }
+
+  /**
+   * Identifies one count. {@code filters} holds every other argument that changes the result, in
+   * a fixed order, so that equal filters share a cache entry.
+   */
+  public record CountKey(Scope scope, UUID orgId, UUID facilityId, List<Object> filters) {}
+
+  /**
+   * A native query over {@code {h-schema}} tables that selects the same rows as the exact count,
+   * used only to ask the planner how many rows it expects.
+   */
+  public record RowEstimate(String sql, Map<String, Object> parameters) {}
+
+  private final EntityManager _entityManager;
+  private final Cache _counts;
+  private final long _estimateThreshold;
+  // bumped on every change notification, so that a count taken concurrently with a change is not
+  // stored over the top of it
+  private final AtomicLong _changeCount = new AtomicLong();
+
+  public RecordCountService(
+      EntityManager entityManager,
+      CacheManager cacheManager,
+      @Value("${simple-report.record-counts.estimate-threshold:100000}") long estimateThreshold) {
+    _entityManager = entityManager;
+    _counts = cacheManager.getCache(RECORD_COUNTS);
+    _estimateThreshold = estimateThreshold;
+  }
+
+  /**
+   * Returns a cached exact count if there is one, otherwise the planner's estimate if it is at
+   * least the configured threshold, otherwise an exact count (which is then cached).
+   *
+   * @param estimate How to ask the planner, or null if the filter can't be expressed as SQL
+   */
+  public RecordCount count(CountKey key, Supplier<Long> exactCount, RowEstimate estimate) {
+    Long cached = _counts.get(key, Long.class);
+    if (cached != null) {
+      return RecordCount.exact(cached);
+    }
+    if (estimate != null) {
+      OptionalLong estimated = estimateRows(estimate);
+      if (estimated.isPresent() && estimated.getAsLong() >= _estimateThreshold) {
+        return new RecordCount(estimated.getAsLong(), true);
+      }
+    }
+    return RecordCount.exact(load(key, exactCount));
+  }
+
+  /** Returns an exact count, from the cache if there is one. */
+  public long countExact(CountKey key, Supplier<Long> exactCount) {
+    Long cached = _counts.get(key, Long.class);
+    return cached != null ? cached : load(key, exactCount);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void handleRecordsChanged(RecordCountsChangedEvent event) {
+    evict(event.scope(), event.orgId(), event.facilityId());
+  }
+
+  /**
+   * Drops cached counts for the organization that could include the facility: its own counts and
+   * organization-wide ones. A null facility drops every count for the organization.
+   */
+  public void evict(Scope scope, UUID orgId, UUID facilityId) {
+    _changeCount.incrementAndGet();
+    if (!(_counts.getNativeCache()
+        instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> entries)) {
+      _counts.clear();
+      return;
+    }
+    entries
+        .asMap()
+        .keySet()
+        .removeIf(
+            k ->
+                k instanceof CountKey key
+                    && key.scope() == scope
+                    && Objects.equals(key.orgId(), orgId)
+                    && (facilityId == null
+                        || key.facilityId() == null
+                        || key.facilityId().equals(facilityId)));
+  }
+
+  private long load(CountKey key, Supplier<Long> exactCount) {
+    long changesBeforeLoad = _changeCount.get();
+    long count = exactCount.get();
+    if (changesBeforeLoad == _changeCount.get()) {
+      _counts.put(key, count);
+    }
+    return count;
+  }
+
+  private OptionalLong estimateRows(RowEstimate estimate) {
+    Query query = _entityManager.createNativeQuery("EXPLAIN " + estimate.sql());
+    estimate.parameters().forEach(query::setParameter);
+    List<?> plan = query.getResultList();
+    if (plan.isEmpty()) {
+      return OptionalLong.empty();
+    }
+    Matcher rows = PLAN_ROWS.matcher(String.valueOf(plan.get(0)));
+    if (!rows.find()) {
+      log.warn("Unable to read a row estimate from plan: {}", plan.get(0));
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(Long.parseLong(rows.group(1)));
+  }
+}
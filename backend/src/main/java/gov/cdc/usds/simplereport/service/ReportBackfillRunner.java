@@ -0,0 +1,167 @@
+package gov.cdc.usds.simplereport.service;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import gov.cdc.usds.simplereport.db.model.ReportBackfillJob;
+import gov.cdc.usds.simplereport.db.model.auxiliary.BackfillPosition;
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportBackfillStatus;
+import gov.cdc.usds.simplereport.db.repository.ReportBackfillJobRepository;
+import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Works through a {@link ReportBackfillJob} one page at a time. Each page of test events is sent in
+ * parallel (the FHIR conversion happens in the reporting services, so that is parallel too), paced
+ * to the job's events-per-second cap, and checkpointed once every event in it has been handled.
+ * Resuming an interrupted job may send the events of the unfinished page a second time.
+ */
+@Component
+@Slf4j
+public class ReportBackfillRunner {
+  static final String PROGRESS_EVENT = "ReportBackfillProgress";
+
+  private static final UUID NO_EVENT = new UUID(0, 0);
+
+  private final ReportBackfillJobRepository jobRepository;
+  private final TestEventRepository testEventRepository;
+  private final ReportingRetryService reportingRetryService;
+  private final TelemetryClient telemetryClient;
+  private final int pageSize;
+  private final int concurrency;
+
+  public ReportBackfillRunner(
+      ReportBackfillJobRepository jobRepository,
+      TestEventRepository testEventRepository,
+      ReportingRetryService reportingRetryService,
+      TelemetryClient telemetryClient,
+      @Value("${simple-report.report-backfill.page-size:200}") int pageSize,
+      @Value("${simple-report.report-backfill.concurrency:4}") int concurrency) {
+    this.jobRepository = jobRepository;
+    this.testEventRepository = testEventRepository;
+    this.reportingRetryService = reportingRetryService;
+    this.telemetryClient = telemetryClient;
+    this.pageSize = pageSize;
+    this.concurrency = concurrency;
+  }
+
+  @Async("applicationTaskExecutor")
+  public void runAsync(UUID jobId) {
+    run(jobId);
+  }
+
+  void run(UUID jobId) {
+    ReportBackfillJob job = jobRepository.findById(jobId).orElse(null);
+    if (job == null || job.getStatus() != ReportBackfillStatus.RUNNING) {
+      return;
+    }
+    log.info("Starting report backfill job {}", jobId);
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    try {
+      process(job, executor);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      fail(jobId, "Interrupted");
+    } catch (RuntimeException e) {
+      log.error("Report backfill job {} failed", jobId, e);
+      fail(jobId, String.valueOf(e.getMessage()));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void process(ReportBackfillJob job, ExecutorService executor)
+      throws InterruptedException {
+    UUID jobId = job.getInternalId();
+    Date afterCreatedAt =
+        job.getCursorCreatedAt() == null ? job.getStartDate() : job.getCursorCreatedAt();
+    UUID afterId = job.getCursorTestEventId() == null ? NO_EVENT : job.getCursorTestEventId();
+    long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, job.getMaxPerSecond());
+    long nextSlot = System.nanoTime();
+
+    while (true) {
+      List<BackfillPosition> page =
+          testEventRepository.findBackfillPage(
+              job.getOrganizationId(),
+              job.getFacilityId(),
+              job.getStartDate(),
+              job.getEndDate(),
+              afterCreatedAt,
+              afterId,
+              PageRequest.of(0, pageSize));
+      if (page.isEmpty()) {
+        if (jobRepository.transition(
+                jobId, ReportBackfillStatus.RUNNING, ReportBackfillStatus.COMPLETED, null)
+            == 0) {
+          log.info("Report backfill job {} stopped running before it could complete", jobId);
+        } else {
+          log.info("Report backfill job {} completed", jobId);
+        }
+        return;
+      }
+
+      List<Future<Boolean>> sends = new ArrayList<>(page.size());
+      for (BackfillPosition position : page) {
+        long wait = nextSlot - System.nanoTime();
+        if (wait > 0) {
+          TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        nextSlot = Math.max(nextSlot, System.nanoTime()) + interval;
+        UUID testEventId = position.internalId();
+        sends.add(
+            executor.submit(() -> reportingRetryService.resend(testEventId, job.isFhirOnly())));
+      }
+      long sent = 0;
+      for (Future<Boolean> send : sends) {
+        if (delivered(send)) {
+          sent++;
+        }
+      }
+
+      BackfillPosition last = page.get(page.size() - 1);
+      afterCreatedAt = last.createdAt();
+      afterId = last.internalId();
+      long failed = page.size() - sent;
+      int updated =
+          jobRepository.checkpoint(
+              jobId, afterCreatedAt, afterId, sent, failed, ReportBackfillStatus.RUNNING);
+      telemetryClient.trackEvent(
+          PROGRESS_EVENT,
+          Map.of("jobId", jobId.toString()),
+          Map.of("sent", (double) sent, "failed", (double) failed));
+      if (updated == 0) {
+        log.info("Report backfill job {} is no longer running; stopping", jobId);
+        return;
+      }
+    }
+  }
+
+  private static boolean delivered(Future<Boolean> send) throws InterruptedException {
+    try {
+      return Boolean.TRUE.equals(send.get());
+    } catch (ExecutionException e) {
+      log.error("Report backfill send failed", e.getCause());
+      return false;
+    }
+  }
+
+  private void fail(UUID jobId, String error) {
+    if (jobRepository.transition(
+            jobId, ReportBackfillStatus.RUNNING, ReportBackfillStatus.FAILED, error)
+        == 0) {
+      log.warn("Report backfill job {} had already stopped running; not marking it failed", jobId);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package gov.cdc.usds.simplereport.service;
+
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
+import gov.cdc.usds.simplereport.db.model.ReportBackfillJob;
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportBackfillStatus;
+import gov.cdc.usds.simplereport.db.repository.ReportBackfillJobRepository;
+import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/** Starts, resumes and cancels jobs that re-send a range of test events to ReportStream. */
+@Service
+@Slf4j
+public class ReportBackfillService {
+  private final ReportBackfillJobRepository jobRepository;
+  private final TestEventRepository testEventRepository;
+  private final ReportBackfillRunner runner;
+  private final int defaultMaxPerSecond;
+  private final Duration staleAfter;
+
+  public ReportBackfillService(
+      ReportBackfillJobRepository jobRepository,
+      TestEventRepository testEventRepository,
+      ReportBackfillRunner runner,
+      @Value("${simple-report.report-backfill.default-max-per-second:20}") int defaultMaxPerSecond,
+      @Value("${simple-report.report-backfill.stale-after-minutes:10}") long staleAfterMinutes) {
+    this.jobRepository = jobRepository;
+    this.testEventRepository = testEventRepository;
+    this.runner = runner;
+    this.defaultMaxPerSecond = defaultMaxPerSecond;
+    this.staleAfter = Duration.ofMinutes(staleAfterMinutes);
+  }
+
+  public ReportBackfillJob startBackfill(
+      UUID organizationId,
+      UUID facilityId,
+      Date startDate,
+      Date endDate,
+      boolean fhirOnly,
+      Integer maxPerSecond) {
+    if (!startDate.before(endDate)) {
+      throw new IllegalGraphqlArgumentException("startDate must be before endDate");
+    }
+    int rate = maxPerSecond == null ? defaultMaxPerSecond : maxPerSecond;
+    if (rate < 1) {
+      throw new IllegalGraphqlArgumentException("maxPerSecond must be positive");
+    }
+    long total = testEventRepository.countBackfill(organizationId, facilityId, startDate, endDate);
+    ReportBackfillJob job =
+        jobRepository.save(
+            new ReportBackfillJob(
+                organizationId, facilityId, startDate, endDate, fhirOnly, rate, total));
+    log.info("Created report backfill job {} for {} test events", job.getInternalId(), total);
+    runner.runAsync(job.getInternalId());
+    return job;
+  }
+
+  /**
+   * Restarts a cancelled or failed job from its last checkpoint. A job that is still marked as
+   * running but hasn't made progress in a while (because the instance running it went away) can be
+   * resumed too. The restart is a conditional update, so if two admins resume the same job at once
+   * only one of them starts a runner.
+   */
+  public ReportBackfillJob resumeBackfill(UUID jobId) {
+    ReportBackfillJob job = getJob(jobId);
+    int claimed =
+        switch (job.getStatus()) {
+          case COMPLETED ->
+              throw new IllegalGraphqlArgumentException("Backfill job already completed");
+          case RUNNING ->
+              jobRepository.takeOverStale(
+                  jobId, ReportBackfillStatus.RUNNING, Date.from(Instant.now().minus(staleAfter)));
+          default ->
+              jobRepository.transition(jobId, job.getStatus(), ReportBackfillStatus.RUNNING, null);
+        };
+    if (claimed == 0) {
+      throw new IllegalGraphqlArgumentException("Backfill job is still running");
+    }
+    runner.runAsync(jobId);
+    return getJob(jobId);
+  }
+
+  public ReportBackfillJob cancelBackfill(UUID jobId) {
+    if (jobRepository.transition(
+            jobId, ReportBackfillStatus.RUNNING, ReportBackfillStatus.CANCELLED, null)
+        == 0) {
+      throw new IllegalGraphqlArgumentException("Backfill job is not running");
+    }
+    return getJob(jobId);
+  }
+
+  public List<ReportBackfillJob> getJobs() {
+    return jobRepository.findAllByOrderByCreatedAtDesc();
+  }
+
+  private ReportBackfillJob getJob(UUID jobId) {
+    return jobRepository
+        .findById(jobId)
+        .orElseThrow(() -> new IllegalGraphqlArgumentException("No such backfill job"));
+  }
+}
@@ -1,8 +1,8 @@
 package gov.cdc.usds.simplereport.service;
 
 import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportingQueue;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -12,16 +12,13 @@ record ReportTestEventToRSEvent(TestEvent testEvent) {}
 /**
  * Allows a test event to be sent to ReportStream after a transaction successfully commits. This
  * ensures that if a failure occurs when sending the test event to ReportStream, any database
- * changes from the transaction are not rolled back.
+ * changes from the transaction are not rolled back. Failed sends are dead-lettered by {@link
+ * ReportingRetryService} and redelivered later, and a failure on one queue does not stop the other.
  */
 @Component
 @RequiredArgsConstructor
 public class ReportTestEventToRSEventListener {
-  @Qualifier("csvQueueReportingService")
-  private final TestEventReportingService testEventReportingService;
-
-  @Qualifier("fhirQueueReportingService")
-  private final TestEventReportingService fhirQueueReportingService;
+  private final ReportingRetryService reportingRetryService;
 
   @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
   public void handleEvent(ReportTestEventToRSEvent event) {
@@ -30,9 +27,9 @@ public class ReportTestEventToRSEventListener {
 
   private void reportTestEventToRS(TestEvent savedEvent) {
     if (savedEvent.hasCovidResult()) {
-      testEventReportingService.report(savedEvent);
+      reportingRetryService.report(savedEvent, ReportingQueue.CSV);
     }
 
-    fhirQueueReportingService.report(savedEvent);
+    reportingRetryService.report(savedEvent, ReportingQueue.FHIR);
   }
 }
@@ -0,0 +1,132 @@
+package gov.cdc.usds.simplereport.service;
+
+import gov.cdc.usds.simplereport.db.model.IdentifiedEntity;
+import gov.cdc.usds.simplereport.db.repository.ReportingDeadLetterRepository;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Replays dead-lettered reporting queue sends: automatically, as each one's retry comes due, and
+ * in bulk on request. The two may overlap, with each other and across instances; {@link
+ * ReportingRetryService#replay(UUID)} claims each dead letter before sending it, so an event is
+ * only sent by one of them.
+ */
+@Service
+@Slf4j
+public class ReportingDeadLetterReplayService {
+  static final int MAX_CONCURRENCY = 16;
+
+  private final ReportingDeadLetterRepository deadLetterRepository;
+  private final ReportingRetryService reportingRetryService;
+  private final int redeliveryBatchSize;
+
+  public ReportingDeadLetterReplayService(
+      ReportingDeadLetterRepository deadLetterRepository,
+      ReportingRetryService reportingRetryService,
+      @Value("${simple-report.reporting-retry.redelivery-batch-size:100}")
+          int redeliveryBatchSize) {
+    this.deadLetterRepository = deadLetterRepository;
+    this.reportingRetryService = reportingRetryService;
+    this.redeliveryBatchSize = redeliveryBatchSize;
+  }
+
+  /**
+   * Wrapper method for redelivering due dead letters so automation can call the inner method
+   * without hitting the lock.
+   */
+  @Scheduled(
+      fixedDelayString = "${simple-report.reporting-retry.redelivery-interval-seconds:30}",
+      timeUnit = TimeUnit.SECONDS)
+  @SchedulerLock(
+      name = "ReportingDeadLetterReplayService_redeliverDue",
+      lockAtLeastFor = "PT5S",
+      lockAtMostFor = "PT10M")
+  public void scheduledRedeliverDue() {
+    redeliverDue();
+  }
+
+  /**
+   * Replays the dead letters whose automatic retry is due, one at a time.
+   *
+   * @return the number of dead letters that were delivered
+   */
+  public int redeliverDue() {
+    List<UUID> ids =
+        deadLetterRepository
+            .findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                new Date(), PageRequest.of(0, redeliveryBatchSize))
+            .stream()
+            .map(IdentifiedEntity::getInternalId)
+            .toList();
+    int delivered = 0;
+    for (UUID id : ids) {
+      try {
+        if (reportingRetryService.replay(id)) {
+          delivered++;
+        }
+      } catch (RuntimeException e) {
+        log.error("Reporting dead letter redelivery failed", e);
+      }
+    }
+    if (!ids.isEmpty()) {
+      log.info("Redelivered {} of {} due reporting dead letters", delivered, ids.size());
+    }
+    return delivered;
+  }
+
+  /**
+   * Replays up to {@code limit} dead letters, with at most {@code concurrency} in flight at once.
+   * Each replay is claimed and recorded on its own, so one bad event does not hold up the rest, and
+   * dead letters already being replayed elsewhere are skipped.
+   *
+   * @return the number of dead letters that were delivered
+   */
+  public int replay(int limit, int concurrency) {
+    if (limit < 1 || concurrency < 1) {
+      throw new IllegalArgumentException("limit and concurrency must be positive");
+    }
+    List<UUID> ids =
+        deadLetterRepository.findAllByOrderByCreatedAtAsc(PageRequest.of(0, limit)).stream()
+            .map(IdentifiedEntity::getInternalId)
+            .toList();
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.min(ids.size(), Math.min(concurrency, MAX_CONCURRENCY)));
+    try {
+      List<Future<Boolean>> replays =
+          ids.stream().map(id -> executor.submit(() -> reportingRetryService.replay(id))).toList();
+      int delivered = 0;
+      for (Future<Boolean> replay : replays) {
+        try {
+          if (Boolean.TRUE.equals(replay.get())) {
+            delivered++;
+          }
+        } catch (ExecutionException e) {
+          log.error("Reporting dead letter replay failed", e.getCause());
+        }
+      }
+      log.info("Replayed {} of {} reporting dead letters", delivered, ids.size());
+      return delivered;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while replaying dead letters", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
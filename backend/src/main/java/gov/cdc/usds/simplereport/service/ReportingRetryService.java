@@ -0,0 +1,247 @@
+package gov.cdc.usds.simplereport.service;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import gov.cdc.usds.simplereport.api.model.errors.TestEventSerializationFailureException;
+import gov.cdc.usds.simplereport.db.model.ReportingDeadLetter;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportingQueue;
+import gov.cdc.usds.simplereport.db.repository.ReportingDeadLetterRepository;
+import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Puts test events on the reporting queues. A failed send is not retried in place: it is recorded
+ * in the dead-letter table with a next attempt time, backing off exponentially with jitter, and
+ * {@link ReportingDeadLetterReplayService} redelivers it on a schedule. Nothing here sleeps, so the
+ * caller's thread and transaction are never held up by a struggling queue.
+ */
+@Service
+@Slf4j
+public class ReportingRetryService {
+  static final String DEAD_LETTER_EVENT = "ReportingQueueDeadLetter";
+  static final String REPLAY_EVENT = "ReportingQueueReplay";
+  static final String RETRY_METRIC = "ReportingQueueRetries";
+
+  private static final int MAX_ERROR_LENGTH = 2000;
+  /** How long a replay holds its claim on a dead letter; a crashed replay's claim lapses after. */
+  static final Duration REPLAY_CLAIM_DURATION = Duration.ofMinutes(10);
+
+  private final Map<ReportingQueue, TestEventReportingService> reportingServices;
+  private final ReportingDeadLetterRepository deadLetterRepository;
+  private final TestEventRepository testEventRepository;
+  private final TelemetryClient telemetryClient;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int maxAttempts;
+  private final long initialBackoffSeconds;
+  private final long maxBackoffSeconds;
+
+  public ReportingRetryService(
+      @Qualifier("csvQueueReportingService") TestEventReportingService csvReportingService,
+      @Qualifier("fhirQueueReportingService") TestEventReportingService fhirReportingService,
+      ReportingDeadLetterRepository deadLetterRepository,
+      TestEventRepository testEventRepository,
+      TelemetryClient telemetryClient,
+      PlatformTransactionManager transactionManager,
+      @Value("${simple-report.reporting-retry.max-attempts:6}") int maxAttempts,
+      @Value("${simple-report.reporting-retry.initial-backoff-seconds:60}")
+          long initialBackoffSeconds,
+      @Value("${simple-report.reporting-retry.max-backoff-seconds:3600}") long maxBackoffSeconds) {
+    this.reportingServices =
+        Map.of(ReportingQueue.CSV, csvReportingService, ReportingQueue.FHIR, fhirReportingService);
+    this.deadLetterRepository = deadLetterRepository;
+    this.testEventRepository = testEventRepository;
+    this.telemetryClient = telemetryClient;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.initialBackoffSeconds = initialBackoffSeconds;
+    this.maxBackoffSeconds = maxBackoffSeconds;
+  }
+
+  /**
+   * Sends the test event to the given queue once. If the send fails the event is dead-lettered
+   * for a later retry, and the failure is logged rather than thrown.
+   *
+   * @return true if the event made it onto the queue
+   */
+  public boolean report(TestEvent testEvent, ReportingQueue queue) {
+    RuntimeException error = send(testEvent, queue);
+    if (error == null) {
+      return true;
+    }
+    deadLetter(testEvent.getInternalId(), queue, 1, error);
+    return false;
+  }
+
+  /**
+   * Sends a saved test event to the same queues the post-commit listener would, loading it in a
+   * read-only transaction of its own so that it can be called from worker threads.
+   *
+   * @return true if the event made it onto every queue
+   */
+  @Transactional(readOnly = true)
+  public boolean resend(UUID testEventId, boolean fhirOnly) {
+    Optional<TestEvent> testEvent = testEventRepository.findById(testEventId);
+    if (testEvent.isEmpty()) {
+      log.warn("Cannot resend missing TestEvent [{}]", testEventId);
+      return false;
+    }
+    boolean delivered = true;
+    if (!fhirOnly && testEvent.get().hasCovidResult()) {
+      delivered = report(testEvent.get(), ReportingQueue.CSV);
+    }
+    return report(testEvent.get(), ReportingQueue.FHIR) && delivered;
+  }
+
+  /**
+   * Sends a dead-lettered event again, removing the dead letter if it goes through. The dead letter
+   * is claimed first, so that the scheduler, the bulk replay and other instances never send it at
+   * the same time. The event is loaded and serialized in a short read-only transaction, and the
+   * send is awaited after that transaction has closed.
+   *
+   * @return true if the event made it onto the queue; false if it did not, or if the dead letter
+   *     was already gone or claimed by another replay
+   */
+  public boolean replay(UUID deadLetterId) {
+    Date claimedUntil = Date.from(Instant.now().plus(REPLAY_CLAIM_DURATION));
+    if (deadLetterRepository.claim(deadLetterId, claimedUntil) == 0) {
+      // replayed, or being replayed, by someone else
+      return false;
+    }
+    Optional<ReportingDeadLetter> found = deadLetterRepository.findById(deadLetterId);
+    if (found.isEmpty()) {
+      return false;
+    }
+    ReportingDeadLetter deadLetter = found.get();
+    Optional<CompletableFuture<Void>> sending =
+        readOnlyTransaction.execute(
+            status ->
+                testEventRepository
+                    .findById(deadLetter.getTestEventInternalId())
+                    .map(testEvent -> sendAsync(testEvent, deadLetter.getQueue())));
+    if (sending == null || sending.isEmpty()) {
+      log.warn("Dropping dead letter {} for missing test event", deadLetterId);
+      deadLetterRepository.delete(deadLetter);
+      return false;
+    }
+
+    RuntimeException error = await(sending.get());
+    boolean delivered = error == null;
+    if (delivered) {
+      deadLetterRepository.delete(deadLetter);
+      telemetryClient.trackMetric(RETRY_METRIC, deadLetter.getAttempts());
+    } else {
+      // recording the failure also releases the claim
+      deadLetter(
+          deadLetter.getTestEventInternalId(),
+          deadLetter.getQueue(),
+          deadLetter.getAttempts() + 1,
+          error);
+    }
+    telemetryClient.trackEvent(
+        REPLAY_EVENT,
+        Map.of("queue", deadLetter.getQueue().name(), "delivered", String.valueOf(delivered)),
+        null);
+    return delivered;
+  }
+
+  /** Makes one attempt at the send, returning the error if it failed. */
+  private RuntimeException send(TestEvent testEvent, ReportingQueue queue) {
+    return await(sendAsync(testEvent, queue));
+  }
+
+  /**
+   * Starts the send. The event is serialized before this returns, so it must be called while the
+   * event's transaction is still open; only the delivery itself happens in the background.
+   */
+  private CompletableFuture<Void> sendAsync(TestEvent testEvent, ReportingQueue queue) {
+    try {
+      return reportingServices.get(queue).reportAsync(testEvent);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /** Waits for the send, returning the error if it failed. */
+  private static RuntimeException await(CompletableFuture<Void> sending) {
+    try {
+      sending.join();
+      return null;
+    } catch (CompletionException e) {
+      return e.getCause() instanceof RuntimeException cause ? cause : e;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  /**
+   * When to try again after the given number of failed attempts, or null if retrying won't help:
+   * the attempts are used up, or the event can't be serialized.
+   */
+  private Date nextAttemptAt(int attempts, RuntimeException error) {
+    if (attempts >= maxAttempts || error instanceof TestEventSerializationFailureException) {
+      return null;
+    }
+    long ceiling =
+        Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(attempts - 1, 20)) * 1000;
+    // "equal jitter": wait at least half the backoff so retries don't bunch up
+    long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    return Date.from(Instant.now().plusMillis(delay));
+  }
+
+  private void deadLetter(
+      UUID testEventId, ReportingQueue queue, int attempts, RuntimeException error) {
+    Date nextAttemptAt = nextAttemptAt(attempts, error);
+    if (nextAttemptAt == null) {
+      log.error(
+          "TestEvent [{}] could not be sent to {} queue after {} attempt(s); giving up",
+          testEventId,
+          queue,
+          attempts,
+          error);
+    } else {
+      log.warn(
+          "TestEvent [{}] could not be sent to {} queue; retrying at {}",
+          testEventId,
+          queue,
+          nextAttemptAt.toInstant(),
+          error);
+    }
+    String message = String.valueOf(error.getMessage());
+    try {
+      deadLetterRepository.recordFailure(
+          testEventId,
+          queue.name(),
+          1,
+          message.substring(0, Math.min(message.length(), MAX_ERROR_LENGTH)),
+          nextAttemptAt);
+    } catch (RuntimeException e) {
+      log.error("Unable to dead-letter TestEvent [{}] for {} queue", testEventId, queue, e);
+    }
+    telemetryClient.trackEvent(
+        DEAD_LETTER_EVENT,
+        Map.of(
+            "queue",
+            queue.name(),
+            "testEventId",
+            testEventId.toString(),
+            "willRetry",
+            String.valueOf(nextAttemptAt != null)),
+        Map.of("attempts", (double) attempts));
+  }
+}
@@ -0,0 +1,160 @@
+package gov.cdc.usds.simplereport.service;
+
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.db.model.auxiliary.FacilityTestResultWithCount;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.db.repository.ResultDailyRollupRepository;
+import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/** Published after the rollup has been recounted for a range of days. */
+record ResultRollupsRebuiltEvent(LocalDate firstDay, LocalDate lastDay) {}
+
+/**
+ * Keeps the daily result rollup in step with saved test events, and answers dashboard counts from
+ * it.
+ *
+ * <p>Test times are stored without a time zone, so rollup days are days in the server's zone,
+ * which is also the zone dashboard date ranges are converted to. Ranges rarely start and end on a
+ * day boundary; the partial days at either end are counted from the test events themselves.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResultRollupService {
+  public static final int MAX_REBUILD_DAYS = 366;
+  private static final int REBUILD_CHUNK_DAYS = 31;
+
+  private final ResultDailyRollupRepository rollupRepository;
+  private final TestEventRepository testEventRepository;
+  private final ApplicationEventPublisher applicationEventPublisher;
+
+  /**
+   * Counts a newly saved test event, and stops counting the event it corrects or removes. Must be
+   * called once, in the transaction that saved the event, after its results are saved.
+   */
+  public void recordTestEvent(TestEvent testEvent) {
+    if (testEvent.getPriorCorrectedTestEventId() != null) {
+      rollupRepository.addTestEvent(testEvent.getPriorCorrectedTestEventId(), -1);
+    }
+    if (testEvent.getCorrectionStatus() != TestCorrectionStatus.REMOVED) {
+      rollupRepository.addTestEvent(testEvent.getInternalId(), 1);
+    }
+  }
+
+  /**
+   * Result counts per facility and result for tests run between the two times (inclusive), the
+   * same as {@link TestEventRepository#countByFacilityAndResult} would give over the whole range.
+   */
+  public List<FacilityTestResultWithCount> countByFacilityAndResult(
+      Collection<UUID> facilityIds,
+      Date startDate,
+      Date endDate,
+      String diseaseLoinc,
+      Collection<TestCorrectionStatus> correctionStatuses) {
+    ZoneId zone = ZoneId.systemDefault();
+    Instant start = startDate.toInstant();
+    Instant end = endDate.toInstant();
+
+    LocalDate firstDay = start.atZone(zone).toLocalDate();
+    if (firstDay.atStartOfDay(zone).toInstant().isBefore(start)) {
+      firstDay = firstDay.plusDays(1);
+    }
+    // the last day that ends at or before the end of the range
+    LocalDate lastDay = end.plusMillis(1).atZone(zone).toLocalDate().minusDays(1);
+    if (firstDay.isAfter(lastDay)) {
+      return testEventRepository.countByFacilityAndResult(
+          facilityIds, startDate, endDate, diseaseLoinc, correctionStatuses);
+    }
+
+    Map<UUID, Map<TestResult, Long>> counts = new LinkedHashMap<>();
+    add(
+        counts,
+        rollupRepository.sumByFacilityAndResult(
+            facilityIds, firstDay, lastDay, diseaseLoinc, correctionStatuses));
+    Instant rollupStart = firstDay.atStartOfDay(zone).toInstant();
+    if (start.isBefore(rollupStart)) {
+      add(
+          counts,
+          testEventRepository.countByFacilityAndResult(
+              facilityIds,
+              startDate,
+              Date.from(rollupStart.minusMillis(1)),
+              diseaseLoinc,
+              correctionStatuses));
+    }
+    Instant rollupEnd = lastDay.plusDays(1).atStartOfDay(zone).toInstant();
+    if (!end.isBefore(rollupEnd)) {
+      add(
+          counts,
+          testEventRepository.countByFacilityAndResult(
+              facilityIds, Date.from(rollupEnd), endDate, diseaseLoinc, correctionStatuses));
+    }
+
+    List<FacilityTestResultWithCount> merged = new ArrayList<>();
+    // rollup rows for days whose tests have all been removed or corrected are left at zero
+    counts.forEach(
+        (facilityId, byResult) ->
+            byResult.forEach(
+                (result, count) -> {
+                  if (count != 0) {
+                    merged.add(new FacilityTestResultWithCount(facilityId, result, count));
+                  }
+                }));
+    return merged;
+  }
+
+  /**
+   * Recounts the rollup for test events tested on the given days, for repairing it after data
+   * fixes. Every {@value #REBUILD_CHUNK_DAYS} days are rebuilt in their own transaction.
+   *
+   * @return the number of rollup rows written
+   */
+  public int rebuild(LocalDate firstDay, LocalDate lastDay) {
+    if (firstDay.isAfter(lastDay)) {
+      throw new IllegalGraphqlArgumentException("startDate must not be after endDate");
+    }
+    if (ChronoUnit.DAYS.between(firstDay, lastDay) >= MAX_REBUILD_DAYS) {
+      throw new IllegalGraphqlArgumentException(
+          "Result rollups can be rebuilt for at most " + MAX_REBUILD_DAYS + " days at a time");
+    }
+    int rows = 0;
+    for (LocalDate chunkStart = firstDay;
+        !chunkStart.isAfter(lastDay);
+        chunkStart = chunkStart.plusDays(REBUILD_CHUNK_DAYS)) {
+      LocalDate chunkEnd = chunkStart.plusDays(REBUILD_CHUNK_DAYS - 1L);
+      if (chunkEnd.isAfter(lastDay)) {
+        chunkEnd = lastDay;
+      }
+      rows += rollupRepository.rebuildDays(chunkStart, chunkEnd);
+    }
+    log.info("Rebuilt result rollups for {} to {} ({} rows)", firstDay, lastDay, rows);
+    applicationEventPublisher.publishEvent(new ResultRollupsRebuiltEvent(firstDay, lastDay));
+    return rows;
+  }
+
+  private static void add(
+      Map<UUID, Map<TestResult, Long>> counts, List<FacilityTestResultWithCount> rows) {
+    for (FacilityTestResultWithCount row : rows) {
+      counts
+          .computeIfAbsent(row.getFacilityId(), id -> new LinkedHashMap<>())
+          .merge(row.getResult(), row.getCount(), Long::sum);
+    }
+  }
+}
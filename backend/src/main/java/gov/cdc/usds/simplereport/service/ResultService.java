@@ -1,8 +1,13 @@
 package gov.cdc.usds.simplereport.service;
 
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
 import gov.cdc.usds.simplereport.config.AuthorizationConfiguration;
+import gov.cdc.usds.simplereport.db.model.ApiUser;
 import gov.cdc.usds.simplereport.db.model.AuditedEntity_;
 import gov.cdc.usds.simplereport.db.model.BaseTestInfo_;
+import gov.cdc.usds.simplereport.db.model.DeviceType;
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.model.IdentifiedEntity;
 import gov.cdc.usds.simplereport.db.model.IdentifiedEntity_;
 import gov.cdc.usds.simplereport.db.model.Person;
 import gov.cdc.usds.simplereport.db.model.Person_;
@@ -15,18 +20,42 @@ import gov.cdc.usds.simplereport.db.model.TestOrder;
 import gov.cdc.usds.simplereport.db.model.TestOrder_;
 import gov.cdc.usds.simplereport.db.model.auxiliary.PersonRole;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultExportRow;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultsListItem;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultsListRow;
+import gov.cdc.usds.simplereport.db.repository.ApiUserRepository;
+import gov.cdc.usds.simplereport.db.repository.DeviceTypeRepository;
+import gov.cdc.usds.simplereport.db.repository.FacilityRepository;
+import gov.cdc.usds.simplereport.db.repository.PatientTestSummaryRepository;
+import gov.cdc.usds.simplereport.db.repository.PersonRepository;
 import gov.cdc.usds.simplereport.db.repository.ResultRepository;
+import gov.cdc.usds.simplereport.service.model.Connection;
+import gov.cdc.usds.simplereport.service.model.CountedPage;
+import gov.cdc.usds.simplereport.service.model.PageCursor;
+import gov.cdc.usds.simplereport.service.model.RecordCount;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -36,8 +65,36 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Transactional
 public class ResultService {
+  // rows fetched per round trip while streaming an export; large enough to keep round trips from
+  // dominating, small enough that a batch of rows is never a noticeable amount of memory
+  static final int EXPORT_FETCH_SIZE = 1000;
+
   private final ResultRepository resultRepository;
+  private final FacilityRepository facilityRepository;
+  private final PersonRepository personRepository;
+  private final DeviceTypeRepository deviceTypeRepository;
+  private final ApiUserRepository apiUserRepository;
   private final OrganizationService organizationService;
+  private final RecordCountService recordCountService;
+  private final ResultRollupService resultRollupService;
+  private final PatientTestSummaryRepository patientTestSummaryRepository;
+
+  /**
+   * How a results list is read. Only {@link #ENTITIES}, which loads each result with its test
+   * event, has survey data; {@link #LIST_COLUMNS} reads just the columns the list shows and loads
+   * the related facilities, patients, devices and users once per page.
+   */
+  public enum ListProjection {
+    ENTITIES,
+    LIST_COLUMNS
+  }
+
+  // reads a page of one projection's rows, and turns them into list items once the cursor, which
+  // needs the result's own id and creation time, has been taken
+  private record ListLoader<T>(
+      BiFunction<Specification<Result>, Pageable, List<T>> findRows,
+      Function<T, PageCursor> cursorOf,
+      Function<List<T>, List<TestResultsListItem>> toListItems) {}
 
   private Specification<Result> buildResultSearchFilter(
       UUID facilityId,
@@ -133,9 +190,11 @@ public class ResultService {
     };
   }
 
+  /** A page of the organization's results, newest first, read as {@code projection}. */
   @Transactional(readOnly = true)
   @AuthorizationConfiguration.RequirePermissionViewAllFacilityResults
-  public Page<Result> getOrganizationResults(
+  public CountedPage<TestResultsListItem> getOrganizationResults(
+      ListProjection projection,
       UUID patientId,
       TestResult result,
       PersonRole role,
@@ -148,15 +207,25 @@ public class ResultService {
     PageRequest pageRequest =
         PageRequest.of(pageOffset, pageSize, Sort.by("createdAt").descending());
 
-    return resultRepository.findAll(
+    return findResultsPage(
         buildResultSearchFilter(
             null, patientId, result, role, supportedDisease, startDate, endDate),
-        pageRequest);
+        pageRequest,
+        loaderFor(projection),
+        null,
+        patientId,
+        result,
+        role,
+        supportedDisease,
+        startDate,
+        endDate);
   }
 
+  /** A page of the facility's results, newest first, read as {@code projection}. */
   @Transactional(readOnly = true)
   @AuthorizationConfiguration.RequirePermissionReadResultListAtFacility
-  public Page<Result> getFacilityResults(
+  public CountedPage<TestResultsListItem> getFacilityResults(
+      ListProjection projection,
       UUID facilityId,
       UUID patientId,
       TestResult result,
@@ -170,19 +239,294 @@ public class ResultService {
     PageRequest pageRequest =
         PageRequest.of(pageOffset, pageSize, Sort.by("createdAt").descending());
 
-    return resultRepository.findAll(
+    return findResultsPage(
+        buildResultSearchFilter(
+            facilityId, patientId, result, role, supportedDisease, startDate, endDate),
+        pageRequest,
+        loaderFor(projection),
+        facilityId,
+        patientId,
+        result,
+        role,
+        supportedDisease,
+        startDate,
+        endDate);
+  }
+
+  /**
+   * Streams every result {@link #getOrganizationResults} would page through, in the same order, to
+   * {@code sink}. Rows are read from a cursor as the sink takes them, so memory use does not grow
+   * with the number of results.
+   */
+  @Transactional(readOnly = true)
+  @AuthorizationConfiguration.RequirePermissionViewAllFacilityResults
+  public void exportOrganizationResults(
+      UUID patientId,
+      TestResult result,
+      PersonRole role,
+      SupportedDisease supportedDisease,
+      Date startDate,
+      Date endDate,
+      Consumer<TestResultExportRow> sink) {
+    exportResults(
+        buildResultSearchFilter(
+            null, patientId, result, role, supportedDisease, startDate, endDate),
+        sink);
+  }
+
+  /** Streams every result {@link #getFacilityResults} would page through to {@code sink}. */
+  @Transactional(readOnly = true)
+  @AuthorizationConfiguration.RequirePermissionReadResultListAtFacility
+  public void exportFacilityResults(
+      UUID facilityId,
+      UUID patientId,
+      TestResult result,
+      PersonRole role,
+      SupportedDisease supportedDisease,
+      Date startDate,
+      Date endDate,
+      Consumer<TestResultExportRow> sink) {
+    exportResults(
+        buildResultSearchFilter(
+            facilityId, patientId, result, role, supportedDisease, startDate, endDate),
+        sink);
+  }
+
+  private void exportResults(Specification<Result> filter, Consumer<TestResultExportRow> sink) {
+    try (Stream<TestResultExportRow> rows =
+        resultRepository.streamExportRows(filter, EXPORT_FETCH_SIZE)) {
+      rows.forEach(sink);
+    }
+  }
+
+  // the total comes from RecordCountService, which may cache it or use the planner's estimate
+  private <T> CountedPage<TestResultsListItem> findResultsPage(
+      Specification<Result> filter,
+      PageRequest pageRequest,
+      ListLoader<T> loader,
+      UUID facilityId,
+      UUID patientId,
+      TestResult result,
+      PersonRole role,
+      SupportedDisease supportedDisease,
+      Date startDate,
+      Date endDate) {
+    List<T> rows = loader.findRows().apply(filter, pageRequest);
+    List<TestResultsListItem> content = loader.toListItems().apply(rows);
+    if (content.size() < pageRequest.getPageSize()
+        && (pageRequest.getOffset() == 0 || !content.isEmpty())) {
+      // a short page is the last one, so the total is already known
+      return new CountedPage<>(
+          content, pageRequest, RecordCount.exact(pageRequest.getOffset() + content.size()));
+    }
+
+    UUID orgId = organizationService.getCurrentOrganization().getInternalId();
+    var key =
+        new RecordCountService.CountKey(
+            RecordCountService.Scope.RESULTS,
+            orgId,
+            facilityId,
+            Arrays.asList(
+                patientId,
+                result,
+                role,
+                supportedDisease == null ? null : supportedDisease.getInternalId(),
+                startDate,
+                endDate));
+    RecordCountService.RowEstimate estimate =
+        patientId == null && result == null && role == null && supportedDisease == null
+            ? resultRowEstimate(orgId, facilityId, startDate, endDate)
+            : null;
+    return new CountedPage<>(
+        content,
+        pageRequest,
+        recordCountService.count(key, () -> resultRepository.count(filter), estimate));
+  }
+
+  // the same rows as buildResultSearchFilter when only the facility and dates are filtered;
+  // ResultServiceTest checks that the two agree
+  static RecordCountService.RowEstimate resultRowEstimate(
+      UUID orgId, UUID facilityId, Date startDate, Date endDate) {
+    Map<String, Object> parameters = new HashMap<>();
+    StringBuilder sql =
+        new StringBuilder(
+            "SELECT 1 FROM {h-schema}result r"
+                + " JOIN {h-schema}test_event te ON te.internal_id = r.test_event_id"
+                + " JOIN {h-schema}test_order o ON o.test_event_id = te.internal_id");
+    if (facilityId != null) {
+      sql.append(" WHERE te.facility_id = :facilityId");
+      parameters.put("facilityId", facilityId);
+    } else {
+      sql.append(" WHERE te.organization_id = :orgId");
+      parameters.put("orgId", orgId);
+    }
+    if (startDate != null) {
+      sql.append(" AND COALESCE(te.date_tested_backdate, te.created_at) >= :startDate");
+      parameters.put("startDate", startDate);
+    }
+    if (endDate != null) {
+      sql.append(" AND COALESCE(te.date_tested_backdate, te.created_at) <= :endDate");
+      parameters.put("endDate", endDate);
+    }
+    return new RecordCountService.RowEstimate(sql.toString(), parameters);
+  }
+
+  /**
+   * Keyset-paginated version of {@link #getOrganizationResults}, newest first. The total is only
+   * counted if the caller asks the connection for it.
+   */
+  @Transactional(readOnly = true)
+  @AuthorizationConfiguration.RequirePermissionViewAllFacilityResults
+  public Connection<TestResultsListItem> getOrganizationResultsConnection(
+      ListProjection projection,
+      UUID patientId,
+      TestResult result,
+      PersonRole role,
+      SupportedDisease supportedDisease,
+      Date startDate,
+      Date endDate,
+      int first,
+      String after) {
+    return findResultsConnection(
+        buildResultSearchFilter(
+            null, patientId, result, role, supportedDisease, startDate, endDate),
+        loaderFor(projection),
+        first,
+        after);
+  }
+
+  /** Keyset-paginated version of {@link #getFacilityResults}, newest first. */
+  @Transactional(readOnly = true)
+  @AuthorizationConfiguration.RequirePermissionReadResultListAtFacility
+  public Connection<TestResultsListItem> getFacilityResultsConnection(
+      ListProjection projection,
+      UUID facilityId,
+      UUID patientId,
+      TestResult result,
+      PersonRole role,
+      SupportedDisease supportedDisease,
+      Date startDate,
+      Date endDate,
+      int first,
+      String after) {
+    return findResultsConnection(
         buildResultSearchFilter(
             facilityId, patientId, result, role, supportedDisease, startDate, endDate),
-        pageRequest);
+        loaderFor(projection),
+        first,
+        after);
+  }
+
+  private <T> Connection<TestResultsListItem> findResultsConnection(
+      Specification<Result> filter, ListLoader<T> loader, int first, String after) {
+    int limit =
+        first < 1
+            ? PersonService.DEFAULT_CONNECTION_PAGESIZE
+            : Math.min(first, PersonService.MAX_CONNECTION_PAGESIZE);
+    PageCursor cursor = PageCursor.decode(after, 1);
+    Date afterCreatedAt = cursor == null ? null : parseCursorTimestamp(cursor.key(0));
+
+    List<T> rows =
+        loader
+            .findRows()
+            .apply(
+                filter.and(createdAtKeysetFilter(afterCreatedAt, cursor)),
+                PageRequest.ofSize(limit + 1));
+    return Connection.of(rows, limit, loader.cursorOf(), () -> resultRepository.count(filter))
+        .mapAll(loader.toListItems());
+  }
+
+  private ListLoader<?> loaderFor(ListProjection projection) {
+    return switch (projection) {
+      case ENTITIES ->
+          new ListLoader<Result>(
+              resultRepository::findPageContent,
+              row -> PageCursor.of(row.getInternalId(), row.getCreatedAt().toInstant().toString()),
+              rows -> rows.stream().map(TestResultsListItem::new).toList());
+      case LIST_COLUMNS ->
+          new ListLoader<TestResultsListRow>(
+              resultRepository::findPageRows,
+              row ->
+                  PageCursor.of(row.getResultId(), row.getResultCreatedAt().toInstant().toString()),
+              this::toListItems);
+    };
+  }
+
+  // loads the facilities, patients, devices and users for a page of rows with one query apiece
+  private List<TestResultsListItem> toListItems(List<TestResultsListRow> rows) {
+    Map<UUID, Facility> facilities =
+        byId(facilityRepository.findAllById(ids(rows, TestResultsListRow::getFacilityId)));
+    Map<UUID, Person> patients =
+        byId(personRepository.findAllById(ids(rows, TestResultsListRow::getPatientId)));
+    Map<UUID, DeviceType> deviceTypes =
+        byId(deviceTypeRepository.findAllById(ids(rows, TestResultsListRow::getDeviceTypeId)));
+    Map<UUID, ApiUser> users =
+        byId(apiUserRepository.findAllById(ids(rows, TestResultsListRow::getCreatedById)));
+    return rows.stream()
+        .map(
+            row ->
+                new TestResultsListItem(
+                    row,
+                    facilities.get(row.getFacilityId()),
+                    patients.get(row.getPatientId()),
+                    deviceTypes.get(row.getDeviceTypeId()),
+                    users.get(row.getCreatedById())))
+        .toList();
+  }
+
+  private static Set<UUID> ids(
+      List<TestResultsListRow> rows, Function<TestResultsListRow, UUID> id) {
+    return rows.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+  }
+
+  private static <E extends IdentifiedEntity> Map<UUID, E> byId(Iterable<E> entities) {
+    Map<UUID, E> byId = new HashMap<>();
+    entities.forEach(entity -> byId.put(entity.getInternalId(), entity));
+    return byId;
   }
 
+  // (created_at, internal_id) descending; rows after the cursor only, if there is one
+  private Specification<Result> createdAtKeysetFilter(Date afterCreatedAt, PageCursor cursor) {
+    return (root, query, cb) -> {
+      Path<Date> createdAt = root.get(AuditedEntity_.createdAt);
+      Path<UUID> id = root.get(IdentifiedEntity_.internalId);
+      if (!Long.class.equals(query.getResultType())) {
+        query.orderBy(cb.desc(createdAt), cb.desc(id));
+      }
+      if (cursor == null) {
+        return null;
+      }
+      return cb.or(
+          cb.lessThan(createdAt, afterCreatedAt),
+          cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, cursor.getId())));
+    };
+  }
+
+  // keeps sub-millisecond precision, so rows created in the same millisecond aren't skipped
+  private static Date parseCursorTimestamp(String value) {
+    try {
+      return Timestamp.from(Instant.parse(value));
+    } catch (DateTimeParseException e) {
+      throw new IllegalGraphqlArgumentException("Invalid page cursor");
+    }
+  }
+
+  /**
+   * Saves the results of a newly created test event. Every new test event goes through here, so
+   * this is also where the event is counted in the daily result rollup and recorded as its
+   * patient's last test.
+   */
   public TestEvent addResultsToTestEvent(TestEvent testEvent, Collection<Result> results) {
-    if (testEvent == null || results == null || results.isEmpty()) {
+    if (testEvent == null) {
       return testEvent;
     }
-    results.forEach(result -> result.setTestEvent(testEvent));
-    resultRepository.saveAll(results);
-    testEvent.getResults().addAll(results);
+    if (results != null && !results.isEmpty()) {
+      results.forEach(result -> result.setTestEvent(testEvent));
+      resultRepository.saveAll(results);
+      testEvent.getResults().addAll(results);
+    }
+    resultRollupService.recordTestEvent(testEvent);
+    patientTestSummaryRepository.recordTestEvent(testEvent.getInternalId());
 
     return testEvent;
   }
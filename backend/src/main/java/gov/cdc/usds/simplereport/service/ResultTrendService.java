@@ -0,0 +1,241 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.RESULT_TRENDS;
+
+import gov.cdc.usds.simplereport.api.model.TestResultTrendPoint;
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
+import gov.cdc.usds.simplereport.config.AuthorizationConfiguration;
+import gov.cdc.usds.simplereport.config.CachingConfig;
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.db.model.auxiliary.DailyTestResultCount;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TrendInterval;
+import gov.cdc.usds.simplereport.db.repository.ResultDailyRollupRepository;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Result counts over time, bucketed by day, week or month, read from the daily result rollup.
+ *
+ * <p>Buckets that ended before today are kept in the {@link CachingConfig#RESULT_TRENDS} cache per
+ * organization or facility, since they only change when an older test is backdated, corrected or
+ * removed. Those changes drop the affected buckets when they are committed on this instance;
+ * changes handled by another instance are picked up when the cached buckets expire, an hour after
+ * they were loaded. The current bucket is always read from the rollup.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class ResultTrendService {
+  public static final int MAX_BUCKETS = 366;
+
+  // the same results the top-level dashboard metrics count
+  private static final List<TestCorrectionStatus> CURRENT_RESULTS =
+      List.of(TestCorrectionStatus.ORIGINAL, TestCorrectionStatus.CORRECTED);
+
+  private static final Comparator<TestResultTrendPoint> POINT_ORDER =
+      Comparator.comparing(TestResultTrendPoint::getBucketStart)
+          .thenComparing(TestResultTrendPoint::getDisease)
+          .thenComparing(TestResultTrendPoint::getResult);
+
+  /** A null {@code facilityId} is a bucket for every facility in the organization. */
+  private record BucketKey(
+      UUID orgId, UUID facilityId, TrendInterval interval, LocalDate bucketStart) {}
+
+  private record PointKey(LocalDate bucketStart, String disease, TestResult result) {}
+
+  private final OrganizationService _organizationService;
+  private final DiseaseService _diseaseService;
+  private final ResultDailyRollupRepository _rollupRepository;
+  private final Cache _buckets;
+  // bumped on every change notification, so that buckets read concurrently with a change are not
+  // stored over the top of it
+  private final AtomicLong _changeCount = new AtomicLong();
+
+  public ResultTrendService(
+      OrganizationService organizationService,
+      DiseaseService diseaseService,
+      ResultDailyRollupRepository rollupRepository,
+      CacheManager cacheManager) {
+    _organizationService = organizationService;
+    _diseaseService = diseaseService;
+    _rollupRepository = rollupRepository;
+    _buckets = cacheManager.getCache(RESULT_TRENDS);
+  }
+
+  /**
+   * Result counts per bucket, disease and result for tests run from {@code startDate} through
+   * {@code endDate}, widened to whole buckets. Buckets, diseases and results with no tests are
+   * left out.
+   *
+   * @param facilityId The facility to count, or null for every facility in the organization
+   * @param disease The name of the disease to count, or null for every disease
+   */
+  @AuthorizationConfiguration.RequirePermissionEditOrganization
+  public List<TestResultTrendPoint> getTestResultTrends(
+      UUID facilityId,
+      LocalDate startDate,
+      LocalDate endDate,
+      TrendInterval interval,
+      String disease) {
+    if (startDate.isAfter(endDate)) {
+      throw new IllegalGraphqlArgumentException("startDate must not be after endDate");
+    }
+    boolean allDiseases = disease == null || disease.isBlank();
+    if (!allDiseases && _diseaseService.getDiseaseByName(disease) == null) {
+      throw new IllegalGraphqlArgumentException("Unknown disease: " + disease);
+    }
+
+    Organization org = _organizationService.getCurrentOrganization();
+    List<UUID> facilityIds =
+        facilityId != null
+            ? List.of(_organizationService.getFacilityInCurrentOrg(facilityId).getInternalId())
+            : _organizationService.getFacilities(org).stream()
+                .map(Facility::getInternalId)
+                .toList();
+
+    List<LocalDate> bucketStarts = new ArrayList<>();
+    for (LocalDate bucket = interval.bucketStart(startDate);
+        !bucket.isAfter(endDate);
+        bucket = interval.nextBucketStart(bucket)) {
+      if (bucketStarts.size() == MAX_BUCKETS) {
+        throw new IllegalGraphqlArgumentException(
+            "Result trends are limited to " + MAX_BUCKETS + " buckets");
+      }
+      bucketStarts.add(bucket);
+    }
+
+    Map<LocalDate, List<TestResultTrendPoint>> pointsByBucket = new TreeMap<>();
+    List<LocalDate> toLoad = new ArrayList<>();
+    for (LocalDate bucketStart : bucketStarts) {
+      @SuppressWarnings("unchecked")
+      List<TestResultTrendPoint> cached =
+          _buckets.get(
+              new BucketKey(org.getInternalId(), facilityId, interval, bucketStart), List.class);
+      if (cached != null) {
+        pointsByBucket.put(bucketStart, cached);
+      } else {
+        toLoad.add(bucketStart);
+      }
+    }
+    if (!toLoad.isEmpty()) {
+      pointsByBucket.putAll(load(org.getInternalId(), facilityId, facilityIds, interval, toLoad));
+    }
+
+    return pointsByBucket.values().stream()
+        .flatMap(List::stream)
+        .filter(point -> allDiseases || disease.equals(point.getDisease()))
+        .toList();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void handleTestEventSaved(ReportTestEventToRSEvent event) {
+    TestEvent testEvent = event.testEvent();
+    // a correction may also have moved the test from another day, which we can't see from here
+    LocalDate day =
+        testEvent.getPriorCorrectedTestEventId() == null && testEvent.getDateTested() != null
+            ? testEvent.getDateTested().toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
+            : null;
+    evict(
+        testEvent.getOrganization().getInternalId(), testEvent.getFacility().getInternalId(), day);
+  }
+
+  @EventListener
+  public void handleRollupsRebuilt(ResultRollupsRebuiltEvent event) {
+    _changeCount.incrementAndGet();
+    _buckets.clear();
+  }
+
+  /**
+   * Drops cached buckets for the organization that could include tests at the facility on the
+   * given day: its own buckets and organization-wide ones. A null day drops every bucket for them.
+   */
+  public void evict(UUID orgId, UUID facilityId, LocalDate day) {
+    _changeCount.incrementAndGet();
+    if (!(_buckets.getNativeCache()
+        instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> entries)) {
+      _buckets.clear();
+      return;
+    }
+    entries
+        .asMap()
+        .keySet()
+        .removeIf(
+            k ->
+                k instanceof BucketKey key
+                    && Objects.equals(key.orgId(), orgId)
+                    && (key.facilityId() == null || key.facilityId().equals(facilityId))
+                    && (day == null
+                        || (!day.isBefore(key.bucketStart())
+                            && day.isBefore(key.interval().nextBucketStart(key.bucketStart())))));
+  }
+
+  /** Reads the given buckets from the rollup in one query, caching the ones that have ended. */
+  private Map<LocalDate, List<TestResultTrendPoint>> load(
+      UUID orgId,
+      UUID facilityId,
+      List<UUID> facilityIds,
+      TrendInterval interval,
+      List<LocalDate> bucketStarts) {
+    long changesBeforeLoad = _changeCount.get();
+    LocalDate firstDay = bucketStarts.get(0);
+    LocalDate lastDay =
+        interval.nextBucketStart(bucketStarts.get(bucketStarts.size() - 1)).minusDays(1);
+
+    Map<PointKey, Long> sums = new LinkedHashMap<>();
+    for (DailyTestResultCount row :
+        _rollupRepository.sumByDayDiseaseAndResult(
+            facilityIds, firstDay, lastDay, CURRENT_RESULTS)) {
+      LocalDate bucketStart = interval.bucketStart(row.getTestDay());
+      sums.merge(
+          new PointKey(bucketStart, row.getDiseaseName(), row.getResult()),
+          row.getCount(),
+          Long::sum);
+    }
+
+    Map<LocalDate, List<TestResultTrendPoint>> loaded = new TreeMap<>();
+    bucketStarts.forEach(bucketStart -> loaded.put(bucketStart, new ArrayList<>()));
+    sums.forEach(
+        (key, count) -> {
+          List<TestResultTrendPoint> points = loaded.get(key.bucketStart());
+          // the loaded days may span cached buckets, which are left as they are
+          if (points != null && count != 0) {
+            points.add(
+                new TestResultTrendPoint(key.bucketStart(), key.disease(), key.result(), count));
+          }
+        });
+    loaded.values().forEach(points -> points.sort(POINT_ORDER));
+
+    LocalDate today = LocalDate.now(ZoneId.systemDefault());
+    if (changesBeforeLoad == _changeCount.get()) {
+      loaded.forEach(
+          (bucketStart, points) -> {
+            if (!interval.nextBucketStart(bucketStart).isAfter(today)) {
+              _buckets.put(
+                  new BucketKey(orgId, facilityId, interval, bucketStart), List.copyOf(points));
+            }
+          });
+    }
+    return loaded;
+  }
+}
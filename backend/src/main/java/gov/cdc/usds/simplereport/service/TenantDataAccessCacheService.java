@@ -0,0 +1,79 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.TENANT_DATA_ACCESS_GRANTS;
+
+import gov.cdc.usds.simplereport.config.CachingConfig;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Active tenant data access grants, keyed by the login email of the site admin they were granted
+ * to, so that {@link gov.cdc.usds.simplereport.config.TenantDataAccessFilter} does not have to
+ * load the user and the grant on every request while support staff browse an organization.
+ *
+ * <p>Entries are kept in the {@link CachingConfig#TENANT_DATA_ACCESS_GRANTS} cache. An entry lasts
+ * until its grant expires, but no longer than the cache's own expiry. Grants added or cancelled
+ * through {@link TenantDataAccessService} on this instance evict the user's entry; {@link
+ * TenantDataAccessService} also checks each entry against the id of the user's current grant, so
+ * that changes made on another instance are seen on the next request. Users without an active
+ * grant are not cached.
+ */
+@Service
+public class TenantDataAccessCacheService {
+
+  /** A user's active grant, as last read from the database. */
+  public record CachedGrant(UUID grantId, Set<String> authorities, Instant expiresAt) {}
+
+  private final Cache _grants;
+
+  public TenantDataAccessCacheService(CacheManager cacheManager) {
+    _grants = cacheManager.getCache(TENANT_DATA_ACCESS_GRANTS);
+  }
+
+  /** The user's cached grant, if there is one and it has not expired. */
+  public Optional<CachedGrant> get(String username) {
+    if (username == null) {
+      return Optional.empty();
+    }
+    CachedGrant cached = _grants.get(username, CachedGrant.class);
+    if (cached == null) {
+      return Optional.empty();
+    }
+    if (!cached.expiresAt().isAfter(Instant.now())) {
+      _grants.evict(username);
+      return Optional.empty();
+    }
+    return Optional.of(cached);
+  }
+
+  public void put(String username, UUID grantId, Set<String> authorities, Instant expiresAt) {
+    if (authorities.isEmpty()) {
+      return;
+    }
+    _grants.put(username, new CachedGrant(grantId, Set.copyOf(authorities), expiresAt));
+  }
+
+  /**
+   * Drops the user's entry, and again after the current transaction commits, since a request that
+   * read the grant before the change may have cached it in between.
+   */
+  public void evict(String username) {
+    _grants.evict(username);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              _grants.evict(username);
+            }
+          });
+    }
+  }
+}
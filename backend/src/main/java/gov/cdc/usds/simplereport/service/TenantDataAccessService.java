@@ -10,6 +10,7 @@ import gov.cdc.usds.simplereport.db.model.Organization;
 import gov.cdc.usds.simplereport.db.model.TenantDataAccess;
 import gov.cdc.usds.simplereport.db.model.auxiliary.PermissionsData;
 import gov.cdc.usds.simplereport.db.repository.TenantDataAccessRepository;
+import gov.cdc.usds.simplereport.service.TenantDataAccessCacheService.CachedGrant;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
@@ -31,6 +32,26 @@ public class TenantDataAccessService {
   @Autowired private CurrentTenantDataAccessContextHolder _contextHolder;
   @Autowired private AuthorizationProperties _authProperties;
   @Autowired private OrganizationExtractor _extractor;
+  @Autowired private TenantDataAccessCacheService _cache;
+
+  /**
+   * The authorities of the given user's active grant, if one has been cached. Lets callers that
+   * only know the username skip loading the user and the grant: the entry is only used if the
+   * user's valid grant is still the cached one, which a single id query confirms.
+   */
+  @Transactional(readOnly = true)
+  public Optional<Set<String>> getCachedTenantDataAccessAuthorities(String username) {
+    Optional<CachedGrant> cached = _cache.get(username);
+    if (cached.isEmpty()) {
+      return Optional.empty();
+    }
+    // the grant may have been cancelled or replaced, or the user removed, on another instance
+    if (!_repo.findValidIdsByLoginEmail(username).equals(List.of(cached.get().grantId()))) {
+      _cache.evict(username);
+      return Optional.empty();
+    }
+    return Optional.of(cached.get().authorities());
+  }
 
   public Set<String> getTenantDataAccessAuthorities(ApiUser apiUser) {
     List<TenantDataAccess> tenantDataAccessList =
@@ -43,8 +64,14 @@ public class TenantDataAccessService {
       return new HashSet<>();
     }
 
-    PermissionsData permissionsData = tenantDataAccessList.get(0).getPermissionsData();
-    return permissionsData.getAuthorities();
+    TenantDataAccess tenantDataAccess = tenantDataAccessList.get(0);
+    Set<String> authorities = tenantDataAccess.getPermissionsData().getAuthorities();
+    _cache.put(
+        apiUser.getLoginEmail(),
+        tenantDataAccess.getInternalId(),
+        authorities,
+        tenantDataAccess.getExpiresAt().toInstant());
+    return authorities;
   }
 
   public Optional<OrganizationRoleClaims> addTenantDataAccess(
@@ -75,6 +102,7 @@ public class TenantDataAccessService {
 
   public void removeAllTenantDataAccess(ApiUser apiUser) {
     _repo.findValidByApiUserId(apiUser.getInternalId()).forEach(i -> i.setIsDeleted(true));
+    _cache.evict(apiUser.getLoginEmail());
     _contextHolder.reset();
   }
 }
@@ -25,16 +25,18 @@ import gov.cdc.usds.simplereport.db.model.TestEvent_;
 import gov.cdc.usds.simplereport.db.model.TestOrder;
 import gov.cdc.usds.simplereport.db.model.TestOrder_;
 import gov.cdc.usds.simplereport.db.model.auxiliary.AskOnEntrySurvey;
+import gov.cdc.usds.simplereport.db.model.auxiliary.FacilityTestResultWithCount;
 import gov.cdc.usds.simplereport.db.model.auxiliary.MultiplexResultInput;
 import gov.cdc.usds.simplereport.db.model.auxiliary.PersonRole;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultDeliveryPreference;
-import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultWithCount;
 import gov.cdc.usds.simplereport.db.repository.AdvisoryLockManager;
 import gov.cdc.usds.simplereport.db.repository.PatientAnswersRepository;
+import gov.cdc.usds.simplereport.db.repository.PatientTestSummaryRepository;
 import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
 import gov.cdc.usds.simplereport.db.repository.TestOrderRepository;
+import gov.cdc.usds.simplereport.service.model.FacilityQueueItem;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDate;
@@ -72,8 +74,11 @@ public class TestOrderService {
   private final TestOrderRepository _testOrderRepo;
   private final PatientAnswersRepository _patientAnswersRepo;
   private final TestEventRepository _testEventRepo;
+  private final PatientTestSummaryRepository _patientTestSummaryRepo;
   private final PatientLinkService _patientLinkService;
   private final ResultService resultService;
+  private final ResultRollupService _resultRollupService;
+  private final FacilityQueueCacheService _queueCacheService;
 
   private final TestResultsDeliveryService testResultsDeliveryService;
   private final DiseaseService _diseaseService;
@@ -84,9 +89,9 @@ public class TestOrderService {
   public static final int DEFAULT_PAGINATION_PAGESIZE = 5000;
 
   @AuthorizationConfiguration.RequirePermissionStartTestAtFacility
-  public List<TestOrder> getQueue(UUID facilityId) {
+  public List<FacilityQueueItem> getQueue(UUID facilityId) {
     Facility fac = _organizationService.getFacilityInCurrentOrg(facilityId);
-    return _testOrderRepo.fetchQueue(fac.getOrganization(), fac);
+    return _queueCacheService.getQueue(fac);
   }
 
   // Specifications filters for queries
@@ -297,7 +302,9 @@ public class TestOrderService {
       editMultiplexResult(order, results);
 
       order.setDateTestedBackdate(dateTested);
-      return _testOrderRepo.save(order);
+      TestOrder savedOrder = _testOrderRepo.save(order);
+      publishQueueChange(savedOrder);
+      return savedOrder;
     } finally {
       unlockOrder(testOrderId);
     }
@@ -334,7 +341,7 @@ public class TestOrderService {
       order.setDateTestedBackdate(dateTested);
       order.markComplete();
 
-      boolean hasPriorTests = _testEventRepo.existsByPatient(person);
+      boolean hasPriorTests = _patientTestSummaryRepo.existsById(person.getInternalId());
       TestEvent testEvent =
           order.getCorrectionStatus() == TestCorrectionStatus.ORIGINAL
               ? new TestEvent(order, hasPriorTests)
@@ -348,6 +355,7 @@ public class TestOrderService {
 
       order.setTestEventRef(savedEvent);
       savedOrder = _testOrderRepo.save(order);
+      publishQueueChange(savedOrder);
     } finally {
       unlockOrder(order.getInternalId());
     }
@@ -466,7 +474,9 @@ public class TestOrderService {
     PatientAnswers answers = new PatientAnswers(survey);
     _patientAnswersRepo.save(answers);
     newOrder.setAskOnEntrySurvey(answers);
-    return _testOrderRepo.save(newOrder);
+    TestOrder savedOrder = _testOrderRepo.save(newOrder);
+    publishQueueChange(savedOrder);
+    return savedOrder;
   }
 
   @AuthorizationConfiguration.RequirePermissionUpdateTestForPatient
@@ -490,6 +500,7 @@ public class TestOrderService {
     survey.setGenderOfSexualPartners(genderOfSexualPartners);
     answers.setSurvey(survey);
     _patientAnswersRepo.save(answers);
+    publishQueueChange(order);
   }
 
   @AuthorizationConfiguration.RequirePermissionUpdateTestForPatient
@@ -497,6 +508,7 @@ public class TestOrderService {
     TestOrder order = retrieveTestOrder(patientId);
     order.cancelOrder();
     _testOrderRepo.save(order);
+    publishQueueChange(order);
   }
 
   @AuthorizationConfiguration.RequirePermissionUpdateTestForPatient
@@ -506,6 +518,7 @@ public class TestOrderService {
       TestOrder order = optionalTestOrder.get();
       order.setTimerStartedAt(startedAt);
       _testOrderRepo.save(order);
+      publishQueueChange(order);
     } else {
       throw new IllegalGraphqlArgumentException("Cannot find TestOrder");
     }
@@ -555,6 +568,7 @@ public class TestOrderService {
         if (order.getDateTestedBackdate() == null) {
           order.setDateTestedBackdate(event.getDateTested());
         }
+        publishQueueChange(order);
 
         return event;
       }
@@ -589,6 +603,12 @@ public class TestOrderService {
     List<TestOrder> orders = _testOrderRepo.fetchQueueItemsByFacilityId(facility);
     orders.stream().forEach(TestOrder::cancelOrder);
     _testOrderRepo.saveAll(orders);
+    applicationEventPublisher.publishEvent(new FacilityQueueChangedEvent(facilityId));
+  }
+
+  private void publishQueueChange(TestOrder order) {
+    applicationEventPublisher.publishEvent(
+        new FacilityQueueChangedEvent(order.getFacility().getInternalId()));
   }
 
   private void ensureCorrectionFlowBackwardCompatibility(TestEvent event) {
@@ -622,10 +642,7 @@ public class TestOrderService {
   public OrganizationLevelDashboardMetrics getOrganizationLevelDashboardMetrics(
       Date startDate, Date endDate) {
     Organization org = _organizationService.getCurrentOrganization();
-    List<UUID> facilityIds =
-        _organizationService.getFacilities(org).stream()
-            .map(Facility::getInternalId)
-            .collect(Collectors.toList());
+    List<Facility> facilities = _organizationService.getFacilities(org);
 
     List<AggregateFacilityMetrics> facilityMetrics = new ArrayList<AggregateFacilityMetrics>();
 
@@ -633,14 +650,25 @@ public class TestOrderService {
     // probably clean up this method
     String diseaseLoinc = "96741-4";
 
-    for (UUID facilityId : facilityIds) {
-      List<TestResultWithCount> results =
-          _testEventRepo.countByResultForFacility(facilityId, startDate, endDate, diseaseLoinc);
-      Facility facility = _organizationService.getFacilityInCurrentOrg(facilityId);
+    Map<UUID, Map<TestResult, Long>> resultsByFacility =
+        _resultRollupService
+            .countByFacilityAndResult(
+                facilities.stream().map(Facility::getInternalId).toList(),
+                startDate,
+                endDate,
+                diseaseLoinc,
+                List.of(TestCorrectionStatus.ORIGINAL))
+            .stream()
+            .collect(
+                Collectors.groupingBy(
+                    FacilityTestResultWithCount::getFacilityId,
+                    Collectors.toMap(
+                        FacilityTestResultWithCount::getResult,
+                        FacilityTestResultWithCount::getCount)));
+
+    for (Facility facility : facilities) {
       Map<TestResult, Long> testResultMap =
-          results.stream()
-              .collect(
-                  Collectors.toMap(TestResultWithCount::getResult, TestResultWithCount::getCount));
+          resultsByFacility.getOrDefault(facility.getInternalId(), Map.of());
       long negativeTestCount = testResultMap.getOrDefault(TestResult.NEGATIVE, 0L);
       long positiveTestCount = testResultMap.getOrDefault(TestResult.POSITIVE, 0L);
       long totalTestCount = testResultMap.values().stream().reduce(0L, Long::sum);
@@ -693,12 +721,20 @@ public class TestOrderService {
       diseaseLoinc = _diseaseService.getDiseaseByName(disease).getLoinc();
     }
 
-    List<TestResultWithCount> testResultList =
-        _testEventRepo.countByResultByFacility(facilityIds, startDate, endDate, diseaseLoinc);
     Map<TestResult, Long> testResultMap =
-        testResultList.stream()
+        _resultRollupService
+            .countByFacilityAndResult(
+                facilityIds,
+                startDate,
+                endDate,
+                diseaseLoinc,
+                List.of(TestCorrectionStatus.ORIGINAL, TestCorrectionStatus.CORRECTED))
+            .stream()
             .collect(
-                Collectors.toMap(TestResultWithCount::getResult, TestResultWithCount::getCount));
+                Collectors.toMap(
+                    FacilityTestResultWithCount::getResult,
+                    FacilityTestResultWithCount::getCount,
+                    Long::sum));
 
     long totalTestCount = testResultMap.values().stream().reduce(0L, Long::sum);
     long positiveTestCount = testResultMap.getOrDefault(TestResult.POSITIVE, 0L);
@@ -0,0 +1,61 @@
+package gov.cdc.usds.simplereport.service.model;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * One page of a keyset-paginated list, shaped for the GraphQL {@code *Connection} types. The total
+ * is only counted if the client selects {@code totalCount}.
+ */
+public class Connection<T> {
+  private final List<T> nodes;
+  private final PageInfo pageInfo;
+  private final Supplier<Long> totalCount;
+
+  public Connection(List<T> nodes, PageInfo pageInfo, Supplier<Long> totalCount) {
+    this.nodes = nodes;
+    this.pageInfo = pageInfo;
+    this.totalCount = totalCount;
+  }
+
+  /**
+   * Builds a page from rows fetched with a limit of {@code first + 1}; the extra row only shows
+   * that another page exists and is dropped.
+   */
+  public static <T> Connection<T> of(
+      List<T> rows, int first, Function<T, PageCursor> cursorOf, Supplier<Long> totalCount) {
+    boolean hasNextPage = rows.size() > first;
+    List<T> nodes = hasNextPage ? rows.subList(0, first) : rows;
+    String endCursor =
+        nodes.isEmpty() ? null : cursorOf.apply(nodes.get(nodes.size() - 1)).encode();
+    return new Connection<>(nodes, new PageInfo(hasNextPage, endCursor), totalCount);
+  }
+
+  public static <T> Connection<T> empty() {
+    return new Connection<>(List.of(), new PageInfo(false, null), () -> 0L);
+  }
+
+  public List<T> getNodes() {
+    return nodes;
+  }
+
+  public PageInfo getPageInfo() {
+    return pageInfo;
+  }
+
+  public long getTotalCount() {
+    return totalCount.get();
+  }
+
+  public <R> Connection<R> map(Function<? super T, ? extends R> mapper) {
+    return new Connection<>(nodes.stream().map(mapper).toList(), pageInfo, totalCount);
+  }
+
+  /** Like {@link #map}, but converts every node in one call, for converters that batch lookups. */
+  public <R> Connection<R> mapAll(Function<List<T>, List<R>> mapper) {
+    return new Connection<>(mapper.apply(nodes), pageInfo, totalCount);
+  }
+
+  public record PageInfo(boolean hasNextPage, String endCursor) {}
+}
@@ -0,0 +1,32 @@
+package gov.cdc.usds.simplereport.service.model;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/** A page whose total may be a planner estimate; see {@link RecordCount}. */
+public class CountedPage<T> extends PageImpl<T> {
+  private final boolean estimate;
+
+  public CountedPage(List<T> content, Pageable pageable, RecordCount total) {
+    super(content, pageable, total.count());
+    this.estimate = total.isEstimate();
+  }
+
+  public static <T> CountedPage<T> empty() {
+    return new CountedPage<>(List.of(), Pageable.unpaged(), RecordCount.exact(0));
+  }
+
+  public boolean isEstimate() {
+    return estimate;
+  }
+
+  @Override
+  public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+    return new CountedPage<>(
+        getConvertedContent(converter),
+        getPageable(),
+        new RecordCount(getTotalElements(), estimate));
+  }
+}
@@ -0,0 +1,89 @@
+package gov.cdc.usds.simplereport.service.model;
+
+import gov.cdc.usds.simplereport.db.model.IdentifiedEntity;
+import gov.cdc.usds.simplereport.db.model.PatientAnswers;
+import gov.cdc.usds.simplereport.db.model.Result;
+import gov.cdc.usds.simplereport.db.model.SupportedDisease;
+import gov.cdc.usds.simplereport.db.model.TestOrder;
+import gov.cdc.usds.simplereport.db.model.auxiliary.AskOnEntrySurvey;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An immutable copy of a pending test order, holding what the queue view shows, so that a cached
+ * queue never hands the same entities to more than one request. The patient, device type and
+ * specimen type are kept by id and loaded by each request.
+ */
+public record FacilityQueueItem(
+    UUID internalId,
+    UUID patientId,
+    UUID deviceTypeId,
+    UUID specimenTypeId,
+    Date dateAdded,
+    Date dateUpdated,
+    Date dateTested,
+    TestCorrectionStatus correctionStatus,
+    String reasonForCorrection,
+    String timerStartedAt,
+    Survey survey,
+    List<DiseaseResult> results) {
+
+  /** The order's ask-on-entry answers. */
+  public record Survey(
+      String pregnancy,
+      String syphilisHistory,
+      Boolean noSymptoms,
+      String symptoms,
+      LocalDate symptomOnset,
+      List<String> genderOfSexualPartners) {
+
+    public static Survey of(PatientAnswers answers) {
+      AskOnEntrySurvey survey = answers == null ? null : answers.getSurvey();
+      if (survey == null) {
+        return new Survey(null, null, null, null, null, null);
+      }
+      return new Survey(
+          survey.getPregnancy(),
+          survey.getSyphilisHistory(),
+          survey.getNoSymptoms(),
+          survey.getSymptomsJSON(),
+          survey.getSymptomOnsetDate(),
+          survey.getGenderOfSexualPartners() == null
+              ? null
+              : List.copyOf(survey.getGenderOfSexualPartners()));
+    }
+  }
+
+  /** One of the order's results, as the GraphQL {@code MultiplexResult} type shows it. */
+  public record DiseaseResult(SupportedDisease disease, TestResult testResult) {
+
+    public static DiseaseResult of(Result result) {
+      return new DiseaseResult(result.getDisease(), result.getTestResult());
+    }
+  }
+
+  /** Copies an order whose patient, answers and results have already been loaded. */
+  public static FacilityQueueItem of(TestOrder order) {
+    return new FacilityQueueItem(
+        order.getInternalId(),
+        order.getPatient().getInternalId(),
+        idOf(order.getDeviceType()),
+        idOf(order.getSpecimenType()),
+        order.getCreatedAt(),
+        order.getUpdatedAt(),
+        order.getDateTestedBackdate(),
+        order.getCorrectionStatus(),
+        order.getReasonForCorrection(),
+        order.getTimerStartedAt(),
+        Survey.of(order.getAskOnEntrySurvey()),
+        order.getResults().stream().map(DiseaseResult::of).toList());
+  }
+
+  private static UUID idOf(IdentifiedEntity entity) {
+    return entity == null ? null : entity.getInternalId();
+  }
+}
@@ -4,21 +4,44 @@ import gov.cdc.usds.simplereport.config.authorization.OrganizationRole;
 import gov.cdc.usds.simplereport.config.authorization.PermissionHolder;
 import gov.cdc.usds.simplereport.db.model.Facility;
 import gov.cdc.usds.simplereport.db.model.Organization;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class OrganizationRoles implements PermissionHolder {
 
   private Organization _organization;
+  private Set<UUID> _facilityIds;
+  private Supplier<Set<Facility>> _facilityLoader;
   private Set<Facility> _facilities;
   private Set<OrganizationRole> _roles;
 
   public OrganizationRoles(
       Organization organization, Set<Facility> facilities, Set<OrganizationRole> roles) {
+    this(
+        organization,
+        facilities.stream().map(Facility::getInternalId).collect(Collectors.toSet()),
+        () -> facilities,
+        roles);
+    this._facilities = facilities;
+  }
+
+  /**
+   * For roles whose facility IDs are already known: access checks only need the IDs, so the
+   * facilities themselves are not loaded until someone asks for them.
+   */
+  public OrganizationRoles(
+      Organization organization,
+      Set<UUID> facilityIds,
+      Supplier<Set<Facility>> facilityLoader,
+      Set<OrganizationRole> roles) {
     super();
     this._organization = organization;
-    this._facilities = facilities;
+    this._facilityIds = Collections.unmodifiableSet(facilityIds);
+    this._facilityLoader = facilityLoader;
     this._roles = EnumSet.copyOf(roles);
   }
 
@@ -27,15 +50,22 @@ public class OrganizationRoles implements PermissionHolder {
   }
 
   public Set<Facility> getFacilities() {
+    if (_facilities == null) {
+      _facilities = _facilityLoader.get();
+    }
     return _facilities;
   }
 
+  public Set<UUID> getFacilityIds() {
+    return _facilityIds;
+  }
+
   public Set<OrganizationRole> getGrantedRoles() {
     return _roles;
   }
 
   public boolean containsFacility(UUID facilityId) {
-    return getFacilities().stream().anyMatch(f -> f.getInternalId().equals(facilityId));
+    return _facilityIds.contains(facilityId);
   }
 
   public boolean containsFacility(Facility facility) {
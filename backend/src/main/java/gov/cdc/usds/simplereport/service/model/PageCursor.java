@@ -0,0 +1,80 @@
+package gov.cdc.usds.simplereport.service.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Position in a keyset-paginated list: the sort key values and internal id of the last row a page
+ * returned. The next page starts strictly after that row, so pages stay stable while rows are added
+ * and cost the same however deep the client goes.
+ *
+ * <p>Clients see the cursor as an opaque string and hand it back unchanged.
+ */
+public final class PageCursor {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<List<String>> PARTS = new TypeReference<>() {};
+
+  private final List<String> keys;
+  private final UUID id;
+
+  private PageCursor(List<String> keys, UUID id) {
+    this.keys = keys;
+    this.id = id;
+  }
+
+  public static PageCursor of(UUID id, String... keys) {
+    return new PageCursor(Collections.unmodifiableList(Arrays.asList(keys)), id);
+  }
+
+  /** Returns null for a null or empty cursor, meaning "start from the first row". */
+  public static PageCursor decode(String cursor, int keyCount) {
+    if (cursor == null || cursor.isEmpty()) {
+      return null;
+    }
+    List<String> parts;
+    try {
+      byte[] json = Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.UTF_8));
+      parts = MAPPER.readValue(json, PARTS);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalGraphqlArgumentException("Invalid page cursor");
+    }
+    if (parts == null || parts.size() != keyCount + 1 || parts.get(keyCount) == null) {
+      throw new IllegalGraphqlArgumentException("Invalid page cursor");
+    }
+    try {
+      UUID id = UUID.fromString(parts.get(keyCount));
+      return new PageCursor(Collections.unmodifiableList(parts.subList(0, keyCount)), id);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalGraphqlArgumentException("Invalid page cursor");
+    }
+  }
+
+  public String encode() {
+    List<String> parts = new ArrayList<>(keys);
+    parts.add(id.toString());
+    try {
+      byte[] json = MAPPER.writeValueAsBytes(parts);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public String key(int index) {
+    return keys.get(index);
+  }
+
+  public UUID getId() {
+    return id;
+  }
+}
@@ -0,0 +1,12 @@
+package gov.cdc.usds.simplereport.service.model;
+
+/**
+ * The number of records matching a filter. When {@code isEstimate} is set the count is the query
+ * planner's row estimate rather than an exact {@code COUNT(*)}.
+ */
+public record RecordCount(long count, boolean isEstimate) {
+
+  public static RecordCount exact(long count) {
+    return new RecordCount(count, false);
+  }
+}
@@ -0,0 +1,6 @@
+package gov.cdc.usds.simplereport.service.model;
+
+import java.util.Set;
+
+/** The authorities a site admin holds through their active tenant data access. */
+public record TenantDataAccessGrant(String username, Set<String> authorities) {}
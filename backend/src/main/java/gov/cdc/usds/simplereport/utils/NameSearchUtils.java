@@ -0,0 +1,77 @@
+package gov.cdc.usds.simplereport.utils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Builds the normalized name key stored in {@code person.name_search} and the search terms matched
+ * against it. Both go through {@link #fold(String)}, so "José" is found by typing "jose".
+ *
+ * <p>The key is each name part with a leading space (" maria de la cruz"), which lets a prefix
+ * search for any word be written as {@code LIKE '% term%'} and served by the trigram index.
+ */
+public class NameSearchUtils {
+  private NameSearchUtils() {}
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern TERM_SEPARATORS = Pattern.compile("[\\s,]+");
+
+  /** Lower-cases, strips accents and collapses whitespace. */
+  public static String fold(String value) {
+    if (value == null) {
+      return "";
+    }
+    String stripped =
+        COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+    String folded = Normalizer.normalize(stripped, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    return WHITESPACE.matcher(folded).replaceAll(" ").trim();
+  }
+
+  public static String toSearchKey(String... nameParts) {
+    return " "
+        + Arrays.stream(nameParts)
+            .map(NameSearchUtils::fold)
+            .filter(StringUtils::isNotEmpty)
+            .collect(Collectors.joining(" "));
+  }
+
+  /** Splits a search-bar entry into folded terms, dropping empty ones. */
+  public static List<String> toSearchTerms(String query) {
+    if (query == null) {
+      return List.of();
+    }
+    return TERM_SEPARATORS
+        .splitAsStream(query)
+        .map(NameSearchUtils::fold)
+        .filter(StringUtils::isNotEmpty)
+        .collect(Collectors.toList());
+  }
+
+  /** A LIKE pattern matching keys with a word starting with {@code term}, escaped with '\'. */
+  public static String toPrefixPattern(String term) {
+    return "% " + escapeLike(term) + "%";
+  }
+
+  /**
+   * A LIKE pattern matching keys with {@code term} as a whole word, once a trailing space has been
+   * appended to the key; escaped with '\'.
+   */
+  public static String toWholeWordPattern(String term) {
+    return "% " + escapeLike(term) + " %";
+  }
+
+  /** A LIKE pattern matching values containing {@code term} anywhere, escaped with '\'. */
+  public static String toContainsPattern(String term) {
+    return "%" + escapeLike(term) + "%";
+  }
+
+  private static String escapeLike(String term) {
+    return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -0,0 +1,82 @@
+package gov.cdc.usds.simplereport.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes report payloads for the Azure storage queues, which cap a message at 64 KB.
+ *
+ * <p>When compact encoding is on, a payload is gzipped and base64-encoded behind a version header
+ * ({@value #ENVELOPE_PREFIX}). Messages without a header are plain payloads, so {@link
+ * #decode(String)} accepts everything the queue has ever carried. A payload that is still over the
+ * limit once encoded is rejected rather than split, since the consumers have no way to put parts
+ * back together; the reporting services dead-letter it.
+ */
+public final class QueueMessageCodec {
+
+  public static final String ENVELOPE_PREFIX = "SRZ1:";
+
+  private final boolean compact;
+  private final int maxMessageBytes;
+
+  public QueueMessageCodec(boolean compact, int maxMessageBytes) {
+    this.compact = compact;
+    this.maxMessageBytes = maxMessageBytes;
+  }
+
+  /** A codec that puts payloads on the queue exactly as they are. */
+  public static QueueMessageCodec passthrough() {
+    return new QueueMessageCodec(false, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the message to enqueue for the payload.
+   *
+   * @throws IllegalArgumentException if the message would be larger than the queue accepts
+   */
+  public String encode(String payload) {
+    String message =
+        compact ? ENVELOPE_PREFIX + Base64.getEncoder().encodeToString(gzip(payload)) : payload;
+    // the limit is on the UTF-8 encoded message, so a plain payload with non-ASCII text takes more
+    // bytes than it has characters
+    int messageBytes = message.getBytes(StandardCharsets.UTF_8).length;
+    if (messageBytes > maxMessageBytes) {
+      throw new IllegalArgumentException(
+          String.format(
+              "queue message is %d bytes, over the limit of %d", messageBytes, maxMessageBytes));
+    }
+    return message;
+  }
+
+  /** Inverse of {@link #encode(String)}. */
+  public static String decode(String message) {
+    if (!message.startsWith(ENVELOPE_PREFIX)) {
+      return message;
+    }
+    return gunzip(Base64.getDecoder().decode(message.substring(ENVELOPE_PREFIX.length())));
+  }
+
+  private static byte[] gzip(String payload) {
+    var bytes = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(payload.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String gunzip(byte[] compressed) {
+    try (var gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package gov.cdc.usds.simplereport.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AuthorizationDecisionContextHolderTest {
+  private final AuthorizationDecisionContextHolder holder =
+      new AuthorizationDecisionContextHolder();
+
+  @Test
+  void decide_sameResourceForEveryRow_evaluatedOnce() {
+    UUID facilityId = UUID.randomUUID();
+    AtomicInteger evaluations = new AtomicInteger();
+
+    for (int row = 0; row < 5000; row++) {
+      assertThat(
+              holder.decide(
+                  "userCanAccessFacility",
+                  facilityId,
+                  () -> {
+                    evaluations.incrementAndGet();
+                    return true;
+                  }))
+          .isTrue();
+    }
+
+    assertThat(evaluations).hasValue(1);
+  }
+
+  @Test
+  void decide_differentCheckOrResource_evaluatedSeparately() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+
+    assertThat(holder.decide("userCanViewPatient", first, () -> true)).isTrue();
+    assertThat(holder.decide("userCanViewPatient", second, () -> false)).isFalse();
+    assertThat(holder.decide("userCanViewTestEvent", first, () -> false)).isFalse();
+  }
+
+  @Test
+  void decide_afterReset_evaluatedAgain() {
+    UUID facilityId = UUID.randomUUID();
+    holder.decide("userCanAccessFacility", facilityId, () -> true);
+
+    holder.reset();
+
+    assertThat(holder.decide("userCanAccessFacility", facilityId, () -> false)).isFalse();
+  }
+}
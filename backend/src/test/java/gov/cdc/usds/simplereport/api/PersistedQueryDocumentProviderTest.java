@@ -0,0 +1,135 @@
+package gov.cdc.usds.simplereport.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PersistedQueryDocumentProviderTest {
+  private static final String QUERY = "query whoami { whoami { id } }";
+
+  private TelemetryClient telemetryClient;
+  private PersistedQueryDocumentProvider provider;
+  private List<String> parsed;
+  private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate;
+
+  @BeforeEach
+  void setup() {
+    telemetryClient = mock(TelemetryClient.class);
+    provider = new PersistedQueryDocumentProvider(telemetryClient);
+    parsed = new ArrayList<>();
+    parseAndValidate =
+        input -> {
+          parsed.add(input.getQuery());
+          return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        };
+  }
+
+  @Test
+  void getDocument_sameQuery_parsedOnce() {
+    PreparsedDocumentEntry first = getDocument(input(QUERY, null));
+    PreparsedDocumentEntry second = getDocument(input(QUERY, null));
+
+    assertThat(second).isSameAs(first);
+    assertThat(parsed).containsExactly(QUERY);
+
+    provider.reportCacheMetrics();
+    verify(telemetryClient).trackMetric(eq("GraphQL document cache hit rate"), eq(0.5));
+  }
+
+  @Test
+  void getDocument_invalidDocument_notCached() {
+    useInvalidDocuments();
+
+    getDocument(input(QUERY, null));
+    getDocument(input(QUERY, null));
+
+    assertThat(parsed).containsExactly(QUERY, QUERY);
+  }
+
+  @Test
+  void getDocument_unknownHash_persistedQueryNotFound() {
+    PreparsedDocumentEntry entry =
+        getDocument(input(null, PersistedQueryDocumentProvider.sha256(QUERY)));
+
+    assertThat(entry.getErrors())
+        .extracting(GraphQLError::getMessage)
+        .containsExactly(PersistedQueryDocumentProvider.PERSISTED_QUERY_NOT_FOUND);
+    assertThat(parsed).isEmpty();
+
+    provider.reportCacheMetrics();
+    verify(telemetryClient).trackMetric(eq("GraphQL persisted queries misses"), eq(1.0));
+  }
+
+  @Test
+  void getDocument_hashAfterQueryRegistered_usesRegisteredQuery() {
+    String hash = PersistedQueryDocumentProvider.sha256(QUERY);
+    PreparsedDocumentEntry registered = getDocument(input(QUERY, hash));
+
+    PreparsedDocumentEntry byHash = getDocument(input(null, hash));
+
+    assertThat(byHash).isSameAs(registered);
+    assertThat(parsed).containsExactly(QUERY);
+  }
+
+  @Test
+  void getDocument_hashDoesNotMatchQuery_rejected() {
+    PreparsedDocumentEntry entry =
+        getDocument(input(QUERY, PersistedQueryDocumentProvider.sha256("{ other }")));
+
+    assertThat(entry.getErrors())
+        .extracting(GraphQLError::getMessage)
+        .containsExactly(PersistedQueryDocumentProvider.PERSISTED_QUERY_ID_INVALID);
+    assertThat(parsed).isEmpty();
+  }
+
+  @Test
+  void getDocument_invalidQueryWithHash_notRegistered() {
+    useInvalidDocuments();
+    String hash = PersistedQueryDocumentProvider.sha256(QUERY);
+    getDocument(input(QUERY, hash));
+
+    PreparsedDocumentEntry byHash = getDocument(input(null, hash));
+
+    assertThat(byHash.getErrors())
+        .extracting(GraphQLError::getMessage)
+        .containsExactly(PersistedQueryDocumentProvider.PERSISTED_QUERY_NOT_FOUND);
+  }
+
+  private void useInvalidDocuments() {
+    parseAndValidate =
+        input -> {
+          parsed.add(input.getQuery());
+          return new PreparsedDocumentEntry(
+              GraphqlErrorBuilder.newError().message("invalid").build());
+        };
+  }
+
+  private PreparsedDocumentEntry getDocument(ExecutionInput input) {
+    return provider.getDocumentAsync(input, parseAndValidate).join();
+  }
+
+  private static ExecutionInput input(String query, String hash) {
+    ExecutionInput.Builder builder = ExecutionInput.newExecutionInput(query == null ? "" : query);
+    if (hash != null) {
+      builder.extensions(
+          Map.of(
+              PersistedQueryDocumentProvider.PERSISTED_QUERY_EXTENSION,
+              Map.of("version", 1, "sha256Hash", hash)));
+    }
+    return builder.build();
+  }
+}
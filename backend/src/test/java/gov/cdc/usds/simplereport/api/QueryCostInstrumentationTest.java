@@ -0,0 +1,91 @@
+package gov.cdc.usds.simplereport.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+
+class QueryCostInstrumentationTest {
+
+  private static final GraphQLSchema SCHEMA =
+      new SchemaGenerator()
+          .makeExecutableSchema(
+              new SchemaParser()
+                  .parse(
+                      "type Query { patients(pageSize: Int = 100): [Patient],"
+                          + " patientsConnection(first: Int = 100, after: String):"
+                          + " PatientConnection }"
+                          + " type PatientConnection { nodes: [Patient], totalCount: Int }"
+                          + " type Patient { name: String, facility: Facility }"
+                          + " type Facility { name: String, patients(pageSize: Int): [Patient] }"),
+              RuntimeWiring.MOCKED_WIRING);
+
+  @Test
+  void cost_multipliedByDefaultPageSize() {
+    ExecutionInput input = ExecutionInput.newExecutionInput("{ patients { name } }").build();
+
+    ExecutionResult result = execute(input, 5, 1000);
+
+    assertThat(result.getErrors()).isEmpty();
+    // (patients + name) for each of 100 rows
+    assertThat((Long) input.getGraphQLContext().get(QueryCostInstrumentation.QUERY_COST_KEY))
+        .isEqualTo(200);
+  }
+
+  @Test
+  void cost_multipliedByConnectionFirst() {
+    ExecutionInput input =
+        ExecutionInput.newExecutionInput(
+                "{ a: patientsConnection { nodes { name } }"
+                    + " b: patientsConnection(first: 10) { nodes { name } totalCount } }")
+            .build();
+
+    ExecutionResult result = execute(input, 5, 1000);
+
+    assertThat(result.getErrors()).isEmpty();
+    // (connection + nodes + name) for each of the default 100 rows, then for 10 rows with the
+    // total counted on each
+    assertThat((Long) input.getGraphQLContext().get(QueryCostInstrumentation.QUERY_COST_KEY))
+        .isEqualTo(100 * 3 + 10 * 4);
+  }
+
+  @Test
+  void cost_overMaximum_rejected() {
+    ExecutionInput input =
+        ExecutionInput.newExecutionInput(
+                "{ patients(pageSize: 10) { facility { patients(pageSize: 10) { name } } } }")
+            .build();
+
+    ExecutionResult result = execute(input, 5, 100);
+
+    assertThat(result.getErrors()).hasSize(1);
+    assertThat(result.getErrors().get(0).getMessage()).contains("Query is too large");
+    assertThat((Long) input.getGraphQLContext().get(QueryCostInstrumentation.QUERY_COST_KEY))
+        .isEqualTo(10 * (1 + 1 + 10 * 2));
+  }
+
+  @Test
+  void depth_overMaximum_rejected() {
+    ExecutionInput input =
+        ExecutionInput.newExecutionInput("{ patients { facility { patients { name } } } }")
+            .build();
+
+    ExecutionResult result = execute(input, 3, Long.MAX_VALUE);
+
+    assertThat(result.getErrors()).hasSize(1);
+    assertThat(result.getErrors().get(0).getMessage()).contains("Query is nested too deeply");
+  }
+
+  private static ExecutionResult execute(ExecutionInput input, int maxDepth, long maxCost) {
+    return GraphQL.newGraphQL(SCHEMA)
+        .instrumentation(new QueryCostInstrumentation(maxDepth, maxCost))
+        .build()
+        .execute(input);
+  }
+}
@@ -1,6 +1,8 @@
 package gov.cdc.usds.simplereport.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -12,6 +14,7 @@ import gov.cdc.usds.simplereport.config.authorization.DemoAuthenticationConfigur
 import gov.cdc.usds.simplereport.idp.authentication.DemoOktaAuthentication;
 import gov.cdc.usds.simplereport.idp.repository.DemoOktaRepository;
 import gov.cdc.usds.simplereport.logging.AuditLoggingAdvice;
+import gov.cdc.usds.simplereport.service.OktaUserStatusService;
 import jakarta.servlet.http.HttpSession;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +25,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan.Filter;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
@@ -49,6 +53,8 @@ class UserAccountCreationControllerTest extends BaseNonSpringBootTestConfigurati
 
   @Autowired private DemoOktaAuthentication _oktaAuth;
 
+  @MockBean private OktaUserStatusService _userStatusService;
+
   private static final String VALID_ACTIVATION_REQUEST =
       "{\"activationToken\":\"validActivationToken\"}";
 
@@ -122,6 +128,17 @@ class UserAccountCreationControllerTest extends BaseNonSpringBootTestConfigurati
     assertThat(activationResponse).isEqualTo(setPasswordResponse);
   }
 
+  @Test
+  void setPassword_refreshesMirroredUserStatus() throws Exception {
+    MockHttpSession session = new MockHttpSession();
+
+    issueActivationRequest(session);
+    issueSetPasswordRequest(session);
+
+    // once on activation, once on setting the password
+    verify(_userStatusService, times(2)).refreshUser("userId validActivationToken");
+  }
+
   @Test
   void setPassword_failsWithoutInitialization() throws Exception {
     MockHttpSession session = new MockHttpSession();
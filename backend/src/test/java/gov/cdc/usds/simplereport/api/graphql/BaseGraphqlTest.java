@@ -147,6 +147,27 @@ public abstract class BaseGraphqlTest extends BaseAuthenticatedFullStackTest {
     return runQuery(queryFileName, null, variables, null);
   }
 
+  /**
+   * Fail if {@code operation} runs more selects after {@code addResults} than before it, which is
+   * what happens when some field of the operation is resolved with a query per row. The operation
+   * is run once beforehand so that cache warm-up is not counted.
+   */
+  protected static void assertSelectCountDoesNotGrow(Runnable operation, Runnable addResults) {
+    operation.run();
+    long firstRunCount = countSelects(operation);
+    addResults.run();
+    long secondRunCount = countSelects(operation);
+    assertThat(secondRunCount)
+        .as("selects for the same operation after adding results")
+        .isLessThanOrEqualTo(firstRunCount);
+  }
+
+  private static long countSelects(Runnable operation) {
+    long start = QueryCountService.get().getSelect();
+    operation.run();
+    return QueryCountService.get().getSelect() - start;
+  }
+
   /**
    * Check if the given response body has an {@code errors} section. If so, if we have an expected
    * error, check that the errors section contains it; if we do not, then fail the test.
@@ -10,6 +10,7 @@ import gov.cdc.usds.simplereport.api.model.Role;
 import gov.cdc.usds.simplereport.config.authorization.UserPermission;
 import gov.cdc.usds.simplereport.db.model.Facility;
 import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.Person;
 import gov.cdc.usds.simplereport.service.OrganizationService;
 import gov.cdc.usds.simplereport.test_util.TestDataFactory;
 import gov.cdc.usds.simplereport.test_util.TestUserIdentities;
@@ -54,6 +55,32 @@ class PatientManagementTest extends BaseGraphqlTest {
     assertEquals(facilityId.getValue(), patients.get(1).get("facility").get("id").asText());
   }
 
+  @Test
+  void queryPatientsWithLastTest_selectCountDoesNotGrowWithPatients() {
+    Runnable addTestedPatients =
+        () ->
+            TestUserIdentities.withStandardUser(
+                () -> {
+                  Organization org = _orgService.getCurrentOrganizationNoCache();
+                  Facility place = _orgService.getFacilities(org).get(0);
+                  for (int i = 0; i < 5; i++) {
+                    Person p = _dataFactory.createMinimalPerson(org, place);
+                    _dataFactory.createTestEvent(p, place);
+                  }
+                });
+    addTestedPatients.run();
+    useOrgUser();
+
+    assertSelectCountDoesNotGrow(
+        () ->
+            runQuery(
+                "person-with-last-test-result-query",
+                "getPatientsWithLastTestResult",
+                Map.of(),
+                null),
+        addTestedPatients);
+  }
+
   @Test
   void createAndFetchOnePatient() throws Exception {
     useOrgAdmin();
@@ -81,6 +81,20 @@ class TestResultTest extends BaseGraphqlTest {
     assertNotNull(testResults.get(0).get("patientLink"));
   }
 
+  @Test
+  void fetchTestResults_selectCountDoesNotGrowWithResults() {
+    Runnable addResults =
+        () -> {
+          for (int i = 0; i < 5; i++) {
+            Person p = _dataFactory.createFullPerson(_org);
+            _dataFactory.createTestEvent(p, _site);
+          }
+        };
+    addResults.run();
+
+    assertSelectCountDoesNotGrow(() -> fetchTestResults(getFacilityScopedArguments()), addResults);
+  }
+
   @Test
   void fetchOrganizationTestResults_adminUser() {
     useOrgAdmin();
@@ -1,6 +1,11 @@
 package gov.cdc.usds.simplereport.api.healthcheck;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import gov.cdc.usds.simplereport.api.heathcheck.BackendAndDatabaseHealthIndicator;
@@ -8,11 +13,13 @@ import gov.cdc.usds.simplereport.db.repository.BaseRepositoryTest;
 import gov.cdc.usds.simplereport.db.repository.FeatureFlagRepository;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.exception.JDBCConnectionException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 
@@ -28,7 +35,8 @@ class BackendAndDatabaseHealthIndicatorTest extends BaseRepositoryTest {
   void health_succeedsWhenReposDoesntThrow() {
     when(mockFeatureFlagRepo.findAll()).thenReturn(List.of());
 
-    assertThat(indicator.health()).isEqualTo(Health.up().build());
+    indicator.refresh();
+    assertThat(indicator.health().getStatus()).isEqualTo(Health.up().build().getStatus());
   }
 
   @Test
@@ -37,7 +45,8 @@ class BackendAndDatabaseHealthIndicatorTest extends BaseRepositoryTest {
         new JDBCConnectionException(
             "connection issue", new SQLException("some reason", "some state"));
     when(mockFeatureFlagRepo.findAll()).thenThrow(dbConnectionException);
-    assertThat(indicator.health()).isEqualTo(Health.down().build());
+    indicator.refresh();
+    assertThat(indicator.health().getStatus()).isEqualTo(Health.down().build().getStatus());
   }
 
   @Test
@@ -45,6 +54,55 @@ class BackendAndDatabaseHealthIndicatorTest extends BaseRepositoryTest {
     IllegalArgumentException dbConnectionException =
         new IllegalArgumentException("some argument message");
     when(mockFeatureFlagRepo.findAll()).thenThrow(dbConnectionException);
-    assertThat(indicator.health()).isEqualTo(Health.down().build());
+    indicator.refresh();
+    assertThat(indicator.health().getStatus()).isEqualTo(Health.down().build().getStatus());
+  }
+
+  @Test
+  void health_servesLastResultWithItsAge() {
+    indicator.refresh();
+    clearInvocations(mockFeatureFlagRepo);
+
+    Health health = indicator.health();
+
+    verify(mockFeatureFlagRepo, never()).findAll();
+    assertThat(health.getDetails()).containsKeys("checkedAt", "ageSeconds");
+  }
+
+  @Test
+  void health_resultOlderThanMaxAge_unknown() {
+    FeatureFlagRepository repo = mock(FeatureFlagRepository.class);
+    when(repo.findAll()).thenReturn(List.of());
+    // a zero refresh interval makes every result stale
+    var staleIndicator = new BackendAndDatabaseHealthIndicator(repo, 0, 10);
+
+    staleIndicator.refresh();
+    Health health = staleIndicator.health();
+
+    assertThat(health.getStatus()).isEqualTo(Status.UNKNOWN);
+    assertThat(health.getDetails()).containsEntry("staleStatus", "UP");
+  }
+
+  @Test
+  void refresh_slowCheck_downWithoutStartingAnotherCheck() {
+    CountDownLatch release = new CountDownLatch(1);
+    FeatureFlagRepository repo = mock(FeatureFlagRepository.class);
+    when(repo.findAll())
+        .thenAnswer(
+            invocation -> {
+              release.await();
+              return List.of();
+            });
+    var slowIndicator = new BackendAndDatabaseHealthIndicator(repo, 30, 1);
+
+    try {
+      slowIndicator.refresh();
+      assertThat(slowIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+
+      slowIndicator.refresh();
+      verify(repo, times(1)).findAll();
+    } finally {
+      release.countDown();
+    }
   }
 }
@@ -25,7 +25,8 @@ class OktaHealthIndicatorTest extends BaseRepositoryTest {
   @Test
   void health_SucceedsWhenOktaRepoReturnsActive() {
     when(mockOktaRepo.getApplicationStatusForHealthCheck()).thenReturn("ACTIVE");
-    assertThat(indicator.health()).isEqualTo(Health.up().build());
+    indicator.refresh();
+    assertThat(indicator.health().getStatus()).isEqualTo(Health.up().build().getStatus());
   }
 
   @Test
@@ -33,14 +34,16 @@ class OktaHealthIndicatorTest extends BaseRepositoryTest {
     when(mockOktaRepo.getApplicationStatusForHealthCheck())
         .thenThrow(new ApiException("some api error"));
     Health.Builder oktaDegradedWarning = Health.status("OKTA_DEGRADED");
-    assertThat(indicator.health()).isEqualTo(oktaDegradedWarning.build());
+    indicator.refresh();
+    assertThat(indicator.health().getStatus()).isEqualTo(oktaDegradedWarning.build().getStatus());
   }
 
   @Test
   void health_FailsWhenOktaApiThrowsNPE() {
     when(mockOktaRepo.getApplicationStatusForHealthCheck()).thenThrow(new NullPointerException());
     Health.Builder oktaDegradedWarning = Health.status("OKTA_DEGRADED");
-    assertThat(indicator.health()).isEqualTo(oktaDegradedWarning.build());
+    indicator.refresh();
+    assertThat(indicator.health().getStatus()).isEqualTo(oktaDegradedWarning.build().getStatus());
   }
 
   @Test
@@ -48,6 +51,7 @@ class OktaHealthIndicatorTest extends BaseRepositoryTest {
     when(mockOktaRepo.getApplicationStatusForHealthCheck()).thenReturn("INACTIVE");
     Health.Builder oktaDegradedWarning = Health.status("OKTA_DEGRADED");
 
-    assertThat(indicator.health()).isEqualTo(oktaDegradedWarning.build());
+    indicator.refresh();
+    assertThat(indicator.health().getStatus()).isEqualTo(oktaDegradedWarning.build().getStatus());
   }
 }
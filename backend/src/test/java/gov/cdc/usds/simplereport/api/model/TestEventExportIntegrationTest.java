@@ -1,5 +1,7 @@
 package gov.cdc.usds.simplereport.api.model;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gov.cdc.usds.simplereport.api.CurrentTenantDataAccessContextHolder;
@@ -14,12 +16,19 @@ import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
 import gov.cdc.usds.simplereport.service.OrganizationService;
 import gov.cdc.usds.simplereport.service.TestEventService;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportStandardUser;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.Customization;
 import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.comparator.CustomComparator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.TestPropertySource;
@@ -29,6 +38,17 @@ import org.springframework.test.context.TestPropertySource;
 @TestPropertySource(properties = {"spring.jpa.properties.hibernate.enable_lazy_load_no_trans=true"})
 @WithSimpleReportStandardUser
 class TestEventExportIntegrationTest extends BaseGraphqlTest {
+  // values that depend on generated ids or the time the test runs
+  private static final String[] GENERATED_FIELDS = {
+    "Patient_ID",
+    "Result_ID",
+    "Specimen_collection_date_time",
+    "Instrument_ID",
+    "Test_date",
+    "Date_result_released",
+    "Order_test_date"
+  };
+
   @Autowired private TestEventService _testEventService;
   @Autowired private OrganizationService _orgService;
   @MockBean private CurrentTenantDataAccessContextHolder _tenantDataAccessContextHolder;
@@ -372,4 +392,47 @@ class TestEventExportIntegrationTest extends BaseGraphqlTest {
   private JsonNode submitTestResult(Map<String, Object> variables, Optional<String> expectedError) {
     return runQuery("submit-queue-item", variables, expectedError.orElse(null));
   }
+
+  @Test
+  void writer_matchesGoldenFile() throws Exception {
+    String expected =
+        IOUtils.toString(
+            Objects.requireNonNull(
+                getClass()
+                    .getClassLoader()
+                    .getResourceAsStream("testEventExport/covid-test-event.json")),
+            StandardCharsets.UTF_8);
+
+    String actual = TestEventExportWriter.toJson(new TestEventExport(testEvent));
+
+    JSONAssert.assertEquals(
+        expected,
+        actual,
+        new CustomComparator(
+            JSONCompareMode.STRICT,
+            Arrays.stream(GENERATED_FIELDS)
+                .map(name -> new Customization(name, (o1, o2) -> true))
+                .toArray(Customization[]::new)));
+  }
+
+  @Test
+  void writer_matchesObjectMapper() throws Exception {
+    TestEvent correctedTestEvent =
+        _dataFactory.createTestEventCorrection(testEvent, TestCorrectionStatus.CORRECTED);
+    TestEvent removedTestEvent =
+        _dataFactory.createTestEventCorrection(testEvent, TestCorrectionStatus.REMOVED);
+
+    for (TestEvent event : List.of(testEvent, correctedTestEvent, removedTestEvent)) {
+      TestEventExport export = new TestEventExport(event);
+      JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(export));
+      JsonNode actual = objectMapper.readTree(TestEventExportWriter.toJson(export));
+      assertThat(actual).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void writer_stripsLineAndParagraphSeparators() {
+    assertThat(TestEventExportWriter.stripSeparators("plain")).isEqualTo("plain");
+    assertThat(TestEventExportWriter.stripSeparators("a\u2028b\u2029c")).isEqualTo("abc");
+  }
 }
@@ -0,0 +1,125 @@
+package gov.cdc.usds.simplereport.api.testresult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.auxiliary.PersonRole;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultExportRow;
+import gov.cdc.usds.simplereport.logging.RestAuditLogManager;
+import gov.cdc.usds.simplereport.service.DiseaseService;
+import gov.cdc.usds.simplereport.service.OrganizationService;
+import gov.cdc.usds.simplereport.service.ResultService;
+import gov.cdc.usds.simplereport.service.errors.RestAuditFailureException;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ResultExportControllerTest {
+
+  private ResultService resultService;
+  private RestAuditLogManager restAuditLogManager;
+  private Organization org;
+  private ResultExportController sut;
+
+  @BeforeEach
+  void setup() {
+    resultService = mock(ResultService.class);
+    restAuditLogManager = mock(RestAuditLogManager.class);
+    OrganizationService organizationService = mock(OrganizationService.class);
+    org = mock(Organization.class);
+    when(organizationService.getCurrentOrganization()).thenReturn(org);
+    sut =
+        new ResultExportController(
+            resultService, mock(DiseaseService.class), organizationService, restAuditLogManager);
+  }
+
+  @Test
+  void exportResults_auditsBeforeExporting() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+
+    sut.exportResults(
+        null, null, null, null, null, null, null, null, request, new MockHttpServletResponse());
+
+    InOrder order = inOrder(restAuditLogManager, resultService);
+    order.verify(restAuditLogManager).logRestRequest(request, org);
+    order
+        .verify(resultService)
+        .exportOrganizationResults(any(), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void exportResults_auditFails_nothingExported() {
+    doThrow(new RestAuditFailureException(new IllegalStateException()))
+        .when(restAuditLogManager)
+        .logRestRequest(any(), any());
+
+    assertThrows(
+        RestAuditFailureException.class,
+        () ->
+            sut.exportResults(
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse()));
+
+    verify(resultService, never())
+        .exportOrganizationResults(any(), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void toCsvRow_formulaLikeValues_prefixedWithQuote() {
+    Map<String, String> values =
+        ResultExportController.toCsvRow(
+            new TestResultExportRow(
+                UUID.randomUUID(),
+                new Date(),
+                UUID.randomUUID(),
+                null,
+                new Date(),
+                "@Facility",
+                "=HYPERLINK(\"http://example.com\")",
+                "+1",
+                "-Smith",
+                "\tJr.",
+                LocalDate.of(1990, 1, 1),
+                PersonRole.STAFF,
+                "COVID-19",
+                TestResult.POSITIVE,
+                "Abbott = BinaxNOW",
+                TestCorrectionStatus.CORRECTED,
+                "\r=1+1"));
+
+    assertThat(values)
+        .containsEntry("Facility", "'@Facility")
+        .containsEntry("Patient first name", "'=HYPERLINK(\"http://example.com\")")
+        .containsEntry("Patient middle name", "'+1")
+        .containsEntry("Patient last name", "'-Smith")
+        .containsEntry("Patient suffix", "'\tJr.")
+        .containsEntry("Patient date of birth", "1990-01-01")
+        .containsEntry("Condition", "COVID-19")
+        .containsEntry("Device", "Abbott = BinaxNOW")
+        .containsEntry("Reason for correction", "'\r=1+1");
+  }
+}
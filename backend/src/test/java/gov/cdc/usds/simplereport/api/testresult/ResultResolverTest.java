@@ -1,16 +1,19 @@
 package gov.cdc.usds.simplereport.api.testresult;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import gov.cdc.usds.simplereport.service.DiseaseService;
 import gov.cdc.usds.simplereport.service.ResultService;
+import gov.cdc.usds.simplereport.service.ResultService.ListProjection;
+import gov.cdc.usds.simplereport.service.model.CountedPage;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.data.domain.Page;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 @ExtendWith(SpringExtension.class)
@@ -24,13 +27,14 @@ class ResultResolverTest {
     var sut = new ResultResolver(resultService, diseaseService);
 
     // WHEN
-    when(resultService.getOrganizationResults(null, null, null, null, null, null, 0, 20))
-        .thenReturn(Page.empty());
-    sut.resultsPage(null, null, null, null, null, null, null, 0, 20);
+    when(resultService.getOrganizationResults(
+            ListProjection.ENTITIES, null, null, null, null, null, null, 0, 20))
+        .thenReturn(CountedPage.empty());
+    sut.resultsPage(null, null, null, null, null, null, null, 0, 20, selecting(true));
 
     // THEN
     verify(resultService, times(1))
-        .getOrganizationResults(null, null, null, null, null, null, 0, 20);
+        .getOrganizationResults(ListProjection.ENTITIES, null, null, null, null, null, null, 0, 20);
   }
 
   @Test
@@ -43,12 +47,44 @@ class ResultResolverTest {
     var sut = new ResultResolver(resultService, diseaseService);
 
     // WHEN
-    when(resultService.getFacilityResults(facilityId, null, null, null, null, null, null, 0, 20))
-        .thenReturn(Page.empty());
-    sut.resultsPage(facilityId, null, null, null, null, null, null, 0, 20);
+    when(resultService.getFacilityResults(
+            ListProjection.ENTITIES, facilityId, null, null, null, null, null, null, 0, 20))
+        .thenReturn(CountedPage.empty());
+    sut.resultsPage(facilityId, null, null, null, null, null, null, 0, 20, selecting(true));
 
     // THEN
     verify(resultService, times(1))
-        .getFacilityResults(facilityId, null, null, null, null, null, null, 0, 20);
+        .getFacilityResults(
+            ListProjection.ENTITIES, facilityId, null, null, null, null, null, null, 0, 20);
+  }
+
+  @Test
+  void resultsPage_withoutSurveyData_returnsSummaries() {
+    // GIVEN
+    ResultService resultService = mock(ResultService.class);
+    DiseaseService diseaseService = mock(DiseaseService.class);
+
+    var facilityId = UUID.randomUUID();
+    var sut = new ResultResolver(resultService, diseaseService);
+
+    // WHEN
+    when(resultService.getFacilityResults(
+            ListProjection.LIST_COLUMNS, facilityId, null, null, null, null, null, null, 0, 20))
+        .thenReturn(CountedPage.empty());
+    sut.resultsPage(facilityId, null, null, null, null, null, null, 0, 20, selecting(false));
+
+    // THEN
+    verify(resultService, times(1))
+        .getFacilityResults(
+            ListProjection.LIST_COLUMNS, facilityId, null, null, null, null, null, null, 0, 20);
+    verify(resultService, never())
+        .getFacilityResults(
+            ListProjection.ENTITIES, facilityId, null, null, null, null, null, null, 0, 20);
+  }
+
+  private static DataFetchingFieldSelectionSet selecting(boolean surveyData) {
+    DataFetchingFieldSelectionSet selectionSet = mock(DataFetchingFieldSelectionSet.class);
+    when(selectionSet.contains("content/surveyData")).thenReturn(surveyData);
+    return selectionSet;
   }
 }
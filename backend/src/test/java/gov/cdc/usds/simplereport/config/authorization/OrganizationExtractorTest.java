@@ -1,6 +1,8 @@
 package gov.cdc.usds.simplereport.config.authorization;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import gov.cdc.usds.simplereport.config.AuthorizationProperties;
@@ -163,6 +165,20 @@ class OrganizationExtractorTest {
                                 Set.of(UUID.fromString("80d0c820-1dc5-418e-a61e-dc6dad8c5e49")))));
   }
 
+  @Test
+  void convertClaims_sameClaimsInAnyOrder_parsedOnce() {
+    OrganizationExtractor extractor = new OrganizationExtractor(MOCK_PROPS);
+    List<OrganizationRoleClaims> first =
+        extractor.convertClaims(
+            List.of("SR-UNITTEST-TENANT:MYNIFTYORG:USER", "SR-UNITTEST-TENANT:MYNIFTYORG:ADMIN"));
+    List<OrganizationRoleClaims> second =
+        extractor.convertClaims(
+            List.of("SR-UNITTEST-TENANT:MYNIFTYORG:ADMIN", "SR-UNITTEST-TENANT:MYNIFTYORG:USER"));
+
+    assertSame(first, second);
+    assertThrows(UnsupportedOperationException.class, () -> second.remove(0));
+  }
+
   private List<OrganizationRoleClaims> convert(List<GrantedAuthority> authorities) {
     return new OrganizationExtractor(MOCK_PROPS).convert(authorities);
   }
@@ -0,0 +1,66 @@
+package gov.cdc.usds.simplereport.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.Person;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.test_util.TestDataFactory;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class PatientTestSummaryRepositoryTest extends BaseRepositoryTest {
+
+  private static final Date EARLIER = Date.from(Instant.parse("2023-03-01T12:00:00Z"));
+  private static final Date LATER = Date.from(Instant.parse("2023-03-05T12:00:00Z"));
+
+  @Autowired private PatientTestSummaryRepository _repo;
+  @Autowired private TestDataFactory _dataFactory;
+
+  private Facility _facility;
+  private Person _tested;
+  private Person _untested;
+
+  @BeforeEach
+  void setupData() {
+    Organization org = _dataFactory.saveValidOrganization();
+    _facility = _dataFactory.createValidFacility(org);
+    _tested = _dataFactory.createFullPerson(org);
+    _untested = _dataFactory.createMinimalPerson(org);
+  }
+
+  @Test
+  void findLastTestsByPatient_latestTestTime_notLatestSaved() {
+    TestEvent later =
+        _dataFactory.createTestEventWithDate(_tested, _facility, TestResult.POSITIVE, LATER);
+    _dataFactory.createTestEventWithDate(_tested, _facility, TestResult.NEGATIVE, EARLIER);
+
+    List<TestEvent> found =
+        _repo.findLastTestsByPatient(List.of(_tested.getInternalId(), _untested.getInternalId()));
+
+    assertThat(found).extracting(TestEvent::getInternalId).containsExactly(later.getInternalId());
+    assertFalse(_repo.existsById(_untested.getInternalId()));
+  }
+
+  @Test
+  void findLastTestsByPatient_corrected_returnsCorrection() {
+    TestEvent original =
+        _dataFactory.createTestEventWithDate(_tested, _facility, TestResult.POSITIVE, LATER);
+    TestEvent correction =
+        _dataFactory.createTestEventCorrection(original, TestCorrectionStatus.REMOVED);
+
+    List<TestEvent> found = _repo.findLastTestsByPatient(List.of(_tested.getInternalId()));
+
+    assertThat(found)
+        .extracting(TestEvent::getInternalId)
+        .containsExactly(correction.getInternalId());
+  }
+}
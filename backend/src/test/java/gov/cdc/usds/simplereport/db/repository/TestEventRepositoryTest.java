@@ -22,9 +22,6 @@ import gov.cdc.usds.simplereport.db.model.TestOrder_;
 import gov.cdc.usds.simplereport.db.model.auxiliary.AskOnEntrySurvey;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
-import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultWithCount;
-import gov.cdc.usds.simplereport.service.DiseaseService;
-import gov.cdc.usds.simplereport.service.OrganizationService;
 import gov.cdc.usds.simplereport.test_util.TestDataFactory;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
@@ -32,12 +29,9 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -48,10 +42,6 @@ class TestEventRepositoryTest extends BaseRepositoryTest {
 
   @Autowired private TestEventRepository _repo;
   @Autowired private TestDataFactory _dataFactory;
-  @Autowired private OrganizationService _orgService;
-  @Autowired private DiseaseService _diseaseService;
-
-  private String COVID_DISEASE_LOINC = "96741-4";
 
   private Specification<TestEvent> filter(UUID facilityId, TestResult result) {
     return (root, query, cb) -> {
@@ -157,107 +147,6 @@ class TestEventRepositoryTest extends BaseRepositoryTest {
     assertEquals("Charles", results.get(0).getPatient().getFirstName());
   }
 
-  @Test
-  void countByResultForFacility_singleFacility_success() {
-    Date d1 = Date.from(Instant.parse("2000-01-01T00:00:00Z"));
-    final Date DATE_1MIN_FUTURE =
-        new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(3));
-    Organization org = _dataFactory.saveValidOrganization();
-    Facility place = createTestEventsForMetricsTests(org);
-
-    List<TestResultWithCount> results =
-        _repo.countByResultForFacility(
-            place.getInternalId(), d1, DATE_1MIN_FUTURE, COVID_DISEASE_LOINC);
-
-    assertEquals(2, results.size());
-
-    Map<TestResult, Long> resultMap =
-        results.stream()
-            .collect(
-                Collectors.toMap(TestResultWithCount::getResult, TestResultWithCount::getCount));
-
-    assertEquals(1L, resultMap.get(TestResult.POSITIVE));
-    assertEquals(1L, resultMap.get(TestResult.UNDETERMINED));
-  }
-
-  @Test
-  void countByResultByFacility_singleFacility_success() {
-    Date d1 = Date.from(Instant.parse("2000-01-01T00:00:00Z"));
-    final Date DATE_1MIN_FUTURE =
-        new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(3));
-    Organization org = _dataFactory.saveValidOrganization();
-    Facility place = createTestEventsForMetricsTests(org);
-
-    List<TestResultWithCount> results =
-        _repo.countByResultByFacility(
-            Set.of(place.getInternalId()), d1, DATE_1MIN_FUTURE, COVID_DISEASE_LOINC);
-
-    assertEquals(2, results.size());
-
-    Map<TestResult, Long> resultMap =
-        results.stream()
-            .collect(
-                Collectors.toMap(TestResultWithCount::getResult, TestResultWithCount::getCount));
-
-    assertEquals(1L, resultMap.get(TestResult.POSITIVE));
-    assertEquals(1L, resultMap.get(TestResult.UNDETERMINED));
-  }
-
-  @Test
-  void countByResultByFacility_singleFacility_onlyCountsCovid() {
-    Date d1 = Date.from(Instant.parse("2000-01-01T00:00:00Z"));
-    final Date DATE_1MIN_FUTURE =
-        new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(3));
-    Organization org = _dataFactory.saveValidOrganization();
-    Facility place = createTestEventsForMetricsTests(org);
-    var p = _dataFactory.createMinimalPerson(org);
-    _dataFactory.createMultiplexTestEvent(
-        p, place, TestResult.POSITIVE, TestResult.NEGATIVE, TestResult.UNDETERMINED, false);
-
-    List<TestResultWithCount> results =
-        _repo.countByResultByFacility(
-            Set.of(place.getInternalId()), d1, DATE_1MIN_FUTURE, COVID_DISEASE_LOINC);
-
-    assertEquals(2, results.size());
-
-    Map<TestResult, Long> resultMap =
-        results.stream()
-            .collect(
-                Collectors.toMap(TestResultWithCount::getResult, TestResultWithCount::getCount));
-
-    assertEquals(2L, resultMap.get(TestResult.POSITIVE));
-    assertEquals(1L, resultMap.get(TestResult.UNDETERMINED));
-    assertNull(resultMap.get(TestResult.NEGATIVE));
-  }
-
-  @Test
-  void countByResultByFacility_entireOrganization_success() {
-    Date d1 = Date.from(Instant.parse("2000-01-01T00:00:00Z"));
-    final Date DATE_1MIN_FUTURE =
-        new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(3));
-    Organization org = _dataFactory.saveValidOrganization();
-    createTestEventsForMetricsTests(org);
-
-    Set<UUID> facilityIds =
-        _orgService.getFacilities(org).stream()
-            .map(Facility::getInternalId)
-            .collect(Collectors.toSet());
-
-    List<TestResultWithCount> results =
-        _repo.countByResultByFacility(facilityIds, d1, DATE_1MIN_FUTURE, COVID_DISEASE_LOINC);
-
-    assertEquals(3, results.size());
-
-    Map<TestResult, Long> resultMap =
-        results.stream()
-            .collect(
-                Collectors.toMap(TestResultWithCount::getResult, TestResultWithCount::getCount));
-
-    assertEquals(2L, resultMap.get(TestResult.POSITIVE));
-    assertEquals(1L, resultMap.get(TestResult.NEGATIVE));
-    assertEquals(1L, resultMap.get(TestResult.UNDETERMINED));
-  }
-
   @Test
   void testEventFromTestOrder_copies_deviceAndSpecimen() {
     // GIVEN
@@ -286,42 +175,6 @@ class TestEventRepositoryTest extends BaseRepositoryTest {
     assertNotEquals(testEvent.getSpecimenType(), facilitySpecimen);
   }
 
-  private Facility createTestEventsForMetricsTests(Organization org) {
-    Facility place = _dataFactory.createValidFacility(org);
-    Person patient = _dataFactory.createMinimalPerson(org);
-
-    TestOrder firstOrder =
-        _dataFactory.createTestOrderWithCovidResult(patient, place, TestResult.POSITIVE);
-    _dataFactory.createTestEvent(firstOrder);
-    flush();
-
-    TestOrder secondOrder =
-        _dataFactory.createTestOrder(
-            patient,
-            place,
-            List.of(
-                new Result(_diseaseService.covid(), TestResult.UNDETERMINED),
-                new Result(_diseaseService.covid(), TestResult.UNDETERMINED)));
-    _dataFactory.createTestEvent(secondOrder);
-    flush();
-
-    Facility otherPlace = _dataFactory.createValidFacility(org, "Other Place");
-    Person otherPatient =
-        _dataFactory.createMinimalPerson(org, otherPlace, "First", "Middle", "Last", "");
-
-    TestOrder firstOrderOtherPlace =
-        _dataFactory.createTestOrderWithCovidResult(otherPatient, otherPlace, TestResult.NEGATIVE);
-    _dataFactory.createTestEvent(firstOrderOtherPlace);
-    flush();
-
-    TestOrder secondOrderOtherPlace =
-        _dataFactory.createTestOrderWithCovidResult(otherPatient, otherPlace, TestResult.POSITIVE);
-    _dataFactory.createTestEvent(secondOrderOtherPlace);
-    flush();
-
-    return place;
-  }
-
   private void compareAskOnEntrySurvey(AskOnEntrySurvey a1, AskOnEntrySurvey a2) {
     assertEquals(a1.getNoSymptoms(), a2.getNoSymptoms());
     assertEquals(a1.getPregnancy(), a2.getPregnancy());
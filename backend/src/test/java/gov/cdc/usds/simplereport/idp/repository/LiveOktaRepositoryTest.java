@@ -99,7 +99,9 @@ class LiveOktaRepositoryTest {
             groupApi,
             applicationApi,
             userApi,
-            applicationGroupsApi);
+            applicationGroupsApi,
+            300,
+            4);
   }
 
   @Test
@@ -408,6 +410,66 @@ class LiveOktaRepositoryTest {
     }
   }
 
+  @Test
+  void createUser_sameOrganizationTwice_groupsListedOnce() {
+    var personName = new PersonName("First", "Middle", "Last", "Suffix");
+    var org = new Organization("orgName", "orgType", "1", true);
+    var groupProfilePrefix = "SR-UNITTEST-TENANT:" + org.getExternalId();
+    var mockUserBuilder =
+        setupAndMockUserBuilder(
+            groupProfilePrefix,
+            groupProfilePrefix + ":NO_ACCESS",
+            personName.getFirstName(),
+            personName.getMiddleName(),
+            personName.getLastName(),
+            personName.getSuffix(),
+            "fraud@example.com");
+    when(mockUserBuilder.setLogin(anyString())).thenReturn(mockUserBuilder);
+    when(mockUserBuilder.setEmail(anyString())).thenReturn(mockUserBuilder);
+
+    try (var staticMockUserBuilder = mockStatic(UserBuilder.class)) {
+      staticMockUserBuilder.when(UserBuilder::instance).thenReturn(mockUserBuilder);
+
+      _repo.createUser(
+          new IdentityAttributes("fraud@example.com", personName), org, Set.of(), Set.of(), true);
+      _repo.createUser(
+          new IdentityAttributes("waste@example.com", personName), org, Set.of(), Set.of(), true);
+
+      verify(groupApi, times(2)).listGroups(any(), any(), any(), any(), any(), any(), any(), any());
+      verify(groupApi, times(2)).assignUserToGroup("gid123", "uid123");
+    }
+  }
+
+  @Test
+  void createUser_groupAddedElsewhere_groupsListedAgain() {
+    var personName = new PersonName("First", "Middle", "Last", "Suffix");
+    var identityAttributes = new IdentityAttributes("fraud@example.com", personName);
+    var org = new Organization("orgName", "orgType", "1", true);
+    var groupProfilePrefix = "SR-UNITTEST-TENANT:" + org.getExternalId();
+    var mockUserBuilder =
+        setupAndMockUserBuilder(
+            groupProfilePrefix,
+            groupProfilePrefix + ":NO_ACCESS",
+            personName.getFirstName(),
+            personName.getMiddleName(),
+            personName.getLastName(),
+            personName.getSuffix(),
+            "fraud@example.com");
+
+    try (var staticMockUserBuilder = mockStatic(UserBuilder.class)) {
+      staticMockUserBuilder.when(UserBuilder::instance).thenReturn(mockUserBuilder);
+
+      _repo.createUser(identityAttributes, org, Set.of(), Set.of(), true);
+      Set<OrganizationRole> roles = Set.of(OrganizationRole.ADMIN);
+      Set<Facility> facilities = Set.of();
+      assertThrows(
+          IllegalGraphqlArgumentException.class,
+          () -> _repo.createUser(identityAttributes, org, facilities, roles, true));
+
+      verify(groupApi, times(4)).listGroups(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+  }
+
   @Test
   void createUser_illegalGraphqlArgumentError_withoutLastName() {
     var username = "fraud@example.com";
@@ -0,0 +1,140 @@
+package gov.cdc.usds.simplereport.idp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.telemetry.MetricTelemetry;
+import com.okta.sdk.resource.client.ApiException;
+import gov.cdc.usds.simplereport.idp.repository.OktaRateLimiter.Category;
+import gov.cdc.usds.simplereport.idp.repository.OktaRateLimiter.Priority;
+import gov.cdc.usds.simplereport.idp.repository.OktaRateLimiter.TokenBucket;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OktaRateLimiterTest {
+
+  private TelemetryClient telemetryClient;
+  private OktaRateLimiter sut;
+
+  @BeforeEach
+  void setup() {
+    telemetryClient = mock(TelemetryClient.class);
+    sut = new OktaRateLimiter(telemetryClient, 6000, 6000, 6000);
+  }
+
+  @Test
+  void throttle_callsReachTargetAndWaitsAreReported() {
+    var api = sut.throttle(new FakeApi(), Category.USERS);
+
+    assertThat(api.getUser("ruby")).isEqualTo("ruby");
+    assertThat(OktaRateLimiter.runAsBatch(() -> api.getUser("bob"))).isEqualTo("bob");
+    sut.reportThrottleMetrics();
+    sut.reportThrottleMetrics();
+
+    verify(telemetryClient, times(2)).trackMetric(any(MetricTelemetry.class));
+  }
+
+  @Test
+  void throttle_rateLimitedResponse_pausesBucket() {
+    var api = sut.throttle(new FakeApi(), Category.GROUPS);
+    String reset = String.valueOf(Instant.now().getEpochSecond() + 1);
+
+    assertThrows(ApiException.class, () -> api.fail(429, "0", reset));
+    long start = System.nanoTime();
+    api.getUser("ruby");
+
+    assertThat(System.nanoTime() - start).isGreaterThan(500_000_000L);
+  }
+
+  @Test
+  void throttle_otherErrorWithRemainingRequests_doesNotPause() {
+    var api = sut.throttle(new FakeApi(), Category.GROUPS);
+    String reset = String.valueOf(Instant.now().getEpochSecond() + 30);
+
+    assertThrows(ApiException.class, () -> api.fail(404, "250", reset));
+    long start = System.nanoTime();
+    api.getUser("ruby");
+
+    assertThat(System.nanoTime() - start).isLessThan(500_000_000L);
+  }
+
+  @Test
+  void withCurrentPriority_batchWorkOnAnotherThread_keepsBatchPriority() throws Exception {
+    AtomicReference<Priority> batchPriority = new AtomicReference<>();
+    AtomicReference<Priority> interactivePriority = new AtomicReference<>();
+    Runnable batch =
+        OktaRateLimiter.runAsBatch(
+            () ->
+                OktaRateLimiter.withCurrentPriority(
+                    () -> batchPriority.set(OktaRateLimiter.currentPriority())));
+    Runnable interactive =
+        OktaRateLimiter.withCurrentPriority(
+            () -> interactivePriority.set(OktaRateLimiter.currentPriority()));
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(batch).get();
+      executor.submit(interactive).get();
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(batchPriority).hasValue(Priority.BATCH);
+    assertThat(interactivePriority).hasValue(Priority.INTERACTIVE);
+  }
+
+  @Test
+  void tokenBucket_bothPrioritiesWaiting_batchStillServed() throws InterruptedException {
+    var bucket = new TokenBucket(600);
+    // drain the burst capacity so that every caller has to wait
+    for (int i = 0; i < 100; i++) {
+      bucket.acquire(Priority.INTERACTIVE);
+    }
+    Thread interactive =
+        new Thread(
+            () -> {
+              try {
+                for (int i = 0; i < 20; i++) {
+                  bucket.acquire(Priority.INTERACTIVE);
+                }
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    interactive.start();
+
+    long start = System.nanoTime();
+    bucket.acquire(Priority.BATCH);
+    long batchWait = System.nanoTime() - start;
+    interactive.join();
+
+    // one token every 100ms: the batch caller gets one of the first few, not the 21st
+    assertThat(batchWait).isLessThan(1_000_000_000L);
+  }
+
+  /** Stands in for a generated Okta SDK API class. */
+  static class FakeApi {
+    public String getUser(String id) {
+      return id;
+    }
+
+    public void fail(int code, String remaining, String reset) {
+      throw new ApiException(
+          code,
+          Map.of(
+              "X-Rate-Limit-Remaining", List.of(remaining), "X-Rate-Limit-Reset", List.of(reset)),
+          "{}");
+    }
+  }
+}
@@ -8,6 +8,7 @@ import gov.cdc.usds.simplereport.api.converter.FhirConverter;
 import gov.cdc.usds.simplereport.service.AzureStorageQueueFhirReportingService;
 import gov.cdc.usds.simplereport.service.TestEventReportingService;
 import gov.cdc.usds.simplereport.utils.DateGenerator;
+import gov.cdc.usds.simplereport.utils.QueueMessageCodec;
 import gov.cdc.usds.simplereport.utils.UUIDGenerator;
 import java.time.Instant;
 import java.util.Date;
@@ -40,6 +41,10 @@ public class SubmitTestResultTestConfig {
     FhirConverter fhirConverter = new FhirConverter(uuidGenerator, dateGenerator);
 
     return new AzureStorageQueueFhirReportingService(
-        FhirContext.forR4(), queueAsyncClient, new GitProperties(properties), fhirConverter);
+        FhirContext.forR4(),
+        queueAsyncClient,
+        new GitProperties(properties),
+        fhirConverter,
+        QueueMessageCodec.passthrough());
   }
 }
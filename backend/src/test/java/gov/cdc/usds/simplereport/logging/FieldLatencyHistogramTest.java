@@ -0,0 +1,37 @@
+package gov.cdc.usds.simplereport.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class FieldLatencyHistogramTest {
+
+  @Test
+  void snapshot_percentilesFromBuckets() {
+    FieldLatencyHistogram histogram = new FieldLatencyHistogram();
+    for (int i = 0; i < 90; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(400));
+    }
+
+    FieldLatencyHistogram.Snapshot snapshot = histogram.snapshotAndReset();
+
+    assertThat(snapshot.count()).isEqualTo(100);
+    assertThat(snapshot.totalMillis()).isEqualTo(90 * 3 + 10 * 400);
+    assertThat(snapshot.maxMillis()).isEqualTo(400);
+    assertThat(snapshot.percentileMillis(0.5)).isEqualTo(5);
+    assertThat(snapshot.percentileMillis(0.95)).isEqualTo(400);
+  }
+
+  @Test
+  void snapshot_resetsHistogram() {
+    FieldLatencyHistogram histogram = new FieldLatencyHistogram();
+    histogram.record(TimeUnit.SECONDS.toNanos(10));
+
+    assertThat(histogram.snapshotAndReset().percentileMillis(0.99)).isEqualTo(10_000);
+    assertThat(histogram.snapshotAndReset().count()).isZero();
+  }
+}
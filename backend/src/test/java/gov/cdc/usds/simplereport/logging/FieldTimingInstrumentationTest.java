@@ -0,0 +1,153 @@
+package gov.cdc.usds.simplereport.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.telemetry.MetricTelemetry;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class FieldTimingInstrumentationTest {
+  private static final long BATCH_MILLIS = 50;
+  private static final String QUERY = "{ patients { name facility { name } } }";
+
+  private static final GraphQLSchema SCHEMA =
+      new SchemaGenerator()
+          .makeExecutableSchema(
+              new SchemaParser()
+                  .parse(
+                      "type Query { patients: [Patient] }"
+                          + " type Patient { name: String, facility: Facility }"
+                          + " type Facility { name: String }"),
+              RuntimeWiring.newRuntimeWiring()
+                  .type(
+                      "Query",
+                      wiring ->
+                          wiring.dataFetcher(
+                              "patients",
+                              env ->
+                                  List.of(
+                                      Map.of("name", "Ruby", "facilityId", "North"),
+                                      Map.of("name", "Bob", "facilityId", "South"))))
+                  .type(
+                      "Patient",
+                      wiring ->
+                          wiring.dataFetcher(
+                              "facility",
+                              env -> {
+                                Map<String, String> patient = env.getSource();
+                                return env.getDataLoader("facilities")
+                                    .load(patient.get("facilityId"));
+                              }))
+                  .build());
+
+  private TelemetryClient telemetryClient;
+
+  @BeforeEach
+  void setup() {
+    telemetryClient = mock(TelemetryClient.class);
+  }
+
+  @Test
+  void sampledSlowOperation_slowestFieldsInContext() {
+    ExecutionInput input = input();
+
+    ExecutionResult result =
+        execute(new FieldTimingInstrumentation(telemetryClient, 1.0, 0), input);
+
+    assertThat(result.getErrors()).isEmpty();
+    String slowFields = input.getGraphQLContext().get(FieldTimingInstrumentation.SLOW_FIELDS_KEY);
+    // the facilities wait on one batch, which is the slowest thing in the operation
+    assertThat(slowFields).startsWith("Patient.facility ").contains("(x2)");
+    assertThat(slowFields).contains("Query.patients ").contains("(x1)");
+  }
+
+  @Test
+  void sampledOperation_latenciesRecordedPerCoordinate() {
+    var instrumentation = new FieldTimingInstrumentation(telemetryClient, 1.0, 0);
+    execute(instrumentation, input());
+
+    instrumentation.reportFieldLatencies();
+
+    Map<String, MetricTelemetry> latencies = reportedLatencies();
+    // name fields are plain property fetchers, so they are not timed
+    assertThat(latencies).containsOnlyKeys("Query.patients", "Patient.facility");
+    assertThat(latencies.get("Patient.facility").getCount()).isEqualTo(2);
+    // timed until the batch loader returns, not just until the load is queued
+    assertThat(latencies.get("Patient.facility").getMax()).isGreaterThanOrEqualTo(BATCH_MILLIS);
+  }
+
+  @Test
+  void fastOperation_noSlowFields() {
+    ExecutionInput input = input();
+
+    execute(new FieldTimingInstrumentation(telemetryClient, 1.0, 60_000), input);
+
+    assertThat(input.getGraphQLContext().hasKey(FieldTimingInstrumentation.SLOW_FIELDS_KEY))
+        .isFalse();
+  }
+
+  @Test
+  void unsampledOperation_notTimed() {
+    var instrumentation = new FieldTimingInstrumentation(telemetryClient, 0.0, 0);
+    ExecutionInput input = input();
+
+    execute(instrumentation, input);
+    instrumentation.reportFieldLatencies();
+
+    assertThat(input.getGraphQLContext().hasKey(FieldTimingInstrumentation.SLOW_FIELDS_KEY))
+        .isFalse();
+    verify(telemetryClient, never()).trackMetric(any(MetricTelemetry.class));
+  }
+
+  private Map<String, MetricTelemetry> reportedLatencies() {
+    ArgumentCaptor<MetricTelemetry> metrics = ArgumentCaptor.forClass(MetricTelemetry.class);
+    verify(telemetryClient, atLeastOnce()).trackMetric(metrics.capture());
+    return metrics.getAllValues().stream()
+        .filter(metric -> metric.getName().equals("GraphQL field latency"))
+        .collect(Collectors.toMap(metric -> metric.getProperties().get("field"), metric -> metric));
+  }
+
+  private static ExecutionInput input() {
+    BatchLoader<String, Map<String, String>> facilities =
+        keys ->
+            CompletableFuture.supplyAsync(
+                () -> {
+                  try {
+                    TimeUnit.MILLISECONDS.sleep(BATCH_MILLIS);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                  return keys.stream().map(key -> Map.of("name", key)).toList();
+                });
+    DataLoaderRegistry registry = new DataLoaderRegistry();
+    registry.register("facilities", DataLoaderFactory.newDataLoader(facilities));
+    return ExecutionInput.newExecutionInput(QUERY).dataLoaderRegistry(registry).build();
+  }
+
+  private static ExecutionResult execute(
+      FieldTimingInstrumentation instrumentation, ExecutionInput input) {
+    return GraphQL.newGraphQL(SCHEMA).instrumentation(instrumentation).build().execute(input);
+  }
+}
@@ -0,0 +1,86 @@
+package gov.cdc.usds.simplereport.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import gov.cdc.usds.simplereport.db.model.ApiUser;
+import gov.cdc.usds.simplereport.db.repository.ApiUserRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApiUserLastSeenServiceTest {
+
+  private ApiUserRepository apiUserRepo;
+  private ApiUserLastSeenService sut;
+
+  @BeforeEach
+  void setup() {
+    apiUserRepo = mock(ApiUserRepository.class);
+    sut = new ApiUserLastSeenService(apiUserRepo, 300);
+  }
+
+  @Test
+  void flushLastSeen_manyRequestsFromOneUser_oneWrite() {
+    ApiUser user = user(null);
+
+    for (int i = 0; i < 100; i++) {
+      sut.recordSeen(user);
+    }
+    sut.flushLastSeen();
+    sut.recordSeen(user);
+    sut.flushLastSeen();
+
+    verify(apiUserRepo, times(1)).updateLastSeen(eq(List.of(user.getInternalId())), any());
+  }
+
+  @Test
+  void flushLastSeen_severalUsers_batchedTogether() {
+    ApiUser first = user(null);
+    ApiUser second = user(Date.from(Instant.now().minus(Duration.ofDays(1))));
+
+    sut.recordSeen(first);
+    sut.recordSeen(second);
+    sut.flushLastSeen();
+
+    verify(apiUserRepo, times(1)).updateLastSeen(anyCollection(), any());
+  }
+
+  @Test
+  void recordSeen_lastSeenWithinInterval_notWritten() {
+    sut.recordSeen(user(new Date()));
+    sut.flushLastSeen();
+
+    verify(apiUserRepo, never()).updateLastSeen(anyCollection(), any());
+  }
+
+  @Test
+  void recordSeen_afterIntervalPassed_writtenAgain() {
+    sut = new ApiUserLastSeenService(apiUserRepo, 0);
+    ApiUser user = user(null);
+
+    sut.recordSeen(user);
+    sut.flushLastSeen();
+    sut.recordSeen(user);
+    sut.flushLastSeen();
+
+    verify(apiUserRepo, times(2)).updateLastSeen(anyCollection(), any());
+  }
+
+  private static ApiUser user(Date lastSeen) {
+    ApiUser user = mock(ApiUser.class);
+    when(user.getInternalId()).thenReturn(UUID.randomUUID());
+    when(user.getLastSeen()).thenReturn(lastSeen);
+    return user;
+  }
+}
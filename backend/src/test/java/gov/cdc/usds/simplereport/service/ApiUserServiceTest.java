@@ -7,7 +7,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -30,11 +32,14 @@ import gov.cdc.usds.simplereport.db.model.ApiUser;
 import gov.cdc.usds.simplereport.db.model.Facility;
 import gov.cdc.usds.simplereport.db.model.IdentifiedEntity;
 import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.TenantDataAccess;
 import gov.cdc.usds.simplereport.db.model.auxiliary.PersonName;
 import gov.cdc.usds.simplereport.db.repository.ApiUserRepository;
 import gov.cdc.usds.simplereport.db.repository.FacilityRepository;
+import gov.cdc.usds.simplereport.db.repository.TenantDataAccessRepository;
 import gov.cdc.usds.simplereport.idp.repository.OktaRepository;
 import gov.cdc.usds.simplereport.idp.repository.PartialOktaUser;
+import gov.cdc.usds.simplereport.service.model.TenantDataAccessGrant;
 import gov.cdc.usds.simplereport.service.model.UserInfo;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportOrgAdminUser;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportSiteAdminUser;
@@ -63,9 +68,11 @@ class ApiUserServiceTest extends BaseServiceTest<ApiUserService> {
   @Autowired @SpyBean OktaRepository _oktaRepo;
   @Autowired OrganizationService _organizationService;
   @Autowired FacilityRepository facilityRepository;
+  @Autowired TenantDataAccessRepository _tenantDataAccessRepo;
   @Autowired @SpyBean DbOrgRoleClaimsService _dbOrgRoleClaimsService;
   @MockBean FeatureFlagsConfig _featureFlagsConfig;
   @Autowired private TestDataFactory _dataFactory;
+  @Autowired private OktaUserStatusService _userStatusService;
 
   Set<UUID> emptySet = Collections.emptySet();
 
@@ -230,6 +237,45 @@ class ApiUserServiceTest extends BaseServiceTest<ApiUserService> {
         users.get(0), "allfacilities@example.com", "Williams", UserStatus.ACTIVE);
   }
 
+  @Test
+  @WithSimpleReportOrgAdminUser
+  void searchUsersAndStatusInCurrentOrgPaged_mirrored_onlySearchesCurrentOrgCopy() {
+    initSampleData();
+    // Bootstrap Bill Turner is copied for DAT_ORG and matches the search, but is not in DIS_ORG
+    _userStatusService.syncOrganization(_organizationService.getOrganization("DAT_ORG"));
+
+    ManageUsersPageWrapper firstPage = _service.getPagedUsersAndStatusInCurrentOrg(0, 1, "b");
+    ManageUsersPageWrapper secondPage = _service.getPagedUsersAndStatusInCurrentOrg(1, 1, "b");
+
+    assertEquals(6, firstPage.getTotalUsersInOrg());
+    assertEquals(2, firstPage.getPageContent().getTotalElements());
+    List<ApiUserWithStatus> firstUsers = firstPage.getPageContent().stream().toList();
+    assertEquals(1, firstUsers.size());
+    checkApiUserWithStatus(firstUsers.get(0), "bobbity@example.com", "Bobberoo", UserStatus.ACTIVE);
+    List<ApiUserWithStatus> secondUsers = secondPage.getPageContent().stream().toList();
+    assertEquals(1, secondUsers.size());
+    checkApiUserWithStatus(
+        secondUsers.get(0), "notruby@example.com", "Reynolds", UserStatus.ACTIVE);
+
+    // DIS_ORG is copied from Okta once, then searched and paged in the database
+    verify(_oktaRepo, times(1))
+        .getAllUsersWithStatusForOrganization(argThat(o -> "DIS_ORG".equals(o.getExternalId())));
+  }
+
+  @Test
+  @WithSimpleReportOrgAdminUser
+  void resetUserPassword_mirrored_refreshesStatus() {
+    initSampleData();
+    _service.getUsersAndStatusInCurrentOrg();
+
+    final String email = "allfacilities@example.com"; // member of DIS_ORG
+    ApiUser apiUser = _apiUserRepo.findByLoginEmail(email).get();
+    _service.resetUserPassword(apiUser.getInternalId());
+    _service.resetUserMfa(apiUser.getInternalId());
+
+    verify(_oktaRepo, times(2)).getUserStatus(email);
+  }
+
   @Test
   @WithSimpleReportOrgAdminUser
   void getUser_withAdminUser_withOktaMigrationDisabled_success() {
@@ -735,6 +781,50 @@ class ApiUserServiceTest extends BaseServiceTest<ApiUserService> {
     assertEquals("Cannot find user.", caught.getMessage());
   }
 
+  @Test
+  @WithSimpleReportSiteAdminUser
+  void getTenantDataAccessForCurrentUser_grantCancelled_emptyOnNextLookup() {
+    Organization org = _dataFactory.saveValidOrganization();
+    _service.setCurrentUserTenantDataAccess(org.getExternalId(), "Investigating a support ticket");
+
+    Optional<TenantDataAccessGrant> grant = _service.getTenantDataAccessForCurrentUser();
+    assertThat(grant).isPresent();
+    assertThat(grant.get().authorities()).anyMatch(a -> a.contains(org.getExternalId()));
+
+    _service.setCurrentUserTenantDataAccess(null, null);
+
+    assertThat(_service.getTenantDataAccessForCurrentUser()).isEmpty();
+  }
+
+  @Test
+  @WithSimpleReportSiteAdminUser
+  void getTenantDataAccessForCurrentUser_grantCached_userNotLoadedAgain() {
+    Organization org = _dataFactory.saveValidOrganization();
+    _service.setCurrentUserTenantDataAccess(org.getExternalId(), "Investigating a support ticket");
+    Optional<TenantDataAccessGrant> first = _service.getTenantDataAccessForCurrentUser();
+    reset(_apiUserRepo);
+
+    Optional<TenantDataAccessGrant> second = _service.getTenantDataAccessForCurrentUser();
+
+    assertThat(second).isEqualTo(first);
+    verify(_apiUserRepo, never()).findByLoginEmail(anyString());
+  }
+
+  @Test
+  @WithSimpleReportSiteAdminUser
+  void getTenantDataAccessForCurrentUser_grantCancelledElsewhere_emptyOnNextLookup() {
+    Organization org = _dataFactory.saveValidOrganization();
+    _service.setCurrentUserTenantDataAccess(org.getExternalId(), "Investigating a support ticket");
+    assertThat(_service.getTenantDataAccessForCurrentUser()).isPresent();
+
+    // as another instance would: straight to the database, without evicting this one's cache
+    List<TenantDataAccess> grants = _tenantDataAccessRepo.findAll();
+    grants.forEach(grant -> grant.setIsDeleted(true));
+    _tenantDataAccessRepo.saveAll(grants);
+
+    assertThat(_service.getTenantDataAccessForCurrentUser()).isEmpty();
+  }
+
   @Test
   @WithSimpleReportSiteAdminUser
   void getUserByLoginEmail_accountWithNoOktaGroups_Error() {
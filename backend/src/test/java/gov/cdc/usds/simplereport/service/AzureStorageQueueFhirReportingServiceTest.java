@@ -14,6 +14,7 @@ import com.azure.storage.queue.QueueAsyncClient;
 import gov.cdc.usds.simplereport.api.converter.FhirConverter;
 import gov.cdc.usds.simplereport.db.model.PhoneNumber;
 import gov.cdc.usds.simplereport.db.model.auxiliary.PhoneType;
+import gov.cdc.usds.simplereport.utils.QueueMessageCodec;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -36,7 +37,8 @@ class AzureStorageQueueFhirReportingServiceTest {
     var context = spy(FhirContext.class);
     var client = mock(QueueAsyncClient.class);
     AzureStorageQueueFhirReportingService service =
-        new AzureStorageQueueFhirReportingService(context, client, gitProperties, fhirConverter);
+        new AzureStorageQueueFhirReportingService(
+            context, client, gitProperties, fhirConverter, QueueMessageCodec.passthrough());
 
     var multiplexTestEvent = createMultiplexTestEvent();
     ReflectionTestUtils.setField(multiplexTestEvent, "internalId", UUID.randomUUID());
@@ -69,7 +71,8 @@ class AzureStorageQueueFhirReportingServiceTest {
     var context = spy(FhirContext.class);
     var client = mock(QueueAsyncClient.class);
     AzureStorageQueueFhirReportingService service =
-        new AzureStorageQueueFhirReportingService(context, client, gitProperties, fhirConverter);
+        new AzureStorageQueueFhirReportingService(
+            context, client, gitProperties, fhirConverter, QueueMessageCodec.passthrough());
 
     var multiplexTestEvent = createCovidTestEvent();
     ReflectionTestUtils.setField(multiplexTestEvent, "internalId", UUID.randomUUID());
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,6 +15,7 @@ import com.azure.storage.queue.models.SendMessageResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gov.cdc.usds.simplereport.api.model.errors.TestEventSerializationFailureException;
 import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.utils.QueueMessageCodec;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
@@ -35,7 +37,8 @@ class AzureStorageQueueTestEventReportingServiceTest
         .thenReturn(CompletableFuture.completedFuture(new SendMessageResult()));
     when(client.sendMessage(any(String.class))).thenReturn(response);
 
-    var sut = new AzureStorageQueueTestEventReportingService(new ObjectMapper(), client);
+    var sut =
+        new AzureStorageQueueTestEventReportingService(client, QueueMessageCodec.passthrough());
     var testEvent = createTestEvent();
     sut.report(testEvent);
 
@@ -50,7 +53,8 @@ class AzureStorageQueueTestEventReportingServiceTest
         .thenReturn(CompletableFuture.completedFuture(new SendMessageResult()));
     when(client.sendMessage(any(String.class))).thenReturn(response);
 
-    var sut = new AzureStorageQueueTestEventReportingService(new ObjectMapper(), client);
+    var sut =
+        new AzureStorageQueueTestEventReportingService(client, QueueMessageCodec.passthrough());
     var invalidTestEventWithNoResults = new TestEvent();
     Throwable caught =
         assertThrows(
@@ -59,12 +63,25 @@ class AzureStorageQueueTestEventReportingServiceTest
     assertTrue(caught.getMessage().contains("TestEvent failed to serialize with UUID null"));
   }
 
+  @Test
+  void rejects_messages_over_the_queue_limit_without_sending() {
+    var client = mock(QueueAsyncClient.class);
+
+    var sut =
+        new AzureStorageQueueTestEventReportingService(client, new QueueMessageCodec(false, 10));
+    var testEvent = createTestEvent();
+
+    assertThrows(TestEventSerializationFailureException.class, () -> sut.report(testEvent));
+    verify(client, never()).sendMessage(any(String.class));
+  }
+
   @Test
   void surfaces_azure_failures_as_exceptions() {
     var client = mock(QueueAsyncClient.class);
     when(client.sendMessage(any(String.class))).thenThrow(IllegalCallerException.class);
 
-    var sut = new AzureStorageQueueTestEventReportingService(new ObjectMapper(), client);
+    var sut =
+        new AzureStorageQueueTestEventReportingService(client, QueueMessageCodec.passthrough());
     var testEvent = createTestEvent();
     assertThrows(IllegalCallerException.class, () -> sut.report(testEvent));
   }
@@ -77,7 +94,8 @@ class AzureStorageQueueTestEventReportingServiceTest
         .thenReturn(CompletableFuture.completedFuture(new SendMessageResult()));
     when(client.sendMessage(any(String.class))).thenReturn(response);
 
-    var sut = new AzureStorageQueueTestEventReportingService(new ObjectMapper(), client);
+    var sut =
+        new AzureStorageQueueTestEventReportingService(client, QueueMessageCodec.passthrough());
     var testEvent = createTestEvent();
 
     // Line separator and paragraph separator characters should be filtered out
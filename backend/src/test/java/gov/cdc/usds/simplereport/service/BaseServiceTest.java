@@ -14,6 +14,8 @@ import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportStandardUser;
 import gov.cdc.usds.simplereport.test_util.TestDataFactory;
 import gov.cdc.usds.simplereport.test_util.TestUserIdentities;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import net.ttddyy.dsproxy.QueryCountHolder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,6 +56,7 @@ public abstract class BaseServiceTest<T> {
   @Autowired protected TestDataFactory _dataFactory;
   @Autowired protected T _service;
   @MockBean private CurrentOrganizationRolesContextHolder _currentOrganizationRolesContextHolder;
+  @Autowired private EntityManager _entityManager;
 
   private static final String SPRING_SECURITY_DENIED = "Access Denied";
 
@@ -92,6 +95,14 @@ public abstract class BaseServiceTest<T> {
     _diseaseService.initDiseases();
   }
 
+  /** Runs the query behind a row estimate and counts its rows, to compare with an exact count. */
+  protected long countEstimatedRows(RecordCountService.RowEstimate estimate) {
+    Query query =
+        _entityManager.createNativeQuery("SELECT count(*) FROM (" + estimate.sql() + ") e");
+    estimate.parameters().forEach(query::setParameter);
+    return ((Number) query.getSingleResult()).longValue();
+  }
+
   protected static void assertSecurityError(Executable e) {
     AccessDeniedException exception = assertThrows(AccessDeniedException.class, e);
     assertEquals(SPRING_SECURITY_DENIED, exception.getMessage());
@@ -0,0 +1,116 @@
+package gov.cdc.usds.simplereport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.Person;
+import gov.cdc.usds.simplereport.db.model.TestOrder;
+import gov.cdc.usds.simplereport.db.repository.TestOrderRepository;
+import gov.cdc.usds.simplereport.service.model.FacilityQueueItem;
+import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportOrgAdminUser;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+@WithSimpleReportOrgAdminUser
+class FacilityQueueCacheServiceTest extends BaseServiceTest<TestOrderService> {
+
+  @Autowired private OrganizationService _organizationService;
+  @Autowired @SpyBean private TestOrderRepository _testOrderRepository;
+
+  private Organization org;
+  private Facility facility;
+
+  @BeforeEach
+  void setup() {
+    org = _organizationService.getCurrentOrganization();
+    facility = _dataFactory.createValidFacility(org);
+    reset(_testOrderRepository);
+  }
+
+  @Test
+  void getQueue_unchangedQueue_loadedOnce() {
+    TestOrder order = _dataFactory.createTestOrder(_dataFactory.createFullPerson(org), facility);
+
+    assertThat(queueIds()).containsExactly(order.getInternalId());
+    assertThat(queueIds()).containsExactly(order.getInternalId());
+
+    verify(_testOrderRepository, times(1)).fetchQueueSnapshot(org, facility);
+  }
+
+  @Test
+  void getQueue_patientAdded_reloaded() {
+    TestOrder first = _dataFactory.createTestOrder(_dataFactory.createFullPerson(org), facility);
+    assertThat(queueIds()).containsExactly(first.getInternalId());
+
+    Person patient = _dataFactory.createMinimalPerson(org, facility);
+    TestOrder second =
+        _service.addPatientToQueue(
+            facility.getInternalId(), patient, "", "", Map.of(), LocalDate.of(2024, 1, 1), false);
+
+    assertThat(queueIds()).containsExactly(first.getInternalId(), second.getInternalId());
+    verify(_testOrderRepository, times(2)).fetchQueueSnapshot(org, facility);
+  }
+
+  @Test
+  void getQueue_orderCancelled_droppedFromQueue() {
+    Person patient = _dataFactory.createFullPerson(org);
+    TestOrder order = _dataFactory.createTestOrder(patient, facility);
+    assertThat(queueIds()).containsExactly(order.getInternalId());
+
+    _service.removePatientFromQueue(patient.getInternalId());
+
+    assertThat(queueIds()).isEmpty();
+  }
+
+  @Test
+  void getQueue_pendingOrderUpdated_reloaded() {
+    TestOrder order = _dataFactory.createTestOrder(_dataFactory.createFullPerson(org), facility);
+    assertThat(_service.getQueue(facility.getInternalId()).get(0).timerStartedAt()).isNull();
+
+    _service.updateTimerStartedAt(order.getInternalId(), "1675437564000");
+
+    assertThat(_service.getQueue(facility.getInternalId()).get(0).timerStartedAt())
+        .isEqualTo("1675437564000");
+    verify(_testOrderRepository, times(2)).fetchQueueSnapshot(org, facility);
+  }
+
+  @Test
+  void getQueue_otherFacilityChanged_notReloaded() {
+    Facility other = _dataFactory.createValidFacility(org, "Other facility");
+    _dataFactory.createTestOrder(_dataFactory.createFullPerson(org), facility);
+    queueIds();
+
+    Person patient = _dataFactory.createMinimalPerson(org, other);
+    _service.addPatientToQueue(
+        other.getInternalId(), patient, "", "", Map.of(), LocalDate.of(2024, 1, 1), false);
+    queueIds();
+
+    verify(_testOrderRepository, times(1)).fetchQueueSnapshot(org, facility);
+  }
+
+  @Test
+  void getQueue_snapshotCannotBeChanged() {
+    _dataFactory.createTestOrder(_dataFactory.createFullPerson(org), facility);
+    List<FacilityQueueItem> queue = _service.getQueue(facility.getInternalId());
+
+    assertThrows(UnsupportedOperationException.class, queue::clear);
+    assertThat(_service.getQueue(facility.getInternalId())).hasSize(1);
+  }
+
+  private List<UUID> queueIds() {
+    return _service.getQueue(facility.getInternalId()).stream()
+        .map(FacilityQueueItem::internalId)
+        .toList();
+  }
+}
@@ -0,0 +1,116 @@
+package gov.cdc.usds.simplereport.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.okta.sdk.resource.model.UserStatus;
+import gov.cdc.usds.simplereport.db.model.ApiUser;
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.repository.ApiUserRepository;
+import gov.cdc.usds.simplereport.db.repository.OktaUserStatusRepository;
+import gov.cdc.usds.simplereport.db.repository.OrganizationRepository;
+import gov.cdc.usds.simplereport.idp.repository.OktaRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OktaUserStatusServiceTest {
+
+  private OktaUserStatusRepository statusRepo;
+  private ApiUserRepository apiUserRepo;
+  private OrganizationRepository orgRepo;
+  private OktaRepository oktaRepo;
+  private OktaUserStatusService sut;
+
+  @BeforeEach
+  void setup() {
+    statusRepo = mock(OktaUserStatusRepository.class);
+    apiUserRepo = mock(ApiUserRepository.class);
+    orgRepo = mock(OrganizationRepository.class);
+    oktaRepo = mock(OktaRepository.class);
+    sut = new OktaUserStatusService(statusRepo, apiUserRepo, orgRepo, oktaRepo, true);
+  }
+
+  @Test
+  void syncOrganization_upsertsListedUsersAndDropsTheRest() {
+    Organization org = org();
+    ApiUser ruby = user("ruby@example.com");
+    when(oktaRepo.getAllUsersWithStatusForOrganization(org))
+        .thenReturn(Map.of("ruby@example.com", UserStatus.SUSPENDED));
+    when(apiUserRepo.findAllByLoginEmailInOrderByName(Set.of("ruby@example.com")))
+        .thenReturn(List.of(ruby));
+
+    sut.syncOrganization(org);
+
+    verify(statusRepo).upsert(ruby.getInternalId(), org.getInternalId(), "SUSPENDED");
+    verify(statusRepo)
+        .deleteByOrganizationIdAndApiUserIdNotIn(org.getInternalId(), Set.of(ruby.getInternalId()));
+  }
+
+  @Test
+  void ensureMirrored_organizationAlreadyCopied_oktaNotCalled() {
+    Organization org = org();
+    when(statusRepo.existsByOrganizationId(org.getInternalId())).thenReturn(true);
+
+    sut.ensureMirrored(org);
+
+    verifyNoInteractions(oktaRepo);
+  }
+
+  @Test
+  void refreshUser_organizationCopied_statusReadFromOkta() {
+    Organization org = org();
+    ApiUser ruby = user("ruby@example.com");
+    when(statusRepo.existsByOrganizationId(org.getInternalId())).thenReturn(true);
+    when(oktaRepo.getUserStatus("ruby@example.com")).thenReturn(UserStatus.ACTIVE);
+
+    sut.refreshUser(ruby, org);
+
+    verify(statusRepo).upsert(ruby.getInternalId(), org.getInternalId(), "ACTIVE");
+  }
+
+  @Test
+  void refreshUser_oktaFails_changeNotFailed() {
+    ApiUser ruby = user("ruby@example.com");
+    UUID orgId = UUID.randomUUID();
+    when(statusRepo.findOrganizationIdByApiUserId(ruby.getInternalId()))
+        .thenReturn(Optional.of(orgId));
+    when(oktaRepo.getUserStatus(anyString())).thenThrow(new IllegalStateException("Okta is down"));
+
+    sut.refreshUser(ruby);
+
+    verify(statusRepo, never()).upsert(any(), eq(orgId), any());
+  }
+
+  @Test
+  void refreshUser_mirrorDisabled_doesNothing() {
+    sut = new OktaUserStatusService(statusRepo, apiUserRepo, orgRepo, oktaRepo, false);
+
+    sut.refreshUser(user("ruby@example.com"), org());
+
+    verifyNoInteractions(statusRepo, oktaRepo);
+  }
+
+  private static Organization org() {
+    Organization org = mock(Organization.class);
+    when(org.getInternalId()).thenReturn(UUID.randomUUID());
+    return org;
+  }
+
+  private static ApiUser user(String email) {
+    ApiUser user = mock(ApiUser.class);
+    when(user.getInternalId()).thenReturn(UUID.randomUUID());
+    when(user.getLoginEmail()).thenReturn(email);
+    return user;
+  }
+}
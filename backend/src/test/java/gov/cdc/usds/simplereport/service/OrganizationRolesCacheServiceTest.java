@@ -0,0 +1,145 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.ORGANIZATION_ROLES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import gov.cdc.usds.simplereport.config.authorization.OrganizationRole;
+import gov.cdc.usds.simplereport.config.authorization.OrganizationRoleClaims;
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.service.OrganizationRolesCacheService.ResolvedRoles;
+import gov.cdc.usds.simplereport.service.model.OrganizationRoles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class OrganizationRolesCacheServiceTest {
+
+  private static final UUID ORG_ID = UUID.randomUUID();
+  private static final UUID FACILITY_ID = UUID.randomUUID();
+  private static final List<OrganizationRoleClaims> CLAIMS =
+      List.of(
+          new OrganizationRoleClaims(
+              "MYNIFTYORG", Set.of(FACILITY_ID), Set.of(OrganizationRole.USER)));
+
+  private Organization org;
+  private Facility facility;
+  private CacheManager cacheManager;
+  private AtomicInteger resolutions;
+  private List<ResolvedRoles> cacheHits;
+
+  @BeforeEach
+  void setup() {
+    org = mock(Organization.class);
+    when(org.getInternalId()).thenReturn(ORG_ID);
+    facility = mock(Facility.class);
+    when(facility.getInternalId()).thenReturn(FACILITY_ID);
+    cacheManager = new CaffeineCacheManager(ORGANIZATION_ROLES);
+    resolutions = new AtomicInteger();
+    cacheHits = new ArrayList<>();
+  }
+
+  @Test
+  void resolve_equalClaims_resolvedOnceThenRebuiltFromIds() {
+    var sut = new OrganizationRolesCacheService(cacheManager);
+    List<OrganizationRoleClaims> sameClaimsNextRequest =
+        List.of(
+            new OrganizationRoleClaims(
+                "MYNIFTYORG", Set.of(FACILITY_ID), Set.of(OrganizationRole.USER)));
+
+    resolve(sut, this::fromCache);
+    Optional<OrganizationRoles> roles = resolve(sut, this::fromCache, sameClaimsNextRequest);
+
+    assertThat(resolutions).hasValue(1);
+    assertThat(cacheHits).containsExactly(new ResolvedRoles(ORG_ID, Set.of(FACILITY_ID)));
+    assertThat(roles).isPresent();
+    assertThat(roles.get().containsFacility(FACILITY_ID)).isTrue();
+  }
+
+  @Test
+  void resolve_afterInvalidateAll_resolvedAgain() {
+    var sut = new OrganizationRolesCacheService(cacheManager);
+
+    resolve(sut, this::fromCache);
+    sut.invalidateAll();
+    resolve(sut, this::fromCache);
+
+    assertThat(resolutions).hasValue(2);
+    assertThat(cacheHits).isEmpty();
+  }
+
+  @Test
+  void resolve_afterFacilityOrOrganizationWritten_resolvedAgain() {
+    var sut = new OrganizationRolesCacheService(cacheManager);
+
+    resolve(sut, this::fromCache);
+    sut.handleOrganizationRolesChanged(new OrganizationRolesChangedEvent());
+    resolve(sut, this::fromCache);
+
+    assertThat(resolutions).hasValue(2);
+    assertThat(cacheHits).isEmpty();
+  }
+
+  @Test
+  void resolve_cachedIdsNoLongerApply_resolvedAgain() {
+    var sut = new OrganizationRolesCacheService(cacheManager);
+
+    resolve(sut, this::fromCache);
+    resolve(sut, cached -> Optional.empty());
+
+    assertThat(resolutions).hasValue(2);
+  }
+
+  @Test
+  void resolve_emptyResult_notCached() {
+    var sut = new OrganizationRolesCacheService(cacheManager);
+
+    sut.resolve(CLAIMS, this::fromCache, this::resolveNothing);
+    sut.resolve(CLAIMS, this::fromCache, this::resolveNothing);
+
+    assertThat(resolutions).hasValue(2);
+    assertThat(cacheHits).isEmpty();
+  }
+
+  private Optional<OrganizationRoles> resolve(
+      OrganizationRolesCacheService sut,
+      Function<ResolvedRoles, Optional<OrganizationRoles>> fromCache) {
+    return resolve(sut, fromCache, CLAIMS);
+  }
+
+  private Optional<OrganizationRoles> resolve(
+      OrganizationRolesCacheService sut,
+      Function<ResolvedRoles, Optional<OrganizationRoles>> fromCache,
+      List<OrganizationRoleClaims> claims) {
+    return sut.resolve(
+        claims,
+        fromCache,
+        () -> {
+          resolutions.incrementAndGet();
+          return Optional.of(
+              new OrganizationRoles(org, Set.of(facility), Set.of(OrganizationRole.USER)));
+        });
+  }
+
+  private Optional<OrganizationRoles> resolveNothing() {
+    resolutions.incrementAndGet();
+    return Optional.empty();
+  }
+
+  private Optional<OrganizationRoles> fromCache(ResolvedRoles cached) {
+    cacheHits.add(cached);
+    return Optional.of(
+        new OrganizationRoles(
+            org, cached.facilityIds(), () -> Set.of(facility), Set.of(OrganizationRole.USER)));
+  }
+}
@@ -603,12 +603,6 @@ class OrganizationServiceTest extends BaseServiceTest<OrganizationService> {
   @Nested
   @DisplayName("Sending org admin email CSV")
   class SendOrgAdminEmailCSVTest {
-    @BeforeEach
-    void setupOrgs() {
-      when(oktaRepository.getOktaRateLimitSleepMs()).thenReturn(0);
-      when(oktaRepository.getOktaOrgsLimit()).thenReturn(1);
-    }
-
     private void sendOrgAdminEmailCSVAsync_mnFacilities_test(
         Map<String, List<String>> expectedMnFacilityOrgEmails)
         throws ExecutionException, InterruptedException {
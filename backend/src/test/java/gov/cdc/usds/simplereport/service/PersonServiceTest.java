@@ -21,6 +21,7 @@ import gov.cdc.usds.simplereport.db.model.auxiliary.PhoneType;
 import gov.cdc.usds.simplereport.db.model.auxiliary.StreetAddress;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultDeliveryPreference;
 import gov.cdc.usds.simplereport.db.repository.PatientRegistrationLinkRepository;
+import gov.cdc.usds.simplereport.service.model.Connection;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportEntryOnlyAllFacilitiesUser;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportEntryOnlyUser;
@@ -32,9 +33,12 @@ import gov.cdc.usds.simplereport.test_util.TestDataFactory;
 import gov.cdc.usds.simplereport.test_util.TestUserIdentities;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -169,6 +173,19 @@ class PersonServiceTest extends BaseServiceTest<PersonService> {
     assertEquals(2, site1Patients.size());
   }
 
+  @Test
+  @WithSimpleReportOrgAdminUser
+  void getPatientsCount_patientSavedOutsideTheService_countUpdated() {
+    Organization org = _orgService.getCurrentOrganization();
+    Facility fac = _dataFactory.createValidFacility(org);
+    _dataFactory.createMinimalPerson(org, fac);
+    assertEquals(1, _service.getPatientsCount(null, ArchivedStatus.UNARCHIVED, null, false, null));
+
+    _dataFactory.createMinimalPerson(org, fac, AMOS);
+
+    assertEquals(2, _service.getPatientsCount(null, ArchivedStatus.UNARCHIVED, null, false, null));
+  }
+
   @Test
   @WithSimpleReportStandardUser
   void addPatient_standardUser_successDependsOnFacilityAccess() {
@@ -877,6 +894,54 @@ class PersonServiceTest extends BaseServiceTest<PersonService> {
     assertPatientList(patients_site2_defaults, FRANK, JANNELLE, BRAD, DEXTER, KACEY, LEELOO, AMOS);
   }
 
+  @Test
+  @WithSimpleReportOrgAdminUser
+  void getPatientsConnection_walksPagesWithCursors() {
+    makedata(true, true);
+
+    Connection<Person> page0 =
+        _service.getPatientsConnection(null, 5, null, ArchivedStatus.UNARCHIVED, null, false, "");
+    assertPatientList(page0.getNodes(), CHARLES, FRANK, GALE, JANNELLE, BRAD);
+    assertTrue(page0.getPageInfo().hasNextPage());
+
+    // a patient added ahead of the cursor doesn't shift the next page
+    _dataFactory.createMinimalPerson(_org, null, new PersonName("Aaron", null, "Aardvark", null));
+
+    Connection<Person> page1 =
+        _service.getPatientsConnection(
+            null,
+            5,
+            page0.getPageInfo().endCursor(),
+            ArchivedStatus.UNARCHIVED,
+            null,
+            false,
+            "");
+    assertPatientList(page1.getNodes(), DEXTER, KACEY, ELIZABETH, LEELOO, AMOS);
+
+    Connection<Person> page2 =
+        _service.getPatientsConnection(
+            null,
+            5,
+            page1.getPageInfo().endCursor(),
+            ArchivedStatus.UNARCHIVED,
+            null,
+            false,
+            "");
+    assertPatientList(page2.getNodes(), IAN, HEINRICK);
+    assertFalse(page2.getPageInfo().hasNextPage());
+    assertEquals(13, page2.getTotalCount());
+  }
+
+  @Test
+  @WithSimpleReportOrgAdminUser
+  void getPatientsConnection_badCursor_throws() {
+    assertThrows(
+        IllegalGraphqlArgumentException.class,
+        () ->
+            _service.getPatientsConnection(
+                null, 5, "not-a-cursor", ArchivedStatus.UNARCHIVED, null, false, ""));
+  }
+
   @Test
   @WithSimpleReportOrgAdminUser
   void getPatients_search_OrgAdminUser() {
@@ -962,6 +1027,37 @@ class PersonServiceTest extends BaseServiceTest<PersonService> {
     assertEquals(0, patients4.size());
   }
 
+  @Test
+  @WithSimpleReportOrgAdminUser
+  void getPatients_search_ignoresAccents() {
+    makedata(false, true);
+    PersonName jose = new PersonName("José", null, "Núñez", null);
+    _dataFactory.createMinimalPerson(_org, _site1, jose);
+
+    assertPatientList(
+        _service.getPatients(null, 0, 100, ArchivedStatus.UNARCHIVED, "jose nunez", false, ""),
+        jose);
+    assertPatientList(
+        _service.getPatients(null, 0, 100, ArchivedStatus.UNARCHIVED, "NÚÑ", false, ""), jose);
+    assertEquals(1, _service.getPatientsCount(null, ArchivedStatus.UNARCHIVED, "núñez", false, ""));
+  }
+
+  @Test
+  @WithSimpleReportOrgAdminUser
+  void getPatients_multiWordSearch_ranksWholeWordMatchesFirst() {
+    makedata(false, true);
+    PersonName mariana = new PersonName("Mariana", null, "Cruzado", null);
+    PersonName maria = new PersonName("Maria", null, "Cruz", null);
+    PersonName mariaCruzado = new PersonName("Maria", null, "Cruzado", null);
+    _dataFactory.createMinimalPerson(_org, _site1, mariana);
+    _dataFactory.createMinimalPerson(_org, _site1, maria);
+    _dataFactory.createMinimalPerson(_org, _site1, mariaCruzado);
+
+    List<Person> patients =
+        _service.getPatients(null, 0, 100, ArchivedStatus.UNARCHIVED, "maria cruz", false, "");
+    assertPatientList(patients, maria, mariaCruzado, mariana);
+  }
+
   @Test
   @WithSimpleReportOrgAdminUser
   void patients_nonSupportAdmin_withOrgExternalId_throwsException() {
@@ -1263,6 +1359,35 @@ class PersonServiceTest extends BaseServiceTest<PersonService> {
         1, _service.getPatientsCount(site1Id, ArchivedStatus.ARCHIVED, "charles", false, ""));
   }
 
+  @Test
+  @WithSimpleReportOrgAdminUser
+  void patientRowEstimate_selectsSameRowsAsExactCount() {
+    makedata(true, true);
+    _dataFactory.createMinimalPerson(_dataFactory.saveValidOrganization(), null, AMOS);
+    _service
+        .getPatients(_site2.getInternalId(), 0, 1, ArchivedStatus.UNARCHIVED, null, false, "")
+        .forEach(p -> _service.setIsDeleted(p.getInternalId(), true, null));
+    UUID orgId = _org.getInternalId();
+    Set<UUID> accessibleFacilityIds =
+        _orgService.getAccessibleFacilities().stream()
+            .map(Facility::getInternalId)
+            .collect(Collectors.toSet());
+
+    for (ArchivedStatus archivedStatus : ArchivedStatus.values()) {
+      for (UUID facilityId : Arrays.asList(null, _site1.getInternalId(), _site2.getInternalId())) {
+        assertEquals(
+            _service.getPatientsCount(facilityId, archivedStatus, null, false, ""),
+            countEstimatedRows(
+                PersonService.patientRowEstimate(
+                    orgId,
+                    facilityId,
+                    facilityId == null ? accessibleFacilityIds : null,
+                    archivedStatus)),
+            archivedStatus + " patients at " + facilityId);
+      }
+    }
+  }
+
   @Test
   @WithSimpleReportEntryOnlyUser
   void getPatients_counts_entryonlyuser_successDependsOnFacilityAccess() {
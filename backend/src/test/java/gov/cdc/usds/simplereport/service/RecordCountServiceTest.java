@@ -0,0 +1,127 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.RECORD_COUNTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import gov.cdc.usds.simplereport.service.RecordCountService.CountKey;
+import gov.cdc.usds.simplereport.service.RecordCountService.RowEstimate;
+import gov.cdc.usds.simplereport.service.RecordCountService.Scope;
+import gov.cdc.usds.simplereport.service.model.RecordCount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class RecordCountServiceTest {
+
+  private static final UUID ORG_ID = UUID.randomUUID();
+  private static final UUID FACILITY_ID = UUID.randomUUID();
+  private static final RowEstimate ESTIMATE =
+      new RowEstimate("SELECT 1 FROM {h-schema}person p", Map.of());
+
+  private EntityManager entityManager;
+  private CacheManager cacheManager;
+  private Query explain;
+  private AtomicLong exactCounts;
+
+  @BeforeEach
+  void setup() {
+    entityManager = mock(EntityManager.class);
+    cacheManager = new CaffeineCacheManager(RECORD_COUNTS);
+    explain = mock(Query.class);
+    when(entityManager.createNativeQuery(anyString())).thenReturn(explain);
+    exactCounts = new AtomicLong();
+  }
+
+  @Test
+  void countExact_repeatedCalls_countsOnce() {
+    var sut = new RecordCountService(entityManager, cacheManager, 1000);
+    CountKey key = key(Scope.PATIENTS, null);
+
+    assertThat(sut.countExact(key, this::exactCount)).isEqualTo(42);
+    assertThat(sut.countExact(key, this::exactCount)).isEqualTo(42);
+
+    assertThat(exactCounts).hasValue(1);
+  }
+
+  @Test
+  void count_estimateAboveThreshold_returnsEstimateWithoutCounting() {
+    planEstimates(250000);
+    var sut = new RecordCountService(entityManager, cacheManager, 1000);
+
+    RecordCount count = sut.count(key(Scope.PATIENTS, null), this::exactCount, ESTIMATE);
+
+    assertThat(count).isEqualTo(new RecordCount(250000, true));
+    assertThat(exactCounts).hasValue(0);
+    verify(entityManager).createNativeQuery("EXPLAIN SELECT 1 FROM {h-schema}person p");
+  }
+
+  @Test
+  void count_estimateBelowThreshold_countsExactly() {
+    planEstimates(40);
+    var sut = new RecordCountService(entityManager, cacheManager, 1000);
+
+    RecordCount count = sut.count(key(Scope.PATIENTS, null), this::exactCount, ESTIMATE);
+
+    assertThat(count).isEqualTo(RecordCount.exact(42));
+    assertThat(exactCounts).hasValue(1);
+  }
+
+  @Test
+  void count_cachedExactCount_skipsEstimate() {
+    var sut = new RecordCountService(entityManager, cacheManager, 1000);
+    CountKey key = key(Scope.RESULTS, FACILITY_ID);
+    sut.countExact(key, this::exactCount);
+
+    RecordCount count = sut.count(key, this::exactCount, ESTIMATE);
+
+    assertThat(count).isEqualTo(RecordCount.exact(42));
+    verify(entityManager, never()).createNativeQuery(anyString());
+  }
+
+  @Test
+  void evict_facility_dropsFacilityAndOrganizationCountsOnly() {
+    var sut = new RecordCountService(entityManager, cacheManager, 1000);
+    UUID otherFacilityId = UUID.randomUUID();
+    sut.countExact(key(Scope.RESULTS, null), this::exactCount);
+    sut.countExact(key(Scope.RESULTS, FACILITY_ID), this::exactCount);
+    sut.countExact(key(Scope.RESULTS, otherFacilityId), this::exactCount);
+    sut.countExact(key(Scope.PATIENTS, FACILITY_ID), this::exactCount);
+
+    sut.handleRecordsChanged(new RecordCountsChangedEvent(Scope.RESULTS, ORG_ID, FACILITY_ID));
+    sut.countExact(key(Scope.RESULTS, null), this::exactCount);
+    sut.countExact(key(Scope.RESULTS, FACILITY_ID), this::exactCount);
+    sut.countExact(key(Scope.RESULTS, otherFacilityId), this::exactCount);
+    sut.countExact(key(Scope.PATIENTS, FACILITY_ID), this::exactCount);
+
+    assertThat(exactCounts).hasValue(6);
+  }
+
+  private long exactCount() {
+    exactCounts.incrementAndGet();
+    return 42;
+  }
+
+  private void planEstimates(long rows) {
+    when(explain.getResultList())
+        .thenReturn(
+            List.of(
+                "Seq Scan on person p  (cost=0.00..4.00 rows=" + rows + " width=4)",
+                "  Filter: (organization_id = '...'::uuid)"));
+  }
+
+  private static CountKey key(Scope scope, UUID facilityId) {
+    return new CountKey(scope, ORG_ID, facilityId, List.of());
+  }
+}
@@ -0,0 +1,143 @@
+package gov.cdc.usds.simplereport.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import gov.cdc.usds.simplereport.db.model.ReportBackfillJob;
+import gov.cdc.usds.simplereport.db.model.auxiliary.BackfillPosition;
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportBackfillStatus;
+import gov.cdc.usds.simplereport.db.repository.ReportBackfillJobRepository;
+import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReportBackfillRunnerTest {
+
+  private static final Date START = new Date(0);
+  private static final Date END = new Date(100_000);
+
+  private ReportBackfillJobRepository jobRepo;
+  private TestEventRepository testEventRepo;
+  private ReportingRetryService retryService;
+  private ReportBackfillJob job;
+  private UUID jobId;
+  private ReportBackfillRunner sut;
+
+  @BeforeEach
+  void setup() {
+    jobRepo = mock(ReportBackfillJobRepository.class);
+    testEventRepo = mock(TestEventRepository.class);
+    retryService = mock(ReportingRetryService.class);
+    jobId = UUID.randomUUID();
+    job = mock(ReportBackfillJob.class);
+    when(job.getInternalId()).thenReturn(jobId);
+    when(job.getStatus()).thenReturn(ReportBackfillStatus.RUNNING);
+    when(job.getStartDate()).thenReturn(START);
+    when(job.getEndDate()).thenReturn(END);
+    when(job.getMaxPerSecond()).thenReturn(10_000);
+    when(jobRepo.findById(jobId)).thenReturn(Optional.of(job));
+    when(jobRepo.checkpoint(any(), any(), any(), anyLong(), anyLong(), any())).thenReturn(1);
+    sut =
+        new ReportBackfillRunner(
+            jobRepo, testEventRepo, retryService, mock(TelemetryClient.class), 2, 2);
+  }
+
+  @Test
+  void run_walksPagesAndCheckpointsEach() {
+    BackfillPosition first = position(1);
+    BackfillPosition second = position(2);
+    BackfillPosition third = position(3);
+    UUID secondId = second.internalId();
+    UUID thirdId = third.internalId();
+    when(testEventRepo.findBackfillPage(
+            any(), any(), eq(START), eq(END), eq(START), eq(new UUID(0, 0)), any()))
+        .thenReturn(List.of(first, second));
+    when(testEventRepo.findBackfillPage(
+            any(), any(), any(), any(), eq(new Date(2)), eq(secondId), any()))
+        .thenReturn(List.of(third));
+    when(testEventRepo.findBackfillPage(
+            any(), any(), any(), any(), eq(new Date(3)), eq(thirdId), any()))
+        .thenReturn(List.of());
+    when(retryService.resend(any(), anyBoolean())).thenReturn(true);
+    when(retryService.resend(secondId, false)).thenReturn(false);
+
+    sut.run(jobId);
+
+    verify(retryService, times(3)).resend(any(), eq(false));
+    verify(jobRepo).checkpoint(jobId, new Date(2), secondId, 1, 1, ReportBackfillStatus.RUNNING);
+    verify(jobRepo).checkpoint(jobId, new Date(3), thirdId, 1, 0, ReportBackfillStatus.RUNNING);
+    verify(jobRepo)
+        .transition(jobId, ReportBackfillStatus.RUNNING, ReportBackfillStatus.COMPLETED, null);
+  }
+
+  @Test
+  void run_resumesFromCheckpoint() {
+    UUID cursorId = UUID.randomUUID();
+    when(job.getCursorCreatedAt()).thenReturn(new Date(50));
+    when(job.getCursorTestEventId()).thenReturn(cursorId);
+    when(testEventRepo.findBackfillPage(any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(List.of());
+
+    sut.run(jobId);
+
+    verify(testEventRepo)
+        .findBackfillPage(any(), any(), eq(START), eq(END), eq(new Date(50)), eq(cursorId), any());
+  }
+
+  @Test
+  void run_cancelledMidway_stopsAfterCurrentPage() {
+    BackfillPosition first = position(1);
+    when(testEventRepo.findBackfillPage(any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(List.of(first));
+    when(retryService.resend(any(), anyBoolean())).thenReturn(true);
+    when(jobRepo.checkpoint(any(), any(), any(), anyLong(), anyLong(), any())).thenReturn(0);
+
+    sut.run(jobId);
+
+    verify(testEventRepo, times(1))
+        .findBackfillPage(any(), any(), any(), any(), any(), any(), any());
+    verify(jobRepo, never()).transition(any(), any(), any(), any());
+  }
+
+  @Test
+  void run_failsAfterBeingCancelled_leavesJobCancelled() {
+    when(testEventRepo.findBackfillPage(any(), any(), any(), any(), any(), any(), any()))
+        .thenThrow(new IllegalStateException("database unavailable"));
+    when(jobRepo.transition(any(), any(), any(), any())).thenReturn(0);
+
+    sut.run(jobId);
+
+    verify(jobRepo)
+        .transition(
+            jobId,
+            ReportBackfillStatus.RUNNING,
+            ReportBackfillStatus.FAILED,
+            "database unavailable");
+  }
+
+  @Test
+  void run_notRunning_doesNothing() {
+    when(job.getStatus()).thenReturn(ReportBackfillStatus.CANCELLED);
+
+    sut.run(jobId);
+
+    verify(testEventRepo, never())
+        .findBackfillPage(any(), any(), any(), any(), any(), any(), any());
+  }
+
+  private static BackfillPosition position(long createdAt) {
+    return new BackfillPosition(new Date(createdAt), UUID.randomUUID());
+  }
+}
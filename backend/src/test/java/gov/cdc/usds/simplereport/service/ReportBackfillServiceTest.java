@@ -0,0 +1,87 @@
+package gov.cdc.usds.simplereport.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
+import gov.cdc.usds.simplereport.db.model.ReportBackfillJob;
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportBackfillStatus;
+import gov.cdc.usds.simplereport.db.repository.ReportBackfillJobRepository;
+import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReportBackfillServiceTest {
+
+  private ReportBackfillJobRepository jobRepo;
+  private ReportBackfillRunner runner;
+  private ReportBackfillJob job;
+  private UUID jobId;
+  private ReportBackfillService sut;
+
+  @BeforeEach
+  void setup() {
+    jobRepo = mock(ReportBackfillJobRepository.class);
+    runner = mock(ReportBackfillRunner.class);
+    jobId = UUID.randomUUID();
+    job = mock(ReportBackfillJob.class);
+    when(jobRepo.findById(jobId)).thenReturn(Optional.of(job));
+    sut = new ReportBackfillService(jobRepo, mock(TestEventRepository.class), runner, 20, 10);
+  }
+
+  @Test
+  void resumeBackfill_cancelledJob_restartsRunner() {
+    when(job.getStatus()).thenReturn(ReportBackfillStatus.CANCELLED);
+    when(jobRepo.transition(
+            jobId, ReportBackfillStatus.CANCELLED, ReportBackfillStatus.RUNNING, null))
+        .thenReturn(1);
+
+    sut.resumeBackfill(jobId);
+
+    verify(runner).runAsync(jobId);
+  }
+
+  @Test
+  void resumeBackfill_resumedBySomeoneElse_doesNotStartSecondRunner() {
+    when(job.getStatus()).thenReturn(ReportBackfillStatus.FAILED);
+    when(jobRepo.transition(any(), any(), any(), any())).thenReturn(0);
+
+    assertThrows(IllegalGraphqlArgumentException.class, () -> sut.resumeBackfill(jobId));
+
+    verify(runner, never()).runAsync(any());
+  }
+
+  @Test
+  void resumeBackfill_runningJobStillMakingProgress_throws() {
+    when(job.getStatus()).thenReturn(ReportBackfillStatus.RUNNING);
+    when(jobRepo.takeOverStale(eq(jobId), eq(ReportBackfillStatus.RUNNING), any())).thenReturn(0);
+
+    assertThrows(IllegalGraphqlArgumentException.class, () -> sut.resumeBackfill(jobId));
+
+    verify(runner, never()).runAsync(any());
+  }
+
+  @Test
+  void resumeBackfill_staleRunningJob_takenOver() {
+    when(job.getStatus()).thenReturn(ReportBackfillStatus.RUNNING);
+    when(jobRepo.takeOverStale(eq(jobId), eq(ReportBackfillStatus.RUNNING), any())).thenReturn(1);
+
+    sut.resumeBackfill(jobId);
+
+    verify(runner).runAsync(jobId);
+  }
+
+  @Test
+  void cancelBackfill_notRunning_throws() {
+    when(jobRepo.transition(any(), any(), any(), any())).thenReturn(0);
+
+    assertThrows(IllegalGraphqlArgumentException.class, () -> sut.cancelBackfill(jobId));
+  }
+}
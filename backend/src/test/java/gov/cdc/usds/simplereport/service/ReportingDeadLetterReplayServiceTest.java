@@ -0,0 +1,47 @@
+package gov.cdc.usds.simplereport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import gov.cdc.usds.simplereport.db.model.ReportingDeadLetter;
+import gov.cdc.usds.simplereport.db.repository.ReportingDeadLetterRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+class ReportingDeadLetterReplayServiceTest {
+
+  private final ReportingDeadLetterRepository deadLetterRepo =
+      mock(ReportingDeadLetterRepository.class);
+  private final ReportingRetryService retryService = mock(ReportingRetryService.class);
+  private final ReportingDeadLetterReplayService sut =
+      new ReportingDeadLetterReplayService(deadLetterRepo, retryService, 50);
+
+  @Test
+  void redeliverDue_replaysEachDueDeadLetter() {
+    ReportingDeadLetter delivered = deadLetter();
+    ReportingDeadLetter failing = deadLetter();
+    ReportingDeadLetter throwing = deadLetter();
+    when(deadLetterRepo.findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(any(), any()))
+        .thenReturn(List.of(delivered, failing, throwing));
+    when(retryService.replay(delivered.getInternalId())).thenReturn(true);
+    when(retryService.replay(failing.getInternalId())).thenReturn(false);
+    when(retryService.replay(throwing.getInternalId())).thenThrow(new IllegalStateException());
+
+    assertThat(sut.redeliverDue()).isEqualTo(1);
+
+    verify(deadLetterRepo)
+        .findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(any(), any(PageRequest.class));
+    verify(retryService).replay(throwing.getInternalId());
+  }
+
+  private ReportingDeadLetter deadLetter() {
+    ReportingDeadLetter deadLetter = mock(ReportingDeadLetter.class);
+    when(deadLetter.getInternalId()).thenReturn(UUID.randomUUID());
+    return deadLetter;
+  }
+}
@@ -0,0 +1,170 @@
+package gov.cdc.usds.simplereport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import gov.cdc.usds.simplereport.api.model.errors.TestEventSerializationFailureException;
+import gov.cdc.usds.simplereport.db.model.ReportingDeadLetter;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.db.model.auxiliary.ReportingQueue;
+import gov.cdc.usds.simplereport.db.repository.ReportingDeadLetterRepository;
+import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ReportingRetryServiceTest {
+
+  private TestEventReportingService csvReporter;
+  private TestEventReportingService fhirReporter;
+  private ReportingDeadLetterRepository deadLetterRepo;
+  private TestEventRepository testEventRepo;
+  private TestEvent testEvent;
+  private UUID testEventId;
+  private ReportingRetryService sut;
+
+  @BeforeEach
+  void setup() {
+    csvReporter = mock(TestEventReportingService.class);
+    fhirReporter = mock(TestEventReportingService.class);
+    deadLetterRepo = mock(ReportingDeadLetterRepository.class);
+    testEventRepo = mock(TestEventRepository.class);
+    testEvent = mock(TestEvent.class);
+    testEventId = UUID.randomUUID();
+    when(testEvent.getInternalId()).thenReturn(testEventId);
+    when(csvReporter.reportAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+    when(fhirReporter.reportAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+    sut =
+        new ReportingRetryService(
+            csvReporter,
+            fhirReporter,
+            deadLetterRepo,
+            testEventRepo,
+            mock(TelemetryClient.class),
+            mock(PlatformTransactionManager.class),
+            3,
+            60,
+            3600);
+  }
+
+  @Test
+  void report_failure_deadLettersForLaterRetryWithoutRetryingInPlace() {
+    when(csvReporter.reportAsync(testEvent))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("queue unavailable")));
+
+    assertThat(sut.report(testEvent, ReportingQueue.CSV)).isFalse();
+
+    verify(csvReporter, times(1)).reportAsync(testEvent);
+    verify(deadLetterRepo)
+        .recordFailure(eq(testEventId), eq("CSV"), eq(1), eq("queue unavailable"), notNull());
+    verify(fhirReporter, never()).reportAsync(any());
+  }
+
+  @Test
+  void report_delivered_noDeadLetter() {
+    assertThat(sut.report(testEvent, ReportingQueue.FHIR)).isTrue();
+
+    verify(deadLetterRepo, never()).recordFailure(any(), anyString(), anyInt(), any(), any());
+  }
+
+  @Test
+  void report_serializationFailure_isNotRetried() {
+    when(fhirReporter.reportAsync(testEvent))
+        .thenThrow(new TestEventSerializationFailureException(testEventId, "bad"));
+
+    assertThat(sut.report(testEvent, ReportingQueue.FHIR)).isFalse();
+
+    verify(fhirReporter, times(1)).reportAsync(testEvent);
+    verify(deadLetterRepo).recordFailure(eq(testEventId), eq("FHIR"), eq(1), any(), isNull());
+  }
+
+  @Test
+  void replay_delivered_removesDeadLetter() {
+    ReportingDeadLetter deadLetter = deadLetter(ReportingQueue.FHIR, 1);
+    when(deadLetterRepo.findById(deadLetter.getInternalId())).thenReturn(Optional.of(deadLetter));
+    when(testEventRepo.findById(testEventId)).thenReturn(Optional.of(testEvent));
+
+    assertThat(sut.replay(deadLetter.getInternalId())).isTrue();
+
+    verify(deadLetterRepo).claim(eq(deadLetter.getInternalId()), notNull());
+    verify(deadLetterRepo).delete(deadLetter);
+  }
+
+  @Test
+  void replay_claimedElsewhere_notSent() {
+    ReportingDeadLetter deadLetter = deadLetter(ReportingQueue.FHIR, 1);
+    when(deadLetterRepo.claim(eq(deadLetter.getInternalId()), any())).thenReturn(0);
+    when(deadLetterRepo.findById(deadLetter.getInternalId())).thenReturn(Optional.of(deadLetter));
+    when(testEventRepo.findById(testEventId)).thenReturn(Optional.of(testEvent));
+
+    assertThat(sut.replay(deadLetter.getInternalId())).isFalse();
+
+    verify(fhirReporter, never()).reportAsync(any());
+    verify(deadLetterRepo, never()).delete(any());
+  }
+
+  @Test
+  void replay_deadLetterGone_notDelivered() {
+    UUID deadLetterId = UUID.randomUUID();
+    when(deadLetterRepo.claim(eq(deadLetterId), any())).thenReturn(1);
+    when(deadLetterRepo.findById(deadLetterId)).thenReturn(Optional.empty());
+
+    assertThat(sut.replay(deadLetterId)).isFalse();
+
+    verify(fhirReporter, never()).reportAsync(any());
+    verify(csvReporter, never()).reportAsync(any());
+  }
+
+  @Test
+  void replay_stillFailing_schedulesAnotherAttempt() {
+    ReportingDeadLetter deadLetter = deadLetter(ReportingQueue.CSV, 1);
+    when(deadLetterRepo.findById(deadLetter.getInternalId())).thenReturn(Optional.of(deadLetter));
+    when(testEventRepo.findById(testEventId)).thenReturn(Optional.of(testEvent));
+    when(csvReporter.reportAsync(testEvent))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("queue unavailable")));
+
+    assertThat(sut.replay(deadLetter.getInternalId())).isFalse();
+
+    verify(deadLetterRepo, never()).delete(any());
+    verify(deadLetterRepo)
+        .recordFailure(eq(testEventId), eq("CSV"), eq(1), eq("queue unavailable"), notNull());
+  }
+
+  @Test
+  void replay_attemptsUsedUp_stopsRetrying() {
+    ReportingDeadLetter deadLetter = deadLetter(ReportingQueue.CSV, 2);
+    when(deadLetterRepo.findById(deadLetter.getInternalId())).thenReturn(Optional.of(deadLetter));
+    when(testEventRepo.findById(testEventId)).thenReturn(Optional.of(testEvent));
+    when(csvReporter.reportAsync(testEvent))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("queue unavailable")));
+
+    assertThat(sut.replay(deadLetter.getInternalId())).isFalse();
+
+    verify(deadLetterRepo)
+        .recordFailure(eq(testEventId), eq("CSV"), eq(1), eq("queue unavailable"), isNull());
+  }
+
+  private ReportingDeadLetter deadLetter(ReportingQueue queue, int attempts) {
+    ReportingDeadLetter deadLetter = mock(ReportingDeadLetter.class);
+    when(deadLetter.getInternalId()).thenReturn(UUID.randomUUID());
+    when(deadLetter.getTestEventInternalId()).thenReturn(testEventId);
+    when(deadLetter.getQueue()).thenReturn(queue);
+    when(deadLetter.getAttempts()).thenReturn(attempts);
+    when(deadLetterRepo.claim(eq(deadLetter.getInternalId()), any())).thenReturn(1);
+    return deadLetter;
+  }
+}
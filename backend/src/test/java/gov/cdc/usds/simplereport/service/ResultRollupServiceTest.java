@@ -0,0 +1,144 @@
+package gov.cdc.usds.simplereport.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.Person;
+import gov.cdc.usds.simplereport.db.model.TestEvent;
+import gov.cdc.usds.simplereport.db.model.auxiliary.FacilityTestResultWithCount;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.db.repository.ResultDailyRollupRepository;
+import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class ResultRollupServiceTest extends BaseServiceTest<ResultRollupService> {
+
+  private static final String COVID_LOINC = "96741-4";
+  private static final List<TestCorrectionStatus> CURRENT =
+      List.of(TestCorrectionStatus.ORIGINAL, TestCorrectionStatus.CORRECTED);
+
+  @Autowired private ResultDailyRollupRepository _rollupRepo;
+  @Autowired private TestEventRepository _testEventRepo;
+
+  private Facility _facility;
+  private Person _person;
+
+  @BeforeEach
+  void setupData() {
+    Organization org = _dataFactory.saveValidOrganization();
+    _facility = _dataFactory.createValidFacility(org);
+    _person = _dataFactory.createFullPerson(org);
+  }
+
+  @Test
+  void countByFacilityAndResult_partialDays_matchesTestEvents() {
+    createTest(TestResult.POSITIVE, at(2020, 6, 1, 8));
+    createTest(TestResult.NEGATIVE, at(2020, 6, 1, 20));
+    createTest(TestResult.NEGATIVE, at(2020, 6, 2, 12));
+    createTest(TestResult.POSITIVE, at(2020, 6, 3, 9));
+    createTest(TestResult.NEGATIVE, at(2020, 6, 3, 18));
+
+    Date start = at(2020, 6, 1, 12);
+    Date end = at(2020, 6, 3, 12);
+
+    Map<TestResult, Long> counts = countCovid(start, end);
+    assertEquals(Map.of(TestResult.NEGATIVE, 2L, TestResult.POSITIVE, 1L), counts);
+    assertEquals(toMap(rawCount(start, end)), counts);
+  }
+
+  @Test
+  void countByFacilityAndResult_withinOneDay_matchesTestEvents() {
+    createTest(TestResult.POSITIVE, at(2020, 6, 1, 8));
+    createTest(TestResult.NEGATIVE, at(2020, 6, 1, 20));
+
+    assertEquals(
+        Map.of(TestResult.NEGATIVE, 1L), countCovid(at(2020, 6, 1, 12), at(2020, 6, 1, 23)));
+  }
+
+  @Test
+  void recordTestEvent_removalAndCorrection_updateCounts() {
+    TestEvent removed = createTest(TestResult.POSITIVE, at(2020, 6, 2, 10));
+    TestEvent corrected = createTest(TestResult.NEGATIVE, at(2020, 6, 2, 11));
+    createTest(TestResult.NEGATIVE, at(2020, 6, 2, 12));
+
+    _dataFactory.createTestEventCorrection(removed, TestCorrectionStatus.REMOVED);
+    _dataFactory.createTestEventCorrection(corrected, TestCorrectionStatus.CORRECTED);
+
+    Date start = at(2020, 6, 1, 0);
+    Date end = at(2020, 6, 4, 0);
+    Map<TestResult, Long> counts = countCovid(start, end);
+    assertEquals(Map.of(TestResult.NEGATIVE, 2L), counts);
+    assertEquals(toMap(rawCount(start, end)), counts);
+  }
+
+  @Test
+  void rebuild_afterRollupLost_restoresCounts() {
+    TestEvent removed = createTest(TestResult.POSITIVE, at(2020, 6, 2, 10));
+    createTest(TestResult.NEGATIVE, at(2020, 6, 2, 11));
+    createTest(TestResult.POSITIVE, at(2020, 6, 5, 11));
+    _dataFactory.createTestEventCorrection(removed, TestCorrectionStatus.REMOVED);
+    Date start = at(2020, 6, 1, 0);
+    Date end = at(2020, 6, 7, 0);
+    Map<TestResult, Long> expected = countCovid(start, end);
+
+    _rollupRepo.deleteAll();
+    assertThat(countCovid(start, end)).isEmpty();
+
+    _service.rebuild(LocalDate.of(2020, 6, 1), LocalDate.of(2020, 6, 6));
+    assertEquals(expected, countCovid(start, end));
+  }
+
+  @Test
+  void rebuild_invalidRange_throws() {
+    LocalDate day = LocalDate.of(2020, 6, 1);
+    assertThrows(
+        IllegalGraphqlArgumentException.class, () -> _service.rebuild(day, day.minusDays(1)));
+    assertThrows(
+        IllegalGraphqlArgumentException.class,
+        () -> _service.rebuild(day, day.plusDays(ResultRollupService.MAX_REBUILD_DAYS)));
+  }
+
+  private TestEvent createTest(TestResult result, Date dateTested) {
+    return _dataFactory.createTestEventWithDate(_person, _facility, result, dateTested);
+  }
+
+  private Map<TestResult, Long> countCovid(Date start, Date end) {
+    return toMap(
+        _service.countByFacilityAndResult(
+            List.of(_facility.getInternalId()), start, end, COVID_LOINC, CURRENT));
+  }
+
+  private List<FacilityTestResultWithCount> rawCount(Date start, Date end) {
+    List<UUID> facilityIds = List.of(_facility.getInternalId());
+    return _testEventRepo.countByFacilityAndResult(facilityIds, start, end, COVID_LOINC, CURRENT);
+  }
+
+  private static Map<TestResult, Long> toMap(List<FacilityTestResultWithCount> rows) {
+    return rows.stream()
+        .collect(
+            Collectors.toMap(
+                FacilityTestResultWithCount::getResult,
+                FacilityTestResultWithCount::getCount,
+                Long::sum));
+  }
+
+  private static Date at(int year, int month, int day, int hour) {
+    return Date.from(
+        LocalDateTime.of(year, month, day, hour, 0).atZone(ZoneId.systemDefault()).toInstant());
+  }
+}
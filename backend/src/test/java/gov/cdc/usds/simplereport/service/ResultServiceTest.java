@@ -1,5 +1,7 @@
 package gov.cdc.usds.simplereport.service;
 
+import static gov.cdc.usds.simplereport.service.ResultService.ListProjection.ENTITIES;
+import static gov.cdc.usds.simplereport.service.ResultService.ListProjection.LIST_COLUMNS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -15,16 +17,22 @@ import gov.cdc.usds.simplereport.db.model.auxiliary.PersonName;
 import gov.cdc.usds.simplereport.db.model.auxiliary.PersonRole;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestCorrectionStatus;
 import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultExportRow;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResultsListItem;
 import gov.cdc.usds.simplereport.db.repository.ResultRepository;
 import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
+import gov.cdc.usds.simplereport.service.model.Connection;
 import gov.cdc.usds.simplereport.test_util.DbTruncator;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration;
 import gov.cdc.usds.simplereport.test_util.TestDataFactory;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -54,6 +62,21 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
   private final Date SECOND_TEST_DATE = Date.from(Instant.parse("2023-06-01T14:31:33.197021300Z"));
   private final Date THIRD_TEST_DATE = Date.from(Instant.parse("2023-12-01T14:31:33.197021300Z"));
 
+  // the fields the results list shows, with related entities compared by id
+  private static List<Object> listedFields(TestResultsListItem item) {
+    return List.of(
+        item.getId(),
+        item.getFacility().getInternalId(),
+        item.getPatient().getInternalId(),
+        item.getDeviceType().getInternalId(),
+        item.getCreatedBy().getInternalId(),
+        item.getDisease(),
+        item.getTestResult(),
+        item.getDateTested().getTime(),
+        item.getCorrectionStatus(),
+        item.getTestOrderId());
+  }
+
   private static Date convertDate(LocalDateTime dateTime) {
     return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
   }
@@ -108,17 +131,186 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
     @Test
     @SliceTestConfiguration.WithSimpleReportOrgAdminUser
     void getOrganizationResults_noFilter() {
-      var res = _service.getOrganizationResults(null, null, null, null, null, null, 0, 10).toList();
+      var res =
+          _service
+              .getOrganizationResults(ENTITIES, null, null, null, null, null, null, 0, 10)
+              .toList();
 
       assertEquals(7, res.size());
     }
 
+    @Test
+    @SliceTestConfiguration.WithSimpleReportOrgAdminUser
+    void getOrganizationResultsConnection_pagesMatchOffsetResults() {
+      List<String> expected =
+          _service
+              .getOrganizationResults(ENTITIES, null, null, null, null, null, null, 0, 10)
+              .stream()
+              .map(item -> item.getId() + item.getDisease())
+              .toList();
+
+      List<String> walked = new ArrayList<>();
+      String after = null;
+      Connection<TestResultsListItem> page;
+      do {
+        page =
+            _service.getOrganizationResultsConnection(
+                ENTITIES, null, null, null, null, null, null, 3, after);
+        assertThat(page.getNodes()).hasSizeLessThanOrEqualTo(3);
+        page.getNodes().forEach(item -> walked.add(item.getId() + item.getDisease()));
+        after = page.getPageInfo().endCursor();
+      } while (page.getPageInfo().hasNextPage());
+
+      assertThat(walked).containsExactlyInAnyOrderElementsOf(expected).hasSize(7);
+      assertEquals(7, page.getTotalCount());
+    }
+
+    @Test
+    @SliceTestConfiguration.WithSimpleReportOrgAdminUser
+    void getOrganizationResults_listColumns_matchEntities() {
+      List<List<Object>> expected =
+          _service
+              .getOrganizationResults(ENTITIES, null, null, null, null, null, null, 0, 10)
+              .stream()
+              .map(ResultServiceTest::listedFields)
+              .toList();
+
+      var summaries =
+          _service.getOrganizationResults(LIST_COLUMNS, null, null, null, null, null, null, 0, 10);
+
+      assertEquals(7, summaries.getTotalElements());
+      assertThat(summaries.getContent())
+          .extracting(ResultServiceTest::listedFields)
+          .containsExactlyElementsOf(expected);
+      assertThat(summaries.getContent()).extracting("surveyData").containsOnlyNulls();
+    }
+
+    @Test
+    @SliceTestConfiguration.WithSimpleReportOrgAdminUser
+    void getFacilityResultsConnection_listColumns_pagesMatchOffsetResults() {
+      List<String> expected =
+          _service
+              .getFacilityResults(
+                  ENTITIES, facilityA.getInternalId(), null, null, null, null, null, null, 0, 10)
+              .stream()
+              .map(item -> item.getId() + item.getDisease())
+              .toList();
+
+      List<String> walked = new ArrayList<>();
+      String after = null;
+      Connection<TestResultsListItem> page;
+      do {
+        page =
+            _service.getFacilityResultsConnection(
+                LIST_COLUMNS,
+                facilityA.getInternalId(),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                3,
+                after);
+        page.getNodes().forEach(item -> walked.add(item.getId() + item.getDisease()));
+        after = page.getPageInfo().endCursor();
+      } while (page.getPageInfo().hasNextPage());
+
+      assertThat(walked).containsExactlyInAnyOrderElementsOf(expected).hasSize(4);
+    }
+
+    @Test
+    @SliceTestConfiguration.WithSimpleReportOrgAdminUser
+    void exportOrganizationResults_streamsEveryResultInPageOrder() {
+      List<String> expected =
+          _service
+              .getOrganizationResults(LIST_COLUMNS, null, null, null, null, null, null, 0, 10)
+              .stream()
+              .map(item -> item.getId() + item.getDisease())
+              .toList();
+
+      List<TestResultExportRow> exported = new ArrayList<>();
+      _service.exportOrganizationResults(null, null, null, null, null, null, exported::add);
+
+      assertThat(exported)
+          .extracting(row -> row.getTestEventId() + row.getDisease())
+          .containsExactlyInAnyOrderElementsOf(expected)
+          .hasSize(7);
+      assertThat(exported)
+          .extracting(TestResultExportRow::getResultCreatedAt)
+          .isSortedAccordingTo(Comparator.reverseOrder());
+      assertThat(exported)
+          .extracting(TestResultExportRow::getFacilityName)
+          .containsOnly("Facility A", "Facility B");
+    }
+
+    @Test
+    @SliceTestConfiguration.WithSimpleReportOrgAdminUser
+    void exportFacilityResults_appliesFilters() {
+      List<TestResultExportRow> exported = new ArrayList<>();
+      _service.exportFacilityResults(
+          facilityA.getInternalId(),
+          null,
+          null,
+          PersonRole.RESIDENT,
+          null,
+          null,
+          null,
+          exported::add);
+
+      assertThat(exported)
+          .hasSize(3)
+          .allSatisfy(
+              row -> {
+                assertEquals("Prime", row.getLastName());
+                assertEquals(PersonRole.RESIDENT, row.getRole());
+                assertEquals(SECOND_TEST_DATE, row.getDateTested());
+              });
+    }
+
+    @Test
+    @SliceTestConfiguration.WithSimpleReportOrgAdminUser
+    void resultRowEstimate_selectsSameRowsAsExactCount() {
+      var testEvent = testDataFactory.createTestEvent(personA, facilityA);
+      testDataFactory.createTestEventCorrection(testEvent, TestCorrectionStatus.CORRECTED);
+      UUID orgId = org.getInternalId();
+      List<Date[]> dateRanges =
+          List.of(
+              new Date[] {null, null},
+              new Date[] {SECOND_TEST_DATE, null},
+              new Date[] {null, SECOND_TEST_DATE},
+              new Date[] {FIRST_TEST_DATE, SECOND_TEST_DATE});
+
+      for (Date[] range : dateRanges) {
+        // pages of one are never short, so the totals come from counting
+        assertEquals(
+            _service
+                .getOrganizationResults(
+                    LIST_COLUMNS, null, null, null, null, range[0], range[1], 0, 1)
+                .getTotalElements(),
+            countEstimatedRows(ResultService.resultRowEstimate(orgId, null, range[0], range[1])));
+        for (Facility facility : List.of(facilityA, facilityB)) {
+          UUID facilityId = facility.getInternalId();
+          assertEquals(
+              _service
+                  .getFacilityResults(
+                      LIST_COLUMNS, facilityId, null, null, null, null, range[0], range[1], 0, 1)
+                  .getTotalElements(),
+              countEstimatedRows(
+                  ResultService.resultRowEstimate(orgId, facilityId, range[0], range[1])));
+        }
+      }
+    }
+
     @Test
     @SliceTestConfiguration.WithSimpleReportOrgAdminUser
     void getOrganizationResults_doesNotShowCorrectEvents() {
       var testEvent = testDataFactory.createTestEvent(personA, facilityA);
       testDataFactory.createTestEventCorrection(testEvent, TestCorrectionStatus.CORRECTED);
-      var res = _service.getOrganizationResults(null, null, null, null, null, null, 0, 10).toList();
+      var res =
+          _service
+              .getOrganizationResults(ENTITIES, null, null, null, null, null, null, 0, 10)
+              .toList();
 
       assertEquals(8, res.size());
     }
@@ -128,7 +320,10 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
     void getOrganizationResults_showsRemovedEvents() {
       var testEvent = testDataFactory.createTestEvent(personA, facilityA);
       testDataFactory.createTestEventCorrection(testEvent, TestCorrectionStatus.REMOVED);
-      var res = _service.getOrganizationResults(null, null, null, null, null, null, 0, 10).toList();
+      var res =
+          _service
+              .getOrganizationResults(ENTITIES, null, null, null, null, null, null, 0, 10)
+              .toList();
 
       assertEquals(8, res.size());
     }
@@ -139,7 +334,7 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
       var res =
           _service
               .getFacilityResults(
-                  facilityA.getInternalId(), null, null, null, null, null, null, 0, 10)
+                  ENTITIES, facilityA.getInternalId(), null, null, null, null, null, null, 0, 10)
               .toList();
       assertEquals(4, res.size());
     }
@@ -151,10 +346,10 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
       var res =
           _service
               .getFacilityResults(
-                  facilityA.getInternalId(), null, null, null, covid, null, null, 0, 10)
+                  ENTITIES, facilityA.getInternalId(), null, null, null, covid, null, null, 0, 10)
               .toList();
       assertEquals(2, res.size());
-      assertTrue(res.stream().allMatch(r -> covid.getName().equals(r.getDisease().getName())));
+      assertTrue(res.stream().allMatch(r -> covid.getName().equals(r.getDisease())));
     }
 
     @Test
@@ -163,6 +358,7 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
       var res =
           _service
               .getFacilityResults(
+                  ENTITIES,
                   facilityA.getInternalId(),
                   null,
                   TestResult.POSITIVE,
@@ -183,6 +379,7 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
       var res =
           _service
               .getFacilityResults(
+                  ENTITIES,
                   facilityA.getInternalId(),
                   personB.getInternalId(),
                   null,
@@ -196,11 +393,7 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
       assertEquals(3, res.size());
       assertTrue(
           res.stream()
-              .allMatch(
-                  r ->
-                      personB
-                          .getInternalId()
-                          .equals(r.getTestEvent().getPatient().getInternalId())));
+              .allMatch(r -> personB.getInternalId().equals(r.getPatient().getInternalId())));
     }
 
     @Test
@@ -209,16 +402,21 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
       var res =
           _service
               .getFacilityResults(
-                  facilityB.getInternalId(), null, null, PersonRole.STAFF, null, null, null, 0, 10)
+                  ENTITIES,
+                  facilityB.getInternalId(),
+                  null,
+                  null,
+                  PersonRole.STAFF,
+                  null,
+                  null,
+                  null,
+                  0,
+                  10)
               .toList();
       assertEquals(3, res.size());
       assertTrue(
           res.stream()
-              .allMatch(
-                  r ->
-                      personA
-                          .getInternalId()
-                          .equals(r.getTestEvent().getPatient().getInternalId())));
+              .allMatch(r -> personA.getInternalId().equals(r.getPatient().getInternalId())));
     }
 
     @Test
@@ -227,6 +425,7 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
       var res =
           _service
               .getFacilityResults(
+                  ENTITIES,
                   null,
                   null,
                   null,
@@ -238,9 +437,9 @@ class ResultServiceTest extends BaseServiceTest<ResultService> {
                   10)
               .toList();
       assertEquals(3, res.size());
-      assertEquals(SECOND_TEST_DATE, res.get(0).getTestEvent().getDateTested());
-      assertEquals(SECOND_TEST_DATE, res.get(1).getTestEvent().getDateTested());
-      assertEquals(SECOND_TEST_DATE, res.get(2).getTestEvent().getDateTested());
+      assertEquals(SECOND_TEST_DATE, res.get(0).getDateTested());
+      assertEquals(SECOND_TEST_DATE, res.get(1).getDateTested());
+      assertEquals(SECOND_TEST_DATE, res.get(2).getDateTested());
     }
   }
 
@@ -0,0 +1,168 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.RESULT_TRENDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import gov.cdc.usds.simplereport.api.model.TestResultTrendPoint;
+import gov.cdc.usds.simplereport.api.model.errors.IllegalGraphqlArgumentException;
+import gov.cdc.usds.simplereport.db.model.Facility;
+import gov.cdc.usds.simplereport.db.model.Organization;
+import gov.cdc.usds.simplereport.db.model.SupportedDisease;
+import gov.cdc.usds.simplereport.db.model.auxiliary.DailyTestResultCount;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TestResult;
+import gov.cdc.usds.simplereport.db.model.auxiliary.TrendInterval;
+import gov.cdc.usds.simplereport.db.repository.ResultDailyRollupRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class ResultTrendServiceTest {
+
+  private static final UUID ORG_ID = UUID.randomUUID();
+  private static final UUID FACILITY_ID = UUID.randomUUID();
+  // a Sunday, long enough ago that every bucket has ended
+  private static final LocalDate WEEK_START = LocalDate.of(2023, 1, 1);
+
+  private OrganizationService organizationService;
+  private DiseaseService diseaseService;
+  private ResultDailyRollupRepository rollupRepository;
+
+  @BeforeEach
+  void setup() {
+    organizationService = mock(OrganizationService.class);
+    diseaseService = mock(DiseaseService.class);
+    rollupRepository = mock(ResultDailyRollupRepository.class);
+
+    Organization org = mock(Organization.class);
+    when(org.getInternalId()).thenReturn(ORG_ID);
+    Facility facility = mock(Facility.class);
+    when(facility.getInternalId()).thenReturn(FACILITY_ID);
+    when(organizationService.getCurrentOrganization()).thenReturn(org);
+    when(organizationService.getFacilities(org)).thenReturn(List.of(facility));
+    when(diseaseService.getDiseaseByName("COVID-19")).thenReturn(mock(SupportedDisease.class));
+
+    when(rollupRepository.sumByDayDiseaseAndResult(anyCollection(), any(), any(), anyCollection()))
+        .thenReturn(
+            List.of(
+                row(WEEK_START.plusDays(1), "COVID-19", TestResult.POSITIVE, 2),
+                row(WEEK_START.plusDays(3), "COVID-19", TestResult.POSITIVE, 3),
+                row(WEEK_START.plusDays(3), "Flu A", TestResult.NEGATIVE, 4),
+                row(WEEK_START.plusDays(8), "COVID-19", TestResult.NEGATIVE, 5),
+                // a removed test leaves its rollup row at zero
+                row(WEEK_START.plusDays(9), "COVID-19", TestResult.POSITIVE, 0)));
+  }
+
+  @Test
+  void getTestResultTrends_weekly_sumsDaysIntoBuckets() {
+    var sut = service();
+
+    List<TestResultTrendPoint> points =
+        sut.getTestResultTrends(
+            null, WEEK_START.plusDays(2), WEEK_START.plusDays(10), TrendInterval.WEEK, null);
+
+    assertThat(points)
+        .extracting("bucketStart", "disease", "result", "count")
+        .containsExactly(
+            tuple(WEEK_START, "COVID-19", TestResult.POSITIVE, 5L),
+            tuple(WEEK_START, "Flu A", TestResult.NEGATIVE, 4L),
+            tuple(WEEK_START.plusWeeks(1), "COVID-19", TestResult.NEGATIVE, 5L));
+    verify(rollupRepository)
+        .sumByDayDiseaseAndResult(
+            eq(List.of(FACILITY_ID)),
+            eq(WEEK_START),
+            eq(WEEK_START.plusWeeks(2).minusDays(1)),
+            anyCollection());
+  }
+
+  @Test
+  void getTestResultTrends_disease_filtersPoints() {
+    var sut = service();
+
+    List<TestResultTrendPoint> points =
+        sut.getTestResultTrends(
+            null, WEEK_START, WEEK_START.plusDays(6), TrendInterval.WEEK, "COVID-19");
+
+    assertThat(points).extracting("disease").containsOnly("COVID-19");
+  }
+
+  @Test
+  void getTestResultTrends_closedBuckets_servedFromCache() {
+    var sut = service();
+
+    var first = twoWeeks(sut);
+    var second = twoWeeks(sut);
+
+    assertThat(second).isEqualTo(first);
+    verify(rollupRepository, times(1))
+        .sumByDayDiseaseAndResult(anyCollection(), any(), any(), anyCollection());
+  }
+
+  @Test
+  void evict_day_reloadsOnlyThatBucket() {
+    var sut = service();
+    twoWeeks(sut);
+
+    sut.evict(ORG_ID, FACILITY_ID, WEEK_START.plusDays(9));
+    twoWeeks(sut);
+
+    verify(rollupRepository)
+        .sumByDayDiseaseAndResult(
+            anyCollection(),
+            eq(WEEK_START.plusWeeks(1)),
+            eq(WEEK_START.plusWeeks(2).minusDays(1)),
+            anyCollection());
+  }
+
+  @Test
+  void getTestResultTrends_invalidArguments_throw() {
+    var sut = service();
+
+    assertThrows(
+        IllegalGraphqlArgumentException.class,
+        () ->
+            sut.getTestResultTrends(
+                null, WEEK_START, WEEK_START.minusDays(1), TrendInterval.DAY, null));
+    assertThrows(
+        IllegalGraphqlArgumentException.class,
+        () ->
+            sut.getTestResultTrends(
+                null,
+                WEEK_START,
+                WEEK_START.plusDays(ResultTrendService.MAX_BUCKETS),
+                TrendInterval.DAY,
+                null));
+    assertThrows(
+        IllegalGraphqlArgumentException.class,
+        () -> sut.getTestResultTrends(null, WEEK_START, WEEK_START, TrendInterval.DAY, "Measles"));
+  }
+
+  private ResultTrendService service() {
+    return new ResultTrendService(
+        organizationService,
+        diseaseService,
+        rollupRepository,
+        new CaffeineCacheManager(RESULT_TRENDS));
+  }
+
+  private static List<TestResultTrendPoint> twoWeeks(ResultTrendService sut) {
+    return sut.getTestResultTrends(
+        null, WEEK_START, WEEK_START.plusDays(13), TrendInterval.WEEK, null);
+  }
+
+  private static DailyTestResultCount row(
+      LocalDate day, String disease, TestResult result, long count) {
+    return new DailyTestResultCount(day, disease, result, count);
+  }
+}
@@ -0,0 +1,61 @@
+package gov.cdc.usds.simplereport.service;
+
+import static gov.cdc.usds.simplereport.config.CachingConfig.TENANT_DATA_ACCESS_GRANTS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import gov.cdc.usds.simplereport.service.TenantDataAccessCacheService.CachedGrant;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class TenantDataAccessCacheServiceTest {
+
+  private static final String USERNAME = "ruby@example.com";
+  private static final UUID GRANT_ID = UUID.randomUUID();
+  private static final Set<String> AUTHORITIES =
+      Set.of("SR-UNITTEST-ADMINS", "SR-UNITTEST-TENANT:MYNIFTYORG:ADMIN");
+
+  private TenantDataAccessCacheService sut;
+
+  @BeforeEach
+  void setup() {
+    sut = new TenantDataAccessCacheService(new CaffeineCacheManager(TENANT_DATA_ACCESS_GRANTS));
+  }
+
+  @Test
+  void get_activeGrant_returnsGrant() {
+    Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+
+    sut.put(USERNAME, GRANT_ID, AUTHORITIES, expiresAt);
+
+    assertThat(sut.get(USERNAME)).contains(new CachedGrant(GRANT_ID, AUTHORITIES, expiresAt));
+    assertThat(sut.get("bob@example.com")).isEmpty();
+  }
+
+  @Test
+  void get_grantExpired_returnsEmpty() {
+    sut.put(USERNAME, GRANT_ID, AUTHORITIES, Instant.now().minusSeconds(1));
+
+    assertThat(sut.get(USERNAME)).isEmpty();
+  }
+
+  @Test
+  void get_noAuthorities_notCached() {
+    sut.put(USERNAME, GRANT_ID, Set.of(), Instant.now().plus(Duration.ofHours(1)));
+
+    assertThat(sut.get(USERNAME)).isEmpty();
+  }
+
+  @Test
+  void get_afterEvict_returnsEmpty() {
+    sut.put(USERNAME, GRANT_ID, AUTHORITIES, Instant.now().plus(Duration.ofHours(1)));
+
+    sut.evict(USERNAME);
+
+    assertThat(sut.get(USERNAME)).isEmpty();
+  }
+}
@@ -46,6 +46,7 @@ import gov.cdc.usds.simplereport.db.repository.ResultRepository;
 import gov.cdc.usds.simplereport.db.repository.TestEventRepository;
 import gov.cdc.usds.simplereport.db.repository.TestOrderRepository;
 import gov.cdc.usds.simplereport.service.datasource.QueryCountService;
+import gov.cdc.usds.simplereport.service.model.FacilityQueueItem;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportEntryOnlyAllFacilitiesUser;
 import gov.cdc.usds.simplereport.test_util.SliceTestConfiguration.WithSimpleReportEntryOnlyUser;
@@ -166,7 +167,7 @@ class TestOrderServiceTest extends BaseServiceTest<TestOrderService> {
     UUID defaultDeviceType = facility.getDefaultDeviceType().getInternalId();
     UUID defaultSpecimenType = facility.getDefaultSpecimenType().getInternalId();
 
-    List<TestOrder> queue = _service.getQueue(facility.getInternalId());
+    List<FacilityQueueItem> queue = _service.getQueue(facility.getInternalId());
     assertEquals(1, queue.size());
 
     List<MultiplexResultInput> positiveCovidOnlyResult = makeCovidOnlyResult(TestResult.POSITIVE);
@@ -285,7 +286,7 @@ class TestOrderServiceTest extends BaseServiceTest<TestOrderService> {
     assertThrows(AccessDeniedException.class, () -> _service.getQueue(facilityId));
 
     TestUserIdentities.setFacilityAuthorities(facility);
-    List<TestOrder> queue = _service.getQueue(facility.getInternalId());
+    List<FacilityQueueItem> queue = _service.getQueue(facility.getInternalId());
     assertEquals(0, queue.size());
   }
 
@@ -328,7 +329,7 @@ class TestOrderServiceTest extends BaseServiceTest<TestOrderService> {
         LocalDate.of(1865, 12, 25),
         false);
 
-    List<TestOrder> queue = _service.getQueue(facility.getInternalId());
+    List<FacilityQueueItem> queue = _service.getQueue(facility.getInternalId());
     assertEquals(1, queue.size());
   }
 
@@ -384,7 +385,7 @@ class TestOrderServiceTest extends BaseServiceTest<TestOrderService> {
     assertThrows(AccessDeniedException.class, () -> _service.getQueue(facilityId));
 
     TestUserIdentities.setFacilityAuthorities(facility);
-    List<TestOrder> queue = _service.getQueue(facility.getInternalId());
+    List<FacilityQueueItem> queue = _service.getQueue(facility.getInternalId());
     assertEquals(1, queue.size());
   }
 
@@ -438,7 +439,7 @@ class TestOrderServiceTest extends BaseServiceTest<TestOrderService> {
 
     verify(testResultsDeliveryService).smsTestResults(any(PatientLink.class));
 
-    List<TestOrder> queue = _service.getQueue(facility.getInternalId());
+    List<FacilityQueueItem> queue = _service.getQueue(facility.getInternalId());
     assertEquals(0, queue.size());
     verify(testEventReportingService).report(any());
     verify(fhirQueueReportingService).report(any());
@@ -490,7 +491,7 @@ class TestOrderServiceTest extends BaseServiceTest<TestOrderService> {
     _service.addMultiplexResult(
         defaultDeviceType, defaultSpecimenType, positiveCovidOnlyResult, p.getInternalId(), null);
 
-    List<TestOrder> queue = _service.getQueue(facility.getInternalId());
+    List<FacilityQueueItem> queue = _service.getQueue(facility.getInternalId());
     assertEquals(0, queue.size());
     verify(testEventReportingService).report(any());
     verify(fhirQueueReportingService).report(any());
@@ -599,7 +600,7 @@ class TestOrderServiceTest extends BaseServiceTest<TestOrderService> {
     TestUserIdentities.setFacilityAuthorities(facility1);
     _service.addMultiplexResult(
         deviceId, specimenId, positiveCovidOnlyResult, p1.getInternalId(), null);
-    List<TestOrder> queue = _service.getQueue(facility1.getInternalId());
+    List<FacilityQueueItem> queue = _service.getQueue(facility1.getInternalId());
     assertEquals(1, queue.size());
 
     // make sure the corrected event is sent to storage queue
@@ -648,7 +649,7 @@ class TestOrderServiceTest extends BaseServiceTest<TestOrderService> {
 
     verify(testResultsDeliveryService).smsTestResults(any(PatientLink.class));
 
-    List<TestOrder> queue = _service.getQueue(facility.getInternalId());
+    List<FacilityQueueItem> queue = _service.getQueue(facility.getInternalId());
     assertEquals(0, queue.size());
   }
 
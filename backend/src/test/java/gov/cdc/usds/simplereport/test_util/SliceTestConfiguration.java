@@ -3,6 +3,7 @@ package gov.cdc.usds.simplereport.test_util;
 import static org.mockito.Mockito.mock;
 
 import gov.cdc.usds.simplereport.api.ApiUserContextHolder;
+import gov.cdc.usds.simplereport.api.AuthorizationDecisionContextHolder;
 import gov.cdc.usds.simplereport.api.CurrentAccountRequestContextHolder;
 import gov.cdc.usds.simplereport.api.CurrentOrganizationRolesContextHolder;
 import gov.cdc.usds.simplereport.api.CurrentTenantDataAccessContextHolder;
@@ -12,6 +13,7 @@ import gov.cdc.usds.simplereport.api.heathcheck.OktaHealthIndicator;
 import gov.cdc.usds.simplereport.api.pxp.CurrentPatientContextHolder;
 import gov.cdc.usds.simplereport.config.AuditingConfig;
 import gov.cdc.usds.simplereport.config.AuthorizationProperties;
+import gov.cdc.usds.simplereport.config.CachingConfig;
 import gov.cdc.usds.simplereport.config.FeatureFlagsConfig;
 import gov.cdc.usds.simplereport.config.InitialSetupProperties;
 import gov.cdc.usds.simplereport.config.SendGridDisabledConfiguration;
@@ -22,6 +24,7 @@ import gov.cdc.usds.simplereport.config.simplereport.DemoUserConfiguration.DemoU
 import gov.cdc.usds.simplereport.db.repository.BaseRepositoryTest;
 import gov.cdc.usds.simplereport.idp.repository.DemoOktaRepository;
 import gov.cdc.usds.simplereport.properties.SupportEscalationProperties;
+import gov.cdc.usds.simplereport.service.ApiUserLastSeenService;
 import gov.cdc.usds.simplereport.service.ApiUserService;
 import gov.cdc.usds.simplereport.service.AuthorizationService;
 import gov.cdc.usds.simplereport.service.BaseServiceTest;
@@ -29,10 +32,15 @@ import gov.cdc.usds.simplereport.service.DbOrgRoleClaimsService;
 import gov.cdc.usds.simplereport.service.DiseaseCacheService;
 import gov.cdc.usds.simplereport.service.DiseaseService;
 import gov.cdc.usds.simplereport.service.LoggedInAuthorizationService;
+import gov.cdc.usds.simplereport.service.OktaUserStatusService;
 import gov.cdc.usds.simplereport.service.OrganizationInitializingService;
+import gov.cdc.usds.simplereport.service.OrganizationRolesCacheService;
 import gov.cdc.usds.simplereport.service.OrganizationService;
 import gov.cdc.usds.simplereport.service.PatientSelfRegistrationLinkService;
+import gov.cdc.usds.simplereport.service.RecordCountService;
+import gov.cdc.usds.simplereport.service.ResultRollupService;
 import gov.cdc.usds.simplereport.service.ResultService;
+import gov.cdc.usds.simplereport.service.TenantDataAccessCacheService;
 import gov.cdc.usds.simplereport.service.TenantDataAccessService;
 import gov.cdc.usds.simplereport.service.email.EmailService;
 import gov.cdc.usds.simplereport.service.model.IdentitySupplier;
@@ -97,19 +105,27 @@ import org.springframework.security.test.context.support.WithMockUser;
   DemoOktaRepository.class,
   OrganizationExtractor.class,
   OrganizationService.class,
+  OrganizationRolesCacheService.class,
   ApiUserService.class,
+  ApiUserLastSeenService.class,
+  OktaUserStatusService.class,
   DiseaseService.class,
   DiseaseCacheService.class,
+  CachingConfig.class,
+  RecordCountService.class,
+  ResultRollupService.class,
   ResultService.class,
   OrganizationInitializingService.class,
   CurrentPatientContextHolder.class,
   CurrentAccountRequestContextHolder.class,
   ApiUserContextHolder.class,
   CurrentOrganizationRolesContextHolder.class,
+  AuthorizationDecisionContextHolder.class,
   OrderingProviderRequiredValidator.class,
   CurrentTenantDataAccessContextHolder.class,
   WebhookContextHolder.class,
   TenantDataAccessService.class,
+  TenantDataAccessCacheService.class,
   PatientSelfRegistrationLinkService.class,
   BackendAndDatabaseHealthIndicator.class,
   OktaHealthIndicator.class,
@@ -0,0 +1,33 @@
+package gov.cdc.usds.simplereport.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class NameSearchUtilsTest {
+  @Test
+  void fold_lowercasesAndStripsAccents() {
+    assertEquals("jose nunez", NameSearchUtils.fold("  José   NÚÑEZ "));
+    assertEquals("", NameSearchUtils.fold(null));
+  }
+
+  @Test
+  void toSearchKey_skipsMissingParts() {
+    assertEquals(" zoe de la cruz", NameSearchUtils.toSearchKey("Zoë", null, "de la Cruz"));
+    assertEquals(" renee", NameSearchUtils.toSearchKey("", " ", "Renée"));
+  }
+
+  @Test
+  void toSearchTerms_splitsOnSpacesAndCommas() {
+    assertThat(NameSearchUtils.toSearchTerms("Núñez,  josé ")).containsExactly("nunez", "jose");
+    assertThat(NameSearchUtils.toSearchTerms(" , ")).isEmpty();
+    assertThat(NameSearchUtils.toSearchTerms(null)).isEmpty();
+  }
+
+  @Test
+  void patterns_escapeLikeWildcards() {
+    assertEquals("% o\\_b\\%%", NameSearchUtils.toPrefixPattern("o_b%"));
+    assertEquals("% cruz %", NameSearchUtils.toWholeWordPattern("cruz"));
+  }
+}
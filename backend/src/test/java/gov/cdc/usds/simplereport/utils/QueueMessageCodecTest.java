@@ -0,0 +1,65 @@
+package gov.cdc.usds.simplereport.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class QueueMessageCodecTest {
+
+  private static final String BUNDLE =
+      "{\"resourceType\":\"Bundle\",\"entry\":["
+          + "{\"resource\":{\"id\":\"é\"}},".repeat(200)
+          + "]}";
+
+  @Test
+  void passthrough_leavesPayloadUntouched() {
+    assertThat(QueueMessageCodec.passthrough().encode(BUNDLE)).isEqualTo(BUNDLE);
+    assertThat(QueueMessageCodec.decode(BUNDLE)).isEqualTo(BUNDLE);
+  }
+
+  @Test
+  void compact_roundTripsAndShrinksRepetitiveJson() {
+    var codec = new QueueMessageCodec(true, 65_536);
+
+    String message = codec.encode(BUNDLE);
+
+    assertThat(message).startsWith(QueueMessageCodec.ENVELOPE_PREFIX);
+    assertThat(message.length()).isLessThan(BUNDLE.length());
+    assertThat(QueueMessageCodec.decode(message)).isEqualTo(BUNDLE);
+  }
+
+  @Test
+  void compact_oversizedPayload_throws() {
+    var codec = new QueueMessageCodec(true, 200);
+    String incompressible = randomText(5_000);
+
+    assertThrows(IllegalArgumentException.class, () -> codec.encode(incompressible));
+  }
+
+  @Test
+  void plain_oversizedPayload_throws() {
+    var codec = new QueueMessageCodec(false, 200);
+
+    assertThrows(IllegalArgumentException.class, () -> codec.encode(BUNDLE));
+  }
+
+  @Test
+  void plain_nonAsciiPayloadOverByteLimit_throws() {
+    String payload = "é".repeat(150);
+    var codec = new QueueMessageCodec(false, 200);
+
+    assertThat(payload).hasSizeLessThan(200);
+    assertThrows(IllegalArgumentException.class, () -> codec.encode(payload));
+  }
+
+  private static String randomText(int length) {
+    var random = new Random(42);
+    var text = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      text.append((char) ('!' + random.nextInt(90)));
+    }
+    return text.toString();
+  }
+}
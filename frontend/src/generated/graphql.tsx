@@ -217,6 +217,7 @@ export type Mutation = {
   addUser?: Maybe<User>;
   addUserToCurrentOrg?: Maybe<User>;
   adminUpdateOrganization?: Maybe<Scalars["String"]["output"]>;
+  cancelReportBackfill?: Maybe<ReportBackfillJob>;
   clearUserRolesAndFacilities?: Maybe<ApiUser>;
   correctTestMarkAsCorrection?: Maybe<TestResult>;
   correctTestMarkAsError?: Maybe<TestResult>;
@@ -234,11 +235,14 @@ export type Mutation = {
   markPendingOrganizationAsDeleted?: Maybe<Scalars["String"]["output"]>;
   reactivateUser?: Maybe<User>;
   reactivateUserAndResetPassword?: Maybe<User>;
+  rebuildResultRollups?: Maybe<Scalars["Int"]["output"]>;
   removePatientFromQueue?: Maybe<Scalars["String"]["output"]>;
+  replayReportingDeadLetters?: Maybe<Scalars["Int"]["output"]>;
   resendActivationEmail?: Maybe<User>;
   resendToReportStream?: Maybe<Scalars["Boolean"]["output"]>;
   resetUserMfa?: Maybe<User>;
   resetUserPassword?: Maybe<User>;
+  resumeReportBackfill?: Maybe<ReportBackfillJob>;
   sendOrgAdminEmailCSV?: Maybe<Scalars["Boolean"]["output"]>;
   sendPatientLinkEmail?: Maybe<Scalars["Boolean"]["output"]>;
   sendPatientLinkEmailByTestEventId?: Maybe<Scalars["Boolean"]["output"]>;
@@ -250,6 +254,7 @@ export type Mutation = {
   setPatientIsDeleted?: Maybe<Patient>;
   setRegistrationLinkIsDeleted?: Maybe<Scalars["String"]["output"]>;
   setUserIsDeleted?: Maybe<User>;
+  startReportBackfill?: Maybe<ReportBackfillJob>;
   submitQueueItem?: Maybe<AddTestResultResponse>;
   updateAoeQuestions?: Maybe<Scalars["String"]["output"]>;
   updateDeviceType?: Maybe<DeviceType>;
@@ -326,6 +331,10 @@ export type MutationAdminUpdateOrganizationArgs = {
   type: Scalars["String"]["input"];
 };
 
+export type MutationCancelReportBackfillArgs = {
+  id: Scalars["ID"]["input"];
+};
+
 export type MutationClearUserRolesAndFacilitiesArgs = {
   username: Scalars["String"]["input"];
 };
@@ -417,10 +426,20 @@ export type MutationReactivateUserAndResetPasswordArgs = {
   id: Scalars["ID"]["input"];
 };
 
+export type MutationRebuildResultRollupsArgs = {
+  endDate: Scalars["LocalDate"]["input"];
+  startDate: Scalars["LocalDate"]["input"];
+};
+
 export type MutationRemovePatientFromQueueArgs = {
   patientId: Scalars["ID"]["input"];
 };
 
+export type MutationReplayReportingDeadLettersArgs = {
+  concurrency?: InputMaybe<Scalars["Int"]["input"]>;
+  limit?: InputMaybe<Scalars["Int"]["input"]>;
+};
+
 export type MutationResendActivationEmailArgs = {
   id: Scalars["ID"]["input"];
 };
@@ -439,6 +458,10 @@ export type MutationResetUserPasswordArgs = {
   id: Scalars["ID"]["input"];
 };
 
+export type MutationResumeReportBackfillArgs = {
+  id: Scalars["ID"]["input"];
+};
+
 export type MutationSendOrgAdminEmailCsvArgs = {
   state: Scalars["String"]["input"];
   type: Scalars["String"]["input"];
@@ -486,6 +509,15 @@ export type MutationSetUserIsDeletedArgs = {
   id: Scalars["ID"]["input"];
 };
 
+export type MutationStartReportBackfillArgs = {
+  endDate: Scalars["DateTime"]["input"];
+  facilityId?: InputMaybe<Scalars["ID"]["input"]>;
+  fhirOnly?: InputMaybe<Scalars["Boolean"]["input"]>;
+  maxPerSecond?: InputMaybe<Scalars["Int"]["input"]>;
+  organizationId?: InputMaybe<Scalars["ID"]["input"]>;
+  startDate: Scalars["DateTime"]["input"];
+};
+
 export type MutationSubmitQueueItemArgs = {
   dateTested?: InputMaybe<Scalars["DateTime"]["input"]>;
   deviceTypeId: Scalars["ID"]["input"];
@@ -638,6 +670,12 @@ export type OrganizationLevelDashboardMetrics = {
   organizationTotalTestCount?: Maybe<Scalars["Int"]["output"]>;
 };
 
+export type PageInfo = {
+  __typename?: "PageInfo";
+  endCursor?: Maybe<Scalars["String"]["output"]>;
+  hasNextPage: Scalars["Boolean"]["output"];
+};
+
 export type Patient = {
   __typename?: "Patient";
   address?: Maybe<AddressInfo>;
@@ -678,6 +716,13 @@ export type Patient = {
   zipCode?: Maybe<Scalars["String"]["output"]>;
 };
 
+export type PatientConnection = {
+  __typename?: "PatientConnection";
+  nodes: Array<Patient>;
+  pageInfo: PageInfo;
+  totalCount?: Maybe<Scalars["Int"]["output"]>;
+};
+
 export type PatientLink = {
   __typename?: "PatientLink";
   createdAt?: Maybe<Scalars["DateTime"]["output"]>;
@@ -763,14 +808,19 @@ export type Query = {
   patientExists?: Maybe<Scalars["Boolean"]["output"]>;
   patientExistsWithoutZip?: Maybe<Scalars["Boolean"]["output"]>;
   patients?: Maybe<Array<Maybe<Patient>>>;
+  patientsConnection?: Maybe<PatientConnection>;
   patientsCount?: Maybe<Scalars["Int"]["output"]>;
+  patientsRecordCount?: Maybe<RecordCount>;
   pendingOrganizations: Array<PendingOrganization>;
   queue?: Maybe<Array<Maybe<TestOrder>>>;
+  reportBackfillJobs: Array<ReportBackfillJob>;
+  resultsConnection?: Maybe<ResultConnection>;
   resultsPage?: Maybe<ResultsPage>;
   specimenType?: Maybe<Array<Maybe<SpecimenType>>>;
   specimenTypes: Array<SpecimenType>;
   supportedDiseases: Array<SupportedDisease>;
   testResult?: Maybe<TestResult>;
+  testResultTrends: Array<TestResultTrendPoint>;
   testResults?: Maybe<Array<Maybe<TestResult>>>;
   testResultsCount?: Maybe<Scalars["Int"]["output"]>;
   testResultsPage?: Maybe<TestResultsPage>;
@@ -848,6 +898,16 @@ export type QueryPatientsArgs = {
   pageSize?: InputMaybe<Scalars["Int"]["input"]>;
 };
 
+export type QueryPatientsConnectionArgs = {
+  after?: InputMaybe<Scalars["String"]["input"]>;
+  archivedStatus?: InputMaybe<ArchivedStatus>;
+  facilityId?: InputMaybe<Scalars["ID"]["input"]>;
+  first?: InputMaybe<Scalars["Int"]["input"]>;
+  includeArchivedFacilities?: InputMaybe<Scalars["Boolean"]["input"]>;
+  namePrefixMatch?: InputMaybe<Scalars["String"]["input"]>;
+  orgExternalId?: InputMaybe<Scalars["String"]["input"]>;
+};
+
 export type QueryPatientsCountArgs = {
   archivedStatus?: InputMaybe<ArchivedStatus>;
   facilityId?: InputMaybe<Scalars["ID"]["input"]>;
@@ -856,10 +916,29 @@ export type QueryPatientsCountArgs = {
   orgExternalId?: InputMaybe<Scalars["String"]["input"]>;
 };
 
+export type QueryPatientsRecordCountArgs = {
+  archivedStatus?: InputMaybe<ArchivedStatus>;
+  facilityId?: InputMaybe<Scalars["ID"]["input"]>;
+  namePrefixMatch?: InputMaybe<Scalars["String"]["input"]>;
+  orgExternalId?: InputMaybe<Scalars["String"]["input"]>;
+};
+
 export type QueryQueueArgs = {
   facilityId: Scalars["ID"]["input"];
 };
 
+export type QueryResultsConnectionArgs = {
+  after?: InputMaybe<Scalars["String"]["input"]>;
+  disease?: InputMaybe<Scalars["String"]["input"]>;
+  endDate?: InputMaybe<Scalars["DateTime"]["input"]>;
+  facilityId?: InputMaybe<Scalars["ID"]["input"]>;
+  first?: InputMaybe<Scalars["Int"]["input"]>;
+  patientId?: InputMaybe<Scalars["ID"]["input"]>;
+  result?: InputMaybe<Scalars["String"]["input"]>;
+  role?: InputMaybe<Scalars["String"]["input"]>;
+  startDate?: InputMaybe<Scalars["DateTime"]["input"]>;
+};
+
 export type QueryResultsPageArgs = {
   disease?: InputMaybe<Scalars["String"]["input"]>;
   endDate?: InputMaybe<Scalars["DateTime"]["input"]>;
@@ -876,6 +955,14 @@ export type QueryTestResultArgs = {
   id: Scalars["ID"]["input"];
 };
 
+export type QueryTestResultTrendsArgs = {
+  disease?: InputMaybe<Scalars["String"]["input"]>;
+  endDate: Scalars["LocalDate"]["input"];
+  facilityId?: InputMaybe<Scalars["ID"]["input"]>;
+  interval?: TrendInterval;
+  startDate: Scalars["LocalDate"]["input"];
+};
+
 export type QueryTestResultsArgs = {
   endDate?: InputMaybe<Scalars["DateTime"]["input"]>;
   facilityId?: InputMaybe<Scalars["ID"]["input"]>;
@@ -937,6 +1024,31 @@ export type QueryUsersWithStatusPageArgs = {
   searchQuery?: InputMaybe<Scalars["String"]["input"]>;
 };
 
+export type RecordCount = {
+  __typename?: "RecordCount";
+  count: Scalars["Int"]["output"];
+  isEstimate: Scalars["Boolean"]["output"];
+};
+
+export type ReportBackfillJob = {
+  __typename?: "ReportBackfillJob";
+  createdAt?: Maybe<Scalars["DateTime"]["output"]>;
+  cursorCreatedAt?: Maybe<Scalars["DateTime"]["output"]>;
+  endDate: Scalars["DateTime"]["output"];
+  facilityId?: Maybe<Scalars["ID"]["output"]>;
+  failedEvents: Scalars["Int"]["output"];
+  fhirOnly: Scalars["Boolean"]["output"];
+  internalId: Scalars["ID"]["output"];
+  lastError?: Maybe<Scalars["String"]["output"]>;
+  maxPerSecond: Scalars["Int"]["output"];
+  organizationId?: Maybe<Scalars["ID"]["output"]>;
+  sentEvents: Scalars["Int"]["output"];
+  startDate: Scalars["DateTime"]["output"];
+  status: Scalars["String"]["output"];
+  totalEvents: Scalars["Int"]["output"];
+  updatedAt?: Maybe<Scalars["DateTime"]["output"]>;
+};
+
 export type Result = {
   __typename?: "Result";
   correctionStatus?: Maybe<Scalars["String"]["output"]>;
@@ -955,6 +1067,13 @@ export type Result = {
   testResult: Scalars["String"]["output"];
 };
 
+export type ResultConnection = {
+  __typename?: "ResultConnection";
+  nodes: Array<Result>;
+  pageInfo: PageInfo;
+  totalCount?: Maybe<Scalars["Int"]["output"]>;
+};
+
 export enum ResultValue {
   Negative = "NEGATIVE",
   Positive = "POSITIVE",
@@ -964,6 +1083,7 @@ export enum ResultValue {
 export type ResultsPage = {
   __typename?: "ResultsPage";
   content?: Maybe<Array<Maybe<Result>>>;
+  isEstimate?: Maybe<Scalars["Boolean"]["output"]>;
   totalElements?: Maybe<Scalars["Int"]["output"]>;
 };
 
@@ -1073,6 +1193,14 @@ export enum TestResultDeliveryPreference {
   Sms = "SMS",
 }
 
+export type TestResultTrendPoint = {
+  __typename?: "TestResultTrendPoint";
+  bucketStart: Scalars["LocalDate"]["output"];
+  count: Scalars["Int"]["output"];
+  disease: Scalars["String"]["output"];
+  result: Scalars["String"]["output"];
+};
+
 export type TestResultsPage = {
   __typename?: "TestResultsPage";
   content?: Maybe<Array<Maybe<TestResult>>>;
@@ -1085,6 +1213,12 @@ export type TopLevelDashboardMetrics = {
   totalTestCount?: Maybe<Scalars["Int"]["output"]>;
 };
 
+export enum TrendInterval {
+  Day = "DAY",
+  Month = "MONTH",
+  Week = "WEEK",
+}
+
 export type UpdateDeviceType = {
   internalId: Scalars["ID"]["input"];
   manufacturer: Scalars["String"]["input"];